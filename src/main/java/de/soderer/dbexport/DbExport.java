@@ -18,20 +18,24 @@ import java.util.concurrent.ExecutionException;
 
 import javax.swing.SwingUtilities;
 
+import de.soderer.dbexport.DbExportDefinition.BeautifyStrategy;
+import de.soderer.dbexport.DbExportDefinition.ProgressMode;
 import de.soderer.dbexport.console.ConnectionTestMenu;
 import de.soderer.dbexport.console.CreateTrustStoreMenu;
 import de.soderer.dbexport.console.ExportMenu;
 import de.soderer.dbexport.console.HelpMenu;
 import de.soderer.dbexport.console.PreferencesMenu;
 import de.soderer.dbexport.console.UpdateMenu;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.dbexport.utilities.CompressionUtilities;
 import de.soderer.dbexport.worker.AbstractDbExportWorker;
+import de.soderer.dbexport.worker.ParquetRowEncoder;
 import de.soderer.network.trustmanager.TrustManagerUtilities;
 import de.soderer.pac.PacScriptParser;
 import de.soderer.pac.utilities.ProxyConfiguration;
 import de.soderer.pac.utilities.ProxyConfiguration.ProxyConfigurationType;
 import de.soderer.utilities.ConfigurationProperties;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.LangResources;
 import de.soderer.utilities.NumberUtilities;
@@ -286,7 +290,7 @@ public class DbExport extends UpdateableConsoleApplication implements WorkerPare
 						dbExportDefinition.setVerbose(true);
 						wasAllowedParam = true;
 					} else if ("-z".equalsIgnoreCase(arguments[i])) {
-						dbExportDefinition.setCompression(FileCompressionType.ZIP);
+						dbExportDefinition.setCompression(CompressionType.ZIP);
 						wasAllowedParam = true;
 					} else if ("-compress".equalsIgnoreCase(arguments[i])) {
 						i++;
@@ -295,7 +299,7 @@ public class DbExport extends UpdateableConsoleApplication implements WorkerPare
 						} else if (Utilities.isBlank(arguments[i])) {
 							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for compress type");
 						} else {
-							dbExportDefinition.setCompression(FileCompressionType.getFromString(arguments[i]));
+							dbExportDefinition.setCompression(CompressionType.getFromString(arguments[i]));
 						}
 						wasAllowedParam = true;
 					} else if ("-zippassword".equalsIgnoreCase(arguments[i])) {
@@ -441,6 +445,130 @@ public class DbExport extends UpdateableConsoleApplication implements WorkerPare
 							dbExportDefinition.setDecimalSeparator(arguments[i].charAt(0));
 						}
 						wasAllowedParam = true;
+					} else if ("-threads".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter threads");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter threads");
+						} else {
+							dbExportDefinition.setThreads(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-chunks".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter chunks");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter chunks");
+						} else {
+							dbExportDefinition.setChunks(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-progress".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter progress");
+						} else {
+							try {
+								dbExportDefinition.setProgressMode(ProgressMode.getFromString(arguments[i]));
+							} catch (@SuppressWarnings("unused") final Exception e) {
+								throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter progress");
+							}
+						}
+						wasAllowedParam = true;
+					} else if ("-compressionThreads".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter compressionThreads");
+						} else if (!NumberUtilities.isInteger(arguments[i]) || Integer.parseInt(arguments[i]) < 1) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter compressionThreads");
+						} else {
+							dbExportDefinition.setCompressionThreads(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-pipeline".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setPipeline(true);
+						wasAllowedParam = true;
+					} else if ("-zstdLevel".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter zstdLevel");
+						} else if (!NumberUtilities.isInteger(arguments[i])) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter zstdLevel");
+						} else {
+							final int zstdLevel = Integer.parseInt(arguments[i]);
+							if (zstdLevel < CompressionUtilities.MINIMUM_ZSTD_LEVEL || zstdLevel > CompressionUtilities.MAXIMUM_ZSTD_LEVEL) {
+								throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter zstdLevel, allowed levels are " + CompressionUtilities.MINIMUM_ZSTD_LEVEL + " to " + CompressionUtilities.MAXIMUM_ZSTD_LEVEL);
+							} else if (!CompressionUtilities.isZstdLevelAvailable(zstdLevel)) {
+								throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Unsupported parameter zstdLevel, level " + zstdLevel + " needs the native zstd library (zstd-jni) in the classpath. Only the default level " + CompressionUtilities.DEFAULT_ZSTD_LEVEL + " is available without it.");
+							}
+							dbExportDefinition.setZstdLevel(zstdLevel);
+						}
+						wasAllowedParam = true;
+					} else if ("-beautifyStrategy".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter beautifyStrategy");
+						} else {
+							try {
+								dbExportDefinition.setBeautifyStrategy(BeautifyStrategy.getFromString(arguments[i]));
+							} catch (@SuppressWarnings("unused") final Exception e) {
+								throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter beautifyStrategy");
+							}
+						}
+						wasAllowedParam = true;
+					} else if ("-insertRows".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter insertRows");
+						} else if (!NumberUtilities.isInteger(arguments[i])) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter insertRows");
+						} else {
+							dbExportDefinition.setInsertRowsPerStatement(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-postgresqlCopy".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setPostgresqlCopy(true);
+						wasAllowedParam = true;
+					} else if ("-xmlAttributes".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setXmlColumnAttributes(true);
+						wasAllowedParam = true;
+					} else if ("-kdbxStreaming".equalsIgnoreCase(arguments[i])) {
+						dbExportDefinition.setKdbxStreaming(true);
+						wasAllowedParam = true;
+					} else if ("-parquetRowGroupSize".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter parquetRowGroupSize");
+						} else if (!NumberUtilities.isInteger(arguments[i])) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter parquetRowGroupSize");
+						} else {
+							dbExportDefinition.setParquetRowGroupSize(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
+					} else if ("-parquetCodec".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter parquetCodec");
+						} else {
+							try {
+								dbExportDefinition.setParquetCodec(ParquetRowEncoder.Codec.getFromString(arguments[i]));
+							} catch (@SuppressWarnings("unused") final Exception e) {
+								throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter parquetCodec");
+							}
+						}
+						wasAllowedParam = true;
+					} else if ("-arrowBatchSize".equalsIgnoreCase(arguments[i])) {
+						i++;
+						if (i >= arguments.length) {
+							throw new ParameterException(arguments[i - 1], "Missing parameter arrowBatchSize");
+						} else if (!NumberUtilities.isInteger(arguments[i])) {
+							throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter arrowBatchSize");
+						} else {
+							dbExportDefinition.setArrowBatchSize(Integer.parseInt(arguments[i]));
+						}
+						wasAllowedParam = true;
 					} else if ("-blobfiles".equalsIgnoreCase(arguments[i])) {
 						dbExportDefinition.setCreateBlobFiles(true);
 						wasAllowedParam = true;
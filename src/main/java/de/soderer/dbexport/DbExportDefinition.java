@@ -7,15 +7,22 @@ import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.TimeZone;
 
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.dbexport.utilities.CompressionUtilities;
 import de.soderer.dbexport.worker.AbstractDbExportWorker;
+import de.soderer.dbexport.worker.ArrowRowEncoder;
+import de.soderer.dbexport.worker.DbArrowExportWorker;
 import de.soderer.dbexport.worker.DbCsvExportWorker;
+import de.soderer.dbexport.worker.DbJsonCompactExportWorker;
 import de.soderer.dbexport.worker.DbJsonExportWorker;
+import de.soderer.dbexport.worker.DbJsonLinesExportWorker;
 import de.soderer.dbexport.worker.DbKdbxExportWorker;
+import de.soderer.dbexport.worker.DbParquetExportWorker;
 import de.soderer.dbexport.worker.DbSqlExportWorker;
 import de.soderer.dbexport.worker.DbVcfExportWorker;
 import de.soderer.dbexport.worker.DbXmlExportWorker;
 import de.soderer.dbexport.worker.DbYamlExportWorker;
-import de.soderer.utilities.FileCompressionType;
+import de.soderer.dbexport.worker.ParquetRowEncoder;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.db.data.DbVendor;
@@ -34,11 +41,15 @@ public class DbExportDefinition extends DbConnectionDefinition {
 	public enum DataType {
 		CSV,
 		JSON,
+		JSONL,
+		JSONCOMPACT,
 		YAML,
 		VCF,
 		XML,
 		SQL,
-		KDBX;
+		KDBX,
+		PARQUET,
+		ARROW;
 
 		public static DataType getFromString(final String dataTypeString) {
 			for (final DataType dataType : DataType.values()) {
@@ -50,6 +61,52 @@ public class DbExportDefinition extends DbConnectionDefinition {
 		}
 	}
 
+	/**
+	 * Source of the number of lines to export, which is shown in the progress
+	 */
+	public enum ProgressMode {
+		/** Exact count before the export (additional full scan of the exported data) */
+		COUNT,
+
+		/** No count at all, the progress shows only the lines exported so far */
+		NONE,
+
+		/** Row count estimate from the database catalog statistics */
+		ESTIMATE,
+
+		/** Exact count on a second database connection concurrently to the export */
+		CONCURRENT;
+
+		public static ProgressMode getFromString(final String progressModeString) {
+			for (final ProgressMode progressMode : ProgressMode.values()) {
+				if (progressMode.toString().equalsIgnoreCase(progressModeString)) {
+					return progressMode;
+				}
+			}
+			throw new RuntimeException("Invalid progress mode: " + progressModeString);
+		}
+	}
+
+	/**
+	 * Way to find the column widths of beautified csv output
+	 */
+	public enum BeautifyStrategy {
+		/** Exact column widths of the data, which is kept in a binary temporary file until all data was read */
+		SPILL,
+
+		/** Column widths from the column definitions of the database, so the data is written in one single pass */
+		METADATA;
+
+		public static BeautifyStrategy getFromString(final String beautifyStrategyString) {
+			for (final BeautifyStrategy beautifyStrategy : BeautifyStrategy.values()) {
+				if (beautifyStrategy.toString().equalsIgnoreCase(beautifyStrategyString)) {
+					return beautifyStrategy;
+				}
+			}
+			throw new RuntimeException("Invalid beautify strategy: " + beautifyStrategyString);
+		}
+	}
+
 	// Mandatory parameters
 
 	/** The sql statement or tablelist. */
@@ -73,7 +130,7 @@ public class DbExportDefinition extends DbConnectionDefinition {
 	private boolean verbose = false;
 
 	/** The compression. */
-	private FileCompressionType compression = null;
+	private CompressionType compression = null;
 
 	/** The zip password */
 	private char[] zipPassword = null;
@@ -126,6 +183,9 @@ public class DbExportDefinition extends DbConnectionDefinition {
 	/** The beautify. */
 	private boolean beautify = false;
 
+	/** The way to find the column widths of beautified csv output. */
+	private BeautifyStrategy beautifyStrategy = BeautifyStrategy.SPILL;
+
 	/** The no headers. */
 	private boolean noHeaders = false;
 
@@ -139,6 +199,45 @@ public class DbExportDefinition extends DbConnectionDefinition {
 
 	private boolean createOutputDirectoyIfNotExists = false;
 
+	/** The number of tables to export concurrently. */
+	private int threads = 1;
+
+	/** The number of primary key ranges to export a single table concurrently. */
+	private int chunks = 1;
+
+	/** The source of the number of lines to export. */
+	private ProgressMode progressMode = ProgressMode.COUNT;
+
+	/** Fetch, format and write the data concurrently. */
+	private boolean pipeline = false;
+
+	/** The number of threads for GZIP compression. */
+	private int compressionThreads = 1;
+
+	/** The level of ZSTD compression. */
+	private int zstdLevel = CompressionUtilities.DEFAULT_ZSTD_LEVEL;
+
+	/** The number of rows in one SQL insert statement. */
+	private int insertRowsPerStatement = 1;
+
+	/** Let a PostgreSQL database create the CSV data by COPY. */
+	private boolean postgresqlCopy = false;
+
+	/** Export the XML column values as attributes of the line elements. */
+	private boolean xmlColumnAttributes = false;
+
+	/** Write the KDBX entries directly into the encrypted output. */
+	private boolean kdbxStreaming = false;
+
+	/** The number of rows in one Parquet row group. */
+	private int parquetRowGroupSize = ParquetRowEncoder.DEFAULT_ROW_GROUP_SIZE;
+
+	/** The compression codec of the Parquet pages. */
+	private ParquetRowEncoder.Codec parquetCodec = ParquetRowEncoder.Codec.SNAPPY;
+
+	/** The number of rows in one Arrow record batch. */
+	private int arrowBatchSize = ArrowRowEncoder.DEFAULT_BATCH_SIZE;
+
 	/**
 	 * Sets the data type.
 	 *
@@ -188,7 +287,7 @@ public class DbExportDefinition extends DbConnectionDefinition {
 	 * @param compression
 	 *            the new compression type
 	 */
-	public void setCompression(final FileCompressionType compression) {
+	public void setCompression(final CompressionType compression) {
 		this.compression = compression;
 	}
 
@@ -424,7 +523,7 @@ public class DbExportDefinition extends DbConnectionDefinition {
 	 *
 	 * @return CompressionType
 	 */
-	public FileCompressionType getCompression() {
+	public CompressionType getCompression() {
 		return compression;
 	}
 
@@ -605,11 +704,11 @@ public class DbExportDefinition extends DbConnectionDefinition {
 			}
 		}
 
-		if (compression != FileCompressionType.ZIP && zipPassword != null) {
+		if (compression != CompressionType.ZIP && zipPassword != null) {
 			throw new DbExportException("ZipPassword is set without zip compression");
 		}
 
-		if (dataType == DataType.KDBX && kdbxPassword != null) {
+		if (dataType == DataType.KDBX && kdbxPassword == null) {
 			throw new DbExportException("KDBX data type is set without kdbx password");
 		}
 
@@ -621,9 +720,85 @@ public class DbExportDefinition extends DbConnectionDefinition {
 			throw new DbExportException("NoHeaders is not supported for export format " + dataType);
 		}
 
-		if (beautify && dataType != DataType.CSV && dataType != DataType.JSON && dataType != DataType.XML) {
+		if (beautify && dataType != DataType.CSV && dataType != DataType.JSON && dataType != DataType.JSONCOMPACT && dataType != DataType.XML) {
 			throw new DbExportException("Beautify is not supported for export format " + dataType);
 		}
+
+		if (threads < 1) {
+			throw new DbExportException("Invalid number of threads: " + threads);
+		}
+
+		if (chunks < 1) {
+			throw new DbExportException("Invalid number of chunks: " + chunks);
+		}
+
+		if (progressMode == null) {
+			throw new DbExportException("Missing progress mode");
+		}
+
+		if (beautifyStrategy == null) {
+			throw new DbExportException("Missing beautify strategy");
+		}
+
+		if (compressionThreads < 1) {
+			throw new DbExportException("Invalid number of compression threads: " + compressionThreads);
+		}
+
+		if (zstdLevel < CompressionUtilities.MINIMUM_ZSTD_LEVEL || zstdLevel > CompressionUtilities.MAXIMUM_ZSTD_LEVEL) {
+			throw new DbExportException("Invalid zstd compression level: " + zstdLevel);
+		} else if (!CompressionUtilities.isZstdLevelAvailable(zstdLevel)) {
+			throw new DbExportException("Zstd compression level " + zstdLevel + " needs the native zstd library (zstd-jni) in the classpath. Only the default level " + CompressionUtilities.DEFAULT_ZSTD_LEVEL + " is available without it.");
+		}
+
+		if (insertRowsPerStatement < 1) {
+			throw new DbExportException("Invalid number of rows per insert statement: " + insertRowsPerStatement);
+		}
+
+		if (postgresqlCopy) {
+			if (getDbVendor() != DbVendor.PostgreSQL) {
+				throw new DbExportException("PostgreSQL copy is not supported for database vendor " + getDbVendor());
+			} else if (dataType != DataType.CSV) {
+				throw new DbExportException("PostgreSQL copy is not supported for export format " + dataType);
+			} else if (beautify) {
+				throw new DbExportException("PostgreSQL copy is not supported with beautify");
+			} else if (createBlobFiles || createClobFiles) {
+				throw new DbExportException("PostgreSQL copy is not supported with blob files or clob files");
+			} else if (dateFormat != null || dateTimeFormat != null || decimalSeparator != null) {
+				throw new DbExportException("PostgreSQL copy is not supported with date formats or decimal separator, because the database formats the values");
+			} else if (!databaseTimeZone.equals(exportDataTimeZone)) {
+				throw new DbExportException("PostgreSQL copy is not supported with different database time zone and export data time zone");
+			}
+		}
+
+		if (xmlColumnAttributes && dataType != DataType.XML) {
+			throw new DbExportException("XML column attributes are not supported for export format " + dataType);
+		}
+
+		if (kdbxStreaming && dataType != DataType.KDBX) {
+			throw new DbExportException("KDBX streaming is not supported for export format " + dataType);
+		}
+
+		if (parquetRowGroupSize < 1) {
+			throw new DbExportException("Invalid number of rows per parquet row group: " + parquetRowGroupSize);
+		} else if (parquetRowGroupSize != ParquetRowEncoder.DEFAULT_ROW_GROUP_SIZE && dataType != DataType.PARQUET) {
+			throw new DbExportException("Parquet row group size is not supported for export format " + dataType);
+		}
+
+		if (parquetCodec == null) {
+			throw new DbExportException("Missing parquet codec");
+		} else if (parquetCodec != ParquetRowEncoder.Codec.SNAPPY && dataType != DataType.PARQUET) {
+			throw new DbExportException("Parquet codec is not supported for export format " + dataType);
+		}
+
+		if (arrowBatchSize < 1) {
+			throw new DbExportException("Invalid number of rows per arrow record batch: " + arrowBatchSize);
+		} else if (arrowBatchSize != ArrowRowEncoder.DEFAULT_BATCH_SIZE && dataType != DataType.ARROW) {
+			throw new DbExportException("Arrow batch size is not supported for export format " + dataType);
+		}
+
+		if (dataType == DataType.ARROW && (createBlobFiles || createClobFiles)) {
+			throw new DbExportException("Arrow export is not supported with blob files or clob files, because it reads the values directly from the database");
+		}
 	}
 
 	/**
@@ -738,6 +913,118 @@ public class DbExportDefinition extends DbConnectionDefinition {
 		this.createOutputDirectoyIfNotExists = createOutputDirectoyIfNotExists;
 	}
 
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	public int getChunks() {
+		return chunks;
+	}
+
+	public void setChunks(final int chunks) {
+		this.chunks = chunks;
+	}
+
+	public ProgressMode getProgressMode() {
+		return progressMode;
+	}
+
+	public void setProgressMode(final ProgressMode progressMode) {
+		this.progressMode = progressMode;
+	}
+
+	public boolean isPipeline() {
+		return pipeline;
+	}
+
+	public void setPipeline(final boolean pipeline) {
+		this.pipeline = pipeline;
+	}
+
+	public int getCompressionThreads() {
+		return compressionThreads;
+	}
+
+	public void setCompressionThreads(final int compressionThreads) {
+		this.compressionThreads = compressionThreads;
+	}
+
+	public BeautifyStrategy getBeautifyStrategy() {
+		return beautifyStrategy;
+	}
+
+	public void setBeautifyStrategy(final BeautifyStrategy beautifyStrategy) {
+		this.beautifyStrategy = beautifyStrategy;
+	}
+
+	public int getZstdLevel() {
+		return zstdLevel;
+	}
+
+	public void setZstdLevel(final int zstdLevel) {
+		this.zstdLevel = zstdLevel;
+	}
+
+	public int getInsertRowsPerStatement() {
+		return insertRowsPerStatement;
+	}
+
+	public void setInsertRowsPerStatement(final int insertRowsPerStatement) {
+		this.insertRowsPerStatement = insertRowsPerStatement;
+	}
+
+	public boolean isPostgresqlCopy() {
+		return postgresqlCopy;
+	}
+
+	public void setPostgresqlCopy(final boolean postgresqlCopy) {
+		this.postgresqlCopy = postgresqlCopy;
+	}
+
+	public boolean isXmlColumnAttributes() {
+		return xmlColumnAttributes;
+	}
+
+	public void setXmlColumnAttributes(final boolean xmlColumnAttributes) {
+		this.xmlColumnAttributes = xmlColumnAttributes;
+	}
+
+	public boolean isKdbxStreaming() {
+		return kdbxStreaming;
+	}
+
+	public void setKdbxStreaming(final boolean kdbxStreaming) {
+		this.kdbxStreaming = kdbxStreaming;
+	}
+
+	public int getParquetRowGroupSize() {
+		return parquetRowGroupSize;
+	}
+
+	public void setParquetRowGroupSize(final int parquetRowGroupSize) {
+		this.parquetRowGroupSize = parquetRowGroupSize;
+	}
+
+	public ParquetRowEncoder.Codec getParquetCodec() {
+		return parquetCodec;
+	}
+
+	public void setParquetCodec(final ParquetRowEncoder.Codec parquetCodec) {
+		this.parquetCodec = parquetCodec;
+	}
+
+	public int getArrowBatchSize() {
+		return arrowBatchSize;
+	}
+
+	public void setArrowBatchSize(final int arrowBatchSize) {
+		this.arrowBatchSize = arrowBatchSize;
+	}
+
 	/**
 	 * Create and configure a worker according to the current configuration
 	 *
@@ -762,8 +1049,10 @@ public class DbExportDefinition extends DbConnectionDefinition {
 				((DbCsvExportWorker) worker).setStringQuoteEscapeCharacter(getStringQuoteEscapeCharacter());
 				((DbCsvExportWorker) worker).setAlwaysQuote(isAlwaysQuote());
 				worker.setBeautify(isBeautify());
+				((DbCsvExportWorker) worker).setBeautifyStrategy(getBeautifyStrategy());
 				((DbCsvExportWorker) worker).setNoHeaders(isNoHeaders());
 				((DbCsvExportWorker) worker).setNullValueText(getNullValueString());
+				((DbCsvExportWorker) worker).setPostgresqlCopy(isPostgresqlCopy());
 				break;
 			case JSON:
 				worker = new DbJsonExportWorker(parent,
@@ -774,6 +1063,22 @@ public class DbExportDefinition extends DbConnectionDefinition {
 				worker.setBeautify(isBeautify());
 				((DbJsonExportWorker) worker).setIndentation(getIndentation());
 				break;
+			case JSONL:
+				worker = new DbJsonLinesExportWorker(parent,
+						this,
+						isStatementFile(),
+						getSqlStatementOrTablelist(),
+						getOutputpath());
+				break;
+			case JSONCOMPACT:
+				worker = new DbJsonCompactExportWorker(parent,
+						this,
+						isStatementFile(),
+						getSqlStatementOrTablelist(),
+						getOutputpath());
+				worker.setBeautify(isBeautify());
+				((DbJsonCompactExportWorker) worker).setIndentation(getIndentation());
+				break;
 			case YAML:
 				worker = new DbYamlExportWorker(parent,
 						this,
@@ -793,6 +1098,7 @@ public class DbExportDefinition extends DbConnectionDefinition {
 				worker.setDateTimeFormat(getDateTimeFormat());
 				worker.setDecimalSeparator(getDecimalSeparator());
 				worker.setBeautify(isBeautify());
+				((DbSqlExportWorker) worker).setInsertRowsPerStatement(getInsertRowsPerStatement());
 				break;
 			case VCF:
 				worker = new DbVcfExportWorker(parent,
@@ -814,6 +1120,7 @@ public class DbExportDefinition extends DbConnectionDefinition {
 				worker.setBeautify(isBeautify());
 				((DbXmlExportWorker) worker).setIndentation(getIndentation());
 				((DbXmlExportWorker) worker).setNullValueText(getNullValueString());
+				((DbXmlExportWorker) worker).setColumnAttributes(isXmlColumnAttributes());
 				break;
 			case KDBX:
 				worker = new DbKdbxExportWorker(parent,
@@ -822,6 +1129,27 @@ public class DbExportDefinition extends DbConnectionDefinition {
 						getSqlStatementOrTablelist(),
 						getOutputpath(),
 						getKdbxPassword());
+				((DbKdbxExportWorker) worker).setStreaming(isKdbxStreaming());
+				break;
+			case PARQUET:
+				worker = new DbParquetExportWorker(parent,
+						this,
+						isStatementFile(),
+						getSqlStatementOrTablelist(),
+						getOutputpath());
+				worker.setDateFormatLocale(getDateFormatLocale());
+				worker.setDateFormat(getDateFormat());
+				worker.setDateTimeFormat(getDateTimeFormat());
+				((DbParquetExportWorker) worker).setRowGroupSize(getParquetRowGroupSize());
+				((DbParquetExportWorker) worker).setCodec(getParquetCodec());
+				break;
+			case ARROW:
+				worker = new DbArrowExportWorker(parent,
+						this,
+						isStatementFile(),
+						getSqlStatementOrTablelist(),
+						getOutputpath());
+				((DbArrowExportWorker) worker).setBatchSize(getArrowBatchSize());
 				break;
 			default:
 				// default CSV
@@ -839,8 +1167,10 @@ public class DbExportDefinition extends DbConnectionDefinition {
 				((DbCsvExportWorker) worker).setStringQuoteEscapeCharacter(getStringQuoteEscapeCharacter());
 				((DbCsvExportWorker) worker).setAlwaysQuote(isAlwaysQuote());
 				worker.setBeautify(isBeautify());
+				((DbCsvExportWorker) worker).setBeautifyStrategy(getBeautifyStrategy());
 				((DbCsvExportWorker) worker).setNoHeaders(isNoHeaders());
 				((DbCsvExportWorker) worker).setNullValueText(getNullValueString());
+				((DbCsvExportWorker) worker).setPostgresqlCopy(isPostgresqlCopy());
 				break;
 		}
 		worker.setLog(isLog());
@@ -855,6 +1185,12 @@ public class DbExportDefinition extends DbConnectionDefinition {
 		worker.setExportDataTimeZone(getExportDataTimeZone());
 		worker.setReplaceAlreadyExistingFiles(isReplaceAlreadyExistingFiles());
 		worker.setCreateOutputDirectoyIfNotExists(isCreateOutputDirectoyIfNotExists());
+		worker.setThreads(getThreads());
+		worker.setChunks(getChunks());
+		worker.setProgressMode(getProgressMode());
+		worker.setPipeline(isPipeline());
+		worker.setCompressionThreads(getCompressionThreads());
+		worker.setZstdLevel(getZstdLevel());
 
 		return worker;
 	}
@@ -958,6 +1294,48 @@ public class DbExportDefinition extends DbConnectionDefinition {
 		if (isReplaceAlreadyExistingFiles()) {
 			params += " " + "-replaceAlreadyExistingFiles";
 		}
+		if (getThreads() != 1) {
+			params += " " + "-threads" + " " + getThreads();
+		}
+		if (getChunks() != 1) {
+			params += " " + "-chunks" + " " + getChunks();
+		}
+		if (getProgressMode() != ProgressMode.COUNT) {
+			params += " " + "-progress" + " " + getProgressMode().name().toLowerCase();
+		}
+		if (isPipeline()) {
+			params += " " + "-pipeline";
+		}
+		if (getCompressionThreads() != 1) {
+			params += " " + "-compressionThreads" + " " + getCompressionThreads();
+		}
+		if (getZstdLevel() != CompressionUtilities.DEFAULT_ZSTD_LEVEL) {
+			params += " " + "-zstdLevel" + " " + getZstdLevel();
+		}
+		if (getBeautifyStrategy() != BeautifyStrategy.SPILL) {
+			params += " " + "-beautifyStrategy" + " " + getBeautifyStrategy().name().toLowerCase();
+		}
+		if (getInsertRowsPerStatement() != 1) {
+			params += " " + "-insertRows" + " " + getInsertRowsPerStatement();
+		}
+		if (isPostgresqlCopy()) {
+			params += " " + "-postgresqlCopy";
+		}
+		if (isXmlColumnAttributes()) {
+			params += " " + "-xmlAttributes";
+		}
+		if (isKdbxStreaming()) {
+			params += " " + "-kdbxStreaming";
+		}
+		if (getParquetRowGroupSize() != ParquetRowEncoder.DEFAULT_ROW_GROUP_SIZE) {
+			params += " " + "-parquetRowGroupSize" + " " + getParquetRowGroupSize();
+		}
+		if (getParquetCodec() != ParquetRowEncoder.Codec.SNAPPY) {
+			params += " " + "-parquetCodec" + " " + getParquetCodec().name().toLowerCase();
+		}
+		if (getArrowBatchSize() != ArrowRowEncoder.DEFAULT_BATCH_SIZE) {
+			params += " " + "-arrowBatchSize" + " " + getArrowBatchSize();
+		}
 		return params;
 	}
 
@@ -996,6 +1374,20 @@ public class DbExportDefinition extends DbConnectionDefinition {
 			nullValueString = "";
 			createOutputDirectoyIfNotExists = false;
 			replaceAlreadyExistingFiles = false;
+			threads = 1;
+			chunks = 1;
+			progressMode = ProgressMode.COUNT;
+			pipeline = false;
+			compressionThreads = 1;
+			zstdLevel = CompressionUtilities.DEFAULT_ZSTD_LEVEL;
+			beautifyStrategy = BeautifyStrategy.SPILL;
+			insertRowsPerStatement = 1;
+			postgresqlCopy = false;
+			xmlColumnAttributes = false;
+			kdbxStreaming = false;
+			parquetRowGroupSize = ParquetRowEncoder.DEFAULT_ROW_GROUP_SIZE;
+			parquetCodec = ParquetRowEncoder.Codec.SNAPPY;
+			arrowBatchSize = ArrowRowEncoder.DEFAULT_BATCH_SIZE;
 		} else if (otherDbConnectionDefinition instanceof DbExportDefinition) {
 			final DbExportDefinition otherDbExportDefinition = (DbExportDefinition) otherDbConnectionDefinition;
 			sqlStatementOrTablelist = otherDbExportDefinition.getSqlStatementOrTablelist();
@@ -1032,6 +1424,20 @@ public class DbExportDefinition extends DbConnectionDefinition {
 			nullValueString = otherDbExportDefinition.getNullValueString();
 			createOutputDirectoyIfNotExists = otherDbExportDefinition.isCreateOutputDirectoyIfNotExists();
 			replaceAlreadyExistingFiles = otherDbExportDefinition.isReplaceAlreadyExistingFiles();
+			threads = otherDbExportDefinition.getThreads();
+			chunks = otherDbExportDefinition.getChunks();
+			progressMode = otherDbExportDefinition.getProgressMode();
+			pipeline = otherDbExportDefinition.isPipeline();
+			compressionThreads = otherDbExportDefinition.getCompressionThreads();
+			zstdLevel = otherDbExportDefinition.getZstdLevel();
+			beautifyStrategy = otherDbExportDefinition.getBeautifyStrategy();
+			insertRowsPerStatement = otherDbExportDefinition.getInsertRowsPerStatement();
+			postgresqlCopy = otherDbExportDefinition.isPostgresqlCopy();
+			xmlColumnAttributes = otherDbExportDefinition.isXmlColumnAttributes();
+			kdbxStreaming = otherDbExportDefinition.isKdbxStreaming();
+			parquetRowGroupSize = otherDbExportDefinition.getParquetRowGroupSize();
+			parquetCodec = otherDbExportDefinition.getParquetCodec();
+			arrowBatchSize = otherDbExportDefinition.getArrowBatchSize();
 		}
 	}
 }
@@ -39,6 +39,7 @@ import javax.swing.JTextField;
 import javax.swing.WindowConstants;
 
 import de.soderer.dbexport.DbExportDefinition.DataType;
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.dbexport.worker.AbstractDbExportWorker;
 import de.soderer.network.NetworkUtilities;
 import de.soderer.network.trustmanager.TrustManagerUtilities;
@@ -48,7 +49,6 @@ import de.soderer.pac.utilities.ProxyConfiguration.ProxyConfigurationType;
 import de.soderer.utilities.ConfigurationProperties;
 import de.soderer.utilities.DateUtilities;
 import de.soderer.utilities.ExceptionUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.LangResources;
 import de.soderer.utilities.Result;
@@ -507,6 +507,8 @@ public class DbExportGui extends UpdateableGuiApplication {
 		compressionTypeCombo.addItem("TarGz");
 		compressionTypeCombo.addItem("Tgz");
 		compressionTypeCombo.addItem("Gz");
+		compressionTypeCombo.addItem("Zstd");
+		compressionTypeCombo.addItem("Lz4");
 		compressionTypeCombo.addKeyListener(new KeyAdapter() {
 			@Override
 			public void keyReleased(final KeyEvent event) {
@@ -921,9 +923,9 @@ public class DbExportGui extends UpdateableGuiApplication {
 		dbExportDefinition.setDataType((String) dataTypeCombo.getSelectedItem());
 
 		dbExportDefinition.setLog(fileLogBox.isSelected());
-		FileCompressionType fileCompressionType;
+		CompressionType fileCompressionType;
 		try {
-			fileCompressionType = FileCompressionType.getFromString((String) compressionTypeCombo.getSelectedItem());
+			fileCompressionType = CompressionType.getFromString((String) compressionTypeCombo.getSelectedItem());
 		} catch (@SuppressWarnings("unused") final Exception e) {
 			fileCompressionType = null;
 		}
@@ -1183,6 +1185,28 @@ public class DbExportGui extends UpdateableGuiApplication {
 				kdbxPasswordField.setEnabled(false);
 				localeCombo.setEnabled(false);
 				break;
+			case JSONCOMPACT:
+				separatorCombo.setEnabled(false);
+				stringQuoteCombo.setEnabled(false);
+				alwaysQuoteBox.setEnabled(false);
+				noHeadersBox.setEnabled(false);
+				beautifyBox.setEnabled(true);
+				indentationCombo.setEnabled(true);
+				nullValueStringCombo.setEnabled(false);
+				kdbxPasswordField.setEnabled(false);
+				localeCombo.setEnabled(false);
+				break;
+			case JSONL:
+				separatorCombo.setEnabled(false);
+				stringQuoteCombo.setEnabled(false);
+				alwaysQuoteBox.setEnabled(false);
+				noHeadersBox.setEnabled(false);
+				beautifyBox.setEnabled(false);
+				indentationCombo.setEnabled(false);
+				nullValueStringCombo.setEnabled(false);
+				kdbxPasswordField.setEnabled(false);
+				localeCombo.setEnabled(false);
+				break;
 			case YAML:
 				separatorCombo.setEnabled(false);
 				stringQuoteCombo.setEnabled(false);
@@ -1238,6 +1262,18 @@ public class DbExportGui extends UpdateableGuiApplication {
 				kdbxPasswordField.setEnabled(false);
 				localeCombo.setEnabled(true);
 				break;
+			case PARQUET:
+			case ARROW:
+				separatorCombo.setEnabled(false);
+				stringQuoteCombo.setEnabled(false);
+				alwaysQuoteBox.setEnabled(false);
+				noHeadersBox.setEnabled(false);
+				beautifyBox.setEnabled(false);
+				indentationCombo.setEnabled(false);
+				nullValueStringCombo.setEnabled(false);
+				kdbxPasswordField.setEnabled(false);
+				localeCombo.setEnabled(false);
+				break;
 			case CSV:
 			default:
 				separatorCombo.setEnabled(true);
@@ -13,8 +13,8 @@ import java.util.stream.Stream;
 import de.soderer.dbexport.DbExport;
 import de.soderer.dbexport.DbExportDefinition;
 import de.soderer.dbexport.DbExportDefinition.DataType;
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.FileUtilities;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.console.ConsoleMenu;
@@ -240,10 +240,10 @@ public class ExportMenu extends ConsoleMenu {
 				System.out.println("  " + Utilities.rightPad("v)", bulletSize) + " " + Utilities.rightPad("Verbose terminal output:", nameSize) + dbExportDefinition.isVerbose());
 				autoCompletionStrings.add("v");
 				if (!"console".equalsIgnoreCase(dbExportDefinition.getOutputpath())) {
-					System.out.println("  " + Utilities.rightPad("compression)", bulletSize) + " " + Utilities.rightPad("Output compression (zip, targz, tgz, gz, none) (Not for console output):", nameSize)
+					System.out.println("  " + Utilities.rightPad("compression)", bulletSize) + " " + Utilities.rightPad("Output compression (zip, targz, tgz, gz, zstd, lz4, none) (Not for console output):", nameSize)
 					+ (dbExportDefinition.getCompression() != null ? dbExportDefinition.getCompression().name() : "None"));
 					autoCompletionStrings.add("compression");
-					if (dbExportDefinition.getCompression() == FileCompressionType.ZIP) {
+					if (dbExportDefinition.getCompression() == CompressionType.ZIP) {
 						System.out.println("  " + Utilities.rightPad("zippassword)", bulletSize) + " " + Utilities.rightPad("Zip file password:", nameSize) + (dbExportDefinition.getZipPassword() == null ? "<empty>" : "***"));
 						autoCompletionStrings.add("zippassword");
 						if (dbExportDefinition.getZipPassword() != null) {
@@ -266,7 +266,7 @@ public class ExportMenu extends ConsoleMenu {
 					System.out.println("  " + Utilities.rightPad("noheaders)", bulletSize) + " " + Utilities.rightPad("Don't export CSV headers:", nameSize) + dbExportDefinition.isNoHeaders());
 					autoCompletionStrings.add("noheaders");
 				}
-				if (dbExportDefinition.getDataType() == DataType.JSON || dbExportDefinition.getDataType() == DataType.XML) {
+				if (dbExportDefinition.getDataType() == DataType.JSON || dbExportDefinition.getDataType() == DataType.JSONCOMPACT || dbExportDefinition.getDataType() == DataType.XML) {
 					System.out.println("  " + Utilities.rightPad("i)", bulletSize) + " " + Utilities.rightPad("Indentation string:", nameSize) + dbExportDefinition.getIndentation());
 					autoCompletionStrings.add("i");
 				}
@@ -282,7 +282,7 @@ public class ExportMenu extends ConsoleMenu {
 				autoCompletionStrings.add("blobfiles");
 				System.out.println("  " + Utilities.rightPad("clobfiles)", bulletSize) + " " + Utilities.rightPad("Create clob files:", nameSize) + dbExportDefinition.isCreateClobFiles());
 				autoCompletionStrings.add("clobfiles");
-				if (dbExportDefinition.getDataType() == DataType.CSV || dbExportDefinition.getDataType() == DataType.JSON) {
+				if (dbExportDefinition.getDataType() == DataType.CSV || dbExportDefinition.getDataType() == DataType.JSON || dbExportDefinition.getDataType() == DataType.JSONCOMPACT) {
 					System.out.println("  " + Utilities.rightPad("beautify)", bulletSize) + " " + Utilities.rightPad("Beautify output:", nameSize) + dbExportDefinition.isBeautify());
 					autoCompletionStrings.add("beautify");
 				}
@@ -363,11 +363,11 @@ public class ExportMenu extends ConsoleMenu {
 					dbExportDefinition.setVerbose(!dbExportDefinition.isVerbose());
 				} else if ("compression".equalsIgnoreCase(choice)) {
 					System.out.println();
-					System.out.println("Please enter compression type (zip, targz, tgz, gz, none");
+					System.out.println("Please enter compression type (zip, targz, tgz, gz, zstd, lz4, none");
 					final String compressionValueString = new SimpleConsoleInput().setPrompt(" > ").readInput();
-					FileCompressionType compressionType;
+					CompressionType compressionType;
 					try {
-						compressionType = FileCompressionType.getFromString(compressionValueString);
+						compressionType = CompressionType.getFromString(compressionValueString);
 					} catch (@SuppressWarnings("unused") final Exception e) {
 						compressionType = null;
 					}
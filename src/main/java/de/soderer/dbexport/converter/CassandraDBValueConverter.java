@@ -6,13 +6,18 @@ import java.sql.ResultSetMetaData;
 import java.sql.Types;
 import java.util.Base64;
 
-import de.soderer.utilities.FileCompressionType;
+import de.soderer.dbexport.utilities.CompressionType;
 
 public class CassandraDBValueConverter extends DefaultDBValueConverter {
-	public CassandraDBValueConverter(final FileCompressionType compression, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
+	public CassandraDBValueConverter(final CompressionType compression, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
 		super(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, fileExtension);
 	}
 
+	@Override
+	public boolean isVendorSpecificColumn(final ResultSetMetaData metaData, final int columnIndex) throws Exception {
+		return metaData.getColumnType(columnIndex) == Types.LONGVARBINARY;
+	}
+
 	@Override
 	public Object convert(final ResultSetMetaData metaData, final ResultSet resultSet, final int columnIndex, final String exportFilePath) throws Exception {
 		Object value;
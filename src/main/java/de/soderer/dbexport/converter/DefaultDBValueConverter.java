@@ -11,29 +11,36 @@ import java.sql.Clob;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.BitSet;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
-import de.soderer.utilities.FileCompressionType;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.dbexport.utilities.CompressionUtilities;
+import de.soderer.dbexport.utilities.CountingOutputStream;
+import de.soderer.dbexport.utilities.EncryptedZipOutputStream;
+import de.soderer.dbexport.utilities.StreamingTarOutputStream;
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.ReaderInputStream;
 import de.soderer.utilities.Utilities;
-import de.soderer.utilities.zip.TarGzUtilities;
-import de.soderer.utilities.zip.Zip4jUtilities;
 import de.soderer.utilities.zip.ZipUtilities;
 
 public class DefaultDBValueConverter {
-	protected FileCompressionType compressionType;
+	protected CompressionType compressionType;
 	protected char[] zipPassword;
 	protected boolean useZipCrypto = false;
+	protected int zstdLevel = CompressionUtilities.DEFAULT_ZSTD_LEVEL;
 	protected boolean createBlobFiles;
 	protected boolean createClobFiles;
 	protected String outputFilePath;
 	protected String fileExtension;
+	/** Indexes of the columns, which the driver cannot read as LocalDateTime */
+	private final BitSet localDateTimeUnsupportedColumns = new BitSet();
 
-	public DefaultDBValueConverter(final FileCompressionType compressionType, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
+	public DefaultDBValueConverter(final CompressionType compressionType, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
 		this.compressionType = compressionType;
 		this.zipPassword = zipPassword;
 		this.useZipCrypto = useZipCrypto;
@@ -42,42 +49,111 @@ public class DefaultDBValueConverter {
 		this.fileExtension = fileExtension;
 	}
 
+	public void setZstdLevel(final int zstdLevel) {
+		this.zstdLevel = zstdLevel;
+	}
+
+	/**
+	 * Reader of the values of a single ResultSet column
+	 */
+	@FunctionalInterface
+	public interface ColumnValueReader {
+		Object read(ResultSet resultSet) throws Exception;
+	}
+
+	/**
+	 * Decide the read method of a column once for all of its values.
+	 * Columns of common types are read by the typed getters of the ResultSet, all others by {@link #convert(ResultSetMetaData, ResultSet, int, String)}.
+	 */
+	public ColumnValueReader createColumnValueReader(final ResultSetMetaData metaData, final int columnIndex, final String exportFilePath) throws Exception {
+		if (isVendorSpecificColumn(metaData, columnIndex)) {
+			return resultSet -> convert(metaData, resultSet, columnIndex, exportFilePath);
+		}
+
+		switch (metaData.getColumnType(columnIndex)) {
+			case Types.BLOB:
+				return resultSet -> readBlob(resultSet, columnIndex, exportFilePath);
+			case Types.CLOB:
+				return resultSet -> readClob(resultSet, columnIndex, exportFilePath);
+			case Types.TIMESTAMP:
+				if (isTimestampWithTimeZone(metaData, columnIndex)) {
+					return resultSet -> readDate(resultSet, columnIndex);
+				}
+				return resultSet -> readTimestamp(resultSet, columnIndex);
+			case Types.DATE:
+				return resultSet -> readDate(resultSet, columnIndex);
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+				if (!metaData.isSigned(columnIndex)) {
+					// Unsigned values may exceed the range of the signed java type
+					break;
+				}
+				return resultSet -> {
+					final int value = resultSet.getInt(columnIndex);
+					return resultSet.wasNull() ? null : value;
+				};
+			case Types.BIGINT:
+				if (!metaData.isSigned(columnIndex)) {
+					// Unsigned values may exceed the range of the signed java type
+					break;
+				}
+				return resultSet -> {
+					final long value = resultSet.getLong(columnIndex);
+					return resultSet.wasNull() ? null : value;
+				};
+			case Types.REAL:
+				return resultSet -> {
+					final float value = resultSet.getFloat(columnIndex);
+					return resultSet.wasNull() ? null : value;
+				};
+			case Types.FLOAT:
+			case Types.DOUBLE:
+				return resultSet -> {
+					final double value = resultSet.getDouble(columnIndex);
+					return resultSet.wasNull() ? null : value;
+				};
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+				return resultSet -> resultSet.getBigDecimal(columnIndex);
+			case Types.BOOLEAN:
+				return resultSet -> {
+					final boolean value = resultSet.getBoolean(columnIndex);
+					return resultSet.wasNull() ? null : value;
+				};
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+				return resultSet -> resultSet.getString(columnIndex);
+			default:
+				break;
+		}
+		return resultSet -> convert(metaData, resultSet, columnIndex, exportFilePath);
+	}
+
+	/**
+	 * Columns, which are read by the vendor specific conversion of {@link #convert(ResultSetMetaData, ResultSet, int, String)} only
+	 */
+	public boolean isVendorSpecificColumn(final ResultSetMetaData metaData, final int columnIndex) throws Exception {
+		return false;
+	}
+
 	public Object convert(final ResultSetMetaData metaData, final ResultSet resultSet, final int columnIndex, final String exportFilePath) throws Exception {
 		Object value;
 		final int columnTypeCode = metaData.getColumnType(columnIndex);
 		if (columnTypeCode == Types.BLOB) {
-			final Blob blob = resultSet.getBlob(columnIndex);
-			if (resultSet.wasNull()) {
-				value = null;
-			} else if (createBlobFiles) {
-				try (InputStream dataStream = blob.getBinaryStream()) {
-					value = writeLobFile(exportFilePath, "blob", dataStream);
-				}
-			} else {
-				try (InputStream input = blob.getBinaryStream()) {
-					final byte[] data = IoUtilities.toByteArray(input);
-					value = Base64.getEncoder().encodeToString(data);
-				}
-			}
+			value = readBlob(resultSet, columnIndex, exportFilePath);
 		} else if (columnTypeCode == Types.CLOB) {
-			final Clob clob = resultSet.getClob(columnIndex);
-			if (resultSet.wasNull()) {
-				value = null;
-			} else if (createClobFiles) {
-				try (Reader reader = clob.getCharacterStream();
-						InputStream dataStream = new ReaderInputStream(reader, StandardCharsets.UTF_8)) {
-					value = writeLobFile(exportFilePath, "clob", dataStream);
-				}
-			} else {
-				try (Reader input = clob.getCharacterStream()) {
-					value = Utilities.toString(input);
-				}
-			}
-		} else if (columnTypeCode == Types.TIMESTAMP || columnTypeCode == Types.DATE) {
-			value = resultSet.getObject(columnIndex);
-			if (value != null && "0000-00-00 00:00:00".equals(value)) {
-				value = null;
-			}
+			value = readClob(resultSet, columnIndex, exportFilePath);
+		} else if (columnTypeCode == Types.TIMESTAMP && !isTimestampWithTimeZone(metaData, columnIndex)) {
+			value = readTimestamp(resultSet, columnIndex);
+		} else if (columnTypeCode == Types.TIMESTAMP) {
+			value = readDate(resultSet, columnIndex);
+		} else if (columnTypeCode == Types.DATE) {
+			value = readDate(resultSet, columnIndex);
 		} else {
 			value = resultSet.getObject(columnIndex);
 			if (resultSet.wasNull()) {
@@ -87,16 +163,75 @@ public class DefaultDBValueConverter {
 		return value;
 	}
 
-	protected File writeLobFile(final String exportFilePath, final String lobType, final InputStream dataStream) throws Exception {
+	protected Object readBlob(final ResultSet resultSet, final int columnIndex, final String exportFilePath) throws Exception {
+		final Blob blob = resultSet.getBlob(columnIndex);
+		if (resultSet.wasNull()) {
+			return null;
+		} else if (createBlobFiles) {
+			try (InputStream dataStream = blob.getBinaryStream()) {
+				return writeLobFile(exportFilePath, "blob", dataStream);
+			}
+		} else {
+			try (InputStream input = blob.getBinaryStream()) {
+				final byte[] data = IoUtilities.toByteArray(input);
+				return Base64.getEncoder().encodeToString(data);
+			}
+		}
+	}
+
+	protected Object readClob(final ResultSet resultSet, final int columnIndex, final String exportFilePath) throws Exception {
+		final Clob clob = resultSet.getClob(columnIndex);
+		if (resultSet.wasNull()) {
+			return null;
+		} else if (createClobFiles) {
+			try (Reader reader = clob.getCharacterStream();
+					InputStream dataStream = new ReaderInputStream(reader, StandardCharsets.UTF_8)) {
+				return writeLobFile(exportFilePath, "clob", dataStream);
+			}
+		} else {
+			try (Reader input = clob.getCharacterStream()) {
+				return Utilities.toString(input);
+			}
+		}
+	}
+
+	/**
+	 * Some drivers report timestamps with time zone, like PostgreSQL timestamptz, as Types.TIMESTAMP, but cannot read them as LocalDateTime
+	 */
+	protected boolean isTimestampWithTimeZone(final ResultSetMetaData metaData, final int columnIndex) throws Exception {
+		final String columnTypeName = metaData.getColumnTypeName(columnIndex);
+		return columnTypeName != null && (columnTypeName.toLowerCase().startsWith("timestamptz") || columnTypeName.toLowerCase().contains("time zone"));
+	}
+
+	protected Object readTimestamp(final ResultSet resultSet, final int columnIndex) throws Exception {
+		if (!localDateTimeUnsupportedColumns.get(columnIndex)) {
+			try {
+				// Reading the timestamp as LocalDateTime skips the conversion to and from java.util.Date
+				return resultSet.getObject(columnIndex, LocalDateTime.class);
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Some drivers do not support this or fail on special values, so this column uses the default object type
+				localDateTimeUnsupportedColumns.set(columnIndex);
+			}
+		}
+		return readDate(resultSet, columnIndex);
+	}
+
+	protected Object readDate(final ResultSet resultSet, final int columnIndex) throws Exception {
+		final Object value = resultSet.getObject(columnIndex);
+		if (value != null && "0000-00-00 00:00:00".equals(value)) {
+			return null;
+		} else {
+			return value;
+		}
+	}
+
+	protected ExportedLobFile writeLobFile(final String exportFilePath, final String lobType, final InputStream dataStream) throws Exception {
 		String lobOutputFilePathPrefix = exportFilePath;
-		if (lobOutputFilePathPrefix.endsWith("." + FileCompressionType.ZIP.getDefaultFileExtension())) {
-			lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - 1 - FileCompressionType.ZIP.getDefaultFileExtension().length());
-		} else if (lobOutputFilePathPrefix.endsWith("." + FileCompressionType.ZIP.getDefaultFileExtension())) {
-			lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - 1 - FileCompressionType.TARGZ.getDefaultFileExtension().length());
-		} else if (lobOutputFilePathPrefix.endsWith("." + FileCompressionType.ZIP.getDefaultFileExtension())) {
-			lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - 1 - FileCompressionType.TGZ.getDefaultFileExtension().length());
-		} else if (lobOutputFilePathPrefix.endsWith("." + FileCompressionType.ZIP.getDefaultFileExtension())) {
-			lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - 1 - FileCompressionType.GZ.getDefaultFileExtension().length());
+		for (final CompressionType lobCompressionType : CompressionType.values()) {
+			if (lobOutputFilePathPrefix.endsWith("." + lobCompressionType.getDefaultFileExtension())) {
+				lobOutputFilePathPrefix = exportFilePath.substring(0, exportFilePath.length() - 1 - lobCompressionType.getDefaultFileExtension().length());
+				break;
+			}
 		}
 		if (lobOutputFilePathPrefix.endsWith("." + fileExtension)) {
 			lobOutputFilePathPrefix = lobOutputFilePathPrefix.substring(0, lobOutputFilePathPrefix.length() - (fileExtension.length() + 1));
@@ -105,42 +240,38 @@ public class DefaultDBValueConverter {
 
 		try {
 			OutputStream outputStream = null;
-			File tempFile = null;
 			try {
-				if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.ZIP.getDefaultFileExtension())) {
-					outputStream = ZipUtilities.openNewZipOutputStream(lobOutputFile, null);
-					((ZipOutputStream) outputStream).putNextEntry(new ZipEntry(lobOutputFile.getName()));
-				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.TARGZ.getDefaultFileExtension())) {
-					tempFile = File.createTempFile(lobOutputFile.getAbsolutePath(), null);
-					outputStream = new FileOutputStream(tempFile);
-				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.TGZ.getDefaultFileExtension())) {
-					tempFile = File.createTempFile(lobOutputFile.getAbsolutePath(), null);
-					outputStream = new FileOutputStream(tempFile);
-				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.GZ.getDefaultFileExtension())) {
-					outputStream = new GZIPOutputStream(new FileOutputStream(lobOutputFile));
+				final CountingOutputStream compressedDataCounter = new CountingOutputStream(new FileOutputStream(lobOutputFile));
+				if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + CompressionType.ZIP.getDefaultFileExtension())) {
+					if (zipPassword != null) {
+						outputStream = new EncryptedZipOutputStream(compressedDataCounter, lobOutputFile.getName(), zipPassword, useZipCrypto);
+					} else {
+						outputStream = ZipUtilities.openNewZipOutputStream(compressedDataCounter);
+						((ZipOutputStream) outputStream).putNextEntry(new ZipEntry(lobOutputFile.getName()));
+					}
+				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + CompressionType.TARGZ.getDefaultFileExtension())) {
+					outputStream = new StreamingTarOutputStream(new GZIPOutputStream(compressedDataCounter), lobOutputFile.getName());
+				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + CompressionType.TGZ.getDefaultFileExtension())) {
+					outputStream = new StreamingTarOutputStream(new GZIPOutputStream(compressedDataCounter), lobOutputFile.getName());
+				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + CompressionType.GZ.getDefaultFileExtension())) {
+					outputStream = new GZIPOutputStream(compressedDataCounter);
+				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + CompressionType.ZSTD.getDefaultFileExtension())) {
+					outputStream = CompressionUtilities.openZstdOutputStream(compressedDataCounter, zstdLevel);
+				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + CompressionType.LZ4.getDefaultFileExtension())) {
+					outputStream = CompressionUtilities.openLz4OutputStream(compressedDataCounter);
 				} else {
-					outputStream = new FileOutputStream(lobOutputFile);
+					outputStream = compressedDataCounter;
 				}
+				final CountingOutputStream uncompressedDataCounter = new CountingOutputStream(outputStream);
+				outputStream = uncompressedDataCounter;
 
 				IoUtilities.copy(dataStream, outputStream);
 
 				outputStream.close();
 
-				if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.ZIP.getDefaultFileExtension())) {
-					Zip4jUtilities.createPasswordSecuredZipFile(lobOutputFile.getAbsolutePath(), zipPassword, false);
-				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.TARGZ.getDefaultFileExtension())) {
-					TarGzUtilities.compress(lobOutputFile, tempFile, lobOutputFile.getName());
-				} else if (Utilities.endsWithIgnoreCase(lobOutputFile.getName(), "." + FileCompressionType.TGZ.getDefaultFileExtension())) {
-					TarGzUtilities.compress(lobOutputFile, tempFile, lobOutputFile.getName());
-				}
-
-				return lobOutputFile;
+				return new ExportedLobFile(lobOutputFile, uncompressedDataCounter.getByteCount(), compressedDataCounter.getByteCount());
 			} finally {
 				Utilities.closeQuietly(outputStream);
-				if (tempFile != null && tempFile.exists()) {
-					tempFile.delete();
-					tempFile = null;
-				}
 			}
 		} catch (final Exception e) {
 			throw new Exception("Error creating blob file '" + lobOutputFile.getAbsolutePath() + "': " + e.getMessage());
@@ -0,0 +1,33 @@
+package de.soderer.dbexport.converter;
+
+import java.io.File;
+
+/**
+ * File of an exported blob or clob value including the sizes of its data counted while writing it
+ */
+public class ExportedLobFile extends File {
+	private static final long serialVersionUID = 3519862470926731385L;
+
+	private final long uncompressedSize;
+	private final long compressedSize;
+
+	public ExportedLobFile(final File file, final long uncompressedSize, final long compressedSize) {
+		super(file.getAbsolutePath());
+		this.uncompressedSize = uncompressedSize;
+		this.compressedSize = compressedSize;
+	}
+
+	/**
+	 * Number of bytes of the lob data
+	 */
+	public long getUncompressedSize() {
+		return uncompressedSize;
+	}
+
+	/**
+	 * Number of bytes of the lob file, which is the same as the uncompressed size for uncompressed lob files
+	 */
+	public long getCompressedSize() {
+		return compressedSize;
+	}
+}
@@ -10,15 +10,21 @@ import java.sql.ResultSetMetaData;
 import java.sql.Types;
 import java.util.Base64;
 
-import de.soderer.utilities.FileCompressionType;
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.ReaderInputStream;
 
 public class MySQLDBValueConverter extends DefaultDBValueConverter {
-	public MySQLDBValueConverter(final FileCompressionType compressionType, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
+	public MySQLDBValueConverter(final CompressionType compressionType, final char[] zipPassword, final boolean useZipCrypto, final boolean createBlobFiles, final boolean createClobFiles, final String fileExtension) {
 		super(compressionType, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, fileExtension);
 	}
 
+	@Override
+	public boolean isVendorSpecificColumn(final ResultSetMetaData metaData, final int columnIndex) throws Exception {
+		final int columnTypeCode = metaData.getColumnType(columnIndex);
+		return columnTypeCode == Types.LONGVARBINARY || columnTypeCode == Types.VARBINARY || columnTypeCode == Types.LONGVARCHAR || columnTypeCode == Types.BIT;
+	}
+
 	@Override
 	public Object convert(final ResultSetMetaData metaData, final ResultSet resultSet, final int columnIndex, final String exportFilePath) throws Exception {
 		Object value;
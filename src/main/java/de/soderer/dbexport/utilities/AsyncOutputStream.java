@@ -0,0 +1,162 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * OutputStream which collects the written data in byte blocks and writes them by a separate thread into the underlying OutputStream.
+ * So the compression and the file I/O of the underlying OutputStream run concurrently to the thread producing the data.
+ * The number of blocks is limited, so a slow underlying OutputStream stalls the producing thread.
+ */
+public class AsyncOutputStream extends OutputStream {
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+	public static final int DEFAULT_BLOCK_COUNT = 4;
+
+	/** Marker for the end of the data in the queue of filled blocks */
+	private static final Block END_OF_DATA = new Block(new byte[0]);
+
+	private final OutputStream outputStream;
+	private final BlockingQueue<Block> freeBlocks;
+	private final BlockingQueue<Block> filledBlocks;
+	private final Thread writerThread;
+
+	private Block currentBlock;
+	private volatile IOException writerError = null;
+	private boolean closed = false;
+
+	private static class Block {
+		private final byte[] data;
+		private int length = 0;
+
+		public Block(final byte[] data) {
+			this.data = data;
+		}
+	}
+
+	public AsyncOutputStream(final OutputStream outputStream) {
+		this(outputStream, DEFAULT_BLOCK_SIZE, DEFAULT_BLOCK_COUNT);
+	}
+
+	public AsyncOutputStream(final OutputStream outputStream, final int blockSize, final int blockCount) {
+		this.outputStream = outputStream;
+		freeBlocks = new ArrayBlockingQueue<>(blockCount);
+		filledBlocks = new ArrayBlockingQueue<>(blockCount + 1);
+		for (int i = 0; i < blockCount - 1; i++) {
+			freeBlocks.add(new Block(new byte[blockSize]));
+		}
+		currentBlock = new Block(new byte[blockSize]);
+
+		writerThread = new Thread(this::writeBlocks, "AsyncOutputStream");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	private void writeBlocks() {
+		try {
+			while (true) {
+				final Block block = filledBlocks.take();
+				if (block == END_OF_DATA) {
+					break;
+				}
+				if (writerError == null) {
+					try {
+						outputStream.write(block.data, 0, block.length);
+					} catch (final IOException e) {
+						writerError = e;
+					}
+				}
+				block.length = 0;
+				freeBlocks.put(block);
+			}
+		} catch (@SuppressWarnings("unused") final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		if (currentBlock.length == currentBlock.data.length) {
+			handOverCurrentBlock();
+		}
+		currentBlock.data[currentBlock.length++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		while (length > 0) {
+			if (currentBlock.length == currentBlock.data.length) {
+				handOverCurrentBlock();
+			}
+			final int bytesToCopy = Math.min(length, currentBlock.data.length - currentBlock.length);
+			System.arraycopy(data, offset, currentBlock.data, currentBlock.length, bytesToCopy);
+			currentBlock.length += bytesToCopy;
+			offset += bytesToCopy;
+			length -= bytesToCopy;
+		}
+	}
+
+	/**
+	 * Hand over the buffered data to the writer thread without waiting for it to be written
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (currentBlock.length > 0) {
+			handOverCurrentBlock();
+		}
+	}
+
+	/**
+	 * Write all remaining data and close the underlying OutputStream.
+	 * Any error of the writer thread is thrown again on each further call, because the writers of the export formats may ignore errors on close.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			IOException flushError = null;
+			try {
+				flush();
+			} catch (final IOException e) {
+				flushError = e;
+			}
+			closed = true;
+
+			// The writer thread must always be stopped, even if the data is incomplete
+			try {
+				filledBlocks.put(END_OF_DATA);
+				writerThread.join();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while writing data", e);
+			} finally {
+				outputStream.close();
+			}
+
+			if (flushError != null) {
+				throw flushError;
+			}
+		}
+		checkWriterError();
+	}
+
+	private void handOverCurrentBlock() throws IOException {
+		checkWriterError();
+		if (closed) {
+			throw new IOException("Stream is already closed");
+		}
+		try {
+			filledBlocks.put(currentBlock);
+			currentBlock = freeBlocks.take();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while writing data", e);
+		}
+	}
+
+	private void checkWriterError() throws IOException {
+		if (writerError != null) {
+			throw new IOException("Error while writing data: " + writerError.getMessage(), writerError);
+		}
+	}
+}
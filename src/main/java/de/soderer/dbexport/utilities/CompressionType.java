@@ -0,0 +1,34 @@
+package de.soderer.dbexport.utilities;
+
+/**
+ * Compression types of export files and lob files
+ */
+public enum CompressionType {
+	ZIP("zip"),
+	TARGZ("tar.gz"),
+	TGZ("tgz"),
+	GZ("gz"),
+	/** Zstandard frame format */
+	ZSTD("zst"),
+	/** LZ4 frame format */
+	LZ4("lz4");
+
+	private final String defaultFileExtension;
+
+	CompressionType(final String defaultFileExtension) {
+		this.defaultFileExtension = defaultFileExtension;
+	}
+
+	public String getDefaultFileExtension() {
+		return defaultFileExtension;
+	}
+
+	public static CompressionType getFromString(final String compressionTypeString) {
+		for (final CompressionType compressionType : CompressionType.values()) {
+			if (compressionType.toString().equalsIgnoreCase(compressionTypeString) || compressionType.getDefaultFileExtension().equalsIgnoreCase(compressionTypeString)) {
+				return compressionType;
+			}
+		}
+		throw new RuntimeException("Invalid compression type: " + compressionTypeString);
+	}
+}
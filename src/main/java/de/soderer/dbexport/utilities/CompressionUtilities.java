@@ -0,0 +1,44 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+
+import io.airlift.compress.zstd.ZstdOutputStream;
+
+public class CompressionUtilities {
+	/** Level of the pure Java zstd compressor, which has no further levels */
+	public static final int DEFAULT_ZSTD_LEVEL = 3;
+
+	public static final int MINIMUM_ZSTD_LEVEL = 1;
+	public static final int MAXIMUM_ZSTD_LEVEL = 22;
+
+	/**
+	 * Open a stream writing a zstd frame.
+	 * The default level is compressed in pure Java, so it is available on every platform.
+	 * All other levels need the native zstd library "zstd-jni" in the classpath.
+	 */
+	public static OutputStream openZstdOutputStream(final OutputStream outputStream, final int zstdLevel) throws IOException {
+		if (zstdLevel == DEFAULT_ZSTD_LEVEL) {
+			return new ZstdOutputStream(outputStream);
+		} else if (isZstdLevelAvailable(zstdLevel)) {
+			return new ZstdCompressorOutputStream(outputStream, zstdLevel);
+		} else {
+			throw new IOException("Zstd compression level " + zstdLevel + " needs the native zstd library (zstd-jni) in the classpath");
+		}
+	}
+
+	public static boolean isZstdLevelAvailable(final int zstdLevel) {
+		return zstdLevel == DEFAULT_ZSTD_LEVEL || ZstdUtils.isZstdCompressionAvailable();
+	}
+
+	/**
+	 * Open a stream writing a LZ4 frame
+	 */
+	public static OutputStream openLz4OutputStream(final OutputStream outputStream) throws IOException {
+		return new FramedLZ4CompressorOutputStream(outputStream);
+	}
+}
@@ -0,0 +1,42 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OutputStream counting the bytes written into the underlying OutputStream
+ */
+public class CountingOutputStream extends OutputStream {
+	private final OutputStream outputStream;
+	private long byteCount = 0;
+
+	public CountingOutputStream(final OutputStream outputStream) {
+		this.outputStream = outputStream;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		outputStream.write(b);
+		byteCount++;
+	}
+
+	@Override
+	public void write(final byte[] data, final int offset, final int length) throws IOException {
+		outputStream.write(data, offset, length);
+		byteCount += length;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		outputStream.close();
+	}
+
+	public long getByteCount() {
+		return byteCount;
+	}
+}
@@ -0,0 +1,103 @@
+package de.soderer.dbexport.utilities;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import de.soderer.utilities.db.data.DbVendor;
+
+/**
+ * Row count estimates from the catalog statistics of the database vendors.
+ * Those statistics are maintained by the databases analyze jobs and may differ from the real number of rows.
+ */
+public class DbStatisticsUtilities {
+	/**
+	 * Read the estimated number of rows of a table from the catalog statistics
+	 *
+	 * @return estimated number of rows or null, if there are no statistics available for this table or database vendor
+	 */
+	public static Long getEstimatedRowCount(final Connection connection, final DbVendor dbVendor, final String tableName) {
+		final String estimateSql;
+		switch (dbVendor) {
+			case PostgreSQL:
+				return getPostgreSQLEstimatedRowCount(connection, tableName);
+			case MySQL:
+			case MariaDB:
+				estimateSql = "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND LOWER(table_name) = LOWER(?)";
+				break;
+			case Oracle:
+				estimateSql = "SELECT num_rows FROM all_tables WHERE owner = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND table_name = UPPER(?)";
+				break;
+			case MsSQL:
+				estimateSql = "SELECT SUM(rows) FROM sys.partitions WHERE object_id = OBJECT_ID(?) AND index_id IN (0, 1)";
+				break;
+			case HSQL:
+				estimateSql = "SELECT cardinality FROM information_schema.system_tablestats WHERE table_schema = CURRENT_SCHEMA AND table_name = UPPER(?)";
+				break;
+			case SQLite:
+				return getSQLiteEstimatedRowCount(connection, tableName);
+			default:
+				// Derby, Firebird and Cassandra keep no cheaply readable row count statistics
+				return null;
+		}
+
+		return readEstimatedRowCount(connection, estimateSql, tableName);
+	}
+
+	/**
+	 * The catalog tables are queried directly, because "to_regclass(text)" is not available before PostgreSQL 9.6 and a cast to regclass fails for unknown tables,
+	 * which would abort the current transaction.
+	 * Table names without schema are looked up in the search path. reltuples is -1 for tables, which were never analyzed.
+	 */
+	private static Long getPostgreSQLEstimatedRowCount(final Connection connection, final String tableName) {
+		if (tableName.contains(".")) {
+			return readEstimatedRowCount(connection, "SELECT CASE WHEN c.reltuples < 0 THEN NULL ELSE CAST(c.reltuples AS BIGINT) END FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = LOWER(?) AND c.relname = LOWER(?) AND c.relkind IN ('r', 'p')",
+					tableName.substring(0, tableName.indexOf(".")), tableName.substring(tableName.indexOf(".") + 1));
+		} else {
+			return readEstimatedRowCount(connection, "SELECT CASE WHEN c.reltuples < 0 THEN NULL ELSE CAST(c.reltuples AS BIGINT) END FROM pg_class c WHERE c.relname = LOWER(?) AND c.relkind IN ('r', 'p') AND pg_table_is_visible(c.oid)",
+					tableName);
+		}
+	}
+
+	private static Long readEstimatedRowCount(final Connection connection, final String estimateSql, final String... parameters) {
+		try (PreparedStatement preparedStatement = connection.prepareStatement(estimateSql)) {
+			for (int i = 0; i < parameters.length; i++) {
+				preparedStatement.setString(i + 1, parameters[i]);
+			}
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				if (resultSet.next()) {
+					final long estimatedRowCount = resultSet.getLong(1);
+					if (resultSet.wasNull()) {
+						return null;
+					} else {
+						return estimatedRowCount;
+					}
+				} else {
+					return null;
+				}
+			}
+		} catch (@SuppressWarnings("unused") final Exception e) {
+			// Missing privileges on the catalog tables are no reason to fail the export
+			return null;
+		}
+	}
+
+	/**
+	 * SQLite only has statistics, if "ANALYZE" was executed before. The first number of the "stat" column is the number of rows of the table.
+	 */
+	private static Long getSQLiteEstimatedRowCount(final Connection connection, final String tableName) {
+		try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT stat FROM sqlite_stat1 WHERE LOWER(tbl) = LOWER(?)")) {
+			preparedStatement.setString(1, tableName);
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				if (resultSet.next() && resultSet.getString(1) != null) {
+					return Long.parseLong(resultSet.getString(1).trim().split(" ")[0]);
+				} else {
+					return null;
+				}
+			}
+		} catch (@SuppressWarnings("unused") final Exception e) {
+			// Table sqlite_stat1 does not exist, if "ANALYZE" was never executed
+			return null;
+		}
+	}
+}
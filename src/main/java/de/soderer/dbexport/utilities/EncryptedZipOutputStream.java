@@ -0,0 +1,70 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import net.lingala.zip4j.io.outputstream.ZipOutputStream;
+import net.lingala.zip4j.model.ZipParameters;
+import net.lingala.zip4j.model.enums.AesKeyStrength;
+import net.lingala.zip4j.model.enums.CompressionMethod;
+import net.lingala.zip4j.model.enums.EncryptionMethod;
+
+/**
+ * OutputStream for the data of one single password secured entry of a new zip file.
+ * The data is compressed and encrypted while writing, so the zip file needs no further pass for encryption.
+ */
+public class EncryptedZipOutputStream extends OutputStream {
+	private final ZipOutputStream zipOutputStream;
+	private boolean closed = false;
+
+	/**
+	 * @param useZipCrypto
+	 *            use the weak but widely supported standard zip encryption instead of AES-256
+	 */
+	public EncryptedZipOutputStream(final OutputStream outputStream, final String entryFileName, final char[] zipPassword, final boolean useZipCrypto) throws IOException {
+		zipOutputStream = new ZipOutputStream(outputStream, zipPassword);
+
+		final ZipParameters zipParameters = new ZipParameters();
+		zipParameters.setFileNameInZip(entryFileName);
+		zipParameters.setLastModifiedFileTime(System.currentTimeMillis());
+		zipParameters.setCompressionMethod(CompressionMethod.DEFLATE);
+		zipParameters.setEncryptFiles(true);
+		if (useZipCrypto) {
+			zipParameters.setEncryptionMethod(EncryptionMethod.ZIP_STANDARD);
+		} else {
+			zipParameters.setEncryptionMethod(EncryptionMethod.AES);
+			zipParameters.setAesKeyStrength(AesKeyStrength.KEY_STRENGTH_256);
+		}
+		zipOutputStream.putNextEntry(zipParameters);
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		zipOutputStream.write(b);
+	}
+
+	@Override
+	public void write(final byte[] data, final int offset, final int length) throws IOException {
+		zipOutputStream.write(data, offset, length);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		zipOutputStream.flush();
+	}
+
+	/**
+	 * Close the zip entry and write the central directory of the zip file
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				zipOutputStream.closeEntry();
+			} finally {
+				zipOutputStream.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package de.soderer.dbexport.utilities;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Formatter of numbers with the same output as the number format of a locale without grouping (NumberFormat.getNumberInstance(locale)),
+ * but with fast paths for the common number types.
+ * An instance is immutable and may be shared by multiple threads.
+ */
+public class NumberFormatter {
+	/**
+	 * Doubles below this absolute value are formatted by BigDecimal.
+	 * Their shortest decimal digits are the same for the JDK number format and Double.toString, so the rounding is the same.
+	 */
+	private static final double MAXIMUM_FAST_DOUBLE = 1e9;
+
+	private final NumberFormat numberFormat;
+	private final ThreadLocal<NumberFormat> threadNumberFormat;
+	private final boolean fastPathsAvailable;
+	private final char decimalSeparator;
+	private final int maximumFractionDigits;
+
+	public NumberFormatter(final Locale locale) {
+		numberFormat = NumberFormat.getNumberInstance(locale);
+		numberFormat.setGroupingUsed(false);
+		// NumberFormat is not thread-safe, so the rare cases without fast path use a copy per thread
+		threadNumberFormat = ThreadLocal.withInitial(() -> (NumberFormat) numberFormat.clone());
+
+		if (numberFormat instanceof DecimalFormat) {
+			final DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+			final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+			decimalSeparator = symbols.getDecimalSeparator();
+			maximumFractionDigits = decimalFormat.getMaximumFractionDigits();
+			fastPathsAvailable = symbols.getZeroDigit() == '0'
+					&& symbols.getMinusSign() == '-'
+					&& "".equals(decimalFormat.getPositivePrefix())
+					&& "".equals(decimalFormat.getPositiveSuffix())
+					&& "-".equals(decimalFormat.getNegativePrefix())
+					&& "".equals(decimalFormat.getNegativeSuffix())
+					&& decimalFormat.getMinimumIntegerDigits() == 1
+					&& decimalFormat.getMinimumFractionDigits() == 0
+					&& decimalFormat.getMultiplier() == 1
+					&& decimalFormat.getRoundingMode() == RoundingMode.HALF_EVEN
+					&& !decimalFormat.isDecimalSeparatorAlwaysShown();
+		} else {
+			decimalSeparator = '.';
+			maximumFractionDigits = 0;
+			fastPathsAvailable = false;
+		}
+	}
+
+	public String format(final Object value) {
+		final StringBuilder output = new StringBuilder(24);
+		formatTo((Number) value, output);
+		return output.toString();
+	}
+
+	/**
+	 * Append the formatted number to the output
+	 */
+	public void formatTo(final Number value, final StringBuilder output) {
+		if (!fastPathsAvailable) {
+			output.append(formatByNumberFormat(value));
+		} else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			output.append(value.longValue());
+		} else if (value instanceof Double || value instanceof Float) {
+			formatDoubleTo(value.doubleValue(), output);
+		} else if (value instanceof BigDecimal) {
+			formatBigDecimalTo((BigDecimal) value, false, output);
+		} else if (value instanceof BigInteger) {
+			output.append(value.toString());
+		} else {
+			output.append(formatByNumberFormat(value));
+		}
+	}
+
+	private void formatDoubleTo(final double value, final StringBuilder output) {
+		if (value == (long) value && Math.abs(value) < MAXIMUM_FAST_DOUBLE) {
+			if (value == 0 && 1 / value < 0) {
+				output.append("-0");
+			} else {
+				output.append((long) value);
+			}
+		} else if (Double.isFinite(value) && Math.abs(value) < MAXIMUM_FAST_DOUBLE) {
+			final BigDecimal decimalValue = BigDecimal.valueOf(value);
+			if (decimalValue.scale() > maximumFractionDigits && isRoundingTie(decimalValue)) {
+				// The JDK number format rounds decimal digits ending exactly in the middle depending on internals of its binary to decimal conversion
+				output.append(formatByNumberFormat(value));
+			} else {
+				formatBigDecimalTo(decimalValue, value < 0, output);
+			}
+		} else {
+			output.append(formatByNumberFormat(value));
+		}
+	}
+
+	private void formatBigDecimalTo(final BigDecimal value, final boolean negative, final StringBuilder output) {
+		BigDecimal roundedValue = value.setScale(maximumFractionDigits, RoundingMode.HALF_EVEN);
+		if (roundedValue.signum() == 0) {
+			// Negative values rounded to zero keep their sign like in the JDK number format
+			output.append(negative || value.signum() < 0 ? "-0" : "0");
+		} else {
+			roundedValue = roundedValue.stripTrailingZeros();
+			final String plainString = roundedValue.scale() < 0 ? roundedValue.setScale(0).toPlainString() : roundedValue.toPlainString();
+			final int decimalPointIndex = plainString.indexOf('.');
+			if (decimalPointIndex < 0 || decimalSeparator == '.') {
+				output.append(plainString);
+			} else {
+				output.append(plainString, 0, decimalPointIndex).append(decimalSeparator).append(plainString, decimalPointIndex + 1, plainString.length());
+			}
+		}
+	}
+
+	private boolean isRoundingTie(final BigDecimal value) {
+		final BigDecimal remainder = value.movePointRight(maximumFractionDigits).remainder(BigDecimal.ONE).abs();
+		return remainder.compareTo(new BigDecimal("0.5")) == 0;
+	}
+
+	private String formatByNumberFormat(final Object value) {
+		return threadNumberFormat.get().format(value);
+	}
+}
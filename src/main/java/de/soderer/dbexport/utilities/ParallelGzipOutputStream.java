@@ -0,0 +1,194 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP OutputStream compressing fixed size blocks of the data concurrently (like "pigz").
+ * Each block is deflated with the last 32 KB of the previous block as dictionary and ends with a sync flush,
+ * so the concatenated blocks form one single deflate stream, which can be read by any standard gzip decompressor.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+	public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+	private static final int DICTIONARY_SIZE = 32 * 1024;
+	private static final byte[] GZIP_HEADER = new byte[] { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+	private final OutputStream outputStream;
+	private final int compressionLevel;
+	private final int maximumPendingBlocks;
+	private final ExecutorService executorService;
+	private final Queue<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+	private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+	private final CRC32 crc = new CRC32();
+
+	private byte[] currentBlock;
+	private int currentBlockLength = 0;
+	private byte[] dictionary = null;
+	private long uncompressedSize = 0;
+	private boolean closed = false;
+
+	public ParallelGzipOutputStream(final OutputStream outputStream, final int threads) throws IOException {
+		this(outputStream, threads, Deflater.DEFAULT_COMPRESSION, DEFAULT_BLOCK_SIZE);
+	}
+
+	public ParallelGzipOutputStream(final OutputStream outputStream, final int threads, final int compressionLevel, final int blockSize) throws IOException {
+		this.outputStream = outputStream;
+		this.compressionLevel = compressionLevel;
+		maximumPendingBlocks = threads * 2;
+		executorService = Executors.newFixedThreadPool(threads);
+		currentBlock = new byte[blockSize];
+
+		outputStream.write(GZIP_HEADER);
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		if (currentBlockLength == currentBlock.length) {
+			submitCurrentBlock(false);
+		}
+		currentBlock[currentBlockLength++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		while (length > 0) {
+			if (currentBlockLength == currentBlock.length) {
+				submitCurrentBlock(false);
+			}
+			final int bytesToCopy = Math.min(length, currentBlock.length - currentBlockLength);
+			System.arraycopy(data, offset, currentBlock, currentBlockLength, bytesToCopy);
+			currentBlockLength += bytesToCopy;
+			offset += bytesToCopy;
+			length -= bytesToCopy;
+		}
+	}
+
+	/**
+	 * Write all completely compressed blocks. Data of the current incomplete block is kept to not worsen the compression ratio.
+	 */
+	@Override
+	public void flush() throws IOException {
+		while (!pendingBlocks.isEmpty() && pendingBlocks.peek().isDone()) {
+			writeNextPendingBlock();
+		}
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				submitCurrentBlock(true);
+				while (!pendingBlocks.isEmpty()) {
+					writeNextPendingBlock();
+				}
+
+				writeIntLittleEndian((int) crc.getValue());
+				writeIntLittleEndian((int) uncompressedSize);
+			} finally {
+				executorService.shutdownNow();
+				Deflater deflater;
+				while ((deflater = deflaters.poll()) != null) {
+					deflater.end();
+				}
+				outputStream.close();
+			}
+		}
+	}
+
+	private void submitCurrentBlock(final boolean lastBlock) throws IOException {
+		if (closed && !lastBlock) {
+			throw new IOException("Stream is already closed");
+		}
+
+		final byte[] blockData = currentBlock;
+		final int blockLength = currentBlockLength;
+		final byte[] blockDictionary = dictionary;
+
+		crc.update(blockData, 0, blockLength);
+		uncompressedSize += blockLength;
+
+		if (blockLength >= DICTIONARY_SIZE) {
+			dictionary = Arrays.copyOfRange(blockData, blockLength - DICTIONARY_SIZE, blockLength);
+		} else if (blockLength > 0) {
+			final byte[] previousDictionary = dictionary == null ? new byte[0] : dictionary;
+			final int keptLength = Math.min(previousDictionary.length, DICTIONARY_SIZE - blockLength);
+			dictionary = new byte[keptLength + blockLength];
+			System.arraycopy(previousDictionary, previousDictionary.length - keptLength, dictionary, 0, keptLength);
+			System.arraycopy(blockData, 0, dictionary, keptLength, blockLength);
+		}
+
+		while (pendingBlocks.size() >= maximumPendingBlocks) {
+			writeNextPendingBlock();
+		}
+		pendingBlocks.add(executorService.submit(() -> compressBlock(blockData, blockLength, blockDictionary, lastBlock)));
+
+		currentBlock = new byte[blockData.length];
+		currentBlockLength = 0;
+	}
+
+	private byte[] compressBlock(final byte[] blockData, final int blockLength, final byte[] blockDictionary, final boolean lastBlock) {
+		Deflater deflater = deflaters.poll();
+		if (deflater == null) {
+			deflater = new Deflater(compressionLevel, true);
+		}
+		try {
+			if (blockDictionary != null) {
+				deflater.setDictionary(blockDictionary);
+			}
+			deflater.setInput(blockData, 0, blockLength);
+
+			final ByteArrayOutputStream compressedData = new ByteArrayOutputStream(blockLength / 2 + 64);
+			final byte[] buffer = new byte[64 * 1024];
+			if (lastBlock) {
+				deflater.finish();
+				while (!deflater.finished()) {
+					final int compressedLength = deflater.deflate(buffer);
+					compressedData.write(buffer, 0, compressedLength);
+				}
+			} else {
+				// Sync flush aligns the block end to a byte boundary, so the next block may be appended directly
+				int compressedLength;
+				do {
+					compressedLength = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+					compressedData.write(buffer, 0, compressedLength);
+				} while (compressedLength == buffer.length);
+			}
+			return compressedData.toByteArray();
+		} finally {
+			deflater.reset();
+			deflaters.add(deflater);
+		}
+	}
+
+	private void writeNextPendingBlock() throws IOException {
+		try {
+			outputStream.write(pendingBlocks.poll().get());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while compressing data", e);
+		} catch (final ExecutionException e) {
+			throw new IOException("Error while compressing data: " + e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	private void writeIntLittleEndian(final int value) throws IOException {
+		outputStream.write(value & 0xff);
+		outputStream.write((value >> 8) & 0xff);
+		outputStream.write((value >> 16) & 0xff);
+		outputStream.write((value >> 24) & 0xff);
+	}
+}
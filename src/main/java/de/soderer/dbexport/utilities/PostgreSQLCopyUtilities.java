@@ -0,0 +1,77 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+
+/**
+ * Access to the COPY api of the PostgreSQL JDBC driver.
+ * The driver is only available at runtime, so its classes are used by reflection.
+ */
+public class PostgreSQLCopyUtilities {
+	private static final String PG_CONNECTION_CLASS_NAME = "org.postgresql.PGConnection";
+
+	/**
+	 * Create the statement to copy the result of a select statement as CSV data
+	 */
+	public static String createCsvCopyStatement(final String selectStatement, final char separator, final char stringQuote, final char stringQuoteEscapeCharacter, final String nullValueText, final boolean alwaysQuote, final boolean header) {
+		String selectStatementToCopy = selectStatement.trim();
+		while (selectStatementToCopy.endsWith(";")) {
+			selectStatementToCopy = selectStatementToCopy.substring(0, selectStatementToCopy.length() - 1).trim();
+		}
+
+		return "COPY (" + selectStatementToCopy + ") TO STDOUT WITH (FORMAT csv"
+				+ ", DELIMITER " + toSqlStringLiteral(Character.toString(separator))
+				+ ", QUOTE " + toSqlStringLiteral(Character.toString(stringQuote))
+				+ ", ESCAPE " + toSqlStringLiteral(Character.toString(stringQuoteEscapeCharacter))
+				+ ", NULL " + toSqlStringLiteral(nullValueText)
+				+ ", HEADER " + header
+				+ (alwaysQuote ? ", FORCE_QUOTE *" : "")
+				+ ")";
+	}
+
+	/**
+	 * Execute a "COPY ... TO STDOUT" statement and write its raw output data, which is encoded in the client encoding (UTF-8 for the PostgreSQL JDBC driver)
+	 *
+	 * @return number of copied rows
+	 */
+	public static long copyOut(final Connection connection, final String copyStatement, final OutputStream outputStream) throws Exception {
+		return invokeCopyOut(connection, copyStatement, OutputStream.class, outputStream);
+	}
+
+	/**
+	 * Execute a "COPY ... TO STDOUT" statement and write its decoded output data
+	 *
+	 * @return number of copied rows
+	 */
+	public static long copyOut(final Connection connection, final String copyStatement, final Writer writer) throws Exception {
+		return invokeCopyOut(connection, copyStatement, Writer.class, writer);
+	}
+
+	private static long invokeCopyOut(final Connection connection, final String copyStatement, final Class<?> targetClass, final Object target) throws Exception {
+		final Class<?> pgConnectionClass;
+		try {
+			pgConnectionClass = Class.forName(PG_CONNECTION_CLASS_NAME, true, connection.getClass().getClassLoader());
+		} catch (@SuppressWarnings("unused") final ClassNotFoundException e) {
+			throw new Exception("PostgreSQL copy needs the PostgreSQL JDBC driver");
+		}
+
+		try {
+			final Object pgConnection = connection.unwrap(pgConnectionClass);
+			final Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+			return (Long) copyManager.getClass().getMethod("copyOut", String.class, targetClass).invoke(copyManager, copyStatement, target);
+		} catch (final InvocationTargetException e) {
+			// Throw the SQLException or IOException of the driver itself
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			} else {
+				throw e;
+			}
+		}
+	}
+
+	private static String toSqlStringLiteral(final String value) {
+		return "'" + value.replace("'", "''") + "'";
+	}
+}
@@ -0,0 +1,154 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.soderer.utilities.Utilities;
+
+/**
+ * Temporary storage of rows of text values, which are written once and read back once in the same order.
+ * Each row is stored as its number of values followed by the length and UTF-8 bytes of each value, so no text parsing is needed on read back.
+ * The data file is memory mapped for reading in segments, whose borders are taken from an additional index file with the offset of each row.
+ */
+public class RowSpillFile implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long MAXIMUM_SEGMENT_SIZE = 1024 * 1024 * 1024;
+
+	private final File dataFile;
+	private final File indexFile;
+
+	private DataOutputStream dataOutputStream;
+	private DataOutputStream indexOutputStream;
+	private long dataSize = 0;
+	private long rowCount = 0;
+
+	private FileChannel dataChannel = null;
+	private DataInputStream indexInputStream = null;
+	private MappedByteBuffer segment = null;
+	private long segmentStart = 0;
+	private long nextRowOffset = 0;
+	private long readRows = 0;
+
+	public RowSpillFile(final File directory) throws IOException {
+		dataFile = File.createTempFile("DbExport_Spill", ".dat", directory);
+		indexFile = File.createTempFile("DbExport_Spill", ".idx", directory);
+		dataOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dataFile), BUFFER_SIZE));
+		indexOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile), BUFFER_SIZE));
+	}
+
+	public void writeRow(final List<String> values) throws IOException {
+		indexOutputStream.writeLong(dataSize);
+		dataOutputStream.writeInt(values.size());
+		dataSize += 4;
+		for (final String value : values) {
+			if (value == null) {
+				dataOutputStream.writeInt(-1);
+				dataSize += 4;
+			} else {
+				final byte[] valueData = value.getBytes(StandardCharsets.UTF_8);
+				dataOutputStream.writeInt(valueData.length);
+				dataOutputStream.write(valueData);
+				dataSize += 4 + valueData.length;
+			}
+		}
+		rowCount++;
+	}
+
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Finish writing and start reading from the first row
+	 */
+	public void startReading() throws IOException {
+		dataOutputStream.close();
+		dataOutputStream = null;
+		indexOutputStream.close();
+		indexOutputStream = null;
+
+		dataChannel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ);
+		indexInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile), BUFFER_SIZE));
+		if (rowCount > 0) {
+			nextRowOffset = indexInputStream.readLong();
+		}
+	}
+
+	/**
+	 * Read the next row
+	 *
+	 * @return null, if all rows were read
+	 */
+	public List<String> readNextRow() throws IOException {
+		if (readRows >= rowCount) {
+			return null;
+		}
+
+		final long rowOffset = nextRowOffset;
+		readRows++;
+		final long rowEnd;
+		if (readRows < rowCount) {
+			nextRowOffset = indexInputStream.readLong();
+			rowEnd = nextRowOffset;
+		} else {
+			rowEnd = dataSize;
+		}
+
+		if (segment == null || rowEnd > segmentStart + segment.capacity()) {
+			if (rowEnd - rowOffset > MAXIMUM_SEGMENT_SIZE) {
+				throw new IOException("Spilled row is too large: " + (rowEnd - rowOffset) + " bytes");
+			}
+			segmentStart = rowOffset;
+			segment = dataChannel.map(MapMode.READ_ONLY, segmentStart, Math.min(MAXIMUM_SEGMENT_SIZE, dataSize - segmentStart));
+		}
+		segment.position((int) (rowOffset - segmentStart));
+
+		final int valueCount = segment.getInt();
+		final List<String> values = new ArrayList<>(valueCount);
+		for (int i = 0; i < valueCount; i++) {
+			final int valueLength = segment.getInt();
+			if (valueLength < 0) {
+				values.add(null);
+			} else {
+				final byte[] valueData = new byte[valueLength];
+				segment.get(valueData);
+				values.add(new String(valueData, StandardCharsets.UTF_8));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Close and delete the temporary files
+	 */
+	@Override
+	public void close() {
+		Utilities.closeQuietly(dataOutputStream);
+		Utilities.closeQuietly(indexOutputStream);
+		Utilities.closeQuietly(indexInputStream);
+		Utilities.closeQuietly(dataChannel);
+		segment = null;
+
+		// A still mapped data file cannot be deleted on some platforms until the mapping is garbage collected
+		if (!dataFile.delete()) {
+			dataFile.deleteOnExit();
+		}
+		if (!indexFile.delete()) {
+			indexFile.deleteOnExit();
+		}
+	}
+}
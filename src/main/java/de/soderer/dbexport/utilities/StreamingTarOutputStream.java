@@ -0,0 +1,129 @@
+package de.soderer.dbexport.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+/**
+ * OutputStream writing its data as tar archive without a temporary file for the size of the tar entry, which is needed before the entry data.
+ * The data is buffered in memory up to the part size.
+ * Data not exceeding the part size is written as one single entry with the given name.
+ * Larger data is written as sequential entries of the part size named "&lt;name&gt;.part0000", "&lt;name&gt;.part0001" etc.,
+ * which only need to be concatenated in their order to restore the original data (e.g. "tar -xzOf export.csv.tar.gz &gt; export.csv").
+ */
+public class StreamingTarOutputStream extends OutputStream {
+	public static final int DEFAULT_PART_SIZE = 16 * 1024 * 1024;
+
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+	private final TarArchiveOutputStream tarOutputStream;
+	private final String entryName;
+	private final int partSize;
+	private final Date modificationDate = new Date();
+
+	private byte[] buffer;
+	private int bufferLength = 0;
+	private int writtenParts = 0;
+	private boolean closed = false;
+	private IOException closeError = null;
+
+	/**
+	 * @param outputStream
+	 *            stream for the tar archive data, mostly a GZIP OutputStream
+	 * @param entryName
+	 *            name of the tar entry
+	 */
+	public StreamingTarOutputStream(final OutputStream outputStream, final String entryName) {
+		this(outputStream, entryName, DEFAULT_PART_SIZE);
+	}
+
+	public StreamingTarOutputStream(final OutputStream outputStream, final String entryName, final int partSize) {
+		tarOutputStream = new TarArchiveOutputStream(outputStream, StandardCharsets.UTF_8.name());
+		tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+		tarOutputStream.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+		this.entryName = entryName;
+		this.partSize = partSize;
+		buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, partSize)];
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		ensureBufferSpace();
+		buffer[bufferLength++] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] data, int offset, int length) throws IOException {
+		while (length > 0) {
+			ensureBufferSpace();
+			final int bytesToCopy = Math.min(length, buffer.length - bufferLength);
+			System.arraycopy(data, offset, buffer, bufferLength, bytesToCopy);
+			bufferLength += bytesToCopy;
+			offset += bytesToCopy;
+			length -= bytesToCopy;
+		}
+	}
+
+	/**
+	 * Write the last tar entry and the end of the tar archive.
+	 * An error is thrown again on each further call, because the writers of the export formats may ignore errors on close.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			try {
+				if (bufferLength > 0 || writtenParts == 0) {
+					writeEntry(writtenParts == 0 ? entryName : getPartEntryName());
+				}
+				tarOutputStream.finish();
+			} catch (final IOException e) {
+				closeError = e;
+			} finally {
+				buffer = null;
+				try {
+					tarOutputStream.close();
+				} catch (final IOException e) {
+					if (closeError == null) {
+						closeError = e;
+					}
+				}
+			}
+		}
+		if (closeError != null) {
+			throw closeError;
+		}
+	}
+
+	private void ensureBufferSpace() throws IOException {
+		if (closed) {
+			throw new IOException("Stream is already closed");
+		} else if (bufferLength == buffer.length) {
+			if (buffer.length < partSize) {
+				buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, partSize));
+			} else {
+				writeEntry(getPartEntryName());
+			}
+		}
+	}
+
+	private String getPartEntryName() {
+		return entryName + ".part" + String.format("%04d", writtenParts);
+	}
+
+	private void writeEntry(final String name) throws IOException {
+		final TarArchiveEntry entry = new TarArchiveEntry(name);
+		entry.setSize(bufferLength);
+		entry.setModTime(modificationDate);
+		tarOutputStream.putArchiveEntry(entry);
+		tarOutputStream.write(buffer, 0, bufferLength);
+		tarOutputStream.closeArchiveEntry();
+		bufferLength = 0;
+		writtenParts++;
+	}
+}
@@ -2,19 +2,22 @@ package de.soderer.dbexport.worker;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
-import java.text.NumberFormat;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,31 +28,47 @@ import java.time.format.ResolverStyle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.TimeZone;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import de.soderer.dbexport.DbDriverSupplier;
 import de.soderer.dbexport.DbExport;
+import de.soderer.dbexport.DbExportDefinition;
+import de.soderer.dbexport.DbExportDefinition.ProgressMode;
 import de.soderer.dbexport.DbExportException;
 import de.soderer.dbexport.converter.CassandraDBValueConverter;
 import de.soderer.dbexport.converter.DefaultDBValueConverter;
+import de.soderer.dbexport.converter.DefaultDBValueConverter.ColumnValueReader;
+import de.soderer.dbexport.converter.ExportedLobFile;
 import de.soderer.dbexport.converter.FirebirdDBValueConverter;
 import de.soderer.dbexport.converter.MariaDBValueConverter;
 import de.soderer.dbexport.converter.MySQLDBValueConverter;
 import de.soderer.dbexport.converter.OracleDBValueConverter;
 import de.soderer.dbexport.converter.PostgreSQLDBValueConverter;
 import de.soderer.dbexport.converter.SQLiteDBValueConverter;
+import de.soderer.dbexport.utilities.AsyncOutputStream;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.dbexport.utilities.CompressionUtilities;
+import de.soderer.dbexport.utilities.DbStatisticsUtilities;
+import de.soderer.dbexport.utilities.NumberFormatter;
 import de.soderer.json.JsonArray;
 import de.soderer.json.JsonObject;
 import de.soderer.json.JsonWriter;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
-import de.soderer.utilities.IoUtilities;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.db.DatabaseConstraint;
 import de.soderer.utilities.db.DatabaseForeignKey;
@@ -64,11 +83,14 @@ import de.soderer.utilities.db.utilities.CaseInsensitiveMap;
 import de.soderer.utilities.db.utilities.CaseInsensitiveSet;
 import de.soderer.utilities.worker.WorkerDual;
 import de.soderer.utilities.worker.WorkerParentDual;
-import de.soderer.utilities.zip.TarGzUtilities;
-import de.soderer.utilities.zip.Zip4jUtilities;
-import de.soderer.utilities.zip.ZipUtilities;
 
 public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
+	/** Number of rows buffered between the fetch stage and the format stage of a pipelined export */
+	private static final int PIPELINE_ROW_BUFFER_SIZE = 1024;
+	private static final int MAXIMUM_FORMATTED_DATES_CACHE_SIZE = 256;
+	/** Number of sampled key values for the boundaries of string key ranges of chunked table exports */
+	private static final int KEY_SAMPLE_SIZE = 10000;
+
 	// Mandatory parameters
 	protected DbConnectionDefinition dbDefinition = null;
 	private boolean isStatementFile = false;
@@ -78,7 +100,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 	// Default optional parameters
 	protected boolean log = false;
-	protected FileCompressionType compression = null;
+	protected CompressionType compression = null;
 	protected char[] zipPassword = null;
 	protected boolean useZipCrypto = false;
 	protected Charset encoding = StandardCharsets.UTF_8;
@@ -87,30 +109,49 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 	protected Locale dateFormatLocale = Locale.getDefault();
 	protected String dateFormatPattern;
 	protected String dateTimeFormatPattern;
-	protected NumberFormat decimalFormat ;
+	protected NumberFormatter numberFormatter;
 	protected Character decimalSeparator;
 	protected boolean beautify = false;
 	protected String exportStructureFilePath = null;
 	protected boolean replaceAlreadyExistingFiles = false;
 	protected boolean createOutputDirectoyIfNotExists = false;
+	protected int threads = 1;
+	protected int chunks = 1;
+	protected ProgressMode progressMode = ProgressMode.COUNT;
+	protected boolean pipeline = false;
+	protected int compressionThreads = 1;
+	protected int zstdLevel = CompressionUtilities.DEFAULT_ZSTD_LEVEL;
+
+	/** This worker exports a further key range of a table, which will be appended to the data of the previous ranges */
+	protected boolean followingChunk = false;
 
-	private int overallExportedLines = 0;
+	/** Name of the table currently exported from a table list, or null for the export of a single sql statement */
+	protected String exportTableName = null;
+
+	private long overallExportedLines = 0;
 	private long overallExportedDataAmountRaw = 0;
 	private long overallExportedDataAmountCompressed = 0;
 
+	/** Statistics of the lob files of the current export */
+	private long exportedLobFiles = 0;
+	private long exportedLobDataAmountRaw = 0;
+	private long exportedLobDataAmountCompressed = 0;
+
 	private String databaseTimeZone = TimeZone.getDefault().getID();
 	private String exportDataTimeZone = TimeZone.getDefault().getID();
 
 	private DefaultDBValueConverter dbValueConverter;
 
+	private final WorkerParentDual exportParent;
+
 	{
 		// Create the default number format
-		decimalFormat = NumberFormat.getNumberInstance(dateFormatLocale);
-		decimalFormat.setGroupingUsed(false);
+		numberFormatter = new NumberFormatter(dateFormatLocale);
 	}
 
 	public AbstractDbExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
 		super(parent);
+		exportParent = parent;
 		this.dbDefinition = dbDefinition;
 		this.isStatementFile = isStatementFile;
 		this.sqlStatementOrTablelist = sqlStatementOrTablelist;
@@ -121,7 +162,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		this.log = log;
 	}
 
-	public void setCompression(final FileCompressionType compression) {
+	public void setCompression(final CompressionType compression) {
 		this.compression = compression;
 	}
 
@@ -147,6 +188,14 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		}
 	}
 
+	public String getDatabaseTimeZone() {
+		return databaseTimeZone;
+	}
+
+	public String getExportDataTimeZone() {
+		return exportDataTimeZone;
+	}
+
 	public void setEncoding(final Charset encoding) {
 		this.encoding = encoding;
 	}
@@ -163,6 +212,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		this.dateFormatLocale = dateFormatLocale;
 		dateFormatterCache = null;
 		dateTimeFormatterCache = null;
+		formattedDatesCache.clear();
 	}
 
 	public void setBeautify(final boolean beautify) {
@@ -181,10 +231,35 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		this.replaceAlreadyExistingFiles = replaceAlreadyExistingFiles;
 	}
 
+	public void setThreads(final int threads) {
+		this.threads = threads;
+	}
+
+	public void setChunks(final int chunks) {
+		this.chunks = chunks;
+	}
+
+	public void setProgressMode(final ProgressMode progressMode) {
+		this.progressMode = progressMode;
+	}
+
+	public void setPipeline(final boolean pipeline) {
+		this.pipeline = pipeline;
+	}
+
+	public void setCompressionThreads(final int compressionThreads) {
+		this.compressionThreads = compressionThreads;
+	}
+
+	public void setZstdLevel(final int zstdLevel) {
+		this.zstdLevel = zstdLevel;
+	}
+
 	public void setDateFormat(final String dateFormat) {
 		if (dateFormat != null) {
 			dateFormatPattern = dateFormat;
 			dateFormatterCache = null;
+			formattedDatesCache.clear();
 		}
 	}
 
@@ -201,6 +276,13 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		}
 	}
 
+	/**
+	 * Vendor specific reader of the values, also for formats reading the ResultSet themselves
+	 */
+	protected DefaultDBValueConverter getDbValueConverter() {
+		return dbValueConverter;
+	}
+
 	private DateTimeFormatter dateFormatterCache = null;
 	protected DateTimeFormatter getDateFormatter() {
 		if (dateFormatterCache == null) {
@@ -233,6 +315,28 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		return dateTimeFormatterCache;
 	}
 
+	/**
+	 * Formatted date values of the last different dates.
+	 * Date columns mostly contain only few different values, so most of them are formatted only once.
+	 */
+	private final Map<LocalDate, String> formattedDatesCache = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = -4587935601835717436L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<LocalDate, String> eldest) {
+			return size() > MAXIMUM_FORMATTED_DATES_CACHE_SIZE;
+		}
+	};
+
+	protected String formatDate(final LocalDate localDateValue) {
+		String formattedDate = formattedDatesCache.get(localDateValue);
+		if (formattedDate == null) {
+			formattedDate = getDateFormatter().format(localDateValue);
+			formattedDatesCache.put(localDateValue, formattedDate);
+		}
+		return formattedDate;
+	}
+
 	public boolean isSingleExport() {
 		if (sqlStatementOrTablelist.toLowerCase().startsWith("select ")
 				|| sqlStatementOrTablelist.toLowerCase().startsWith("select\t")
@@ -275,40 +379,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			}
 		}
 
-		switch (dbDefinition.getDbVendor()) {
-			case Oracle:
-				dbValueConverter = new OracleDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case SQLite:
-				dbValueConverter = new SQLiteDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case MySQL:
-				dbValueConverter = new MySQLDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case MariaDB:
-				dbValueConverter = new MariaDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case PostgreSQL:
-				dbValueConverter = new PostgreSQLDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case Firebird:
-				dbValueConverter = new FirebirdDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case Cassandra:
-				dbValueConverter = new CassandraDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case Derby:
-				dbValueConverter = new DefaultDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case HSQL:
-				dbValueConverter = new DefaultDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			case MsSQL:
-				dbValueConverter = new DefaultDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
-				break;
-			default:
-				throw new Exception("Unsupported database vendor: null");
-		}
+		dbValueConverter = createDbValueConverter();
 
 		try (Connection connection = DbUtilities.createConnection(dbDefinition, true)) {
 			if (isStatementFile) {
@@ -345,7 +416,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				if (exportStructureFilePath != null) {
 					exportDbStructure(connection, sqlStatementOrTablelist, exportStructureFilePath);
 				} else {
-					export(connection, sqlStatementOrTablelist, outputpath);
+					export(connection, sqlStatementOrTablelist, null, outputpath);
 				}
 
 				return !cancel;
@@ -380,146 +451,572 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				if (exportStructureFilePath != null) {
 					exportDbStructure(connection, tablesToExport, exportStructureFilePath);
 				} else {
-					for (int i = 0; i < tablesToExport.size() && !cancel; i++) {
-						signalProgress(true);
-						final String tableName = tablesToExport.get(i).toLowerCase();
-						subItemsToDo = 0;
-						subItemsDone = 0;
-						signalItemStart(tableName, null);
-
-						String nextOutputFilePath = outputpath;
-						if ("console".equalsIgnoreCase(outputpath)) {
-							System.out.println("Table: " + tableName);
-						} else if ("gui".equalsIgnoreCase(outputpath)) {
-							System.out.println("Table: " + tableName);
-						} else {
-							nextOutputFilePath = outputpath + File.separator + tableName.toLowerCase();
-						}
-						final List<String> columnNames = new ArrayList<>(DbUtilities.getColumnNames(connection, tableName));
-						Collections.sort(columnNames);
-						final List<String> keyColumnNames = new ArrayList<>(DbUtilities.getPrimaryKeyColumns(connection, tableName));
-						Collections.sort(keyColumnNames);
-						final List<String> readoutColumns = new ArrayList<>();
-						readoutColumns.addAll(keyColumnNames);
-						for (final String columnName : columnNames) {
-							if (!readoutColumns.contains(columnName)) {
-								readoutColumns.add(columnName);
-							}
+					if (threads > 1 && tablesToExport.size() > 1 && dbDefinition instanceof DbExportDefinition && !"console".equalsIgnoreCase(outputpath) && !"gui".equalsIgnoreCase(outputpath)) {
+						exportTablesParallel(tablesToExport);
+					} else {
+						for (int i = 0; i < tablesToExport.size() && !cancel; i++) {
+							signalProgress(true);
+							final String tableName = tablesToExport.get(i).toLowerCase();
+							subItemsToDo = 0;
+							subItemsDone = 0;
+							exportTable(connection, tableName);
+							itemsDone++;
 						}
+					}
+				}
+				return !cancel;
+			}
+		} catch (final Exception e) {
+			throw e;
+		} finally {
+			if (dbDefinition.getDbVendor() == DbVendor.Derby) {
+				DbUtilities.shutDownDerbyDb(dbDefinition.getDbName());
+			}
+		}
+	}
 
-						final List<String> escapedKeyColumns = new ArrayList<>();
-						for (final String unescapedKeyColumnName : keyColumnNames) {
-							escapedKeyColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedKeyColumnName));
-						}
+	/**
+	 * Export a single table of a multi table export into its own output file within the outputpath
+	 */
+	private void exportTable(final Connection connection, final String tableName) throws Exception {
+		signalItemStart(tableName, null);
+		exportTableName = tableName;
+
+		String nextOutputFilePath = outputpath;
+		if ("console".equalsIgnoreCase(outputpath)) {
+			System.out.println("Table: " + tableName);
+		} else if ("gui".equalsIgnoreCase(outputpath)) {
+			System.out.println("Table: " + tableName);
+		} else {
+			nextOutputFilePath = outputpath + File.separator + tableName.toLowerCase();
+		}
 
-						final List<String> escapedReadoutColumns = new ArrayList<>();
-						for (final String unescapedColumnName : readoutColumns) {
-							escapedReadoutColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedColumnName));
-						}
+		final String sqlStatement = createTableExportStatement(connection, tableName, null);
 
-						String orderPart = "";
-						if (!keyColumnNames.isEmpty()) {
-							orderPart = " ORDER BY " + Utilities.join(escapedKeyColumns, ", ");
-						}
+		try {
+			if (chunks <= 1
+					|| !isChunkedExportSupported()
+					|| createBlobFiles
+					|| createClobFiles
+					|| "console".equalsIgnoreCase(outputpath)
+					|| "gui".equalsIgnoreCase(outputpath)
+					|| !(dbDefinition instanceof DbExportDefinition)
+					|| !exportTableInChunks(connection, tableName, nextOutputFilePath)) {
+				export(connection, sqlStatement, tableName, nextOutputFilePath);
+			}
+		} catch (final DbExportException e) {
+			throw e;
+		} catch (final Exception e) {
+			throw new Exception("Error occurred while exporting\n" + sqlStatement + "\n" + e.getMessage(), e);
+		}
+
+		signalItemDone();
+	}
+
+	private String createTableExportStatement(final Connection connection, final String tableName, final String whereClause) throws Exception {
+		final List<String> columnNames = new ArrayList<>(DbUtilities.getColumnNames(connection, tableName));
+		Collections.sort(columnNames);
+		final List<String> keyColumnNames = new ArrayList<>(DbUtilities.getPrimaryKeyColumns(connection, tableName));
+		Collections.sort(keyColumnNames);
+		final List<String> readoutColumns = new ArrayList<>();
+		readoutColumns.addAll(keyColumnNames);
+		for (final String columnName : columnNames) {
+			if (!readoutColumns.contains(columnName)) {
+				readoutColumns.add(columnName);
+			}
+		}
+
+		final List<String> escapedKeyColumns = new ArrayList<>();
+		for (final String unescapedKeyColumnName : keyColumnNames) {
+			escapedKeyColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedKeyColumnName));
+		}
+
+		final List<String> escapedReadoutColumns = new ArrayList<>();
+		for (final String unescapedColumnName : readoutColumns) {
+			escapedReadoutColumns.add(DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), unescapedColumnName));
+		}
+
+		String orderPart = "";
+		if (!keyColumnNames.isEmpty()) {
+			orderPart = " ORDER BY " + Utilities.join(escapedKeyColumns, ", ");
+		}
 
-						final String sqlStatement = "SELECT " + Utilities.join(escapedReadoutColumns, ", ") + " FROM " + tableName + orderPart;
+		String wherePart = "";
+		if (whereClause != null) {
+			wherePart = " WHERE " + whereClause;
+		}
+
+		return "SELECT " + Utilities.join(escapedReadoutColumns, ", ") + " FROM " + tableName + wherePart + orderPart;
+	}
+
+	/**
+	 * Export a table in multiple primary key ranges concurrently, each range on its own database connection.
+	 * The parts are written into temporary files, which are concatenated in key order into the final output file.
+	 * GZ members, ZSTD frames and LZ4 frames may be concatenated, so those parts are compressed by their own worker.
+	 * Only ZIP and TAR files, which contain a single entry, are compressed after the concatenation of the raw parts.
+	 *
+	 * @return false, if the table cannot be split into key ranges
+	 */
+	private boolean exportTableInChunks(final Connection connection, final String tableName, final String outputFilePath) throws Exception {
+		final List<String> chunkConditions = createChunkConditions(connection, tableName);
+		if (chunkConditions == null || chunkConditions.size() < 2) {
+			return false;
+		}
+
+		final ExportOutputFile exportOutputFile = new ExportOutputFile(ExportOutputFile.getFilePathWithExtensions(outputFilePath, getFileExtension(), compression), getFileExtension(), compression, zipPassword, useZipCrypto, compressionThreads, zstdLevel);
+		prepareOutputFile(exportOutputFile.getFilePath());
+
+		final boolean compressedParts = compression == CompressionType.GZ || compression == CompressionType.ZSTD || compression == CompressionType.LZ4;
 
+		final List<File> partFiles = new ArrayList<>();
+		final List<AbstractDbExportWorker> partWorkers = new ArrayList<>();
+		final List<TableExportWorkerParent> partWorkerParents = new ArrayList<>();
+		final ExecutorService executorService = Executors.newFixedThreadPool(chunkConditions.size());
+		OutputStream logOutputStream = null;
+		boolean success = false;
+		try {
+			if (log) {
+				logOutputStream = openLogFile(exportOutputFile.getFilePath(), createTableExportStatement(connection, tableName, null));
+				logToFile(logOutputStream, "Chunks: " + chunkConditions.size());
+			}
+			logToFile(logOutputStream, "Start: " + DateUtilities.formatDate(DateUtilities.getDateTimeFormatWithSecondsPattern(Locale.getDefault()), startTimeSub));
+
+			signalUnlimitedSubProgress();
+
+			final List<Future<Void>> futures = new ArrayList<>();
+			for (int chunkIndex = 0; chunkIndex < chunkConditions.size(); chunkIndex++) {
+				final File partFile = File.createTempFile(exportOutputFile.getFile().getName() + ".part" + chunkIndex + "_", "." + getFileExtension() + (compressedParts ? "." + compression.getDefaultFileExtension() : ""), exportOutputFile.getFile().getParentFile());
+				partFiles.add(partFile);
+
+				// Each part worker has its own parent, which keeps the progress of the part visible for this thread
+				final TableExportWorkerParent partWorkerParent = new TableExportWorkerParent(null, new Object());
+				partWorkerParents.add(partWorkerParent);
+				final AbstractDbExportWorker partWorker = ((DbExportDefinition) dbDefinition).getConfiguredWorker(partWorkerParent);
+				partWorker.compression = compressedParts ? compression : null;
+				partWorker.zipPassword = null;
+				partWorker.log = false;
+				partWorker.replaceAlreadyExistingFiles = true;
+				partWorker.followingChunk = chunkIndex > 0;
+				partWorker.exportTableName = tableName;
+				partWorker.dbValueConverter = partWorker.createDbValueConverter();
+				partWorkers.add(partWorker);
+
+				final String partSqlStatement = createTableExportStatement(connection, tableName, chunkConditions.get(chunkIndex));
+				futures.add(executorService.submit(() -> {
+					try (Connection partConnection = DbUtilities.createConnection(dbDefinition, true)) {
+						partWorker.signalItemStart(tableName, null);
 						try {
-							export(connection, sqlStatement, nextOutputFilePath);
+							partWorker.export(partConnection, partSqlStatement, null, partFile.getAbsolutePath());
 						} catch (final DbExportException e) {
 							throw e;
 						} catch (final Exception e) {
-							throw new Exception("Error occurred while exporting\n" + sqlStatement + "\n" + e.getMessage(), e);
+							throw new Exception("Error occurred while exporting\n" + partSqlStatement + "\n" + e.getMessage(), e);
+						}
+					}
+					return null;
+				}));
+			}
+			executorService.shutdown();
+
+			Exception firstError = null;
+			for (final Future<Void> future : futures) {
+				while (true) {
+					try {
+						future.get(1, TimeUnit.SECONDS);
+						break;
+					} catch (@SuppressWarnings("unused") final TimeoutException e) {
+						if (cancel) {
+							for (final AbstractDbExportWorker partWorker : partWorkers) {
+								partWorker.cancel = true;
+							}
 						}
 
-						signalItemDone();
+						long partsItemsToDo = 0;
+						long partsItemsDone = 0;
+						for (final TableExportWorkerParent partWorkerParent : partWorkerParents) {
+							partsItemsToDo += partWorkerParent.getSubItemsToDo();
+							partsItemsDone += partWorkerParent.getSubItemsDone();
+						}
+						subItemsToDo = partsItemsToDo;
+						subItemsDone = partsItemsDone;
+						signalItemProgress();
+					} catch (final ExecutionException e) {
+						if (firstError == null) {
+							firstError = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+							for (final AbstractDbExportWorker partWorker : partWorkers) {
+								partWorker.cancel = true;
+							}
+						}
+						break;
+					}
+				}
+			}
+			if (firstError != null) {
+				throw firstError;
+			} else if (cancel) {
+				return true;
+			}
 
-						itemsDone++;
+			// The part workers are done, so their results are visible after Future.get()
+			long exportedLines = 0;
+			long exportedDataAmountRaw = 0;
+			for (final AbstractDbExportWorker partWorker : partWorkers) {
+				exportedLines += partWorker.getOverallExportedLines();
+				exportedDataAmountRaw += partWorker.getOverallExportedDataAmountRaw();
+			}
+			subItemsToDo = exportedLines;
+			subItemsDone = exportedLines;
+			signalItemProgress();
+
+			// Concatenate the parts in key order
+			if (exportOutputFile.isCompressed() && !compressedParts) {
+				try (OutputStream outputStream = exportOutputFile.open()) {
+					for (final File partFile : partFiles) {
+						Files.copy(partFile.toPath(), outputStream);
 					}
 				}
-				return !cancel;
+				exportOutputFile.finish();
+				overallExportedDataAmountCompressed += exportOutputFile.getCompressedSize();
+			} else {
+				Files.move(partFiles.get(0).toPath(), exportOutputFile.getFile().toPath());
+				try (FileChannel targetChannel = FileChannel.open(exportOutputFile.getFile().toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+					for (final File partFile : partFiles.subList(1, partFiles.size())) {
+						try (FileChannel sourceChannel = FileChannel.open(partFile.toPath(), StandardOpenOption.READ)) {
+							final long size = sourceChannel.size();
+							long position = 0;
+							while (position < size) {
+								position += sourceChannel.transferTo(position, size - position, targetChannel);
+							}
+						}
+					}
+				}
+				if (compressedParts) {
+					overallExportedDataAmountCompressed += exportOutputFile.getFile().length();
+				}
 			}
+			overallExportedDataAmountRaw += exportedDataAmountRaw;
+			overallExportedLines += exportedLines;
+
+			endTimeSub = LocalDateTime.now();
+			logToFile(logOutputStream, "Exported lines: " + exportedLines);
+			logToFile(logOutputStream, "Exported data amount: " + Utilities.getHumanReadableNumber(exportOutputFile.getFile().length(), "Byte", false, 5, false, Locale.ENGLISH));
+			logToFile(logOutputStream, "End: " + DateUtilities.formatDate(DateUtilities.getDateTimeFormatWithSecondsPattern(Locale.getDefault()), endTimeSub));
+			logToFile(logOutputStream, "Time elapsed: " + DateUtilities.getHumanReadableTimespanEnglish(Duration.between(startTimeSub, endTimeSub), true));
+
+			success = true;
+			return true;
 		} catch (final Exception e) {
+			try {
+				logToFile(logOutputStream, "Error: " + e.getMessage());
+			} catch (final Exception e1) {
+				e1.printStackTrace();
+			}
 			throw e;
 		} finally {
-			if (dbDefinition.getDbVendor() == DbVendor.Derby) {
-				DbUtilities.shutDownDerbyDb(dbDefinition.getDbName());
+			executorService.shutdownNow();
+			Utilities.closeQuietly(logOutputStream);
+			for (final File partFile : partFiles) {
+				if (partFile.exists()) {
+					partFile.delete();
+				}
+			}
+			if (!success && exportOutputFile.getFile().exists()) {
+				exportOutputFile.getFile().delete();
 			}
 		}
 	}
 
-	private void exportDbStructure(final Connection connection, final List<String> tablesToExport, String outputFilePath) throws Exception {
-		OutputStream outputStream = null;
-		File tempFile = null;
+	/**
+	 * Create the WHERE conditions for the key ranges of a table with a single column primary key.
+	 * Integer keys are split into equal ranges between their minimum and maximum,
+	 * string keys are split by boundaries sampled from the ordered key values.
+	 *
+	 * @return null, if the table has no suitable primary key
+	 */
+	private List<String> createChunkConditions(final Connection connection, final String tableName) throws Exception {
+		if (dbDefinition.getDbVendor() == DbVendor.Cassandra) {
+			return null;
+		}
 
-		try {
-			if ("console".equalsIgnoreCase(outputFilePath)) {
-				outputStream = System.out;
-			} else if ("gui".equalsIgnoreCase(outputFilePath)) {
-				guiOutputStream = new ByteArrayOutputStream();
-				outputStream = guiOutputStream;
-			} else {
-				if (compression == FileCompressionType.ZIP) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".zip")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
-						}
+		final List<String> keyColumnNames = new ArrayList<>(DbUtilities.getPrimaryKeyColumns(connection, tableName));
+		if (keyColumnNames.size() != 1) {
+			return null;
+		}
+		final String keyColumn = DbUtilities.escapeVendorReservedNames(dbDefinition.getDbVendor(), keyColumnNames.get(0));
 
-						outputFilePath = outputFilePath + ".zip";
+		final List<String> boundaries = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + tableName)) {
+			if (!resultSet.next()) {
+				return null;
+			}
+			final Object minimum = resultSet.getObject(1);
+			final Object maximum = resultSet.getObject(2);
+			if (minimum == null || maximum == null) {
+				return null;
+			} else if (isIntegerValue(minimum) && isIntegerValue(maximum)) {
+				final BigInteger minimumKey = new BigDecimal(minimum.toString()).toBigInteger();
+				final BigInteger rangeSize = new BigDecimal(maximum.toString()).toBigInteger().subtract(minimumKey).add(BigInteger.ONE);
+				for (int chunkIndex = 1; chunkIndex < chunks; chunkIndex++) {
+					final String boundary = minimumKey.add(rangeSize.multiply(BigInteger.valueOf(chunkIndex)).divide(BigInteger.valueOf(chunks))).toString();
+					if (!boundaries.contains(boundary)) {
+						boundaries.add(boundary);
 					}
-				} else if (compression == FileCompressionType.TARGZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tar.gz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
-						}
+				}
+			} else if (minimum instanceof String) {
+				boundaries.addAll(sampleStringKeyBoundaries(connection, tableName, keyColumn));
+			} else {
+				return null;
+			}
+		}
 
-						outputFilePath = outputFilePath + ".tar.gz";
-					}
-				} else if (compression == FileCompressionType.TGZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tgz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
+		if (boundaries.isEmpty()) {
+			return null;
+		}
+
+		final List<String> conditions = new ArrayList<>();
+		conditions.add(keyColumn + " < " + boundaries.get(0));
+		for (int i = 1; i < boundaries.size(); i++) {
+			conditions.add(keyColumn + " >= " + boundaries.get(i - 1) + " AND " + keyColumn + " < " + boundaries.get(i));
+		}
+		conditions.add(keyColumn + " >= " + boundaries.get(boundaries.size() - 1));
+		return conditions;
+	}
+
+	/**
+	 * Sample the boundaries of string key ranges without reading all keys of the table.
+	 * The number of rows is taken from the catalog statistics, the boundaries are read from a random sample of the table
+	 * or, for vendors without random samples, by a single ordered scan of the key index.
+	 */
+	private List<String> sampleStringKeyBoundaries(final Connection connection, final String tableName, final String keyColumn) throws Exception {
+		Long rowCount = DbStatisticsUtilities.getEstimatedRowCount(connection, dbDefinition.getDbVendor(), tableName);
+		if (rowCount == null || rowCount < chunks) {
+			// Vendors without statistics or tables, which were never analyzed
+			try (Statement statement = connection.createStatement();
+					ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + tableName)) {
+				resultSet.next();
+				rowCount = resultSet.getLong(1);
+			}
+		}
+
+		final List<String> boundaries = new ArrayList<>();
+		if (rowCount >= chunks) {
+			final List<String> sampledKeys = readSampledKeys(connection, tableName, keyColumn, rowCount);
+			if (sampledKeys != null && sampledKeys.size() >= chunks) {
+				for (int chunkIndex = 1; chunkIndex < chunks; chunkIndex++) {
+					addKeyBoundary(boundaries, sampledKeys.get(sampledKeys.size() * chunkIndex / chunks));
+				}
+			} else {
+				// Take the key at the row offset of each boundary from one ordered scan of the key index
+				try (Statement statement = connection.createStatement();
+						ResultSet resultSet = statement.executeQuery("SELECT " + keyColumn + " FROM " + tableName + " ORDER BY " + keyColumn)) {
+					long rowIndex = 0;
+					int chunkIndex = 1;
+					// Outdated statistics may point behind the last row
+					while (chunkIndex < chunks && resultSet.next()) {
+						if (rowIndex == rowCount * chunkIndex / chunks) {
+							addKeyBoundary(boundaries, resultSet.getString(1));
+							chunkIndex++;
 						}
+						rowIndex++;
+					}
+				}
+			}
+		}
+		return boundaries;
+	}
+
+	/**
+	 * Read the ordered keys of a random sample of about KEY_SAMPLE_SIZE table rows.
+	 * Tables with up to KEY_SAMPLE_SIZE rows are read completely, also because Oracle only supports sample percentages below 100.
+	 *
+	 * @return null, if the database vendor has no random sample
+	 */
+	private List<String> readSampledKeys(final Connection connection, final String tableName, final String keyColumn, final long rowCount) throws Exception {
+		final String sampleSql;
+		if (rowCount <= KEY_SAMPLE_SIZE) {
+			sampleSql = "SELECT " + keyColumn + " FROM " + tableName + " ORDER BY " + keyColumn;
+		} else {
+			final double samplePercent = Math.max(0.000001, KEY_SAMPLE_SIZE * 100.0 / rowCount);
+			final String samplePercentString = BigDecimal.valueOf(samplePercent).setScale(6, RoundingMode.HALF_UP).toPlainString();
+			switch (dbDefinition.getDbVendor()) {
+				case PostgreSQL:
+					sampleSql = "SELECT " + keyColumn + " FROM " + tableName + " TABLESAMPLE SYSTEM (" + samplePercentString + ") ORDER BY " + keyColumn;
+					break;
+				case MsSQL:
+					sampleSql = "SELECT " + keyColumn + " FROM " + tableName + " TABLESAMPLE SYSTEM (" + samplePercentString + " PERCENT) ORDER BY " + keyColumn;
+					break;
+				case Oracle:
+					sampleSql = "SELECT " + keyColumn + " FROM " + tableName + " SAMPLE BLOCK (" + samplePercentString + ") ORDER BY " + keyColumn;
+					break;
+				case MySQL:
+				case MariaDB:
+					sampleSql = "SELECT " + keyColumn + " FROM " + tableName + " WHERE RAND() < " + BigDecimal.valueOf(samplePercent / 100).setScale(8, RoundingMode.HALF_UP).toPlainString() + " ORDER BY " + keyColumn;
+					break;
+				default:
+					return null;
+			}
+		}
+
+		final List<String> sampledKeys = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(sampleSql)) {
+			while (resultSet.next()) {
+				sampledKeys.add(resultSet.getString(1));
+			}
+		}
+		return sampledKeys;
+	}
+
+	private static void addKeyBoundary(final List<String> boundaries, final String key) {
+		final String boundary = "'" + key.replace("'", "''") + "'";
+		if (!boundaries.contains(boundary)) {
+			boundaries.add(boundary);
+		}
+	}
+
+	private static boolean isIntegerValue(final Object value) {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte || value instanceof BigInteger) {
+			return true;
+		} else if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).stripTrailingZeros().scale() <= 0;
+		} else {
+			return false;
+		}
+	}
 
-						outputFilePath = outputFilePath + ".tgz";
+	/**
+	 * Export multiple tables concurrently.
+	 * Each thread uses its own database connection and a separately configured worker per table,
+	 * so the writers state is never shared between threads.
+	 * Overall counters are summed up after each table is done.
+	 */
+	private void exportTablesParallel(final List<String> tablesToExport) throws Exception {
+		final Queue<String> tablesQueue = new ConcurrentLinkedQueue<>();
+		for (final String tableName : tablesToExport) {
+			tablesQueue.add(tableName.toLowerCase());
+		}
+
+		final Object signalLock = new Object();
+		final WorkerParentDual tableWorkerParent = new TableExportWorkerParent(exportParent, signalLock);
+		final Set<AbstractDbExportWorker> runningTableWorkers = ConcurrentHashMap.newKeySet();
+		final int threadCount = Math.min(threads, tablesToExport.size());
+		final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		try {
+			final List<Future<Void>> futures = new ArrayList<>();
+			for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+				futures.add(executorService.submit(() -> {
+					try (Connection threadConnection = DbUtilities.createConnection(dbDefinition, true)) {
+						String tableName;
+						while (!cancel && (tableName = tablesQueue.poll()) != null) {
+							final AbstractDbExportWorker tableWorker = ((DbExportDefinition) dbDefinition).getConfiguredWorker(tableWorkerParent);
+							tableWorker.outputpath = outputpath;
+							tableWorker.dbValueConverter = tableWorker.createDbValueConverter();
+							runningTableWorkers.add(tableWorker);
+							try {
+								tableWorker.exportTable(threadConnection, tableName);
+							} finally {
+								runningTableWorkers.remove(tableWorker);
+							}
+
+							synchronized (signalLock) {
+								overallExportedLines += tableWorker.getOverallExportedLines();
+								overallExportedDataAmountRaw += tableWorker.getOverallExportedDataAmountRaw();
+								overallExportedDataAmountCompressed += tableWorker.getOverallExportedDataAmountCompressed();
+								itemsDone++;
+								signalProgress(true);
+							}
+						}
 					}
-				} else if (compression == FileCompressionType.GZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".gz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
+					return null;
+				}));
+			}
+			executorService.shutdown();
+
+			Exception firstError = null;
+			for (final Future<Void> future : futures) {
+				while (true) {
+					try {
+						future.get(1, TimeUnit.SECONDS);
+						break;
+					} catch (@SuppressWarnings("unused") final TimeoutException e) {
+						if (cancel) {
+							for (final AbstractDbExportWorker tableWorker : runningTableWorkers) {
+								tableWorker.cancel = true;
+							}
 						}
-
-						outputFilePath = outputFilePath + ".gz";
+					} catch (final ExecutionException e) {
+						if (firstError == null) {
+							firstError = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+							// Stop the other threads, the export is not complete anymore
+							cancel = true;
+							for (final AbstractDbExportWorker tableWorker : runningTableWorkers) {
+								tableWorker.cancel = true;
+							}
+						}
+						break;
 					}
-				} else if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-					outputFilePath = outputFilePath + ".json";
 				}
+			}
+			if (firstError != null) {
+				throw firstError;
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
 
-				if (new File(outputFilePath).exists()) {
-					throw new DbExportException("Outputfile already exists: " + outputFilePath);
-				}
+	private DefaultDBValueConverter createDbValueConverter() throws Exception {
+		final DefaultDBValueConverter dbValueConverterForVendor = createDbValueConverterForVendor();
+		dbValueConverterForVendor.setZstdLevel(zstdLevel);
+		return dbValueConverterForVendor;
+	}
 
-				if (compression == FileCompressionType.ZIP) {
-					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)));
-					String entryFileName = new File(outputFilePath).getName();
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
-					if (!Utilities.endsWithIgnoreCase(entryFileName, ".json")) {
-						entryFileName += ".json";
-					}
-					final ZipEntry entry = new ZipEntry(entryFileName);
-					entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
-					((ZipOutputStream) outputStream).putNextEntry(entry);
-				} else if (compression == FileCompressionType.TARGZ) {
-					tempFile = File.createTempFile(new File(outputFilePath).getName(), "");
-					outputStream = new FileOutputStream(tempFile);
-				} else if (compression == FileCompressionType.TGZ) {
-					tempFile = File.createTempFile(new File(outputFilePath).getName(), "");
-					outputStream = new FileOutputStream(tempFile);
-				} else if (compression == FileCompressionType.GZ) {
-					outputStream = new GZIPOutputStream(new FileOutputStream(new File(outputFilePath)));
-				} else {
-					outputStream = new FileOutputStream(new File(outputFilePath));
+	private DefaultDBValueConverter createDbValueConverterForVendor() throws Exception {
+		switch (dbDefinition.getDbVendor()) {
+			case Oracle:
+				return new OracleDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case SQLite:
+				return new SQLiteDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case MySQL:
+				return new MySQLDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case MariaDB:
+				return new MariaDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case PostgreSQL:
+				return new PostgreSQLDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case Firebird:
+				return new FirebirdDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case Cassandra:
+				return new CassandraDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case Derby:
+				return new DefaultDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case HSQL:
+				return new DefaultDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			case MsSQL:
+				return new DefaultDBValueConverter(compression, zipPassword, useZipCrypto, createBlobFiles, createClobFiles, getFileExtension());
+			default:
+				throw new Exception("Unsupported database vendor: null");
+		}
+	}
+
+	private void exportDbStructure(final Connection connection, final List<String> tablesToExport, final String outputFilePath) throws Exception {
+		OutputStream outputStream = null;
+		ExportOutputFile exportOutputFile = null;
+
+		try {
+			if ("console".equalsIgnoreCase(outputFilePath)) {
+				outputStream = System.out;
+			} else if ("gui".equalsIgnoreCase(outputFilePath)) {
+				guiOutputStream = new ByteArrayOutputStream();
+				outputStream = guiOutputStream;
+			} else {
+				exportOutputFile = new ExportOutputFile(ExportOutputFile.getFilePathWithExtensions(outputFilePath, "json", compression), "json", compression, zipPassword, useZipCrypto, compressionThreads, zstdLevel);
+
+				if (exportOutputFile.getFile().exists()) {
+					throw new DbExportException("Outputfile already exists: " + exportOutputFile.getFilePath());
 				}
+
+				outputStream = exportOutputFile.open();
 			}
 
 			signalProgress();
@@ -538,27 +1035,12 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				jsonWriter.closeJsonObject();
 			}
 
-			if (compression == FileCompressionType.ZIP && zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(outputFilePath, zipPassword, useZipCrypto);
-			} else if (compression == FileCompressionType.TARGZ) {
-				String entryFileName = new File(outputFilePath).getName();
-				if (entryFileName.toLowerCase().endsWith(".tar.gz")) {
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 7);
-				}
-				TarGzUtilities.compress(new File(outputFilePath), tempFile, entryFileName);
-			} else if (compression == FileCompressionType.TGZ) {
-				String entryFileName = new File(outputFilePath).getName();
-				if (entryFileName.toLowerCase().endsWith(".tgz")) {
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
-				}
-				TarGzUtilities.compress(new File(outputFilePath), tempFile, entryFileName);
+			if (exportOutputFile != null) {
+				exportOutputFile.close();
+				exportOutputFile.finish();
 			}
 		} finally {
 			Utilities.closeQuietly(outputStream);
-			if (tempFile != null && tempFile.exists()) {
-				tempFile.delete();
-				tempFile = null;
-			}
 		}
 	}
 
@@ -673,9 +1155,9 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		return columnJsonObject;
 	}
 
-	private void exportDbStructure(final Connection connection, final String sqlStatement, String outputFilePath) throws Exception {
+	private void exportDbStructure(final Connection connection, final String sqlStatement, final String outputFilePath) throws Exception {
 		OutputStream outputStream = null;
-		File tempFile = null;
+		ExportOutputFile exportOutputFile = null;
 
 		try {
 			if ("console".equalsIgnoreCase(outputFilePath)) {
@@ -684,67 +1166,13 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				guiOutputStream = new ByteArrayOutputStream();
 				outputStream = guiOutputStream;
 			} else {
-				if (compression == FileCompressionType.ZIP) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".zip")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
-						}
+				exportOutputFile = new ExportOutputFile(ExportOutputFile.getFilePathWithExtensions(outputFilePath, "json", compression), "json", compression, zipPassword, useZipCrypto, compressionThreads, zstdLevel);
 
-						outputFilePath = outputFilePath + ".zip";
-					}
-				} else if (compression == FileCompressionType.TARGZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tar.gz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
-						}
-
-						outputFilePath = outputFilePath + ".tar.gz";
-					}
-				} else if (compression == FileCompressionType.TGZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tgz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
-						}
-
-						outputFilePath = outputFilePath + ".tgz";
-					}
-				} else if (compression == FileCompressionType.GZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".gz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-							outputFilePath = outputFilePath + ".json";
-						}
-
-						outputFilePath = outputFilePath + ".gz";
-					}
-				} else if (!Utilities.endsWithIgnoreCase(outputFilePath, ".json")) {
-					outputFilePath = outputFilePath + ".json";
-				}
-
-				if (new File(outputFilePath).exists()) {
-					throw new DbExportException("DB structure outputfile already exists: " + outputFilePath);
+				if (exportOutputFile.getFile().exists()) {
+					throw new DbExportException("DB structure outputfile already exists: " + exportOutputFile.getFilePath());
 				}
 
-				if (compression == FileCompressionType.ZIP) {
-					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)));
-					String entryFileName = new File(outputFilePath).getName();
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
-					if (!Utilities.endsWithIgnoreCase(entryFileName, ".json")) {
-						entryFileName += ".json";
-					}
-					final ZipEntry entry = new ZipEntry(entryFileName);
-					entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
-					((ZipOutputStream) outputStream).putNextEntry(entry);
-				} else if (compression == FileCompressionType.TARGZ) {
-					tempFile = File.createTempFile(new File(outputFilePath).getName(), "");
-					outputStream = new FileOutputStream(tempFile);
-				} else if (compression == FileCompressionType.TGZ) {
-					tempFile = File.createTempFile(new File(outputFilePath).getName(), "");
-					outputStream = new FileOutputStream(tempFile);
-				} else if (compression == FileCompressionType.GZ) {
-					outputStream = new GZIPOutputStream(new FileOutputStream(new File(outputFilePath)));
-				} else {
-					outputStream = new FileOutputStream(new File(outputFilePath));
-				}
+				outputStream = exportOutputFile.open();
 			}
 
 			try (JsonWriter jsonWriter = new JsonWriter(outputStream)) {
@@ -776,33 +1204,29 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				jsonWriter.closeJsonObject();
 			}
 
-			if (compression == FileCompressionType.ZIP && zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(outputFilePath, zipPassword, useZipCrypto);
-			} else if (compression == FileCompressionType.TARGZ) {
-				String entryFileName = new File(outputFilePath).getName();
-				if (entryFileName.toLowerCase().endsWith(".tar.gz")) {
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 7);
-				}
-				TarGzUtilities.compress(new File(outputFilePath), tempFile, entryFileName);
-			} else if (compression == FileCompressionType.TGZ) {
-				String entryFileName = new File(outputFilePath).getName();
-				if (entryFileName.toLowerCase().endsWith(".tgz")) {
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
-				}
-				TarGzUtilities.compress(new File(outputFilePath), tempFile, entryFileName);
+			if (exportOutputFile != null) {
+				exportOutputFile.close();
+				exportOutputFile.finish();
 			}
 		} finally {
 			Utilities.closeQuietly(outputStream);
-			if (tempFile != null && tempFile.exists()) {
-				tempFile.delete();
-				tempFile = null;
-			}
 		}
 	}
 
-	private void export(final Connection connection, final String sqlStatement, String outputFilePath) throws Exception {
+	/**
+	 * Export the data of a sql statement
+	 *
+	 * @param tableName
+	 *            name of the exported table for the row count estimate in progress mode ESTIMATE, null for other sql statements
+	 */
+	private void export(final Connection connection, final String sqlStatement, final String tableName, String outputFilePath) throws Exception {
 		OutputStream outputStream = null;
-		File tempFile = null;
+		exportedLobFiles = 0;
+		exportedLobDataAmountRaw = 0;
+		exportedLobDataAmountCompressed = 0;
+		ExecutorService lineCountExecutorService = null;
+		Future<Long> concurrentLineCount = null;
+		ExportOutputFile exportOutputFile = null;
 		OutputStream logOutputStream = null;
 		boolean errorOccurred = false;
 		boolean fileWasCreated = false;
@@ -813,67 +1237,13 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 				guiOutputStream = new ByteArrayOutputStream();
 				outputStream = guiOutputStream;
 			} else {
-				if (compression == FileCompressionType.ZIP) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".zip")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + getFileExtension())) {
-							outputFilePath = outputFilePath + "." + getFileExtension();
-						}
-
-						outputFilePath = outputFilePath + ".zip";
-					}
-				} else if (compression == FileCompressionType.TARGZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".targ.gz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + getFileExtension())) {
-							outputFilePath = outputFilePath + "." + getFileExtension();
-						}
-
-						outputFilePath = outputFilePath + ".tar.gz";
-					}
-				} else if (compression == FileCompressionType.TGZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tgz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath,"." + getFileExtension())) {
-							outputFilePath = outputFilePath + "." + getFileExtension();
-						}
+				exportOutputFile = new ExportOutputFile(ExportOutputFile.getFilePathWithExtensions(outputFilePath, getFileExtension(), compression), getFileExtension(), compression, zipPassword, useZipCrypto, compressionThreads, zstdLevel);
+				outputFilePath = exportOutputFile.getFilePath();
 
-						outputFilePath = outputFilePath + ".tgz";
-					}
-				} else if (compression == FileCompressionType.GZ) {
-					if (!Utilities.endsWithIgnoreCase(outputFilePath, ".gz")) {
-						if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + getFileExtension())) {
-							outputFilePath = outputFilePath + "." + getFileExtension();
-						}
-
-						outputFilePath = outputFilePath + ".gz";
-					}
-				} else if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + getFileExtension())) {
-					outputFilePath = outputFilePath + "." + getFileExtension();
-				}
-
-				if (new File(outputFilePath).exists()) {
-					if (replaceAlreadyExistingFiles) {
-						new File(outputFilePath).delete();
-					} else {
-						throw new DbExportException("Outputfile already exists: " + outputFilePath);
-					}
-				}
-
-				if (!new File(outputFilePath).getParentFile().exists()) {
-					if (createOutputDirectoyIfNotExists) {
-						new File(outputFilePath).getParentFile().mkdirs();
-					} else {
-						throw new DbExportException("Outputfile parent directory does not exist: " + new File(outputFilePath).getParent());
-					}
-				} else if (!new File(outputFilePath).getParentFile().isDirectory()) {
-					throw new DbExportException("Outputfile parent is not a directory: " + new File(outputFilePath).getParent());
-				}
+				prepareOutputFile(outputFilePath);
 
 				if (log) {
-					logOutputStream = new FileOutputStream(new File(outputFilePath + "." + DateUtilities.formatDate("yyyy-MM-dd_HH-mm-ss", LocalDateTime.now()) + ".log"));
-
-					logToFile(logOutputStream, getConfigurationLogString(new File(outputFilePath).getName(), sqlStatement)
-							+ (Utilities.isNotBlank(dateFormatPattern) ? "DateFormatPattern: " + dateFormatPattern + "\n" : "")
-							+ (Utilities.isNotBlank(dateTimeFormatPattern) ? "DateTimeFormatPattern: " + dateTimeFormatPattern + "\n" : "")
-							+ (databaseTimeZone != null && !databaseTimeZone.equals(exportDataTimeZone) ? "DatabaseZoneId: " + databaseTimeZone + "\nExportDataZoneId: " + exportDataTimeZone + "\n" : ""));
+					logOutputStream = openLogFile(outputFilePath, sqlStatement);
 				}
 
 				if (currentItemName == null) {
@@ -882,26 +1252,9 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					logToFile(logOutputStream, "Start: " + DateUtilities.formatDate(DateUtilities.getDateTimeFormatWithSecondsPattern(Locale.getDefault()), startTimeSub));
 				}
 
-				if (compression == FileCompressionType.ZIP) {
-					outputStream = ZipUtilities.openNewZipOutputStream(new FileOutputStream(new File(outputFilePath)));
-					String entryFileName = new File(outputFilePath).getName();
-					entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
-					if (!Utilities.endsWithIgnoreCase(entryFileName, "." + getFileExtension())) {
-						entryFileName += "." + getFileExtension();
-					}
-					final ZipEntry entry = new ZipEntry(entryFileName);
-					entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
-					((ZipOutputStream) outputStream).putNextEntry(entry);
-				} else if (compression == FileCompressionType.TARGZ) {
-					tempFile = File.createTempFile(new File(outputFilePath).getName(), null);
-					outputStream = new FileOutputStream(tempFile);
-				} else if (compression == FileCompressionType.TGZ) {
-					tempFile = File.createTempFile(new File(outputFilePath).getName(), null);
-					outputStream = new FileOutputStream(tempFile);
-				} else if (compression == FileCompressionType.GZ) {
-					outputStream = new GZIPOutputStream(new FileOutputStream(outputFilePath));
-				} else {
-					outputStream = new FileOutputStream(new File(outputFilePath));
+				outputStream = exportOutputFile.open();
+				if (pipeline) {
+					outputStream = new AsyncOutputStream(outputStream);
 				}
 
 				fileWasCreated = true;
@@ -914,19 +1267,35 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			}
 
 			try (Statement statement = DbUtilities.getStatementForLargeQuery(connection)) {
-				String countSqlStatementString = "SELECT COUNT(*) FROM (" + sqlStatement + ") data";
-				if (dbDefinition.getDbVendor() == DbVendor.Cassandra) {
-					if (sqlStatement.toLowerCase().contains(" order by ")) {
-						countSqlStatementString = "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "), sqlStatement.toLowerCase().indexOf(" order by "));
-					} else {
-						countSqlStatementString = "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "));
+				Long linesToExport = null;
+				if (progressMode == ProgressMode.NONE) {
+					logToFile(logOutputStream, "Lines to export: not counted");
+				} else if (progressMode == ProgressMode.ESTIMATE) {
+					if (tableName != null) {
+						linesToExport = DbStatisticsUtilities.getEstimatedRowCount(connection, dbDefinition.getDbVendor(), tableName);
+					}
+					logToFile(logOutputStream, "Estimated lines to export: " + (linesToExport == null ? "unknown" : linesToExport));
+				} else if (progressMode == ProgressMode.CONCURRENT) {
+					final String countSqlStatementString = createCountStatement(sqlStatement);
+					lineCountExecutorService = Executors.newSingleThreadExecutor();
+					concurrentLineCount = lineCountExecutorService.submit(() -> {
+						try (Connection countConnection = DbUtilities.createConnection(dbDefinition, true);
+								Statement countStatement = countConnection.createStatement();
+								ResultSet resultSet = countStatement.executeQuery(countSqlStatementString)) {
+							resultSet.next();
+							return resultSet.getLong(1);
+						}
+					});
+					lineCountExecutorService.shutdown();
+				} else {
+					try (ResultSet resultSet = statement.executeQuery(createCountStatement(sqlStatement))) {
+						resultSet.next();
+						linesToExport = (long) resultSet.getInt(1);
+						logToFile(logOutputStream, "Lines to export: " + linesToExport);
 					}
 				}
-				try (ResultSet resultSet = statement.executeQuery(countSqlStatementString)) {
-					resultSet.next();
-					final int linesToExport = resultSet.getInt(1);
-					logToFile(logOutputStream, "Lines to export: " + linesToExport);
 
+				if (linesToExport != null) {
 					if (currentItemName == null) {
 						itemsToDo = linesToExport;
 						signalProgress();
@@ -936,105 +1305,155 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					}
 				}
 
-				openWriter(outputStream);
-
-				try (ResultSet resultSet = statement.executeQuery(sqlStatement)) {
-					final ResultSetMetaData metaData = resultSet.getMetaData();
-
-					// Scan headers
-					final List<String> columnNames = new ArrayList<>();
-					final List<String> columnTypes = new ArrayList<>();
-					for (int i = 1; i <= metaData.getColumnCount(); i++) {
-						columnNames.add(metaData.getColumnName(i));
-						columnTypes.add(metaData.getColumnTypeName(i));
-					}
-
+				final Long linesExportedByDatabase = exportByDatabase(connection, sqlStatement, outputStream);
+				if (linesExportedByDatabase != null) {
 					if (currentItemName == null) {
-						itemsDone = 0;
+						itemsDone = linesExportedByDatabase;
+						itemsToDo = linesExportedByDatabase;
 						signalProgress();
 					} else {
-						subItemsDone = 0;
+						subItemsDone = linesExportedByDatabase;
+						subItemsToDo = linesExportedByDatabase;
 						signalItemProgress();
 					}
+				} else {
+					openWriter(outputStream);
 
-					if (currentItemName == null) {
-						signalProgress();
-					} else {
-						signalItemProgress();
-					}
+					try (ResultSet resultSet = statement.executeQuery(sqlStatement)) {
+						final ResultSetMetaData metaData = new CachedResultSetMetaData(resultSet.getMetaData());
+
+						// Scan headers
+						final List<String> columnNames = new ArrayList<>();
+						for (int i = 1; i <= metaData.getColumnCount(); i++) {
+							columnNames.add(metaData.getColumnName(i));
+						}
+
+						final ExportColumn[] exportColumns = createExportColumns(metaData, outputFilePath);
 
-					startOutput(connection, sqlStatement, columnNames);
-
-					// Write values
-					while (resultSet.next() && !cancel) {
-						startTableLine();
-						for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
-							final String columnName = metaData.getColumnName(columnIndex);
-							Object value = dbValueConverter.convert(metaData, resultSet, columnIndex, outputFilePath);
-							if (value != null && value instanceof Date && metaData.getColumnType(columnIndex) == Types.DATE) {
-								value = DateUtilities.changeDateTimeZone((Date) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateColumn(columnName, DateUtilities.getLocalDateForDate((Date) value));
-							} else if (value != null && value instanceof LocalDateTime && metaData.getColumnType(columnIndex) == Types.DATE) {
-								value = DateUtilities.changeDateTimeZone((LocalDateTime) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateColumn(columnName, ((LocalDateTime) value).toLocalDate());
-							} else if (value != null && value instanceof LocalDate) {
-								writeDateColumn(columnName, (LocalDate) value);
-							} else if (value != null && value instanceof ZonedDateTime) {
-								value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, ZoneId.of(exportDataTimeZone));
-								writeDateColumn(columnName, ((ZonedDateTime) value).toLocalDate());
-							} else if (value != null && value instanceof Date) {
-								value = DateUtilities.changeDateTimeZone((Date) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateTimeColumn(columnName, DateUtilities.getLocalDateTimeForDate((Date) value));
-							} else if (value != null && value instanceof LocalDateTime) {
-								value = DateUtilities.changeDateTimeZone((LocalDateTime) value, ZoneId.of(databaseTimeZone), ZoneId.of(exportDataTimeZone));
-								writeDateTimeColumn(columnName, (LocalDateTime) value);
-							} else if (value != null && value instanceof ZonedDateTime) {
-								value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, ZoneId.of(exportDataTimeZone));
-								writeDateTimeColumn(columnName, (ZonedDateTime) value);
-							} else if (value != null && value instanceof File) {
-								if (compression == FileCompressionType.ZIP) {
-									overallExportedDataAmountRaw += ZipUtilities.getDataSizeUncompressed((File) value);
-									overallExportedDataAmountCompressed += ((File) value).length();
-								} else if (compression == FileCompressionType.TARGZ) {
-									overallExportedDataAmountRaw += TarGzUtilities.getUncompressedSize((File) value);
-									overallExportedDataAmountCompressed += ((File) value).length();
-								} else if (compression == FileCompressionType.TGZ) {
-									overallExportedDataAmountRaw += TarGzUtilities.getUncompressedSize((File) value);
-									overallExportedDataAmountCompressed += ((File) value).length();
-								} else if (compression == FileCompressionType.GZ) {
-									try (InputStream gzStream = new GZIPInputStream(new FileInputStream((File) value))) {
-										overallExportedDataAmountRaw += IoUtilities.getStreamSize(gzStream);
+						if (currentItemName == null) {
+							itemsDone = 0;
+						} else {
+							subItemsDone = 0;
+						}
+
+						if (linesToExport != null) {
+							if (currentItemName == null) {
+								signalProgress();
+							} else {
+								signalItemProgress();
+							}
+						}
+
+						prepareColumns(metaData);
+						startOutput(connection, sqlStatement, columnNames);
+
+						// Formats reading the ResultSet themselves cannot fetch the values in a separate stage
+						final boolean resultSetRowExport = isResultSetRowExportSupported();
+
+						// Fetch values concurrently to their formatting
+						RowRingBuffer rowRingBuffer = null;
+						Future<Void> fetchFuture = null;
+						ExecutorService fetchExecutorService = null;
+						if (pipeline && !resultSetRowExport) {
+							rowRingBuffer = new RowRingBuffer(PIPELINE_ROW_BUFFER_SIZE, exportColumns.length);
+							fetchExecutorService = Executors.newSingleThreadExecutor();
+							fetchFuture = fetchExecutorService.submit(createFetchStage(resultSet, exportColumns, rowRingBuffer));
+							fetchExecutorService.shutdown();
+						}
+						final Object[] rowValues = new Object[exportColumns.length];
+
+						// Write values
+						try {
+							while (!cancel) {
+								final Object[] values;
+								if (rowRingBuffer != null) {
+									values = rowRingBuffer.take();
+									if (values == null) {
+										break;
+									}
+								} else if (resultSet.next()) {
+									if (resultSetRowExport) {
+										values = null;
+									} else {
+										for (int columnIndex = 0; columnIndex < exportColumns.length; columnIndex++) {
+											rowValues[columnIndex] = exportColumns[columnIndex].read(resultSet);
+										}
+										values = rowValues;
 									}
-									overallExportedDataAmountCompressed += ((File) value).length();
 								} else {
-									overallExportedDataAmountRaw += ((File) value).length();
+									break;
+								}
+
+								startTableLine();
+								if (values == null) {
+									writeResultSetRow(resultSet);
+								} else {
+									for (int columnIndex = 0; columnIndex < exportColumns.length; columnIndex++) {
+										exportColumns[columnIndex].write(values[columnIndex]);
+									}
+								}
+								endTableLine();
+
+								if (rowRingBuffer != null) {
+									rowRingBuffer.release();
+								}
+
+								if (concurrentLineCount != null && concurrentLineCount.isDone()) {
+									linesToExport = getConcurrentLineCount(concurrentLineCount, logOutputStream);
+									concurrentLineCount = null;
+									if (linesToExport != null) {
+										if (currentItemName == null) {
+											itemsToDo = linesToExport;
+										} else {
+											subItemsToDo = linesToExport;
+										}
+									}
+								}
+
+								// Uncounted or underestimated lines may not exceed the lines to do in the progress
+								if (currentItemName == null) {
+									itemsDone++;
+									if (itemsDone > itemsToDo) {
+										itemsToDo = itemsDone;
+									}
+									signalProgress();
+								} else {
+									subItemsDone++;
+									if (subItemsDone > subItemsToDo) {
+										subItemsToDo = subItemsDone;
+									}
+									signalItemProgress();
+								}
+							}
+						} finally {
+							if (rowRingBuffer != null) {
+								// The fetch stage must end before the ResultSet is closed
+								rowRingBuffer.close();
+								if (cancel) {
+									statement.cancel();
+								}
+								try {
+									fetchFuture.get();
+								} catch (@SuppressWarnings("unused") final ExecutionException e) {
+									// Errors of the fetch stage are thrown by RowRingBuffer.take()
 								}
-								value = ((File) value).getName();
-								writeColumn(columnName, value);
-							} else {
-								writeColumn(columnName, value);
 							}
 						}
-						endTableLine();
 
-						if (currentItemName == null) {
-							itemsDone++;
-							signalProgress();
-						} else {
-							subItemsDone++;
-							signalItemProgress();
+						if (cancel) {
+							// Statement must be cancelled, or the "ResultSet.close()" will wait for all remaining data to be read
+							statement.cancel();
 						}
-					}
 
-					if (cancel) {
-						// Statement must be cancelled, or the "ResultSet.close()" will wait for all remaining data to be read
-						statement.cancel();
+						endOutput();
 					}
-
-					endOutput();
 				}
 
 				closeWriter();
+				if (outputStream instanceof AsyncOutputStream) {
+					// Throw errors of the write stage, which the writers may have ignored on close
+					outputStream.close();
+				}
 
 				long exportedLines;
 				if (currentItemName == null) {
@@ -1068,6 +1487,16 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 					if (new File(outputFilePath).exists()) {
 						logToFile(logOutputStream, "Exported data amount: " + Utilities.getHumanReadableNumber(new File(outputFilePath).length(), "Byte", false, 5, false, Locale.ENGLISH));
 					}
+					if (exportOutputFile != null && exportOutputFile.isCompressed()) {
+						logToFile(logOutputStream, "Exported data amount uncompressed: " + Utilities.getHumanReadableNumber(exportOutputFile.getUncompressedSize(), "Byte", false, 5, false, Locale.ENGLISH));
+					}
+					if (exportedLobFiles > 0) {
+						logToFile(logOutputStream, "Exported lob files: " + exportedLobFiles);
+						logToFile(logOutputStream, "Exported lob data amount: " + Utilities.getHumanReadableNumber(exportedLobDataAmountRaw, "Byte", false, 5, false, Locale.ENGLISH));
+						if (compression != null) {
+							logToFile(logOutputStream, "Exported lob data amount compressed: " + Utilities.getHumanReadableNumber(exportedLobDataAmountCompressed, "Byte", false, 5, false, Locale.ENGLISH));
+						}
+					}
 				}
 
 				if (currentItemName == null) {
@@ -1092,6 +1521,14 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			}
 			throw e;
 		} finally {
+			if (concurrentLineCount != null) {
+				// Export finished before the count, so the count is not needed anymore
+				concurrentLineCount.cancel(true);
+			}
+			if (lineCountExecutorService != null) {
+				lineCountExecutorService.shutdownNow();
+			}
+
 			closeWriter();
 
 			Utilities.closeQuietly(outputStream);
@@ -1104,32 +1541,209 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 			}
 		}
 
-		if (compression == FileCompressionType.ZIP) {
-			if (zipPassword != null) {
-				Zip4jUtilities.createPasswordSecuredZipFile(outputFilePath, zipPassword, useZipCrypto);
-				overallExportedDataAmountRaw += Zip4jUtilities.getUncompressedSize(new File(outputFilePath), zipPassword);
+		if (exportOutputFile != null && !cancel) {
+			exportOutputFile.finish();
+
+			// Sizes counted while writing, so the output file is not read again
+			overallExportedDataAmountRaw += exportOutputFile.getUncompressedSize();
+			if (exportOutputFile.isCompressed()) {
+				overallExportedDataAmountCompressed += exportOutputFile.getCompressedSize();
+			}
+		}
+	}
+
+	/**
+	 * Fetch stage of the pipelined export, which reads the converted values of all rows into the ring buffer
+	 */
+	private Callable<Void> createFetchStage(final ResultSet resultSet, final ExportColumn[] exportColumns, final RowRingBuffer rowRingBuffer) {
+		return () -> {
+			try {
+				while (resultSet.next()) {
+					final Object[] values = rowRingBuffer.claim();
+					if (values == null) {
+						// Consumer stopped because of cancel or error
+						break;
+					}
+					for (int columnIndex = 0; columnIndex < exportColumns.length; columnIndex++) {
+						values[columnIndex] = exportColumns[columnIndex].read(resultSet);
+					}
+					rowRingBuffer.publish();
+				}
+				rowRingBuffer.finish(null);
+			} catch (final Exception e) {
+				rowRingBuffer.finish(e);
+			}
+			return null;
+		};
+	}
+
+	private String createCountStatement(final String sqlStatement) {
+		if (dbDefinition.getDbVendor() == DbVendor.Cassandra) {
+			if (sqlStatement.toLowerCase().contains(" order by ")) {
+				return "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "), sqlStatement.toLowerCase().indexOf(" order by "));
+			} else {
+				return "SELECT COUNT(*)" + sqlStatement.substring(sqlStatement.toLowerCase().indexOf(" from "));
+			}
+		} else {
+			return "SELECT COUNT(*) FROM (" + sqlStatement + ") data";
+		}
+	}
+
+	/**
+	 * Read the result of a finished concurrent count. A failed count only leaves the progress without a total.
+	 */
+	private Long getConcurrentLineCount(final Future<Long> concurrentLineCount, final OutputStream logOutputStream) throws Exception {
+		try {
+			final Long linesToExport = concurrentLineCount.get();
+			logToFile(logOutputStream, "Lines to export: " + linesToExport);
+			return linesToExport;
+		} catch (final ExecutionException e) {
+			logToFile(logOutputStream, "Lines to export: unknown (" + e.getCause().getMessage() + ")");
+			return null;
+		}
+	}
+
+	private OutputStream openLogFile(final String outputFilePath, final String sqlStatement) throws Exception {
+		final OutputStream logOutputStream = new FileOutputStream(new File(outputFilePath + "." + DateUtilities.formatDate("yyyy-MM-dd_HH-mm-ss", LocalDateTime.now()) + ".log"));
+
+		logToFile(logOutputStream, getConfigurationLogString(new File(outputFilePath).getName(), sqlStatement)
+				+ (Utilities.isNotBlank(dateFormatPattern) ? "DateFormatPattern: " + dateFormatPattern + "\n" : "")
+				+ (Utilities.isNotBlank(dateTimeFormatPattern) ? "DateTimeFormatPattern: " + dateTimeFormatPattern + "\n" : "")
+				+ (databaseTimeZone != null && !databaseTimeZone.equals(exportDataTimeZone) ? "DatabaseZoneId: " + databaseTimeZone + "\nExportDataZoneId: " + exportDataTimeZone + "\n" : ""));
+
+		return logOutputStream;
+	}
+
+	/**
+	 * Create the extraction plan for the columns of a ResultSet.
+	 * The typed read method and the type specific write method of each column are decided only once instead of for every single value.
+	 */
+	private ExportColumn[] createExportColumns(final ResultSetMetaData metaData, final String outputFilePath) throws Exception {
+		final ZoneId databaseZoneId = ZoneId.of(databaseTimeZone);
+		final ZoneId exportDataZoneId = ZoneId.of(exportDataTimeZone);
+		// Values without own time zone need no conversion at all, if database and export use the same time zone
+		final boolean changeTimeZone = !databaseZoneId.normalized().equals(exportDataZoneId.normalized());
+		final ExportColumn[] exportColumns = new ExportColumn[metaData.getColumnCount()];
+		for (int columnIndex = 1; columnIndex <= metaData.getColumnCount(); columnIndex++) {
+			final String columnName = metaData.getColumnName(columnIndex);
+			final int columnType = metaData.getColumnType(columnIndex);
+			final ColumnValueReader reader = dbValueConverter.createColumnValueReader(metaData, columnIndex, outputFilePath);
+
+			final ColumnValueWriter writer;
+			if (isPlainValueColumn(columnType, metaData.getColumnTypeName(columnIndex))) {
+				writer = value -> writeColumn(columnName, value);
+			} else {
+				final boolean isDateColumn = columnType == Types.DATE;
+				writer = value -> writeValue(columnName, isDateColumn, value, changeTimeZone, databaseZoneId, exportDataZoneId);
+			}
+			exportColumns[columnIndex - 1] = new ExportColumn(reader, writer);
+		}
+		return exportColumns;
+	}
+
+	/**
+	 * Columns of these types never contain date values or lob files, so their values may be written without any further type checks
+	 */
+	private static boolean isPlainValueColumn(final int columnType, final String columnTypeName) {
+		if (columnTypeName != null && (columnTypeName.toUpperCase().contains("DATE") || columnTypeName.toUpperCase().contains("TIME"))) {
+			return false;
+		}
+		switch (columnType) {
+			case Types.BIT:
+			case Types.BOOLEAN:
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+			case Types.BIGINT:
+			case Types.REAL:
+			case Types.FLOAT:
+			case Types.DOUBLE:
+			case Types.NUMERIC:
+			case Types.DECIMAL:
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private void writeValue(final String columnName, final boolean isDateColumn, Object value, final boolean changeTimeZone, final ZoneId databaseZoneId, final ZoneId exportDataZoneId) throws Exception {
+		if (value != null && value instanceof Date && isDateColumn) {
+			if (changeTimeZone) {
+				value = DateUtilities.changeDateTimeZone((Date) value, databaseZoneId, exportDataZoneId);
+			}
+			writeDateColumn(columnName, DateUtilities.getLocalDateForDate((Date) value));
+		} else if (value != null && value instanceof LocalDateTime && isDateColumn) {
+			if (changeTimeZone) {
+				value = DateUtilities.changeDateTimeZone((LocalDateTime) value, databaseZoneId, exportDataZoneId);
+			}
+			writeDateColumn(columnName, ((LocalDateTime) value).toLocalDate());
+		} else if (value != null && value instanceof LocalDate) {
+			writeDateColumn(columnName, (LocalDate) value);
+		} else if (value != null && value instanceof ZonedDateTime) {
+			if (!((ZonedDateTime) value).getZone().equals(exportDataZoneId)) {
+				value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, exportDataZoneId);
+			}
+			writeDateColumn(columnName, ((ZonedDateTime) value).toLocalDate());
+		} else if (value != null && value instanceof Date) {
+			if (changeTimeZone) {
+				value = DateUtilities.changeDateTimeZone((Date) value, databaseZoneId, exportDataZoneId);
+			}
+			writeDateTimeColumn(columnName, DateUtilities.getLocalDateTimeForDate((Date) value));
+		} else if (value != null && value instanceof LocalDateTime) {
+			if (changeTimeZone) {
+				value = DateUtilities.changeDateTimeZone((LocalDateTime) value, databaseZoneId, exportDataZoneId);
+			}
+			writeDateTimeColumn(columnName, (LocalDateTime) value);
+		} else if (value != null && value instanceof ZonedDateTime) {
+			if (!((ZonedDateTime) value).getZone().equals(exportDataZoneId)) {
+				value = DateUtilities.changeDateTimeZone((ZonedDateTime) value, exportDataZoneId);
+			}
+			writeDateTimeColumn(columnName, (ZonedDateTime) value);
+		} else if (value != null && value instanceof File) {
+			long lobDataAmountRaw;
+			long lobDataAmountCompressed;
+			if (value instanceof ExportedLobFile) {
+				lobDataAmountRaw = ((ExportedLobFile) value).getUncompressedSize();
+				lobDataAmountCompressed = ((ExportedLobFile) value).getCompressedSize();
 			} else {
-				overallExportedDataAmountRaw += ZipUtilities.getDataSizeUncompressed(new File(outputFilePath));
-			}
-			overallExportedDataAmountCompressed += new File(outputFilePath).length();
-		} else if (compression == FileCompressionType.TARGZ) {
-			String entryFileName = new File(outputFilePath).getName();
-			if (entryFileName.toLowerCase().endsWith(".tar.gz")) {
-				entryFileName = entryFileName.substring(0, entryFileName.length() - 7);
-			}
-			TarGzUtilities.compress(new File(outputFilePath), tempFile, entryFileName);
-			overallExportedDataAmountRaw += TarGzUtilities.getUncompressedSize(new File(outputFilePath));
-			overallExportedDataAmountCompressed += new File(outputFilePath).length();
-		} else if (compression == FileCompressionType.TGZ) {
-			String entryFileName = new File(outputFilePath).getName();
-			if (entryFileName.toLowerCase().endsWith(".tgz")) {
-				entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
-			}
-			TarGzUtilities.compress(new File(outputFilePath), tempFile, entryFileName);
-			overallExportedDataAmountRaw += TarGzUtilities.getUncompressedSize(new File(outputFilePath));
-			overallExportedDataAmountCompressed += new File(outputFilePath).length();
+				lobDataAmountRaw = ((File) value).length();
+				lobDataAmountCompressed = lobDataAmountRaw;
+			}
+			exportedLobFiles++;
+			exportedLobDataAmountRaw += lobDataAmountRaw;
+			exportedLobDataAmountCompressed += lobDataAmountCompressed;
+			overallExportedDataAmountRaw += lobDataAmountRaw;
+			if (compression != null) {
+				overallExportedDataAmountCompressed += lobDataAmountCompressed;
+			}
+			value = ((File) value).getName();
+			writeColumn(columnName, value);
 		} else {
-			overallExportedDataAmountRaw += new File(outputFilePath).length();
+			writeColumn(columnName, value);
+		}
+	}
+
+	private void prepareOutputFile(final String outputFilePath) throws Exception {
+		if (new File(outputFilePath).exists()) {
+			if (replaceAlreadyExistingFiles) {
+				new File(outputFilePath).delete();
+			} else {
+				throw new DbExportException("Outputfile already exists: " + outputFilePath);
+			}
+		}
+
+		if (!new File(outputFilePath).getParentFile().exists()) {
+			if (createOutputDirectoyIfNotExists) {
+				new File(outputFilePath).getParentFile().mkdirs();
+			} else {
+				throw new DbExportException("Outputfile parent directory does not exist: " + new File(outputFilePath).getParent());
+			}
+		} else if (!new File(outputFilePath).getParentFile().isDirectory()) {
+			throw new DbExportException("Outputfile parent is not a directory: " + new File(outputFilePath).getParent());
 		}
 	}
 
@@ -1139,7 +1753,7 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 		}
 	}
 
-	public int getOverallExportedLines() {
+	public long getOverallExportedLines() {
 		return overallExportedLines;
 	}
 
@@ -1157,10 +1771,48 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 
 	public abstract String getConfigurationLogString(String fileName, String sqlStatement);
 
+	/**
+	 * Output of this format may be exported in multiple parts, which are simply concatenated afterwards
+	 */
+	protected boolean isChunkedExportSupported() {
+		return false;
+	}
+
 	protected abstract String getFileExtension();
 
 	protected abstract void openWriter(OutputStream outputStream) throws Exception;
 
+	/**
+	 * Let the database itself write the data of a statement to the output stream without reading it row by row
+	 *
+	 * @return number of exported lines, or null if the data must be read and written row by row
+	 */
+	protected Long exportByDatabase(final Connection connection, final String sqlStatement, final OutputStream outputStream) throws Exception {
+		return null;
+	}
+
+	/**
+	 * Prepare the output for the exported columns before any output is written
+	 */
+	protected void prepareColumns(final ResultSetMetaData metaData) throws Exception {
+		// Do nothing by default
+	}
+
+	/**
+	 * Output of this format reads the values of each row directly from the ResultSet by {@link #writeResultSetRow(ResultSet)}
+	 * instead of getting them converted into objects by the DBValueConverter
+	 */
+	protected boolean isResultSetRowExportSupported() {
+		return false;
+	}
+
+	/**
+	 * Write the values of the current row of the ResultSet, only used if {@link #isResultSetRowExportSupported()}
+	 */
+	protected void writeResultSetRow(final ResultSet resultSet) throws Exception {
+		// Do nothing by default
+	}
+
 	protected abstract void startOutput(Connection connection, String sqlStatement, List<String> columnNames) throws Exception;
 
 	protected abstract void startTableLine() throws Exception;
@@ -1178,4 +1830,111 @@ public abstract class AbstractDbExportWorker extends WorkerDual<Boolean> {
 	protected abstract void endOutput() throws Exception;
 
 	protected abstract void closeWriter() throws Exception;
+
+	@FunctionalInterface
+	private interface ColumnValueWriter {
+		void write(Object value) throws Exception;
+	}
+
+	/**
+	 * Immutable extraction plan of a single ResultSet column
+	 */
+	private static class ExportColumn {
+		private final ColumnValueReader reader;
+		private final ColumnValueWriter writer;
+
+		public ExportColumn(final ColumnValueReader reader, final ColumnValueWriter writer) {
+			this.reader = reader;
+			this.writer = writer;
+		}
+
+		public Object read(final ResultSet resultSet) throws Exception {
+			return reader.read(resultSet);
+		}
+
+		public void write(final Object value) throws Exception {
+			writer.write(value);
+		}
+	}
+
+	/**
+	 * Parent for the workers of concurrently exported tables and table chunks.
+	 * Only the start and end of each table are forwarded, because the line progress of multiple tables cannot be displayed at once.
+	 * The line progress of the worker is kept for the progress of chunked table exports.
+	 */
+	private static class TableExportWorkerParent implements WorkerParentDual {
+		private final WorkerParentDual parent;
+		private final Object signalLock;
+
+		/** Progress of the worker, which is signaled by the worker thread and read by the exporting thread */
+		private volatile long subItemsToDo = 0;
+		private volatile long subItemsDone = 0;
+
+		public TableExportWorkerParent(final WorkerParentDual parent, final Object signalLock) {
+			this.parent = parent;
+			this.signalLock = signalLock;
+		}
+
+		@Override
+		public void receiveUnlimitedProgressSignal() {
+			// Do nothing
+		}
+
+		@Override
+		public void receiveUnlimitedSubProgressSignal() {
+			// Do nothing
+		}
+
+		@Override
+		public void receiveProgressSignal(final LocalDateTime start, final long itemsToDo, final long itemsDone, final String itemsUnitSign) {
+			// Do nothing
+		}
+
+		@Override
+		public void receiveItemStartSignal(final String itemName, final String description) {
+			if (parent != null) {
+				synchronized (signalLock) {
+					parent.receiveItemStartSignal(itemName, description);
+				}
+			}
+		}
+
+		@Override
+		public void receiveItemProgressSignal(final LocalDateTime itemStart, final long subItemToDo, final long subItemDone, final String itemsUnitSign) {
+			subItemsToDo = subItemToDo;
+			subItemsDone = subItemDone;
+		}
+
+		public long getSubItemsToDo() {
+			return subItemsToDo;
+		}
+
+		public long getSubItemsDone() {
+			return subItemsDone;
+		}
+
+		@Override
+		public void receiveItemDoneSignal(final LocalDateTime itemStart, final LocalDateTime itemEnd, final long subItemsDone, final String itemsUnitSign, final String resultText) {
+			if (parent != null) {
+				synchronized (signalLock) {
+					parent.receiveItemDoneSignal(itemStart, itemEnd, subItemsDone, itemsUnitSign, resultText);
+				}
+			}
+		}
+
+		@Override
+		public void receiveDoneSignal(final LocalDateTime start, final LocalDateTime end, final long itemsDone, final String itemsUnitSign, final String resultText) {
+			// Do nothing
+		}
+
+		@Override
+		public boolean cancel() {
+			return true;
+		}
+
+		@Override
+		public void changeTitle(final String text) {
+			// Do nothing
+		}
+	}
 }
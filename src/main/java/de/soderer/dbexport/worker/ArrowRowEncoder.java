@@ -0,0 +1,648 @@
+package de.soderer.dbexport.worker;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writer of Apache Arrow IPC files (also known as Feather version 2) without the Arrow libraries.
+ * The values are collected in the primitive Arrow vector layout (validity bitmap, fixed width values or offsets and data)
+ * and are written as one record batch, when the configured number of rows is reached.
+ * The messages and the file footer use flatbuffers, which are written by a minimal flatbuffer writer.
+ * The body buffers are not compressed.
+ */
+public class ArrowRowEncoder implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** File magic including the padding to 8 bytes at the start of the file */
+	private static final byte[] MAGIC = "ARROW1\0\0".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] PADDING = new byte[8];
+
+	private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+	public static final int DEFAULT_BATCH_SIZE = 65536;
+
+	/**
+	 * Types of the exported columns and their Arrow types
+	 */
+	public enum ColumnType {
+		BOOLEAN,
+		INT32,
+		INT64,
+		DOUBLE,
+		/** Decimal128 with precision and scale */
+		DECIMAL,
+		/** Date32 in days since 1970-01-01 */
+		DATE,
+		/** Timestamp in microseconds without time zone */
+		TIMESTAMP,
+		/** Utf8 with 32 bit offsets */
+		STRING,
+		/** Binary with 32 bit offsets */
+		BINARY
+	}
+
+	// Arrow metadata version V5
+	private static final int METADATA_VERSION = 4;
+
+	// Types of the MessageHeader union
+	private static final int MESSAGE_HEADER_SCHEMA = 1;
+	private static final int MESSAGE_HEADER_RECORD_BATCH = 3;
+
+	// Types of the Type union
+	private static final int TYPE_INT = 2;
+	private static final int TYPE_FLOATING_POINT = 3;
+	private static final int TYPE_BINARY = 4;
+	private static final int TYPE_UTF8 = 5;
+	private static final int TYPE_BOOL = 6;
+	private static final int TYPE_DECIMAL = 7;
+	private static final int TYPE_DATE = 8;
+	private static final int TYPE_TIMESTAMP = 10;
+
+	private static final int PRECISION_DOUBLE = 2;
+	private static final int DATE_UNIT_DAY = 0;
+	private static final int TIME_UNIT_MICROSECOND = 2;
+
+	private final OutputStream outputStream;
+	private final int batchSize;
+
+	private final List<ColumnVector> columns = new ArrayList<>();
+
+	/** Offset, metadata length and body length of each written record batch */
+	private final List<long[]> recordBatchBlocks = new ArrayList<>();
+
+	private final FlatBufferWriter flatBufferWriter = new FlatBufferWriter();
+	private FlatTable schema = null;
+
+	private long filePosition = 0;
+	private int rowCount = 0;
+	private int columnIndex = 0;
+
+	public ArrowRowEncoder(final OutputStream outputStream, final int batchSize) {
+		this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Add the next column of the schema
+	 *
+	 * @param precision
+	 *            Precision of a DECIMAL column, at most 38 digits
+	 * @param scale
+	 *            Scale of a DECIMAL column
+	 */
+	public void addColumn(final String name, final ColumnType columnType, final int precision, final int scale) {
+		columns.add(new ColumnVector(name, columnType, precision, scale, batchSize));
+	}
+
+	public void startFile() throws IOException {
+		final List<FlatTable> fields = new ArrayList<>();
+		for (final ColumnVector column : columns) {
+			fields.add(new FlatTable()
+					.addOffset(0, column.name)
+					.addBoolean(1, true)
+					.addScalar(2, 1, column.getArrowTypeId())
+					.addOffset(3, column.getArrowType())
+					.addOffset(5, new ArrayList<FlatTable>()));
+		}
+		schema = new FlatTable().addOffset(1, fields);
+
+		write(MAGIC, 0, MAGIC.length);
+		writeMessage(MESSAGE_HEADER_SCHEMA, schema, 0);
+	}
+
+	public void startRow() {
+		columnIndex = 0;
+	}
+
+	public void writeNull() {
+		final ColumnVector column = columns.get(columnIndex++);
+		column.nullCount++;
+		if (column.offsets != null) {
+			column.offsets.putInt((rowCount + 1) * 4, column.dataLength);
+		}
+	}
+
+	public void writeBoolean(final boolean value) {
+		final ColumnVector column = nextValueColumn();
+		if (value) {
+			column.values.put(rowCount >> 3, (byte) (column.values.get(rowCount >> 3) | (1 << (rowCount & 7))));
+		}
+	}
+
+	public void writeInt(final int value) {
+		nextValueColumn().values.putInt(rowCount * 4, value);
+	}
+
+	public void writeLong(final long value) {
+		nextValueColumn().values.putLong(rowCount * 8, value);
+	}
+
+	public void writeDouble(final double value) {
+		nextValueColumn().values.putDouble(rowCount * 8, value);
+	}
+
+	public void writeDecimal(final BigDecimal value) {
+		final ColumnVector column = nextValueColumn();
+		final BigInteger unscaledValue = value.setScale(column.scale, RoundingMode.HALF_UP).unscaledValue();
+		if (unscaledValue.bitLength() > 127) {
+			throw new ArithmeticException("Decimal value exceeds 128 bit: " + value);
+		}
+		// Two's complement in little endian byte order
+		column.values.putLong(rowCount * 16, unscaledValue.longValue());
+		column.values.putLong(rowCount * 16 + 8, unscaledValue.shiftRight(64).longValue());
+	}
+
+	public void writeDate(final LocalDate value) {
+		nextValueColumn().values.putInt(rowCount * 4, Math.toIntExact(value.toEpochDay()));
+	}
+
+	public void writeTimestamp(final LocalDateTime value) {
+		nextValueColumn().values.putLong(rowCount * 8, value.toEpochSecond(ZoneOffset.UTC) * 1000000L + value.getNano() / 1000);
+	}
+
+	public void writeString(final String value) {
+		writeBytes(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public void writeBytes(final byte[] value) {
+		final ColumnVector column = nextValueColumn();
+		if (column.dataLength + value.length > column.data.length) {
+			column.data = Arrays.copyOf(column.data, Math.max(column.dataLength + value.length, column.data.length * 2));
+		}
+		System.arraycopy(value, 0, column.data, column.dataLength, value.length);
+		column.dataLength += value.length;
+		column.offsets.putInt((rowCount + 1) * 4, column.dataLength);
+	}
+
+	public void endRow() throws IOException {
+		rowCount++;
+		if (rowCount >= batchSize) {
+			writeRecordBatch();
+		}
+	}
+
+	/**
+	 * Write the last record batch, the end of stream marker and the file footer
+	 */
+	public void endFile() throws IOException {
+		if (rowCount > 0) {
+			writeRecordBatch();
+		}
+
+		// End of stream marker
+		writeIntLittleEndian(CONTINUATION_MARKER);
+		writeIntLittleEndian(0);
+
+		final ByteBuffer blocks = ByteBuffer.allocate(recordBatchBlocks.size() * 24).order(ByteOrder.LITTLE_ENDIAN);
+		for (final long[] recordBatchBlock : recordBatchBlocks) {
+			blocks.putLong(recordBatchBlock[0]);
+			blocks.putInt((int) recordBatchBlock[1]);
+			blocks.putInt(0);
+			blocks.putLong(recordBatchBlock[2]);
+		}
+		final FlatTable footer = new FlatTable()
+				.addScalar(0, 2, METADATA_VERSION)
+				.addOffset(1, schema)
+				.addOffset(2, new FlatStructVector(0, new byte[0]))
+				.addOffset(3, new FlatStructVector(recordBatchBlocks.size(), blocks.array()));
+		final int footerLength = flatBufferWriter.finish(footer);
+		write(flatBufferWriter.data, 0, footerLength);
+		writeIntLittleEndian(footerLength);
+		write(MAGIC, 0, 6);
+	}
+
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		outputStream.close();
+	}
+
+	private ColumnVector nextValueColumn() {
+		final ColumnVector column = columns.get(columnIndex++);
+		column.validity[rowCount >> 3] |= 1 << (rowCount & 7);
+		return column;
+	}
+
+	private void writeRecordBatch() throws IOException {
+		final ByteBuffer nodes = ByteBuffer.allocate(columns.size() * 16).order(ByteOrder.LITTLE_ENDIAN);
+		final List<long[]> bodyBuffers = new ArrayList<>();
+		long bodyLength = 0;
+		final int bitmapLength = (rowCount + 7) >> 3;
+		for (final ColumnVector column : columns) {
+			nodes.putLong(rowCount);
+			nodes.putLong(column.nullCount);
+
+			bodyBuffers.add(new long[] { bodyLength, bitmapLength });
+			bodyLength += padded(bitmapLength);
+			if (column.offsets != null) {
+				bodyBuffers.add(new long[] { bodyLength, (rowCount + 1) * 4 });
+				bodyLength += padded((rowCount + 1) * 4);
+				bodyBuffers.add(new long[] { bodyLength, column.dataLength });
+				bodyLength += padded(column.dataLength);
+			} else {
+				final int valuesLength = column.byteWidth == 0 ? bitmapLength : rowCount * column.byteWidth;
+				bodyBuffers.add(new long[] { bodyLength, valuesLength });
+				bodyLength += padded(valuesLength);
+			}
+		}
+
+		final ByteBuffer buffers = ByteBuffer.allocate(bodyBuffers.size() * 16).order(ByteOrder.LITTLE_ENDIAN);
+		for (final long[] bodyBuffer : bodyBuffers) {
+			buffers.putLong(bodyBuffer[0]);
+			buffers.putLong(bodyBuffer[1]);
+		}
+		final FlatTable recordBatch = new FlatTable()
+				.addScalar(0, 8, rowCount)
+				.addOffset(1, new FlatStructVector(columns.size(), nodes.array()))
+				.addOffset(2, new FlatStructVector(bodyBuffers.size(), buffers.array()));
+
+		final long blockOffset = filePosition;
+		final int metaDataLength = writeMessage(MESSAGE_HEADER_RECORD_BATCH, recordBatch, bodyLength);
+		recordBatchBlocks.add(new long[] { blockOffset, metaDataLength, bodyLength });
+
+		for (final ColumnVector column : columns) {
+			writePadded(column.validity, bitmapLength);
+			if (column.offsets != null) {
+				writePadded(column.offsets.array(), (rowCount + 1) * 4);
+				writePadded(column.data, column.dataLength);
+			} else {
+				writePadded(column.values.array(), column.byteWidth == 0 ? bitmapLength : rowCount * column.byteWidth);
+			}
+			column.reset(bitmapLength);
+		}
+		rowCount = 0;
+	}
+
+	/**
+	 * Write an encapsulated message with its flatbuffer metadata padded to 8 bytes
+	 *
+	 * @return length of the message metadata including its prefix
+	 */
+	private int writeMessage(final int headerType, final FlatTable header, final long bodyLength) throws IOException {
+		final FlatTable message = new FlatTable()
+				.addScalar(0, 2, METADATA_VERSION)
+				.addScalar(1, 1, headerType)
+				.addOffset(2, header)
+				.addScalar(3, 8, bodyLength);
+		final int flatBufferLength = flatBufferWriter.finish(message);
+		final int paddedLength = padded(flatBufferLength);
+		writeIntLittleEndian(CONTINUATION_MARKER);
+		writeIntLittleEndian(paddedLength);
+		writePadded(flatBufferWriter.data, flatBufferLength);
+		return 8 + paddedLength;
+	}
+
+	private void writePadded(final byte[] data, final int length) throws IOException {
+		write(data, 0, length);
+		write(PADDING, 0, padded(length) - length);
+	}
+
+	private void writeIntLittleEndian(final int value) throws IOException {
+		outputStream.write(value);
+		outputStream.write(value >>> 8);
+		outputStream.write(value >>> 16);
+		outputStream.write(value >>> 24);
+		filePosition += 4;
+	}
+
+	private void write(final byte[] data, final int offset, final int length) throws IOException {
+		outputStream.write(data, offset, length);
+		filePosition += length;
+	}
+
+	private static int padded(final int length) {
+		return (length + 7) & ~7;
+	}
+
+	/**
+	 * Buffers of one column of the current record batch in the Arrow memory layout
+	 */
+	private static class ColumnVector {
+		private final String name;
+		private final ColumnType columnType;
+		private final int precision;
+		private final int scale;
+
+		/** Bytes of each value, 0 for bit packed boolean values and variable length values */
+		private final int byteWidth;
+
+		/** One bit for each row of the record batch, which is set for values that are not null */
+		private final byte[] validity;
+
+		/** Fixed width values or bit packed boolean values */
+		private final ByteBuffer values;
+
+		/** Start and end offsets of variable length values in data */
+		private final ByteBuffer offsets;
+
+		private byte[] data;
+		private int dataLength = 0;
+		private int nullCount = 0;
+
+		private ColumnVector(final String name, final ColumnType columnType, final int precision, final int scale, final int batchSize) {
+			this.name = name;
+			this.columnType = columnType;
+			this.precision = precision;
+			this.scale = scale;
+			switch (columnType) {
+				case INT32:
+				case DATE:
+					byteWidth = 4;
+					break;
+				case INT64:
+				case DOUBLE:
+				case TIMESTAMP:
+					byteWidth = 8;
+					break;
+				case DECIMAL:
+					byteWidth = 16;
+					break;
+				default:
+					byteWidth = 0;
+			}
+			validity = new byte[(batchSize + 7) >> 3];
+			if (columnType == ColumnType.STRING || columnType == ColumnType.BINARY) {
+				values = null;
+				offsets = ByteBuffer.allocate((batchSize + 1) * 4).order(ByteOrder.LITTLE_ENDIAN);
+				data = new byte[1024];
+			} else {
+				values = ByteBuffer.allocate(byteWidth == 0 ? validity.length : batchSize * byteWidth).order(ByteOrder.LITTLE_ENDIAN);
+				offsets = null;
+			}
+		}
+
+		private int getArrowTypeId() {
+			switch (columnType) {
+				case BOOLEAN:
+					return TYPE_BOOL;
+				case INT32:
+				case INT64:
+					return TYPE_INT;
+				case DOUBLE:
+					return TYPE_FLOATING_POINT;
+				case DECIMAL:
+					return TYPE_DECIMAL;
+				case DATE:
+					return TYPE_DATE;
+				case TIMESTAMP:
+					return TYPE_TIMESTAMP;
+				case BINARY:
+					return TYPE_BINARY;
+				default:
+					return TYPE_UTF8;
+			}
+		}
+
+		private FlatTable getArrowType() {
+			switch (columnType) {
+				case INT32:
+					return new FlatTable().addScalar(0, 4, 32).addBoolean(1, true);
+				case INT64:
+					return new FlatTable().addScalar(0, 4, 64).addBoolean(1, true);
+				case DOUBLE:
+					return new FlatTable().addScalar(0, 2, PRECISION_DOUBLE);
+				case DECIMAL:
+					return new FlatTable().addScalar(0, 4, precision).addScalar(1, 4, scale).addScalar(2, 4, 128);
+				case DATE:
+					// The default date unit is milliseconds, so the unit day must be written explicitly
+					return new FlatTable().addScalar(0, 2, DATE_UNIT_DAY);
+				case TIMESTAMP:
+					return new FlatTable().addScalar(0, 2, TIME_UNIT_MICROSECOND);
+				default:
+					return new FlatTable();
+			}
+		}
+
+		private void reset(final int usedBitmapBytes) {
+			Arrays.fill(validity, 0, usedBitmapBytes, (byte) 0);
+			if (byteWidth == 0 && values != null) {
+				Arrays.fill(values.array(), 0, usedBitmapBytes, (byte) 0);
+			}
+			dataLength = 0;
+			nullCount = 0;
+		}
+	}
+
+	/**
+	 * Flatbuffer table with scalar fields and offset fields referring to strings, vectors or other tables
+	 */
+	private static class FlatTable {
+		private final List<FlatField> fields = new ArrayList<>();
+
+		private FlatTable addScalar(final int fieldIndex, final int byteSize, final long value) {
+			fields.add(new FlatField(fieldIndex, byteSize, value, null));
+			return this;
+		}
+
+		private FlatTable addBoolean(final int fieldIndex, final boolean value) {
+			return addScalar(fieldIndex, 1, value ? 1 : 0);
+		}
+
+		/**
+		 * @param child
+		 *            String, FlatTable, FlatStructVector or List of FlatTables
+		 */
+		private FlatTable addOffset(final int fieldIndex, final Object child) {
+			fields.add(new FlatField(fieldIndex, 4, 0, child));
+			return this;
+		}
+	}
+
+	private static class FlatField {
+		private final int index;
+		private final int byteSize;
+		private final long value;
+		private final Object child;
+
+		private FlatField(final int index, final int byteSize, final long value, final Object child) {
+			this.index = index;
+			this.byteSize = byteSize;
+			this.value = value;
+			this.child = child;
+		}
+	}
+
+	/**
+	 * Flatbuffer vector of structs with 8 byte alignment
+	 */
+	private static class FlatStructVector {
+		private final int count;
+		private final byte[] data;
+
+		private FlatStructVector(final int count, final byte[] data) {
+			this.count = count;
+			this.data = data;
+		}
+	}
+
+	/**
+	 * Writer of flatbuffers in forward direction. Each object is written in front of the objects it refers to,
+	 * because the unsigned offsets of flatbuffers must point to higher positions, and the vtable of each table is written directly in front of the table.
+	 */
+	private static class FlatBufferWriter {
+		private byte[] data = new byte[1024];
+		private int size = 0;
+
+		/**
+		 * Write a complete flatbuffer with the given root table into data
+		 *
+		 * @return length of the flatbuffer
+		 */
+		private int finish(final FlatTable root) {
+			size = 0;
+			putInt(0);
+			setInt(0, writeObject(root));
+			return size;
+		}
+
+		@SuppressWarnings("unchecked")
+		private int writeObject(final Object object) {
+			if (object instanceof String) {
+				final byte[] bytes = ((String) object).getBytes(StandardCharsets.UTF_8);
+				align(4);
+				final int position = size;
+				putInt(bytes.length);
+				ensureCapacity(bytes.length + 1);
+				System.arraycopy(bytes, 0, data, size, bytes.length);
+				size += bytes.length;
+				data[size++] = 0;
+				return position;
+			} else if (object instanceof FlatStructVector) {
+				final FlatStructVector structVector = (FlatStructVector) object;
+				// The structs after the length must be aligned to 8 bytes
+				align(4);
+				if ((size + 4) % 8 != 0) {
+					putInt(0);
+				}
+				final int position = size;
+				putInt(structVector.count);
+				ensureCapacity(structVector.data.length);
+				System.arraycopy(structVector.data, 0, data, size, structVector.data.length);
+				size += structVector.data.length;
+				return position;
+			} else if (object instanceof List) {
+				final List<FlatTable> tables = (List<FlatTable>) object;
+				align(4);
+				final int position = size;
+				putInt(tables.size());
+				final int firstSlotPosition = size;
+				for (int i = 0; i < tables.size(); i++) {
+					putInt(0);
+				}
+				for (int i = 0; i < tables.size(); i++) {
+					final int slotPosition = firstSlotPosition + i * 4;
+					setInt(slotPosition, writeObject(tables.get(i)) - slotPosition);
+				}
+				return position;
+			} else {
+				return writeTable((FlatTable) object);
+			}
+		}
+
+		private int writeTable(final FlatTable table) {
+			// Larger fields first for their alignment after the leading vtable offset
+			final List<FlatField> fields = new ArrayList<>(table.fields);
+			fields.sort(Comparator.comparingInt((final FlatField field) -> field.byteSize).reversed());
+			int maximumFieldIndex = -1;
+			int tableAlignment = 4;
+			int inlineSize = 4;
+			final int[] fieldPositions = new int[fields.size()];
+			for (int i = 0; i < fields.size(); i++) {
+				final FlatField field = fields.get(i);
+				maximumFieldIndex = Math.max(maximumFieldIndex, field.index);
+				tableAlignment = Math.max(tableAlignment, field.byteSize);
+				inlineSize = (inlineSize + field.byteSize - 1) / field.byteSize * field.byteSize;
+				fieldPositions[i] = inlineSize;
+				inlineSize += field.byteSize;
+			}
+
+			align(2);
+			final int vtablePosition = size;
+			putShort(4 + 2 * (maximumFieldIndex + 1));
+			putShort(inlineSize);
+			for (int fieldIndex = 0; fieldIndex <= maximumFieldIndex; fieldIndex++) {
+				int fieldPosition = 0;
+				for (int i = 0; i < fields.size(); i++) {
+					if (fields.get(i).index == fieldIndex) {
+						fieldPosition = fieldPositions[i];
+					}
+				}
+				putShort(fieldPosition);
+			}
+
+			align(tableAlignment);
+			final int tablePosition = size;
+			ensureCapacity(inlineSize);
+			Arrays.fill(data, size, size + inlineSize, (byte) 0);
+			size += inlineSize;
+			setInt(tablePosition, tablePosition - vtablePosition);
+			for (int i = 0; i < fields.size(); i++) {
+				final FlatField field = fields.get(i);
+				if (field.child == null) {
+					for (int byteIndex = 0; byteIndex < field.byteSize; byteIndex++) {
+						data[tablePosition + fieldPositions[i] + byteIndex] = (byte) (field.value >>> (byteIndex * 8));
+					}
+				}
+			}
+			for (int i = 0; i < fields.size(); i++) {
+				final FlatField field = fields.get(i);
+				if (field.child != null) {
+					final int slotPosition = tablePosition + fieldPositions[i];
+					setInt(slotPosition, writeObject(field.child) - slotPosition);
+				}
+			}
+			return tablePosition;
+		}
+
+		private void align(final int alignment) {
+			while (size % alignment != 0) {
+				ensureCapacity(1);
+				data[size++] = 0;
+			}
+		}
+
+		private void ensureCapacity(final int additionalBytes) {
+			if (size + additionalBytes > data.length) {
+				data = Arrays.copyOf(data, Math.max(size + additionalBytes, data.length * 2));
+			}
+		}
+
+		private void putShort(final int value) {
+			ensureCapacity(2);
+			data[size++] = (byte) value;
+			data[size++] = (byte) (value >>> 8);
+		}
+
+		private void putInt(final int value) {
+			ensureCapacity(4);
+			setInt(size, value);
+			size += 4;
+		}
+
+		private void setInt(final int position, final int value) {
+			data[position] = (byte) value;
+			data[position + 1] = (byte) (value >>> 8);
+			data[position + 2] = (byte) (value >>> 16);
+			data[position + 3] = (byte) (value >>> 24);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package de.soderer.dbexport.worker;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * ResultSetMetaData with column names and types read only once from the JDBC driver.
+ * Some drivers execute expensive lookups for each call of these methods, which are needed for every single value of an export.
+ * All other information is read from the original ResultSetMetaData.
+ */
+public class CachedResultSetMetaData implements ResultSetMetaData {
+	private final ResultSetMetaData metaData;
+	private final int columnCount;
+	private final String[] columnNames;
+	private final int[] columnTypes;
+	private final String[] columnTypeNames;
+
+	public CachedResultSetMetaData(final ResultSetMetaData metaData) throws SQLException {
+		this.metaData = metaData;
+		columnCount = metaData.getColumnCount();
+		columnNames = new String[columnCount + 1];
+		columnTypes = new int[columnCount + 1];
+		columnTypeNames = new String[columnCount + 1];
+		for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
+			columnNames[columnIndex] = metaData.getColumnName(columnIndex);
+			columnTypes[columnIndex] = metaData.getColumnType(columnIndex);
+			columnTypeNames[columnIndex] = metaData.getColumnTypeName(columnIndex);
+		}
+	}
+
+	@Override
+	public int getColumnCount() throws SQLException {
+		return columnCount;
+	}
+
+	@Override
+	public String getColumnName(final int column) throws SQLException {
+		return columnNames[column];
+	}
+
+	@Override
+	public int getColumnType(final int column) throws SQLException {
+		return columnTypes[column];
+	}
+
+	@Override
+	public String getColumnTypeName(final int column) throws SQLException {
+		return columnTypeNames[column];
+	}
+
+	@Override
+	public boolean isAutoIncrement(final int column) throws SQLException {
+		return metaData.isAutoIncrement(column);
+	}
+
+	@Override
+	public boolean isCaseSensitive(final int column) throws SQLException {
+		return metaData.isCaseSensitive(column);
+	}
+
+	@Override
+	public boolean isSearchable(final int column) throws SQLException {
+		return metaData.isSearchable(column);
+	}
+
+	@Override
+	public boolean isCurrency(final int column) throws SQLException {
+		return metaData.isCurrency(column);
+	}
+
+	@Override
+	public int isNullable(final int column) throws SQLException {
+		return metaData.isNullable(column);
+	}
+
+	@Override
+	public boolean isSigned(final int column) throws SQLException {
+		return metaData.isSigned(column);
+	}
+
+	@Override
+	public int getColumnDisplaySize(final int column) throws SQLException {
+		return metaData.getColumnDisplaySize(column);
+	}
+
+	@Override
+	public String getColumnLabel(final int column) throws SQLException {
+		return metaData.getColumnLabel(column);
+	}
+
+	@Override
+	public String getSchemaName(final int column) throws SQLException {
+		return metaData.getSchemaName(column);
+	}
+
+	@Override
+	public int getPrecision(final int column) throws SQLException {
+		return metaData.getPrecision(column);
+	}
+
+	@Override
+	public int getScale(final int column) throws SQLException {
+		return metaData.getScale(column);
+	}
+
+	@Override
+	public String getTableName(final int column) throws SQLException {
+		return metaData.getTableName(column);
+	}
+
+	@Override
+	public String getCatalogName(final int column) throws SQLException {
+		return metaData.getCatalogName(column);
+	}
+
+	@Override
+	public boolean isReadOnly(final int column) throws SQLException {
+		return metaData.isReadOnly(column);
+	}
+
+	@Override
+	public boolean isWritable(final int column) throws SQLException {
+		return metaData.isWritable(column);
+	}
+
+	@Override
+	public boolean isDefinitelyWritable(final int column) throws SQLException {
+		return metaData.isDefinitelyWritable(column);
+	}
+
+	@Override
+	public String getColumnClassName(final int column) throws SQLException {
+		return metaData.getColumnClassName(column);
+	}
+
+	@Override
+	public <T> T unwrap(final Class<T> iface) throws SQLException {
+		return metaData.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+		return metaData.isWrapperFor(iface);
+	}
+}
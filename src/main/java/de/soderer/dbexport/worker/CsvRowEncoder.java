@@ -0,0 +1,114 @@
+package de.soderer.dbexport.worker;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Writer of csv lines without padding.
+ * The cells are appended directly into one reusable line buffer and are quoted in place only if needed,
+ * so writing a line creates no intermediate objects.
+ */
+public class CsvRowEncoder implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Writer writer;
+	private final char separator;
+	private final char stringQuote;
+	private final char stringQuoteEscapeCharacter;
+	private final boolean alwaysQuote;
+
+	private final StringBuilder lineBuffer = new StringBuilder(1024);
+	private char[] outputBuffer = new char[1024];
+	private int cellStart = -1;
+	private boolean firstCell = true;
+
+	public CsvRowEncoder(final OutputStream outputStream, final Charset encoding, final char separator, final char stringQuote, final char stringQuoteEscapeCharacter, final boolean alwaysQuote) {
+		writer = new BufferedWriter(new OutputStreamWriter(outputStream, encoding), BUFFER_SIZE);
+		this.separator = separator;
+		this.stringQuote = stringQuote;
+		this.stringQuoteEscapeCharacter = stringQuoteEscapeCharacter;
+		this.alwaysQuote = alwaysQuote;
+	}
+
+	public void startLine() {
+		lineBuffer.setLength(0);
+		firstCell = true;
+	}
+
+	/**
+	 * Start a new cell. The cell value is appended to the returned buffer and must be completed by {@link #endCell()}.
+	 */
+	public StringBuilder startCell() {
+		if (!firstCell) {
+			lineBuffer.append(separator);
+		}
+		firstCell = false;
+		cellStart = lineBuffer.length();
+		return lineBuffer;
+	}
+
+	/**
+	 * Complete the current cell and quote its value, if needed
+	 */
+	public void endCell() {
+		boolean quotingNeeded = alwaysQuote;
+		int charsToEscape = 0;
+		for (int i = cellStart; i < lineBuffer.length(); i++) {
+			final char nextChar = lineBuffer.charAt(i);
+			if (nextChar == stringQuote || nextChar == stringQuoteEscapeCharacter) {
+				quotingNeeded = true;
+				charsToEscape++;
+			} else if (nextChar == separator || nextChar == '\n' || nextChar == '\r') {
+				quotingNeeded = true;
+			}
+		}
+
+		if (quotingNeeded) {
+			if (charsToEscape > 0) {
+				// Shift the cell value from its end while inserting the escape characters
+				final int oldEnd = lineBuffer.length();
+				lineBuffer.setLength(oldEnd + charsToEscape);
+				int writeIndex = lineBuffer.length() - 1;
+				for (int readIndex = oldEnd - 1; readIndex >= cellStart; readIndex--) {
+					final char nextChar = lineBuffer.charAt(readIndex);
+					lineBuffer.setCharAt(writeIndex--, nextChar);
+					if (nextChar == stringQuote || nextChar == stringQuoteEscapeCharacter) {
+						lineBuffer.setCharAt(writeIndex--, stringQuoteEscapeCharacter);
+					}
+				}
+			}
+			lineBuffer.insert(cellStart, stringQuote);
+			lineBuffer.append(stringQuote);
+		}
+		cellStart = -1;
+	}
+
+	public void writeCell(final CharSequence value) {
+		startCell().append(value);
+		endCell();
+	}
+
+	public void endLine() throws IOException {
+		lineBuffer.append('\n');
+		final int lineLength = lineBuffer.length();
+		if (outputBuffer.length < lineLength) {
+			outputBuffer = new char[Math.max(lineLength, outputBuffer.length * 2)];
+		}
+		lineBuffer.getChars(0, lineLength, outputBuffer, 0);
+		writer.write(outputBuffer, 0, lineLength);
+	}
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+}
@@ -0,0 +1,444 @@
+package de.soderer.dbexport.worker;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import de.soderer.dbexport.DbExportException;
+import de.soderer.dbexport.converter.DefaultDBValueConverter;
+import de.soderer.dbexport.converter.DefaultDBValueConverter.ColumnValueReader;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.db.data.DbConnectionDefinition;
+import de.soderer.utilities.worker.WorkerParentDual;
+
+/**
+ * Export of Apache Arrow IPC files (see {@link ArrowRowEncoder}).
+ * The values are read from the ResultSet by the typed getters of the JDBC type of each column
+ * and are written into the Arrow vectors without converting them into objects first.
+ * Only columns with vendor specific values or unsigned integers are read by the DBValueConverter.
+ */
+public class DbArrowExportWorker extends AbstractDbExportWorker {
+	/** Maximum precision of Decimal128 values */
+	private static final int MAXIMUM_DECIMAL_PRECISION = 38;
+
+	/** Number of digits of the maximum unsigned BIGINT value 18446744073709551615 */
+	private static final int UNSIGNED_BIGINT_PRECISION = 20;
+
+	private int batchSize = ArrowRowEncoder.DEFAULT_BATCH_SIZE;
+
+	private ArrowRowEncoder rowEncoder = null;
+	private ArrowRowEncoder.ColumnType[] columnTypes = null;
+	/** Readers of the columns, which are read by the DBValueConverter, or null for columns read by the typed getters */
+	private ColumnValueReader[] columnValueReaders = null;
+	private ZoneId databaseZoneId = null;
+	private ZoneId exportDataZoneId = null;
+	private boolean changeTimeZone = false;
+
+	public DbArrowExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
+		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
+	}
+
+	public void setBatchSize(final int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
+		String configurationLogString = "File: " + fileName + "\n"
+				+ "Format: " + getFileExtension().toUpperCase() + "\n";
+
+		if (compression == CompressionType.ZIP) {
+			configurationLogString += "Compression: zip\n";
+			if (zipPassword != null) {
+				configurationLogString += "ZipPassword: true\n";
+			}
+		} else if (compression == CompressionType.TARGZ) {
+			configurationLogString += "Compression: targz\n";
+		} else if (compression == CompressionType.TGZ) {
+			configurationLogString += "Compression: tgz\n";
+		} else if (compression == CompressionType.GZ) {
+			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
+		}
+
+		configurationLogString += "ArrowBatchSize: " + batchSize + "\n"
+				+ "SqlStatement: " + sqlStatement;
+
+		return configurationLogString;
+	}
+
+	@Override
+	protected String getFileExtension() {
+		return "arrow";
+	}
+
+	@Override
+	protected void openWriter(final OutputStream outputStream) throws Exception {
+		rowEncoder = new ArrowRowEncoder(outputStream, batchSize);
+	}
+
+	/**
+	 * Map the JDBC types of the columns to Arrow types. Types without a matching Arrow type are exported as text.
+	 * Columns with vendor specific values and unsigned integer columns are read by the DBValueConverter instead of the typed getters.
+	 */
+	@Override
+	protected void prepareColumns(final ResultSetMetaData metaData) throws Exception {
+		final DefaultDBValueConverter dbValueConverter = getDbValueConverter();
+		columnTypes = new ArrowRowEncoder.ColumnType[metaData.getColumnCount()];
+		columnValueReaders = new ColumnValueReader[metaData.getColumnCount()];
+		for (int i = 1; i <= metaData.getColumnCount(); i++) {
+			final int columnIndex = i;
+			final int columnTypeCode = metaData.getColumnType(i);
+			final boolean isVendorSpecificColumn = dbValueConverter.isVendorSpecificColumn(metaData, i);
+			final boolean isUnsignedColumn = (columnTypeCode == Types.TINYINT || columnTypeCode == Types.SMALLINT || columnTypeCode == Types.INTEGER || columnTypeCode == Types.BIGINT) && !metaData.isSigned(i);
+			int precision = 0;
+			int scale = 0;
+			final ArrowRowEncoder.ColumnType columnType;
+			switch (columnTypeCode) {
+				case Types.BIT:
+				case Types.BOOLEAN:
+					columnType = ArrowRowEncoder.ColumnType.BOOLEAN;
+					break;
+				case Types.TINYINT:
+				case Types.SMALLINT:
+				case Types.INTEGER:
+					if (isVendorSpecificColumn || (isUnsignedColumn && columnTypeCode == Types.INTEGER)) {
+						// Unsigned values and vendor specific values, like SQLite INTEGER, may exceed the range of INT32
+						columnType = ArrowRowEncoder.ColumnType.INT64;
+					} else {
+						columnType = ArrowRowEncoder.ColumnType.INT32;
+					}
+					break;
+				case Types.BIGINT:
+					if (isUnsignedColumn) {
+						// Unsigned values may exceed the range of INT64
+						columnType = ArrowRowEncoder.ColumnType.DECIMAL;
+						precision = UNSIGNED_BIGINT_PRECISION;
+					} else {
+						columnType = ArrowRowEncoder.ColumnType.INT64;
+					}
+					break;
+				case Types.REAL:
+				case Types.FLOAT:
+				case Types.DOUBLE:
+					columnType = ArrowRowEncoder.ColumnType.DOUBLE;
+					break;
+				case Types.NUMERIC:
+				case Types.DECIMAL:
+					precision = metaData.getPrecision(i);
+					scale = metaData.getScale(i);
+					if (precision > 0 && precision <= MAXIMUM_DECIMAL_PRECISION && scale >= 0 && scale <= precision) {
+						columnType = ArrowRowEncoder.ColumnType.DECIMAL;
+					} else {
+						// Numbers without a defined precision, like Oracle NUMBER, are exported as text to keep all of their digits
+						precision = 0;
+						scale = 0;
+						columnType = ArrowRowEncoder.ColumnType.STRING;
+						if (!isVendorSpecificColumn) {
+							columnValueReaders[i - 1] = resultSet -> {
+								final BigDecimal value = resultSet.getBigDecimal(columnIndex);
+								return value == null ? null : value.toPlainString();
+							};
+						}
+					}
+					break;
+				case Types.DATE:
+					columnType = ArrowRowEncoder.ColumnType.DATE;
+					break;
+				case Types.TIMESTAMP:
+				case Types.TIMESTAMP_WITH_TIMEZONE:
+					columnType = ArrowRowEncoder.ColumnType.TIMESTAMP;
+					break;
+				case Types.BINARY:
+				case Types.VARBINARY:
+				case Types.LONGVARBINARY:
+				case Types.BLOB:
+					columnType = ArrowRowEncoder.ColumnType.BINARY;
+					break;
+				default:
+					columnType = ArrowRowEncoder.ColumnType.STRING;
+			}
+			if (isVendorSpecificColumn || isUnsignedColumn) {
+				// Arrow export has no lob files, so the reader needs no export file path
+				columnValueReaders[i - 1] = dbValueConverter.createColumnValueReader(metaData, i, null);
+			}
+			columnTypes[i - 1] = columnType;
+			rowEncoder.addColumn(metaData.getColumnName(i), columnType, precision, scale);
+		}
+
+		databaseZoneId = ZoneId.of(getDatabaseTimeZone());
+		exportDataZoneId = ZoneId.of(getExportDataTimeZone());
+		// Timestamps need no conversion at all, if database and export use the same time zone
+		changeTimeZone = !databaseZoneId.normalized().equals(exportDataZoneId.normalized());
+	}
+
+	@Override
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
+		rowEncoder.startFile();
+	}
+
+	@Override
+	protected void startTableLine() throws Exception {
+		rowEncoder.startRow();
+	}
+
+	@Override
+	protected boolean isResultSetRowExportSupported() {
+		return true;
+	}
+
+	@Override
+	protected void writeResultSetRow(final ResultSet resultSet) throws Exception {
+		for (int columnIndex = 0; columnIndex < columnTypes.length; columnIndex++) {
+			if (columnValueReaders[columnIndex] != null) {
+				writeConvertedValue(columnTypes[columnIndex], columnValueReaders[columnIndex].read(resultSet));
+			} else {
+				writeResultSetValue(resultSet, columnIndex);
+			}
+		}
+	}
+
+	/**
+	 * Write a value read by the typed getter of the Arrow type of its column
+	 */
+	private void writeResultSetValue(final ResultSet resultSet, final int columnIndex) throws Exception {
+		final int resultSetIndex = columnIndex + 1;
+		switch (columnTypes[columnIndex]) {
+			case BOOLEAN:
+				final boolean booleanValue = resultSet.getBoolean(resultSetIndex);
+				if (resultSet.wasNull()) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeBoolean(booleanValue);
+				}
+				break;
+			case INT32:
+				final int intValue = resultSet.getInt(resultSetIndex);
+				if (resultSet.wasNull()) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeInt(intValue);
+				}
+				break;
+			case INT64:
+				final long longValue = resultSet.getLong(resultSetIndex);
+				if (resultSet.wasNull()) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeLong(longValue);
+				}
+				break;
+			case DOUBLE:
+				final double doubleValue = resultSet.getDouble(resultSetIndex);
+				if (resultSet.wasNull()) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeDouble(doubleValue);
+				}
+				break;
+			case DECIMAL:
+				final BigDecimal decimalValue = resultSet.getBigDecimal(resultSetIndex);
+				if (decimalValue == null) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeDecimal(decimalValue);
+				}
+				break;
+			case DATE:
+				final java.sql.Date dateValue = resultSet.getDate(resultSetIndex);
+				if (dateValue == null) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeDate(dateValue.toLocalDate());
+				}
+				break;
+			case TIMESTAMP:
+				final Timestamp timestampValue = resultSet.getTimestamp(resultSetIndex);
+				if (timestampValue == null) {
+					rowEncoder.writeNull();
+				} else {
+					writeTimestamp(timestampValue.toLocalDateTime());
+				}
+				break;
+			case BINARY:
+				final byte[] bytesValue = resultSet.getBytes(resultSetIndex);
+				if (bytesValue == null) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeBytes(bytesValue);
+				}
+				break;
+			default:
+				final String stringValue = resultSet.getString(resultSetIndex);
+				if (stringValue == null) {
+					rowEncoder.writeNull();
+				} else {
+					rowEncoder.writeString(stringValue);
+				}
+		}
+	}
+
+	/**
+	 * Write a value read by the DBValueConverter. Numbers exceeding the range of their Arrow type fail instead of being truncated.
+	 */
+	private void writeConvertedValue(final ArrowRowEncoder.ColumnType columnType, final Object value) throws Exception {
+		if (value == null) {
+			rowEncoder.writeNull();
+			return;
+		}
+
+		switch (columnType) {
+			case BOOLEAN:
+				if (value instanceof Boolean) {
+					rowEncoder.writeBoolean((Boolean) value);
+				} else {
+					rowEncoder.writeBoolean(toBigDecimal(value).signum() != 0);
+				}
+				break;
+			case INT32:
+				rowEncoder.writeInt(toBigDecimal(value).intValueExact());
+				break;
+			case INT64:
+				if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+					rowEncoder.writeLong(((Number) value).longValue());
+				} else {
+					rowEncoder.writeLong(toBigDecimal(value).longValueExact());
+				}
+				break;
+			case DOUBLE:
+				if (value instanceof Number) {
+					rowEncoder.writeDouble(((Number) value).doubleValue());
+				} else {
+					rowEncoder.writeDouble(Double.parseDouble(value.toString()));
+				}
+				break;
+			case DECIMAL:
+				rowEncoder.writeDecimal(toBigDecimal(value));
+				break;
+			case DATE:
+				if (value instanceof LocalDate) {
+					rowEncoder.writeDate((LocalDate) value);
+				} else if (value instanceof java.sql.Date) {
+					rowEncoder.writeDate(((java.sql.Date) value).toLocalDate());
+				} else if (value instanceof LocalDateTime) {
+					rowEncoder.writeDate(((LocalDateTime) value).toLocalDate());
+				} else if (value instanceof ZonedDateTime) {
+					rowEncoder.writeDate(((ZonedDateTime) value).toLocalDate());
+				} else if (value instanceof Date) {
+					rowEncoder.writeDate(DateUtilities.getLocalDateForDate((Date) value));
+				} else {
+					throw new DbExportException("Unexpected data type for arrow date: " + value.getClass().getSimpleName());
+				}
+				break;
+			case TIMESTAMP:
+				if (value instanceof LocalDateTime) {
+					writeTimestamp((LocalDateTime) value);
+				} else if (value instanceof Timestamp) {
+					writeTimestamp(((Timestamp) value).toLocalDateTime());
+				} else if (value instanceof ZonedDateTime) {
+					rowEncoder.writeTimestamp(DateUtilities.changeDateTimeZone((ZonedDateTime) value, exportDataZoneId).toLocalDateTime());
+				} else if (value instanceof Date) {
+					writeTimestamp(DateUtilities.getLocalDateTimeForDate((Date) value));
+				} else if (value instanceof LocalDate) {
+					rowEncoder.writeTimestamp(((LocalDate) value).atStartOfDay());
+				} else {
+					throw new DbExportException("Unexpected data type for arrow timestamp: " + value.getClass().getSimpleName());
+				}
+				break;
+			case BINARY:
+				if (value instanceof byte[]) {
+					rowEncoder.writeBytes((byte[]) value);
+				} else {
+					// Binary data is converted to Base64 text by the DBValueConverter
+					rowEncoder.writeBytes(Base64.getDecoder().decode(value.toString()));
+				}
+				break;
+			default:
+				if (value instanceof BigDecimal) {
+					rowEncoder.writeString(((BigDecimal) value).toPlainString());
+				} else {
+					rowEncoder.writeString(value.toString());
+				}
+		}
+	}
+
+	private void writeTimestamp(final LocalDateTime value) {
+		if (changeTimeZone) {
+			rowEncoder.writeTimestamp(DateUtilities.changeDateTimeZone(value, databaseZoneId, exportDataZoneId));
+		} else {
+			rowEncoder.writeTimestamp(value);
+		}
+	}
+
+	private static BigDecimal toBigDecimal(final Object value) {
+		if (value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		} else if (value instanceof BigInteger) {
+			return new BigDecimal((BigInteger) value);
+		} else if (value instanceof Boolean) {
+			return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+		} else {
+			return new BigDecimal(value.toString().trim());
+		}
+	}
+
+	@Override
+	protected void writeColumn(final String columnName, final Object value) throws Exception {
+		throw new DbExportException("Arrow values are only read directly from the ResultSet");
+	}
+
+	@Override
+	protected void writeDateColumn(final String columnName, final LocalDate value) throws Exception {
+		throw new DbExportException("Arrow values are only read directly from the ResultSet");
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final LocalDateTime value) throws Exception {
+		throw new DbExportException("Arrow values are only read directly from the ResultSet");
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime value) throws Exception {
+		throw new DbExportException("Arrow values are only read directly from the ResultSet");
+	}
+
+	@Override
+	protected void endTableLine() throws Exception {
+		rowEncoder.endRow();
+	}
+
+	@Override
+	protected void endOutput() throws Exception {
+		rowEncoder.endFile();
+	}
+
+	@Override
+	protected void closeWriter() throws Exception {
+		if (rowEncoder != null) {
+			try {
+				rowEncoder.flush();
+				rowEncoder.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			rowEncoder = null;
+		}
+	}
+}
@@ -1,29 +1,40 @@
 package de.soderer.dbexport.worker;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import de.soderer.dbexport.DbExportDefinition.BeautifyStrategy;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.dbexport.utilities.PostgreSQLCopyUtilities;
+import de.soderer.dbexport.utilities.RowSpillFile;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.NumberUtilities;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.csv.CsvFormat;
-import de.soderer.utilities.csv.CsvFormat.QuoteMode;
-import de.soderer.utilities.csv.CsvReader;
 import de.soderer.utilities.csv.CsvWriter;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.worker.WorkerParentDual;
 
 public class DbCsvExportWorker extends AbstractDbExportWorker {
+	/** Maximum column width taken from the column definitions for beautify strategy METADATA, longer values are not aligned */
+	private static final int MAXIMUM_METADATA_COLUMN_SIZE = 255;
+
 	// Default optional parameters
 	private char separator = ';';
 	private char stringQuote = '"';
@@ -32,10 +43,17 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 	private boolean alwaysQuote = false;
 	private boolean noHeaders = false;
 
+	private BeautifyStrategy beautifyStrategy = BeautifyStrategy.SPILL;
+
+	/** Let a PostgreSQL database create the csv data by COPY */
+	private boolean postgresqlCopy = false;
+
 	private CsvWriter csvWriter = null;
 
-	private CsvWriter beautifiedCsvWriter = null;
-	private File temporaryUglifiedFile = null;
+	/** Writer of unpadded csv lines without intermediate objects */
+	private CsvRowEncoder rowEncoder = null;
+
+	private RowSpillFile spillFile = null;
 	private boolean[] columnPaddings = null;
 	private int[] minimumColumnSizes = null;
 
@@ -69,23 +87,36 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 		this.nullValueText = nullValueText;
 	}
 
+	public void setBeautifyStrategy(final BeautifyStrategy beautifyStrategy) {
+		this.beautifyStrategy = beautifyStrategy;
+	}
+
+	public void setPostgresqlCopy(final boolean postgresqlCopy) {
+		this.postgresqlCopy = postgresqlCopy;
+	}
+
 	@Override
 	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n"
 				+ "Separator: " + separator + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
@@ -96,7 +127,8 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 				+ "OutputFormatLocale: " + dateFormatLocale.getLanguage() + "\n"
 				+ "CreateBlobFiles: " + createBlobFiles + "\n"
 				+ "CreateClobFiles: " + createClobFiles + "\n"
-				+ "Beautify: " + beautify;
+				+ "Beautify: " + beautify + (beautify ? " (" + beautifyStrategy.name().toLowerCase() + ")" : "") + "\n"
+				+ "PostgreSQLCopy: " + postgresqlCopy;
 
 		return configurationLogString;
 	}
@@ -106,98 +138,148 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 		return "csv";
 	}
 
+	@Override
+	protected boolean isChunkedExportSupported() {
+		// Column widths taken from the column definitions are the same for all chunks
+		return !beautify || beautifyStrategy == BeautifyStrategy.METADATA;
+	}
+
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
 		if (beautify) {
-			temporaryUglifiedFile = File.createTempFile("DbExport_Uglified", ".csv", new File(System.getProperty("java.io.tmpdir")));
-			csvWriter = new CsvWriter(new FileOutputStream(temporaryUglifiedFile), encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote).setStringQuoteEscapeCharacter(stringQuoteEscapeCharacter).setQuoteMode(alwaysQuote ? QuoteMode.QUOTE_ALL_DATA : QuoteMode.QUOTE_IF_NEEDED));
-			beautifiedCsvWriter = new CsvWriter(outputStream, encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote));
+			csvWriter = new CsvWriter(outputStream, encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote));
+			if (beautifyStrategy == BeautifyStrategy.SPILL) {
+				// Column widths are known after all rows were read, so the rows are kept in a binary spill file until then
+				spillFile = new RowSpillFile(new File(System.getProperty("java.io.tmpdir")));
+			}
 		} else {
-			csvWriter = new CsvWriter(outputStream, encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote).setStringQuoteEscapeCharacter(stringQuoteEscapeCharacter).setQuoteMode(alwaysQuote ? QuoteMode.QUOTE_ALL_DATA : QuoteMode.QUOTE_IF_NEEDED));
+			rowEncoder = new CsvRowEncoder(outputStream, encoding, separator, stringQuote, stringQuoteEscapeCharacter, alwaysQuote);
 		}
 	}
 
 	@Override
-	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		if (!noHeaders) {
-			csvWriter.writeValues(columnNames);
+	protected Long exportByDatabase(final Connection connection, final String sqlStatement, final OutputStream outputStream) throws Exception {
+		if (!postgresqlCopy) {
+			return null;
 		}
 
-		minimumColumnSizes = new int[columnNames.size()];
-		for (int i = 0; i < columnNames.size(); i++) {
-			minimumColumnSizes[i] = csvWriter.calculateOutputSizesOfValue(columnNames.get(i));
+		final String copyStatement = PostgreSQLCopyUtilities.createCsvCopyStatement(sqlStatement, separator, stringQuote, stringQuoteEscapeCharacter, nullValueText, alwaysQuote, !noHeaders && !followingChunk);
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			// The driver's client encoding is UTF-8, so the copied data is written without decoding
+			final long copiedLines = PostgreSQLCopyUtilities.copyOut(connection, copyStatement, outputStream);
+			outputStream.flush();
+			return copiedLines;
+		} else {
+			final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
+			final long copiedLines = PostgreSQLCopyUtilities.copyOut(connection, copyStatement, writer);
+			writer.flush();
+			return copiedLines;
 		}
+	}
 
-		columnPaddings = new boolean[columnNames.size()];
-		for (int i = 0; i < columnPaddings.length; i++) {
-			columnPaddings[i] = true;
+	@Override
+	protected void prepareColumns(final ResultSetMetaData metaData) throws Exception {
+		if (beautify && beautifyStrategy == BeautifyStrategy.METADATA) {
+			minimumColumnSizes = new int[metaData.getColumnCount()];
+			columnPaddings = new boolean[metaData.getColumnCount()];
+			for (int i = 0; i < minimumColumnSizes.length; i++) {
+				minimumColumnSizes[i] = Math.max(csvWriter.calculateOutputSizesOfValue(metaData.getColumnName(i + 1)), getColumnSizeFromMetaData(metaData, i + 1));
+				columnPaddings[i] = !isNumericColumn(metaData.getColumnType(i + 1));
+			}
+			csvWriter.setColumnPaddings(columnPaddings);
+			csvWriter.setMinimumColumnSizes(minimumColumnSizes);
+		}
+	}
+
+	@Override
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
+		if (spillFile != null) {
+			minimumColumnSizes = new int[columnNames.size()];
+			for (int i = 0; i < columnNames.size(); i++) {
+				minimumColumnSizes[i] = csvWriter.calculateOutputSizesOfValue(columnNames.get(i));
+			}
+
+			columnPaddings = new boolean[columnNames.size()];
+			for (int i = 0; i < columnPaddings.length; i++) {
+				columnPaddings[i] = true;
+			}
+		}
+
+		if (!noHeaders && !followingChunk) {
+			writeLine(columnNames);
 		}
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		values = new ArrayList<>();
+		if (rowEncoder != null) {
+			rowEncoder.startLine();
+		} else if (values == null) {
+			values = new ArrayList<>();
+		} else {
+			values.clear();
+		}
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
 		if (value == null) {
-			values.add(nullValueText);
+			addValue(nullValueText);
 		} else if (value instanceof String) {
-			values.add((String) value);
+			addValue((String) value);
 		} else if (value instanceof Date) {
-			values.add(getDateFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
+			addTemporalValue(getDateFormatter(), DateUtilities.getLocalDateTimeForDate((Date) value));
 		} else if (value instanceof Number) {
-			columnPaddings[values.size()] = false;
+			if (spillFile != null) {
+				columnPaddings[values.size()] = false;
+			}
 			if (decimalSeparator != null) {
-				values.add(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
+				addValue(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
+			} else if (rowEncoder != null) {
+				numberFormatter.formatTo((Number) value, rowEncoder.startCell());
+				rowEncoder.endCell();
 			} else {
-				values.add(decimalFormat.format(value));
+				addValue(numberFormatter.format(value));
 			}
 		} else {
-			values.add(value.toString());
+			addValue(value.toString());
 		}
-
-		minimumColumnSizes[values.size() - 1] = Math.max(minimumColumnSizes[values.size() - 1], csvWriter.calculateOutputSizesOfValue(values.get(values.size() - 1)));
 	}
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
 		if (localDateValue == null) {
-			values.add(nullValueText);
+			addValue(nullValueText);
 		} else {
-			values.add(getDateFormatter().format(localDateValue));
+			addValue(formatDate(localDateValue));
 		}
-
-		minimumColumnSizes[values.size() - 1] = Math.max(minimumColumnSizes[values.size() - 1], csvWriter.calculateOutputSizesOfValue(values.get(values.size() - 1)));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
 		if (localDateTimeValue == null) {
-			values.add(nullValueText);
+			addValue(nullValueText);
 		} else {
-			values.add(getDateTimeFormatter().format(localDateTimeValue));
+			addTemporalValue(getDateTimeFormatter(), localDateTimeValue);
 		}
-
-		minimumColumnSizes[values.size() - 1] = Math.max(minimumColumnSizes[values.size() - 1], csvWriter.calculateOutputSizesOfValue(values.get(values.size() - 1)));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
 		if (zonedDateTimeValue == null) {
-			values.add(nullValueText);
+			addValue(nullValueText);
 		} else {
-			values.add(getDateTimeFormatter().format(zonedDateTimeValue));
+			addTemporalValue(getDateTimeFormatter(), zonedDateTimeValue);
 		}
-
-		minimumColumnSizes[values.size() - 1] = Math.max(minimumColumnSizes[values.size() - 1], csvWriter.calculateOutputSizesOfValue(values.get(values.size() - 1)));
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		csvWriter.writeValues(values);
-		values = null;
+		if (rowEncoder != null) {
+			rowEncoder.endLine();
+		} else {
+			writeLine(values);
+		}
 	}
 
 	@Override
@@ -207,6 +289,22 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void closeWriter() throws Exception {
+		// Beautify data from spill file
+		if (spillFile != null) {
+			try {
+				csvWriter.setColumnPaddings(columnPaddings);
+				csvWriter.setMinimumColumnSizes(minimumColumnSizes);
+				spillFile.startReading();
+				List<String> nextLine;
+				while ((nextLine = spillFile.readNextRow()) != null) {
+					csvWriter.writeValues(nextLine);
+				}
+			} finally {
+				Utilities.closeQuietly(spillFile);
+				spillFile = null;
+			}
+		}
+
 		if (csvWriter != null) {
 			try {
 				csvWriter.flush();
@@ -217,26 +315,79 @@ public class DbCsvExportWorker extends AbstractDbExportWorker {
 			}
 		}
 
-		// Beautify data from uglified csv file
-		if (beautifiedCsvWriter != null) {
-			CsvReader csvReaderFinal = null;
+		if (rowEncoder != null) {
 			try {
-				beautifiedCsvWriter.setColumnPaddings(columnPaddings);
-				beautifiedCsvWriter.setMinimumColumnSizes(minimumColumnSizes);
-				csvReaderFinal = new CsvReader(new FileInputStream(temporaryUglifiedFile), encoding, new CsvFormat().setSeparator(separator).setStringQuote(stringQuote));
-				List<String> nextLine;
-				while ((nextLine = csvReaderFinal.readNextCsvLine()) != null) {
-					beautifiedCsvWriter.writeValues(nextLine);
-				}
-			} finally {
-				Utilities.closeQuietly(csvReaderFinal);
-				Utilities.closeQuietly(beautifiedCsvWriter);
+				rowEncoder.flush();
+				rowEncoder.close();
+				rowEncoder = null;
+			} catch (final Exception e) {
+				e.printStackTrace();
 			}
-			beautifiedCsvWriter = null;
 		}
+	}
 
-		if (temporaryUglifiedFile != null) {
-			temporaryUglifiedFile.delete();
+	private void addValue(final String value) {
+		if (rowEncoder != null) {
+			rowEncoder.writeCell(value);
+		} else {
+			if (spillFile != null) {
+				minimumColumnSizes[values.size()] = Math.max(minimumColumnSizes[values.size()], csvWriter.calculateOutputSizesOfValue(value));
+			}
+			values.add(value);
+		}
+	}
+
+	/**
+	 * Add a formatted date value, which is formatted directly into the csv line if possible
+	 */
+	private void addTemporalValue(final DateTimeFormatter formatter, final TemporalAccessor value) {
+		if (rowEncoder != null) {
+			formatter.formatTo(value, rowEncoder.startCell());
+			rowEncoder.endCell();
+		} else {
+			addValue(formatter.format(value));
+		}
+	}
+
+	private void writeLine(final List<String> lineValues) throws Exception {
+		if (rowEncoder != null) {
+			rowEncoder.startLine();
+			for (final String lineValue : lineValues) {
+				rowEncoder.writeCell(lineValue);
+			}
+			rowEncoder.endLine();
+		} else if (spillFile != null) {
+			spillFile.writeRow(lineValues);
+		} else {
+			csvWriter.writeValues(lineValues);
+		}
+	}
+
+	private int getColumnSizeFromMetaData(final ResultSetMetaData metaData, final int columnIndex) throws Exception {
+		final int columnType = metaData.getColumnType(columnIndex);
+		final int columnSize;
+		if (columnType == Types.DATE) {
+			columnSize = csvWriter.calculateOutputSizesOfValue(getDateFormatter().format(ZonedDateTime.of(2000, 12, 31, 23, 59, 59, 0, ZoneId.systemDefault())));
+		} else if (columnType == Types.TIMESTAMP || columnType == Types.TIMESTAMP_WITH_TIMEZONE || columnType == Types.TIME || columnType == Types.TIME_WITH_TIMEZONE) {
+			columnSize = csvWriter.calculateOutputSizesOfValue(getDateTimeFormatter().format(ZonedDateTime.of(2000, 12, 31, 23, 59, 59, 0, ZoneId.systemDefault())));
+		} else if (columnType == Types.BLOB || columnType == Types.CLOB || columnType == Types.NCLOB || columnType == Types.BINARY || columnType == Types.VARBINARY || columnType == Types.LONGVARBINARY) {
+			// Lob data and lob file names have no useful maximum size
+			columnSize = 0;
+		} else {
+			columnSize = metaData.getColumnDisplaySize(columnIndex);
 		}
+		return Math.max(0, Math.min(columnSize, MAXIMUM_METADATA_COLUMN_SIZE));
+	}
+
+	private static boolean isNumericColumn(final int columnType) {
+		return columnType == Types.BIGINT
+				|| columnType == Types.INTEGER
+				|| columnType == Types.SMALLINT
+				|| columnType == Types.TINYINT
+				|| columnType == Types.DECIMAL
+				|| columnType == Types.NUMERIC
+				|| columnType == Types.DOUBLE
+				|| columnType == Types.FLOAT
+				|| columnType == Types.REAL;
 	}
 }
@@ -0,0 +1,190 @@
+package de.soderer.dbexport.worker;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.db.data.DbConnectionDefinition;
+import de.soderer.utilities.worker.WorkerParentDual;
+
+/**
+ * Export of compact JSON: a header with the names and types of the columns followed by the rows as arrays of their values.
+ * The column names are not repeated for each row like in the JSON export with one object per row.
+ */
+public class DbJsonCompactExportWorker extends AbstractDbExportWorker {
+	private JsonRowEncoder rowEncoder = null;
+
+	private List<String> columnTypes = null;
+
+	private String indentation = "\t";
+
+	public DbJsonCompactExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
+		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
+
+		setDateFormat(DateUtilities.ISO_8601_DATE_FORMAT_NO_TIMEZONE);
+		setDateTimeFormat(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE);
+	}
+
+	public void setIndentation(final String indentation) {
+		this.indentation = indentation;
+	}
+
+	@Override
+	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
+		String configurationLogString = "File: " + fileName + "\n"
+				+ "Format: " + getFileExtension().toUpperCase() + "\n";
+
+		if (compression == CompressionType.ZIP) {
+			configurationLogString += "Compression: zip\n";
+			if (zipPassword != null) {
+				configurationLogString += "ZipPassword: true\n";
+			}
+		} else if (compression == CompressionType.TARGZ) {
+			configurationLogString += "Compression: targz\n";
+		} else if (compression == CompressionType.TGZ) {
+			configurationLogString += "Compression: tgz\n";
+		} else if (compression == CompressionType.GZ) {
+			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
+		}
+
+		configurationLogString += "Encoding: " + encoding + "\n"
+				+ "SqlStatement: " + sqlStatement + "\n"
+				+ "OutputFormatLocale: " + dateFormatLocale.getLanguage() + "\n"
+				+ "CreateBlobFiles: " + createBlobFiles + "\n"
+				+ "CreateClobFiles: " + createClobFiles + "\n"
+				+ "Beautify: " + beautify + "\n"
+				+ "Indentation: \"" + indentation + "\"";
+
+		return configurationLogString;
+	}
+
+	@Override
+	protected String getFileExtension() {
+		return "json";
+	}
+
+	@Override
+	protected void openWriter(final OutputStream outputStream) throws Exception {
+		rowEncoder = new JsonRowEncoder(outputStream, encoding, beautify ? indentation : null, false);
+	}
+
+	@Override
+	protected void prepareColumns(final ResultSetMetaData metaData) throws Exception {
+		columnTypes = new ArrayList<>();
+		for (int i = 1; i <= metaData.getColumnCount(); i++) {
+			String columnType;
+			try {
+				columnType = JDBCType.valueOf(metaData.getColumnType(i)).getName();
+			} catch (@SuppressWarnings("unused") final IllegalArgumentException e) {
+				// Vendor specific type
+				columnType = metaData.getColumnTypeName(i);
+			}
+			columnTypes.add(columnType);
+		}
+	}
+
+	@Override
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
+		final String columnIndentation = beautify ? "\n" + indentation + indentation : "";
+		final String nameValueSeparator = beautify ? ": " : ":";
+		final String propertySeparator = beautify ? ", " : ",";
+
+		rowEncoder.writeRaw(beautify ? "{\n" + indentation + "\"columns\"" + nameValueSeparator + "[" : "{\"columns\":[");
+		for (int i = 0; i < columnNames.size(); i++) {
+			if (i > 0) {
+				rowEncoder.writeRaw(",");
+			}
+			rowEncoder.writeRaw(columnIndentation + "{\"name\"" + nameValueSeparator);
+			rowEncoder.writeStringLiteral(columnNames.get(i));
+			rowEncoder.writeRaw(propertySeparator + "\"type\"" + nameValueSeparator);
+			rowEncoder.writeStringLiteral(columnTypes.get(i));
+			rowEncoder.writeRaw("}");
+		}
+		if (beautify && !columnNames.isEmpty()) {
+			rowEncoder.writeRaw("\n" + indentation);
+		}
+		rowEncoder.writeRaw(beautify ? "],\n" + indentation + "\"rows\"" + nameValueSeparator : "],\"rows\":");
+		rowEncoder.startArray(2);
+	}
+
+	@Override
+	protected void startTableLine() throws Exception {
+		rowEncoder.startValueArray();
+	}
+
+	@Override
+	protected void writeColumn(final String columnName, final Object value) throws Exception {
+		if (value == null) {
+			rowEncoder.writeNull();
+		} else if (value instanceof Boolean) {
+			rowEncoder.writeBoolean((Boolean) value);
+		} else if (value instanceof Date) {
+			rowEncoder.writeString(getDateTimeFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
+		} else if (value instanceof LocalDate) {
+			rowEncoder.writeString(formatDate((LocalDate) value));
+		} else if (value instanceof LocalDateTime) {
+			rowEncoder.writeString(getDateTimeFormatter().format((LocalDateTime) value));
+		} else if (value instanceof Number) {
+			rowEncoder.writeNumber((Number) value);
+		} else if (value instanceof String) {
+			rowEncoder.writeString((String) value);
+		} else if (value instanceof ZonedDateTime) {
+			rowEncoder.writeString(getDateTimeFormatter().format((ZonedDateTime) value));
+		} else {
+			throw new Exception("Unexpected data type: " + value.getClass().getSimpleName());
+		}
+	}
+
+	@Override
+	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
+		rowEncoder.writeString(formatDate(localDateValue));
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
+		rowEncoder.writeString(getDateTimeFormatter().format(localDateTimeValue));
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
+		rowEncoder.writeString(getDateTimeFormatter().format(zonedDateTimeValue));
+	}
+
+	@Override
+	protected void endTableLine() throws Exception {
+		rowEncoder.endValueArray();
+	}
+
+	@Override
+	protected void endOutput() throws Exception {
+		rowEncoder.endArray();
+		rowEncoder.writeRaw(beautify ? "\n}" : "}");
+	}
+
+	@Override
+	protected void closeWriter() throws Exception {
+		if (rowEncoder != null) {
+			try {
+				rowEncoder.flush();
+				rowEncoder.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			rowEncoder = null;
+		}
+	}
+}
@@ -8,14 +8,13 @@ import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.List;
 
-import de.soderer.json.JsonWriter;
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.worker.WorkerParentDual;
 
 public class DbJsonExportWorker extends AbstractDbExportWorker {
-	private JsonWriter jsonWriter = null;
+	private JsonRowEncoder rowEncoder = null;
 
 	private String indentation = "\t";
 
@@ -35,17 +34,22 @@ public class DbJsonExportWorker extends AbstractDbExportWorker {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
@@ -66,40 +70,39 @@ public class DbJsonExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
-		jsonWriter = new JsonWriter(outputStream, encoding);
-		jsonWriter.setIndentation(indentation);
-		jsonWriter.setUglify(!beautify);
+		// Slashes are escaped like in the former output of JsonWriter
+		rowEncoder = new JsonRowEncoder(outputStream, encoding, beautify ? indentation : null, true);
 	}
 
 	@Override
 	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		jsonWriter.openJsonArray();
+		rowEncoder.setPropertyNames(columnNames);
+		rowEncoder.startArray();
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		jsonWriter.openJsonObject();
+		rowEncoder.startObject();
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
-		jsonWriter.openJsonObjectProperty(columnName);
 		if (value == null) {
-			jsonWriter.addSimpleJsonObjectPropertyValueNull();
+			rowEncoder.writeNull();
 		} else if (value instanceof Boolean) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((Boolean) value);
+			rowEncoder.writeBoolean((Boolean) value);
 		} else if (value instanceof Date) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((Date) value);
+			rowEncoder.writeString(getDateTimeFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
 		} else if (value instanceof LocalDate) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((LocalDate) value);
+			rowEncoder.writeString(formatDate((LocalDate) value));
 		} else if (value instanceof LocalDateTime) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((LocalDateTime) value);
+			rowEncoder.writeString(getDateTimeFormatter().format((LocalDateTime) value));
 		} else if (value instanceof Number) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((Number) value);
+			rowEncoder.writeNumber((Number) value);
 		} else if (value instanceof String) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((String) value);
+			rowEncoder.writeString((String) value);
 		} else if (value instanceof ZonedDateTime) {
-			jsonWriter.addSimpleJsonObjectPropertyValue((ZonedDateTime) value);
+			rowEncoder.writeString(getDateTimeFormatter().format((ZonedDateTime) value));
 		} else {
 			throw new Exception("Unexpected data type: " + value.getClass().getSimpleName());
 		}
@@ -107,41 +110,39 @@ public class DbJsonExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
-		jsonWriter.openJsonObjectProperty(columnName);
-		jsonWriter.addSimpleJsonObjectPropertyValue(localDateValue);
+		rowEncoder.writeString(formatDate(localDateValue));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
-		jsonWriter.openJsonObjectProperty(columnName);
-		jsonWriter.addSimpleJsonObjectPropertyValue(localDateTimeValue);
+		rowEncoder.writeString(getDateTimeFormatter().format(localDateTimeValue));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
-		jsonWriter.openJsonObjectProperty(columnName);
-		jsonWriter.addSimpleJsonObjectPropertyValue(zonedDateTimeValue);
+		rowEncoder.writeString(getDateTimeFormatter().format(zonedDateTimeValue));
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		jsonWriter.closeJsonObject();
+		rowEncoder.endObject();
 	}
 
 	@Override
 	protected void endOutput() throws Exception {
-		jsonWriter.closeJsonArray();
+		rowEncoder.endArray();
 	}
 
 	@Override
 	protected void closeWriter() throws Exception {
-		if (jsonWriter != null) {
+		if (rowEncoder != null) {
 			try {
-				jsonWriter.close();
+				rowEncoder.flush();
+				rowEncoder.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
-			jsonWriter = null;
+			rowEncoder = null;
 		}
 	}
 }
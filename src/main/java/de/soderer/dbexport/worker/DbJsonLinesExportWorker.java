@@ -0,0 +1,147 @@
+package de.soderer.dbexport.worker;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.db.data.DbConnectionDefinition;
+import de.soderer.utilities.worker.WorkerParentDual;
+
+/**
+ * Export of newline-delimited JSON (JSON Lines): each row is one compact JSON object in a line of its own.
+ * There is no enclosing array, so the output may be read as a stream and split at any line end.
+ */
+public class DbJsonLinesExportWorker extends AbstractDbExportWorker {
+	private JsonRowEncoder rowEncoder = null;
+
+	public DbJsonLinesExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
+		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
+
+		setDateFormat(DateUtilities.ISO_8601_DATE_FORMAT_NO_TIMEZONE);
+		setDateTimeFormat(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE);
+	}
+
+	@Override
+	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
+		String configurationLogString = "File: " + fileName + "\n"
+				+ "Format: " + getFileExtension().toUpperCase() + "\n";
+
+		if (compression == CompressionType.ZIP) {
+			configurationLogString += "Compression: zip\n";
+			if (zipPassword != null) {
+				configurationLogString += "ZipPassword: true\n";
+			}
+		} else if (compression == CompressionType.TARGZ) {
+			configurationLogString += "Compression: targz\n";
+		} else if (compression == CompressionType.TGZ) {
+			configurationLogString += "Compression: tgz\n";
+		} else if (compression == CompressionType.GZ) {
+			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
+		}
+
+		configurationLogString += "Encoding: " + encoding + "\n"
+				+ "SqlStatement: " + sqlStatement + "\n"
+				+ "CreateBlobFiles: " + createBlobFiles + "\n"
+				+ "CreateClobFiles: " + createClobFiles;
+
+		return configurationLogString;
+	}
+
+	@Override
+	protected String getFileExtension() {
+		return "jsonl";
+	}
+
+	@Override
+	protected boolean isChunkedExportSupported() {
+		// Lines of different key ranges may simply be concatenated
+		return true;
+	}
+
+	@Override
+	protected void openWriter(final OutputStream outputStream) throws Exception {
+		rowEncoder = new JsonRowEncoder(outputStream, encoding, null, false);
+	}
+
+	@Override
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
+		rowEncoder.setPropertyNames(columnNames);
+	}
+
+	@Override
+	protected void startTableLine() throws Exception {
+		rowEncoder.startObject();
+	}
+
+	@Override
+	protected void writeColumn(final String columnName, final Object value) throws Exception {
+		if (value == null) {
+			rowEncoder.writeNull();
+		} else if (value instanceof Boolean) {
+			rowEncoder.writeBoolean((Boolean) value);
+		} else if (value instanceof Date) {
+			rowEncoder.writeString(getDateTimeFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
+		} else if (value instanceof LocalDate) {
+			rowEncoder.writeString(formatDate((LocalDate) value));
+		} else if (value instanceof LocalDateTime) {
+			rowEncoder.writeString(getDateTimeFormatter().format((LocalDateTime) value));
+		} else if (value instanceof Number) {
+			rowEncoder.writeNumber((Number) value);
+		} else if (value instanceof String) {
+			rowEncoder.writeString((String) value);
+		} else if (value instanceof ZonedDateTime) {
+			rowEncoder.writeString(getDateTimeFormatter().format((ZonedDateTime) value));
+		} else {
+			throw new Exception("Unexpected data type: " + value.getClass().getSimpleName());
+		}
+	}
+
+	@Override
+	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
+		rowEncoder.writeString(formatDate(localDateValue));
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
+		rowEncoder.writeString(getDateTimeFormatter().format(localDateTimeValue));
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
+		rowEncoder.writeString(getDateTimeFormatter().format(zonedDateTimeValue));
+	}
+
+	@Override
+	protected void endTableLine() throws Exception {
+		rowEncoder.endObject();
+	}
+
+	@Override
+	protected void endOutput() throws Exception {
+		// nothing to do
+	}
+
+	@Override
+	protected void closeWriter() throws Exception {
+		if (rowEncoder != null) {
+			try {
+				rowEncoder.flush();
+				rowEncoder.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			rowEncoder = null;
+		}
+	}
+}
@@ -5,10 +5,12 @@ import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Date;
 import java.util.List;
 
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
+import de.soderer.utilities.NumberUtilities;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.kdbx.KdbxDatabase;
 import de.soderer.utilities.kdbx.KdbxWriter;
@@ -21,6 +23,13 @@ public class DbKdbxExportWorker extends AbstractDbExportWorker {
 	private KdbxDatabase kdbxDatabase = null;
 	private KdbxEntry kdbxEntry = null;
 
+	private boolean streaming = false;
+	private KdbxRowEncoder rowEncoder = null;
+
+	/** Entry field names of the columns */
+	private String[] fieldNames = null;
+	private int columnIndex = 0;
+
 	public DbKdbxExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath, final char[] kdbxPassword) {
 		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
 
@@ -30,29 +39,42 @@ public class DbKdbxExportWorker extends AbstractDbExportWorker {
 		setDateTimeFormat(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE);
 	}
 
+	/**
+	 * Write each entry directly into the encrypted KDBX 3.1 output instead of collecting the whole database in memory
+	 */
+	public void setStreaming(final boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	@Override
 	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
 				+ "SqlStatement: " + sqlStatement + "\n"
 				+ "OutputFormatLocale: " + dateFormatLocale.getLanguage() + "\n"
 				+ "CreateBlobFiles: " + createBlobFiles + "\n"
-				+ "CreateClobFiles: " + createClobFiles;
+				+ "CreateClobFiles: " + createClobFiles + "\n"
+				+ "Streaming: " + streaming;
 
 		return configurationLogString;
 	}
@@ -64,54 +86,142 @@ public class DbKdbxExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
-		kdbxWriter = new KdbxWriter(outputStream);
-		kdbxDatabase = new KdbxDatabase();
+		if (streaming) {
+			rowEncoder = new KdbxRowEncoder(outputStream, kdbxPassword);
+		} else {
+			kdbxWriter = new KdbxWriter(outputStream);
+			kdbxDatabase = new KdbxDatabase();
+		}
 	}
 
+	/**
+	 * Both modes use the same entry fields for the columns, so the streaming mode only changes the memory usage, but not the exported entries
+	 */
 	@Override
 	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		// Do nothing
+		fieldNames = new String[columnNames.size()];
+		for (int i = 0; i < columnNames.size(); i++) {
+			fieldNames[i] = KdbxRowEncoder.getFieldName(columnNames.get(i));
+		}
+
+		if (streaming) {
+			rowEncoder.setColumnNames(columnNames);
+			rowEncoder.startDatabase(exportTableName != null ? exportTableName : "Root");
+		}
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		kdbxEntry = new KdbxEntry();
+		if (streaming) {
+			rowEncoder.startEntry();
+		} else {
+			kdbxEntry = new KdbxEntry();
+		}
+		columnIndex = 0;
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
-		kdbxEntry.getItems().put(columnName, value);
+		if (value == null) {
+			writeValue(null);
+		} else if (value instanceof Date) {
+			writeValue(getDateTimeFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
+		} else if (value instanceof LocalDate) {
+			writeValue(formatDate((LocalDate) value));
+		} else if (value instanceof LocalDateTime) {
+			writeValue(getDateTimeFormatter().format((LocalDateTime) value));
+		} else if (value instanceof ZonedDateTime) {
+			writeValue(getDateTimeFormatter().format((ZonedDateTime) value));
+		} else if (value instanceof Number) {
+			if (decimalSeparator != null) {
+				writeValue(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
+			} else {
+				writeValue(numberFormatter.format(value));
+			}
+		} else {
+			writeValue(value.toString());
+		}
 	}
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
-		kdbxEntry.getItems().put(columnName, localDateValue);
+		writeValue(localDateValue == null ? null : formatDate(localDateValue));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
-		kdbxEntry.getItems().put(columnName, localDateTimeValue);
+		writeValue(localDateTimeValue == null ? null : getDateTimeFormatter().format(localDateTimeValue));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
-		kdbxEntry.getItems().put(columnName, zonedDateTimeValue);
+		writeValue(zonedDateTimeValue == null ? null : getDateTimeFormatter().format(zonedDateTimeValue));
+	}
+
+	/**
+	 * Write the formatted value of the next column into its entry field. Null values get no field in the entry.
+	 */
+	private void writeValue(final String value) {
+		final String fieldName = fieldNames[columnIndex++];
+		if (streaming) {
+			if (value == null) {
+				rowEncoder.skipValue();
+			} else {
+				rowEncoder.writeValue(value);
+			}
+		} else if (value != null) {
+			switch (fieldName) {
+				case "Title":
+					kdbxEntry.setTitle(value);
+					break;
+				case "UserName":
+					kdbxEntry.setUsername(value);
+					break;
+				case "Password":
+					kdbxEntry.setPassword(value);
+					break;
+				case "URL":
+					kdbxEntry.setUrl(value);
+					break;
+				case "Notes":
+					kdbxEntry.setNotes(value);
+					break;
+				default:
+					kdbxEntry.getItems().put(fieldName, value);
+			}
+		}
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		kdbxDatabase.getEntries().add(kdbxEntry);
-		kdbxEntry = null;
+		if (streaming) {
+			rowEncoder.endEntry();
+		} else {
+			kdbxDatabase.getEntries().add(kdbxEntry);
+			kdbxEntry = null;
+		}
 	}
 
 	@Override
 	protected void endOutput() throws Exception {
-		kdbxWriter.writeKdbxDatabase(kdbxDatabase, kdbxPassword);
-		kdbxDatabase = null;
+		if (streaming) {
+			rowEncoder.endDatabase();
+		} else {
+			kdbxWriter.writeKdbxDatabase(kdbxDatabase, kdbxPassword);
+			kdbxDatabase = null;
+		}
 	}
 
 	@Override
 	protected void closeWriter() throws Exception {
+		if (rowEncoder != null) {
+			try {
+				rowEncoder.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			rowEncoder = null;
+		}
 		if (kdbxWriter != null) {
 			try {
 				kdbxWriter.close();
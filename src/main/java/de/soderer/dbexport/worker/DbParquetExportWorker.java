@@ -0,0 +1,330 @@
+package de.soderer.dbexport.worker;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import de.soderer.dbexport.DbExport;
+import de.soderer.dbexport.DbExportException;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.utilities.DateUtilities;
+import de.soderer.utilities.db.data.DbConnectionDefinition;
+import de.soderer.utilities.worker.WorkerParentDual;
+
+/**
+ * Export of Apache Parquet files (see {@link ParquetRowEncoder}).
+ * The parquet type of each column is decided once by the JDBC type of the column.
+ */
+public class DbParquetExportWorker extends AbstractDbExportWorker {
+	/** Maximum precision of decimal values, which are stored as unscaled values of up to 16 bytes */
+	private static final int MAXIMUM_DECIMAL_PRECISION = 38;
+
+	/** Number of digits of the maximum unsigned BIGINT value 18446744073709551615 */
+	private static final int UNSIGNED_BIGINT_PRECISION = 20;
+
+	private int rowGroupSize = ParquetRowEncoder.DEFAULT_ROW_GROUP_SIZE;
+	private ParquetRowEncoder.Codec codec = ParquetRowEncoder.Codec.SNAPPY;
+
+	private ParquetRowEncoder rowEncoder = null;
+	private ParquetRowEncoder.ColumnType[] columnTypes = null;
+	private int columnIndex = 0;
+
+	public DbParquetExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
+		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
+	}
+
+	public void setRowGroupSize(final int rowGroupSize) {
+		this.rowGroupSize = rowGroupSize;
+	}
+
+	public void setCodec(final ParquetRowEncoder.Codec codec) {
+		this.codec = codec;
+	}
+
+	@Override
+	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
+		String configurationLogString = "File: " + fileName + "\n"
+				+ "Format: " + getFileExtension().toUpperCase() + "\n";
+
+		if (compression == CompressionType.ZIP) {
+			configurationLogString += "Compression: zip\n";
+			if (zipPassword != null) {
+				configurationLogString += "ZipPassword: true\n";
+			}
+		} else if (compression == CompressionType.TARGZ) {
+			configurationLogString += "Compression: targz\n";
+		} else if (compression == CompressionType.TGZ) {
+			configurationLogString += "Compression: tgz\n";
+		} else if (compression == CompressionType.GZ) {
+			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
+		}
+
+		configurationLogString += "ParquetRowGroupSize: " + rowGroupSize + "\n"
+				+ "ParquetCodec: " + codec.name().toLowerCase() + "\n"
+				+ "SqlStatement: " + sqlStatement + "\n"
+				+ "CreateBlobFiles: " + createBlobFiles + "\n"
+				+ "CreateClobFiles: " + createClobFiles;
+
+		return configurationLogString;
+	}
+
+	@Override
+	protected String getFileExtension() {
+		return "parquet";
+	}
+
+	@Override
+	protected void openWriter(final OutputStream outputStream) throws Exception {
+		rowEncoder = new ParquetRowEncoder(outputStream, rowGroupSize, codec, DbExport.APPLICATION_NAME + (DbExport.VERSION != null ? " version " + DbExport.VERSION.toString() : ""));
+	}
+
+	/**
+	 * Map the JDBC types of the columns to parquet types. Types without a matching parquet type are exported as text.
+	 */
+	@Override
+	protected void prepareColumns(final ResultSetMetaData metaData) throws Exception {
+		columnTypes = new ParquetRowEncoder.ColumnType[metaData.getColumnCount()];
+		for (int i = 1; i <= metaData.getColumnCount(); i++) {
+			final int columnTypeCode = metaData.getColumnType(i);
+			final boolean isUnsignedColumn = (columnTypeCode == Types.TINYINT || columnTypeCode == Types.SMALLINT || columnTypeCode == Types.INTEGER || columnTypeCode == Types.BIGINT) && !metaData.isSigned(i);
+			int precision = 0;
+			int scale = 0;
+			final ParquetRowEncoder.ColumnType columnType;
+			switch (columnTypeCode) {
+				case Types.BIT:
+				case Types.BOOLEAN:
+					columnType = ParquetRowEncoder.ColumnType.BOOLEAN;
+					break;
+				case Types.TINYINT:
+				case Types.SMALLINT:
+				case Types.INTEGER:
+					if ((isUnsignedColumn && columnTypeCode == Types.INTEGER) || getDbValueConverter().isVendorSpecificColumn(metaData, i)) {
+						// Unsigned values and vendor specific values, like SQLite INTEGER, may exceed the range of INT32
+						columnType = ParquetRowEncoder.ColumnType.INT64;
+					} else {
+						columnType = ParquetRowEncoder.ColumnType.INT32;
+					}
+					break;
+				case Types.BIGINT:
+					if (isUnsignedColumn) {
+						// Unsigned values may exceed the range of INT64
+						columnType = ParquetRowEncoder.ColumnType.DECIMAL;
+						precision = UNSIGNED_BIGINT_PRECISION;
+					} else {
+						columnType = ParquetRowEncoder.ColumnType.INT64;
+					}
+					break;
+				case Types.REAL:
+				case Types.FLOAT:
+				case Types.DOUBLE:
+					columnType = ParquetRowEncoder.ColumnType.DOUBLE;
+					break;
+				case Types.NUMERIC:
+				case Types.DECIMAL:
+					precision = metaData.getPrecision(i);
+					scale = metaData.getScale(i);
+					if (precision > 0 && precision <= MAXIMUM_DECIMAL_PRECISION && scale >= 0 && scale <= precision) {
+						columnType = ParquetRowEncoder.ColumnType.DECIMAL;
+					} else {
+						// Numbers without a defined precision, like Oracle NUMBER, are exported as text to keep all of their digits
+						columnType = ParquetRowEncoder.ColumnType.STRING;
+					}
+					break;
+				case Types.DATE:
+					columnType = ParquetRowEncoder.ColumnType.DATE;
+					break;
+				case Types.TIMESTAMP:
+				case Types.TIMESTAMP_WITH_TIMEZONE:
+					columnType = ParquetRowEncoder.ColumnType.TIMESTAMP;
+					break;
+				case Types.BINARY:
+				case Types.VARBINARY:
+				case Types.LONGVARBINARY:
+				case Types.BLOB:
+					// Blob files are referenced by their file name
+					columnType = createBlobFiles ? ParquetRowEncoder.ColumnType.STRING : ParquetRowEncoder.ColumnType.BINARY;
+					break;
+				default:
+					columnType = ParquetRowEncoder.ColumnType.STRING;
+			}
+			columnTypes[i - 1] = columnType;
+			rowEncoder.addColumn(metaData.getColumnName(i), columnType, precision, scale);
+		}
+	}
+
+	@Override
+	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
+		rowEncoder.startFile();
+	}
+
+	@Override
+	protected void startTableLine() throws Exception {
+		rowEncoder.startRow();
+		columnIndex = 0;
+	}
+
+	@Override
+	protected void writeColumn(final String columnName, final Object value) throws Exception {
+		final ParquetRowEncoder.ColumnType columnType = columnTypes[columnIndex++];
+		if (value == null) {
+			rowEncoder.writeNull();
+			return;
+		}
+
+		switch (columnType) {
+			case BOOLEAN:
+				if (value instanceof Boolean) {
+					rowEncoder.writeBoolean((Boolean) value);
+				} else if (value instanceof Number) {
+					rowEncoder.writeBoolean(((Number) value).intValue() != 0);
+				} else {
+					rowEncoder.writeBoolean("true".equalsIgnoreCase(value.toString()) || "1".equals(value.toString()));
+				}
+				break;
+			case INT32:
+				// Values exceeding the range of the parquet type fail instead of being truncated
+				rowEncoder.writeInt(Math.toIntExact(toLong(value)));
+				break;
+			case INT64:
+				rowEncoder.writeLong(toLong(value));
+				break;
+			case DOUBLE:
+				rowEncoder.writeDouble(value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString().trim()));
+				break;
+			case DECIMAL:
+				if (value instanceof BigDecimal) {
+					rowEncoder.writeDecimal((BigDecimal) value);
+				} else if (value instanceof BigInteger) {
+					rowEncoder.writeDecimal(new BigDecimal((BigInteger) value));
+				} else {
+					rowEncoder.writeDecimal(new BigDecimal(value.toString().trim()));
+				}
+				break;
+			case DATE:
+			case TIMESTAMP:
+				if (value instanceof Date) {
+					writeDateTimeValue(columnType, DateUtilities.getLocalDateTimeForDate((Date) value));
+				} else {
+					throw new DbExportException("Value of column '" + columnName + "' of type " + value.getClass().getSimpleName() + " cannot be exported as parquet " + columnType.name().toLowerCase());
+				}
+				break;
+			case BINARY:
+				if (value instanceof byte[]) {
+					rowEncoder.writeBytes((byte[]) value);
+				} else {
+					// Blob data is read as base64 encoded text
+					rowEncoder.writeBytes(Base64.getDecoder().decode(value.toString()));
+				}
+				break;
+			default:
+				if (value instanceof byte[]) {
+					rowEncoder.writeString(Base64.getEncoder().encodeToString((byte[]) value));
+				} else if (value instanceof BigDecimal) {
+					rowEncoder.writeString(((BigDecimal) value).toPlainString());
+				} else if (value instanceof Date) {
+					rowEncoder.writeString(getDateTimeFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
+				} else {
+					rowEncoder.writeString(value.toString());
+				}
+		}
+	}
+
+	@Override
+	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
+		final ParquetRowEncoder.ColumnType columnType = columnTypes[columnIndex++];
+		if (localDateValue == null) {
+			rowEncoder.writeNull();
+		} else if (columnType == ParquetRowEncoder.ColumnType.DATE) {
+			rowEncoder.writeDate(localDateValue);
+		} else if (columnType == ParquetRowEncoder.ColumnType.TIMESTAMP) {
+			rowEncoder.writeTimestamp(localDateValue.atStartOfDay());
+		} else {
+			rowEncoder.writeString(formatDate(localDateValue));
+		}
+	}
+
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
+		final ParquetRowEncoder.ColumnType columnType = columnTypes[columnIndex++];
+		if (localDateTimeValue == null) {
+			rowEncoder.writeNull();
+		} else {
+			writeDateTimeValue(columnType, localDateTimeValue);
+		}
+	}
+
+	/**
+	 * Zoned values are already converted to the export data time zone, so they are stored as local timestamps like all others
+	 */
+	@Override
+	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
+		final ParquetRowEncoder.ColumnType columnType = columnTypes[columnIndex++];
+		if (zonedDateTimeValue == null) {
+			rowEncoder.writeNull();
+		} else if (columnType == ParquetRowEncoder.ColumnType.STRING) {
+			rowEncoder.writeString(getDateTimeFormatter().format(zonedDateTimeValue));
+		} else {
+			writeDateTimeValue(columnType, zonedDateTimeValue.toLocalDateTime());
+		}
+	}
+
+	private void writeDateTimeValue(final ParquetRowEncoder.ColumnType columnType, final LocalDateTime localDateTimeValue) throws Exception {
+		if (columnType == ParquetRowEncoder.ColumnType.TIMESTAMP) {
+			rowEncoder.writeTimestamp(localDateTimeValue);
+		} else if (columnType == ParquetRowEncoder.ColumnType.DATE) {
+			rowEncoder.writeDate(localDateTimeValue.toLocalDate());
+		} else {
+			rowEncoder.writeString(getDateTimeFormatter().format(localDateTimeValue));
+		}
+	}
+
+	/**
+	 * Integer value of a number or text, which fails for fractions and values exceeding the range of long
+	 */
+	private static long toLong(final Object value) {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		} else if (value instanceof BigInteger) {
+			return ((BigInteger) value).longValueExact();
+		} else {
+			return new BigDecimal(value.toString().trim()).longValueExact();
+		}
+	}
+
+	@Override
+	protected void endTableLine() throws Exception {
+		rowEncoder.endRow();
+	}
+
+	@Override
+	protected void endOutput() throws Exception {
+		rowEncoder.endFile();
+	}
+
+	@Override
+	protected void closeWriter() throws Exception {
+		if (rowEncoder != null) {
+			try {
+				rowEncoder.flush();
+				rowEncoder.close();
+			} catch (final Exception e) {
+				e.printStackTrace();
+			}
+			rowEncoder = null;
+		}
+	}
+}
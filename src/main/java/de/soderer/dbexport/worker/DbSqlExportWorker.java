@@ -8,12 +8,11 @@ import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.worker.WorkerParentDual;
@@ -21,39 +20,54 @@ import de.soderer.utilities.worker.WorkerParentDual;
 public class DbSqlExportWorker extends AbstractDbExportWorker {
 	private Writer fileWriter = null;
 
-	private String tableName = null;
+	private int insertRowsPerStatement = 1;
 
-	private List<String> columnNamesOfCurrentTableLine = null;
+	/** Start of each insert statement with the table name and column names */
+	private String insertStatementStart = null;
 
-	private List<String> values = null;
+	private int rowsInCurrentStatement = 0;
+
+	private final StringBuilder currentLine = new StringBuilder();
+
+	private boolean firstValueOfCurrentLine = true;
 
 	public DbSqlExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
 		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
 	}
 
+	public void setInsertRowsPerStatement(final int insertRowsPerStatement) {
+		this.insertRowsPerStatement = insertRowsPerStatement;
+	}
+
 	@Override
 	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
 				+ "SqlStatement: " + sqlStatement + "\n"
 				+ "OutputFormatLocale: " + dateFormatLocale.getLanguage() + "\n"
 				+ "CreateBlobFiles: " + createBlobFiles + "\n"
-				+ "CreateClobFiles: " + createClobFiles;
+				+ "CreateClobFiles: " + createClobFiles + "\n"
+				+ "InsertRowsPerStatement: " + insertRowsPerStatement;
 
 		return configurationLogString;
 	}
@@ -63,6 +77,11 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 		return "sql";
 	}
 
+	@Override
+	protected boolean isChunkedExportSupported() {
+		return true;
+	}
+
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
 		fileWriter = new BufferedWriter(new OutputStreamWriter(outputStream, encoding));
@@ -70,9 +89,14 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		fileWriter.write("--" + sqlStatement + "\n");
+		if (!followingChunk) {
+			fileWriter.write("--" + sqlStatement + "\n");
+		}
 
-		if (sqlStatement.toUpperCase().startsWith("SELECT * FROM ")) {
+		String tableName;
+		if (exportTableName != null) {
+			tableName = exportTableName;
+		} else if (sqlStatement.toUpperCase().startsWith("SELECT * FROM ")) {
 			tableName = sqlStatement.substring(14).trim();
 			if (tableName.contains(" ")) {
 				tableName = tableName.substring(0, tableName.indexOf(" "));
@@ -80,70 +104,90 @@ public class DbSqlExportWorker extends AbstractDbExportWorker {
 		} else {
 			tableName = "export_tbl";
 		}
+
+		insertStatementStart = "INSERT INTO " + tableName + " (" + Utilities.join(columnNames, ", ") + ") VALUES ";
+		rowsInCurrentStatement = 0;
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		columnNamesOfCurrentTableLine = new ArrayList<>();
-		values = new ArrayList<>();
+		currentLine.setLength(0);
+		if (rowsInCurrentStatement == 0) {
+			currentLine.append(insertStatementStart);
+		} else {
+			currentLine.append(",\n\t");
+		}
+		currentLine.append('(');
+		firstValueOfCurrentLine = true;
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
 		if (value == null) {
-			values.add("NULL");
+			addValue("NULL");
 		} else if (value instanceof String) {
-			values.add("'" + ((String) value).replace("'", "''") + "'");
+			addValue("'" + ((String) value).replace("'", "''") + "'");
 		} else if (value instanceof Date) {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, (Date) value) + "'");
+			addValue("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, (Date) value) + "'");
 		} else if (value instanceof Number) {
-			values.add(value.toString());
+			addValue(value.toString());
 		} else {
-			values.add("'" + value.toString().replace("'", "''") + "'");
+			addValue("'" + value.toString().replace("'", "''") + "'");
 		}
 	}
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
 		if (localDateValue == null) {
-			values.add("NULL");
+			addValue("NULL");
 		} else {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATE_FORMAT, localDateValue) + "'");
+			addValue("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATE_FORMAT, localDateValue) + "'");
 		}
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
 		if (localDateTimeValue == null) {
-			values.add("NULL");
+			addValue("NULL");
 		} else {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, localDateTimeValue) + "'");
+			addValue("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, localDateTimeValue) + "'");
 		}
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
-		columnNamesOfCurrentTableLine.add(columnName);
 		if (zonedDateTimeValue == null) {
-			values.add("NULL");
+			addValue("NULL");
 		} else {
-			values.add("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, zonedDateTimeValue) + "'");
+			addValue("'" + DateUtilities.formatDate(DateUtilities.ANSI_SQL_DATETIME_FORMAT, zonedDateTimeValue) + "'");
 		}
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		fileWriter.write("INSERT INTO " + tableName + " (" + Utilities.join(columnNamesOfCurrentTableLine, ", ") + ") VALUES (" + Utilities.join(values, ", ") + ");\n");
-		columnNamesOfCurrentTableLine = null;
-		values = null;
+		currentLine.append(')');
+		rowsInCurrentStatement++;
+		if (rowsInCurrentStatement >= insertRowsPerStatement) {
+			currentLine.append(";\n");
+			rowsInCurrentStatement = 0;
+		}
+		fileWriter.append(currentLine);
 	}
 
 	@Override
 	protected void endOutput() throws Exception {
-		// nothing to do
+		if (rowsInCurrentStatement > 0) {
+			fileWriter.write(";\n");
+			rowsInCurrentStatement = 0;
+		}
+	}
+
+	private void addValue(final String value) {
+		if (!firstValueOfCurrentLine) {
+			currentLine.append(", ");
+		}
+		currentLine.append(value);
+		firstValueOfCurrentLine = false;
 	}
 
 	@Override
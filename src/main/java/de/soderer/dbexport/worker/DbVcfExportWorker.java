@@ -9,13 +9,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.vcf.VcfCard;
 import de.soderer.utilities.vcf.VcfWriter;
 import de.soderer.utilities.worker.WorkerParentDual;
 
+/**
+ * Export of vCards. The column names are matched to the vCard properties by the rules of {@link VcfCard#fromMap(Map)},
+ * so the cards keep their format. The map of the values of a card is reused for all cards of the export.
+ */
 public class DbVcfExportWorker extends AbstractDbExportWorker {
 	private VcfWriter vcfWriter = null;
 	private Map<String, Object> currentVcfCardMap = null;
@@ -32,17 +36,22 @@ public class DbVcfExportWorker extends AbstractDbExportWorker {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
@@ -66,12 +75,13 @@ public class DbVcfExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		// Do nothing
+		currentVcfCardMap = new HashMap<>();
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		currentVcfCardMap = new HashMap<>();
+		// The previous card was already written, so its map may be reused
+		currentVcfCardMap.clear();
 	}
 
 	@Override
@@ -97,7 +107,6 @@ public class DbVcfExportWorker extends AbstractDbExportWorker {
 	@Override
 	protected void endTableLine() throws Exception {
 		vcfWriter.writeCard(VcfCard.fromMap(currentVcfCardMap));
-		currentVcfCardMap = null;
 	}
 
 	@Override
@@ -115,5 +124,6 @@ public class DbVcfExportWorker extends AbstractDbExportWorker {
 			}
 			vcfWriter = null;
 		}
+		currentVcfCardMap = null;
 	}
 }
@@ -8,21 +8,18 @@ import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.List;
 
-import javax.xml.stream.XMLOutputFactory;
-import javax.xml.stream.XMLStreamWriter;
-
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.NumberUtilities;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.worker.WorkerParentDual;
-import de.soderer.utilities.xml.IndentedXMLStreamWriter;
 
 public class DbXmlExportWorker extends AbstractDbExportWorker {
-	private XMLStreamWriter xmlWriter = null;
+	private XmlRowEncoder rowEncoder = null;
 
 	private String indentation = "\t";
 	private String nullValueText = "";
+	private boolean columnAttributes = false;
 
 	public DbXmlExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
 		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
@@ -40,22 +37,35 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 		this.nullValueText = nullValueText;
 	}
 
+	/**
+	 * Write the column values as attributes of the line elements instead of child elements.
+	 * Attributes of null values are left out.
+	 */
+	public void setColumnAttributes(final boolean columnAttributes) {
+		this.columnAttributes = columnAttributes;
+	}
+
 	@Override
 	public String getConfigurationLogString(final String fileName, final String sqlStatement) {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
@@ -64,7 +74,8 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 				+ "CreateBlobFiles: " + createBlobFiles + "\n"
 				+ "CreateClobFiles: " + createClobFiles + "\n"
 				+ "Beautify: " + beautify + "\n"
-				+ "Indentation: \"" + indentation + "\"";
+				+ "Indentation: \"" + indentation + "\"\n"
+				+ "ColumnAttributes: " + columnAttributes;
 
 		return configurationLogString;
 	}
@@ -76,102 +87,94 @@ public class DbXmlExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
-		if (beautify) {
-			xmlWriter = new IndentedXMLStreamWriter(outputStream, encoding, indentation);
-		} else {
-			xmlWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, encoding.name());
-		}
+		rowEncoder = new XmlRowEncoder(outputStream, encoding, beautify ? indentation : null, columnAttributes);
 	}
 
 	@Override
 	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		// Create root node
-		xmlWriter.writeStartDocument(encoding.name(), "1.0");
-		xmlWriter.writeStartElement("table");
-		xmlWriter.writeAttribute("statement", sqlStatement);
+		rowEncoder.setColumnNames(columnNames);
+		rowEncoder.startDocument(sqlStatement);
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		xmlWriter.writeStartElement("line");
+		rowEncoder.startLine();
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
-		xmlWriter.writeStartElement(columnName);
 		if (value == null) {
-			xmlWriter.writeCharacters(nullValueText);
+			writeNullValue();
 		} else if (value instanceof Date) {
-			xmlWriter.writeCharacters(getDateFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
+			rowEncoder.writeValue(getDateFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
 		} else if (value instanceof Number) {
 			if (decimalSeparator != null) {
-				xmlWriter.writeCharacters(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
+				rowEncoder.writeValue(NumberUtilities.formatNumber((Number) value, decimalSeparator, null));
 			} else {
-				xmlWriter.writeCharacters(decimalFormat.format(value));
+				rowEncoder.writeValue(numberFormatter.format(value));
 			}
 		} else if (value instanceof String) {
-			xmlWriter.writeCharacters((String) value);
+			rowEncoder.writeValue((String) value);
 		} else {
-			xmlWriter.writeCharacters(value.toString());
+			rowEncoder.writeValue(value.toString());
 		}
-		xmlWriter.writeEndElement();
 	}
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
-		xmlWriter.writeStartElement(columnName);
 		if (localDateValue == null) {
-			xmlWriter.writeCharacters(nullValueText);
+			writeNullValue();
 		} else {
-			xmlWriter.writeCharacters(getDateFormatter().format(localDateValue));
+			rowEncoder.writeValue(formatDate(localDateValue));
 		}
-		xmlWriter.writeEndElement();
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
-		xmlWriter.writeStartElement(columnName);
 		if (localDateTimeValue == null) {
-			xmlWriter.writeCharacters(nullValueText);
+			writeNullValue();
 		} else {
-			xmlWriter.writeCharacters(getDateTimeFormatter().format(localDateTimeValue));
+			rowEncoder.writeValue(getDateTimeFormatter().format(localDateTimeValue));
 		}
-		xmlWriter.writeEndElement();
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
-		xmlWriter.writeStartElement(columnName);
 		if (zonedDateTimeValue == null) {
-			xmlWriter.writeCharacters(nullValueText);
+			writeNullValue();
+		} else {
+			rowEncoder.writeValue(getDateTimeFormatter().format(zonedDateTimeValue));
+		}
+	}
+
+	private void writeNullValue() throws Exception {
+		if (columnAttributes) {
+			rowEncoder.skipValue();
 		} else {
-			xmlWriter.writeCharacters(getDateTimeFormatter().format(zonedDateTimeValue));
+			rowEncoder.writeValue(nullValueText);
 		}
-		xmlWriter.writeEndElement();
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		xmlWriter.writeEndElement();
+		rowEncoder.endLine();
 	}
 
 	@Override
 	protected void endOutput() throws Exception {
-		// Close root node
-		xmlWriter.writeEndElement();
-		// Close document
-		xmlWriter.writeEndDocument();
+		rowEncoder.endDocument();
 	}
 
 	@Override
 	protected void closeWriter() throws Exception {
-		if (xmlWriter != null) {
+		if (rowEncoder != null) {
 			try {
-				xmlWriter.close();
+				rowEncoder.flush();
+				rowEncoder.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
-			xmlWriter = null;
+			rowEncoder = null;
 		}
 	}
 }
@@ -8,16 +8,13 @@ import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.List;
 
+import de.soderer.dbexport.utilities.CompressionType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.FileCompressionType;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.worker.WorkerParentDual;
-import de.soderer.yaml.YamlWriter;
-import de.soderer.yaml.data.YamlMapping;
 
 public class DbYamlExportWorker extends AbstractDbExportWorker {
-	private YamlWriter yamlWriter = null;
-	private YamlMapping nextLineYamlMapping = null;
+	private YamlRowEncoder rowEncoder = null;
 
 	public DbYamlExportWorker(final WorkerParentDual parent, final DbConnectionDefinition dbDefinition, final boolean isStatementFile, final String sqlStatementOrTablelist, final String outputpath) {
 		super(parent, dbDefinition, isStatementFile, sqlStatementOrTablelist, outputpath);
@@ -31,17 +28,22 @@ public class DbYamlExportWorker extends AbstractDbExportWorker {
 		String configurationLogString = "File: " + fileName + "\n"
 				+ "Format: " + getFileExtension().toUpperCase() + "\n";
 
-		if (compression == FileCompressionType.ZIP) {
+		if (compression == CompressionType.ZIP) {
 			configurationLogString += "Compression: zip\n";
 			if (zipPassword != null) {
 				configurationLogString += "ZipPassword: true\n";
 			}
-		} else if (compression == FileCompressionType.TARGZ) {
+		} else if (compression == CompressionType.TARGZ) {
 			configurationLogString += "Compression: targz\n";
-		} else if (compression == FileCompressionType.TGZ) {
+		} else if (compression == CompressionType.TGZ) {
 			configurationLogString += "Compression: tgz\n";
-		} else if (compression == FileCompressionType.GZ) {
+		} else if (compression == CompressionType.GZ) {
 			configurationLogString += "Compression: gz\n";
+		} else if (compression == CompressionType.ZSTD) {
+			configurationLogString += "Compression: zstd\n";
+			configurationLogString += "ZstdLevel: " + zstdLevel + "\n";
+		} else if (compression == CompressionType.LZ4) {
+			configurationLogString += "Compression: lz4\n";
 		}
 
 		configurationLogString += "Encoding: " + encoding + "\n"
@@ -60,41 +62,37 @@ public class DbYamlExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void openWriter(final OutputStream outputStream) throws Exception {
-		yamlWriter = new YamlWriter(outputStream, encoding);
+		rowEncoder = new YamlRowEncoder(outputStream, encoding);
 	}
 
 	@Override
 	protected void startOutput(final Connection connection, final String sqlStatement, final List<String> columnNames) throws Exception {
-		// Do nothing
+		rowEncoder.setKeys(columnNames);
 	}
 
 	@Override
 	protected void startTableLine() throws Exception {
-		// Do nothing
+		rowEncoder.startItem();
 	}
 
 	@Override
 	protected void writeColumn(final String columnName, final Object value) throws Exception {
-		if (nextLineYamlMapping == null) {
-			nextLineYamlMapping = new YamlMapping();
-		}
-
 		if (value == null) {
-			nextLineYamlMapping.add(columnName, null);
+			rowEncoder.writeNull();
 		} else if (value instanceof Boolean) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeBoolean((Boolean) value);
 		} else if (value instanceof Date) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeDateTime(getDateTimeFormatter().format(DateUtilities.getLocalDateTimeForDate((Date) value)));
 		} else if (value instanceof LocalDate) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeDateTime(formatDate((LocalDate) value));
 		} else if (value instanceof LocalDateTime) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeDateTime(getDateTimeFormatter().format((LocalDateTime) value));
 		} else if (value instanceof Number) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeNumber((Number) value);
 		} else if (value instanceof String) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeString((String) value);
 		} else if (value instanceof ZonedDateTime) {
-			nextLineYamlMapping.add(columnName, value);
+			rowEncoder.writeDateTime(getDateTimeFormatter().format((ZonedDateTime) value));
 		} else {
 			throw new Exception("Unexpected data type: " + value.getClass().getSimpleName());
 		}
@@ -102,56 +100,39 @@ public class DbYamlExportWorker extends AbstractDbExportWorker {
 
 	@Override
 	protected void writeDateColumn(final String columnName, final LocalDate localDateValue) throws Exception {
-		if (nextLineYamlMapping == null) {
-			nextLineYamlMapping = new YamlMapping();
-		}
-
-		nextLineYamlMapping.add(columnName, getDateFormatter().format(localDateValue));
+		rowEncoder.writeDateTime(formatDate(localDateValue));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final LocalDateTime localDateTimeValue) throws Exception {
-		if (nextLineYamlMapping == null) {
-			nextLineYamlMapping = new YamlMapping();
-		}
-
-		nextLineYamlMapping.add(columnName, getDateTimeFormatter().format(localDateTimeValue));
+		rowEncoder.writeDateTime(getDateTimeFormatter().format(localDateTimeValue));
 	}
 
 	@Override
 	protected void writeDateTimeColumn(final String columnName, final ZonedDateTime zonedDateTimeValue) throws Exception {
-		if (nextLineYamlMapping == null) {
-			nextLineYamlMapping = new YamlMapping();
-		}
-
-		nextLineYamlMapping.add(columnName, getDateTimeFormatter().format(zonedDateTimeValue));
+		rowEncoder.writeDateTime(getDateTimeFormatter().format(zonedDateTimeValue));
 	}
 
 	@Override
 	protected void endTableLine() throws Exception {
-		if (nextLineYamlMapping != null) {
-			yamlWriter.addSequenceItem(nextLineYamlMapping);
-			nextLineYamlMapping = null;
-		}
+		rowEncoder.endItem();
 	}
 
 	@Override
 	protected void endOutput() throws Exception {
-		if (nextLineYamlMapping != null) {
-			yamlWriter.addSequenceItem(nextLineYamlMapping);
-			nextLineYamlMapping = null;
-		}
+		// nothing to do
 	}
 
 	@Override
 	protected void closeWriter() throws Exception {
-		if (yamlWriter != null) {
+		if (rowEncoder != null) {
 			try {
-				yamlWriter.close();
+				rowEncoder.flush();
+				rowEncoder.close();
 			} catch (final Exception e) {
 				e.printStackTrace();
 			}
-			yamlWriter = null;
+			rowEncoder = null;
 		}
 	}
 }
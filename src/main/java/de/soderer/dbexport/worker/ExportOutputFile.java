@@ -0,0 +1,199 @@
+package de.soderer.dbexport.worker;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.dbexport.utilities.CompressionUtilities;
+import de.soderer.dbexport.utilities.CountingOutputStream;
+import de.soderer.dbexport.utilities.EncryptedZipOutputStream;
+import de.soderer.dbexport.utilities.ParallelGzipOutputStream;
+import de.soderer.dbexport.utilities.StreamingTarOutputStream;
+import de.soderer.utilities.Utilities;
+import de.soderer.utilities.zip.ZipUtilities;
+
+/**
+ * Output file of an export including its optional compression
+ */
+public class ExportOutputFile {
+	private final String filePath;
+	private final String dataFileExtension;
+	private final CompressionType compression;
+	private final char[] zipPassword;
+	private final boolean useZipCrypto;
+	private final int compressionThreads;
+	private final int zstdLevel;
+
+	private OutputStream outputStream = null;
+	private CountingOutputStream uncompressedDataCounter = null;
+	private CountingOutputStream compressedDataCounter = null;
+
+	/**
+	 * @param compressionThreads
+	 *            number of threads for GZIP compression (GZ, TARGZ, TGZ), 1 for single threaded standard compression
+	 * @param zstdLevel
+	 *            level of ZSTD compression
+	 */
+	public ExportOutputFile(final String filePath, final String dataFileExtension, final CompressionType compression, final char[] zipPassword, final boolean useZipCrypto, final int compressionThreads, final int zstdLevel) {
+		this.filePath = filePath;
+		this.dataFileExtension = dataFileExtension;
+		this.compression = compression;
+		this.zipPassword = zipPassword;
+		this.useZipCrypto = useZipCrypto;
+		this.compressionThreads = compressionThreads;
+		this.zstdLevel = zstdLevel;
+	}
+
+	/**
+	 * Add the data file extension and the compression file extension to an output file path, if they are missing
+	 */
+	public static String getFilePathWithExtensions(String outputFilePath, final String dataFileExtension, final CompressionType compression) {
+		if (compression == CompressionType.ZIP) {
+			if (!Utilities.endsWithIgnoreCase(outputFilePath, ".zip")) {
+				if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + dataFileExtension)) {
+					outputFilePath = outputFilePath + "." + dataFileExtension;
+				}
+
+				outputFilePath = outputFilePath + ".zip";
+			}
+		} else if (compression == CompressionType.TARGZ) {
+			if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tar.gz")) {
+				if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + dataFileExtension)) {
+					outputFilePath = outputFilePath + "." + dataFileExtension;
+				}
+
+				outputFilePath = outputFilePath + ".tar.gz";
+			}
+		} else if (compression == CompressionType.TGZ) {
+			if (!Utilities.endsWithIgnoreCase(outputFilePath, ".tgz")) {
+				if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + dataFileExtension)) {
+					outputFilePath = outputFilePath + "." + dataFileExtension;
+				}
+
+				outputFilePath = outputFilePath + ".tgz";
+			}
+		} else if (compression == CompressionType.GZ) {
+			if (!Utilities.endsWithIgnoreCase(outputFilePath, ".gz")) {
+				if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + dataFileExtension)) {
+					outputFilePath = outputFilePath + "." + dataFileExtension;
+				}
+
+				outputFilePath = outputFilePath + ".gz";
+			}
+		} else if (compression == CompressionType.ZSTD || compression == CompressionType.LZ4) {
+			if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + compression.getDefaultFileExtension())) {
+				if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + dataFileExtension)) {
+					outputFilePath = outputFilePath + "." + dataFileExtension;
+				}
+
+				outputFilePath = outputFilePath + "." + compression.getDefaultFileExtension();
+			}
+		} else if (!Utilities.endsWithIgnoreCase(outputFilePath, "." + dataFileExtension)) {
+			outputFilePath = outputFilePath + "." + dataFileExtension;
+		}
+		return outputFilePath;
+	}
+
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public File getFile() {
+		return new File(filePath);
+	}
+
+	public boolean isCompressed() {
+		return compression != null;
+	}
+
+	/**
+	 * Open the stream for the uncompressed export data
+	 */
+	public OutputStream open() throws Exception {
+		compressedDataCounter = new CountingOutputStream(new FileOutputStream(new File(filePath)));
+		if (compression == CompressionType.ZIP) {
+			String entryFileName = new File(filePath).getName();
+			entryFileName = entryFileName.substring(0, entryFileName.length() - 4);
+			if (!Utilities.endsWithIgnoreCase(entryFileName, "." + dataFileExtension)) {
+				entryFileName += "." + dataFileExtension;
+			}
+			if (zipPassword != null) {
+				outputStream = new EncryptedZipOutputStream(compressedDataCounter, entryFileName, zipPassword, useZipCrypto);
+			} else {
+				outputStream = ZipUtilities.openNewZipOutputStream(compressedDataCounter);
+				final ZipEntry entry = new ZipEntry(entryFileName);
+				entry.setTime(ZonedDateTime.now().toInstant().toEpochMilli());
+				((ZipOutputStream) outputStream).putNextEntry(entry);
+			}
+		} else if (compression == CompressionType.TARGZ || compression == CompressionType.TGZ) {
+			outputStream = new StreamingTarOutputStream(openGzipOutputStream(compressedDataCounter), getTarEntryFileName());
+		} else if (compression == CompressionType.GZ) {
+			outputStream = openGzipOutputStream(compressedDataCounter);
+		} else if (compression == CompressionType.ZSTD) {
+			outputStream = CompressionUtilities.openZstdOutputStream(compressedDataCounter, zstdLevel);
+		} else if (compression == CompressionType.LZ4) {
+			outputStream = CompressionUtilities.openLz4OutputStream(compressedDataCounter);
+		} else {
+			outputStream = compressedDataCounter;
+		}
+		uncompressedDataCounter = new CountingOutputStream(outputStream);
+		outputStream = uncompressedDataCounter;
+		return outputStream;
+	}
+
+	/**
+	 * Number of bytes of the export data before compression
+	 */
+	public long getUncompressedSize() {
+		return uncompressedDataCounter == null ? 0 : uncompressedDataCounter.getByteCount();
+	}
+
+	/**
+	 * Number of bytes written into the output file
+	 */
+	public long getCompressedSize() {
+		return compressedDataCounter == null ? 0 : compressedDataCounter.getByteCount();
+	}
+
+	/**
+	 * Close the output stream, if it was not already closed by the data writer
+	 */
+	public void close() {
+		Utilities.closeQuietly(outputStream);
+	}
+
+	/**
+	 * Complete the output file after the data was written
+	 */
+	public void finish() throws Exception {
+		// Errors on close of the compressing streams must not get lost, even if the data writer ignored them
+		if (outputStream != null) {
+			outputStream.close();
+		}
+	}
+
+	private OutputStream openGzipOutputStream(final OutputStream fileOutputStream) throws IOException {
+		if (compressionThreads > 1) {
+			return new ParallelGzipOutputStream(fileOutputStream, compressionThreads);
+		} else {
+			return new GZIPOutputStream(fileOutputStream);
+		}
+	}
+
+	private String getTarEntryFileName() {
+		final String entryFileName = new File(filePath).getName();
+		if (entryFileName.toLowerCase().endsWith(".tar.gz")) {
+			return entryFileName.substring(0, entryFileName.length() - 7);
+		} else if (entryFileName.toLowerCase().endsWith(".tgz")) {
+			return entryFileName.substring(0, entryFileName.length() - 4);
+		} else {
+			return entryFileName;
+		}
+	}
+}
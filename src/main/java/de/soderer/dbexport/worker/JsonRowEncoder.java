@@ -0,0 +1,379 @@
+package de.soderer.dbexport.worker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.output.WriterOutputStream;
+
+/**
+ * Writer of JSON objects or value arrays for the rows of an export, either as elements of one JSON array or as JSON Lines with one object per line.
+ * The property names are escaped and UTF-8 encoded only once, and all values are encoded directly into one reusable byte buffer,
+ * so writing a row creates no intermediate objects for strings and integral numbers.
+ */
+public class JsonRowEncoder implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** Number of characters of a string value encoded with a single check of the free buffer space */
+	private static final int STRING_CHUNK_SIZE = 1024;
+
+	/** Maximum number of bytes of one encoded character ("\\u001f") */
+	private static final int MAXIMUM_BYTES_PER_CHAR = 6;
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] TRUE_BYTES = "true".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] FALSE_BYTES = "false".getBytes(StandardCharsets.US_ASCII);
+
+	/** Escape character for each ASCII character, 0 for no escape, 'u' for a unicode escape sequence */
+	private static final byte[] ASCII_ESCAPES = new byte[128];
+	static {
+		for (int i = 0; i < 0x20; i++) {
+			ASCII_ESCAPES[i] = 'u';
+		}
+		ASCII_ESCAPES['"'] = '"';
+		ASCII_ESCAPES['\\'] = '\\';
+		ASCII_ESCAPES['\n'] = 'n';
+		ASCII_ESCAPES['\r'] = 'r';
+		ASCII_ESCAPES['\t'] = 't';
+		ASCII_ESCAPES['\b'] = 'b';
+		ASCII_ESCAPES['\f'] = 'f';
+	}
+
+	private final OutputStream outputStream;
+	private final String indentation;
+	private final boolean escapeSlash;
+
+	/** Line breaks and indentations of beautified output */
+	private byte[] elementIndentation = null;
+	private byte[] propertyIndentation = null;
+	private byte[] arrayEndIndentation = null;
+
+	/** Escaped and encoded property names including their quotes and the following colon */
+	private byte[][] propertyPrefixes = new byte[0][];
+
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	private int bufferPosition = 0;
+	private boolean inArray = false;
+	private long elementCount = 0;
+	private boolean inValueArray = false;
+	private int propertyIndex = 0;
+
+	/**
+	 * @param outputStream
+	 * @param encoding
+	 *            Output encoding. Other encodings than UTF-8 are converted after encoding.
+	 * @param indentation
+	 *            Indentation of beautified output, or null for compact output
+	 * @param escapeSlash
+	 *            Escape '/' as "\/" (optional in JSON, but may be needed for embedding in html)
+	 */
+	public JsonRowEncoder(final OutputStream outputStream, final Charset encoding, final String indentation, final boolean escapeSlash) throws IOException {
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			this.outputStream = outputStream;
+		} else {
+			this.outputStream = WriterOutputStream.builder().setWriter(new OutputStreamWriter(outputStream, encoding)).setCharset(StandardCharsets.UTF_8).get();
+		}
+		this.indentation = indentation;
+		this.escapeSlash = escapeSlash;
+	}
+
+	/**
+	 * Set the property names of the following objects in the order of their values
+	 */
+	public void setPropertyNames(final List<String> propertyNames) throws IOException {
+		// The names are encoded by the same methods as the values, but into a buffer of their own
+		final byte[] outputBuffer = buffer;
+		final int outputBufferPosition = bufferPosition;
+		try {
+			propertyPrefixes = new byte[propertyNames.size()][];
+			for (int i = 0; i < propertyNames.size(); i++) {
+				buffer = new byte[(propertyNames.get(i).length() + 2) * MAXIMUM_BYTES_PER_CHAR + 2];
+				bufferPosition = 0;
+				writeStringValue(propertyNames.get(i));
+				writeByte((byte) ':');
+				if (indentation != null) {
+					writeByte((byte) ' ');
+				}
+				propertyPrefixes[i] = Arrays.copyOf(buffer, bufferPosition);
+			}
+		} finally {
+			buffer = outputBuffer;
+			bufferPosition = outputBufferPosition;
+		}
+	}
+
+	/**
+	 * Start a JSON array for the following objects or value arrays. Without an array, each of them is written in a line of its own.
+	 */
+	public void startArray() throws IOException {
+		startArray(1);
+	}
+
+	/**
+	 * Start a JSON array for the following objects or value arrays
+	 *
+	 * @param indentationLevel
+	 *            Indentation level of the array elements in beautified output
+	 */
+	public void startArray(final int indentationLevel) throws IOException {
+		if (indentation != null) {
+			elementIndentation = ("\n" + indentation.repeat(indentationLevel)).getBytes(StandardCharsets.UTF_8);
+			propertyIndentation = ("\n" + indentation.repeat(indentationLevel + 1)).getBytes(StandardCharsets.UTF_8);
+			arrayEndIndentation = ("\n" + indentation.repeat(indentationLevel - 1)).getBytes(StandardCharsets.UTF_8);
+		}
+		writeByte((byte) '[');
+		inArray = true;
+		elementCount = 0;
+	}
+
+	public void endArray() throws IOException {
+		if (arrayEndIndentation != null && elementCount > 0) {
+			writeBytes(arrayEndIndentation);
+		}
+		writeByte((byte) ']');
+		inArray = false;
+	}
+
+	public void startObject() throws IOException {
+		startElement();
+		writeByte((byte) '{');
+		inValueArray = false;
+		propertyIndex = 0;
+	}
+
+	public void endObject() throws IOException {
+		if (elementIndentation != null && propertyIndex > 0) {
+			writeBytes(elementIndentation);
+		}
+		writeByte((byte) '}');
+		endElement();
+	}
+
+	/**
+	 * Start an array of the values of a row without property names
+	 */
+	public void startValueArray() throws IOException {
+		startElement();
+		writeByte((byte) '[');
+		inValueArray = true;
+		propertyIndex = 0;
+	}
+
+	public void endValueArray() throws IOException {
+		writeByte((byte) ']');
+		endElement();
+	}
+
+	/**
+	 * Write JSON text, which is already escaped, like the enclosing structure of the rows
+	 */
+	public void writeRaw(final String jsonText) throws IOException {
+		writeBytes(jsonText.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Write an escaped and quoted JSON string outside of the rows
+	 */
+	public void writeStringLiteral(final CharSequence value) throws IOException {
+		writeStringValue(value);
+	}
+
+	public void writeNull() throws IOException {
+		startProperty();
+		writeBytes(NULL_BYTES);
+	}
+
+	public void writeBoolean(final boolean value) throws IOException {
+		startProperty();
+		writeBytes(value ? TRUE_BYTES : FALSE_BYTES);
+	}
+
+	public void writeNumber(final Number value) throws IOException {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			startProperty();
+			writeLongValue(value.longValue());
+		} else if ((value instanceof Double && !Double.isFinite(value.doubleValue())) || (value instanceof Float && !Float.isFinite(value.floatValue()))) {
+			// NaN and Infinity are no valid JSON numbers
+			writeString(value.toString());
+		} else {
+			startProperty();
+			writeAsciiValue(value.toString());
+		}
+	}
+
+	public void writeString(final CharSequence value) throws IOException {
+		startProperty();
+		writeStringValue(value);
+	}
+
+	public void flush() throws IOException {
+		flushBuffer();
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		flushBuffer();
+		outputStream.close();
+	}
+
+	private void startElement() throws IOException {
+		if (inArray) {
+			if (elementCount > 0) {
+				writeByte((byte) ',');
+			}
+			if (elementIndentation != null) {
+				writeBytes(elementIndentation);
+			}
+		}
+	}
+
+	private void endElement() throws IOException {
+		if (!inArray) {
+			writeByte((byte) '\n');
+		}
+		elementCount++;
+	}
+
+	private void startProperty() throws IOException {
+		if (inValueArray) {
+			if (propertyIndex > 0) {
+				writeByte((byte) ',');
+				if (indentation != null) {
+					writeByte((byte) ' ');
+				}
+			}
+			propertyIndex++;
+		} else {
+			if (propertyIndex > 0) {
+				writeByte((byte) ',');
+			}
+			if (propertyIndentation != null) {
+				writeBytes(propertyIndentation);
+			}
+			writeBytes(propertyPrefixes[propertyIndex++]);
+		}
+	}
+
+	private void writeStringValue(final CharSequence value) throws IOException {
+		writeByte((byte) '"');
+		final int length = value.length();
+		int charIndex = 0;
+		while (charIndex < length) {
+			final int chunkEnd = Math.min(length, charIndex + STRING_CHUNK_SIZE);
+			// One more char for a surrogate pair at the end of the chunk
+			ensureCapacity((chunkEnd - charIndex + 1) * MAXIMUM_BYTES_PER_CHAR);
+			final byte[] output = buffer;
+			int position = bufferPosition;
+			for (; charIndex < chunkEnd; charIndex++) {
+				final char nextChar = value.charAt(charIndex);
+				if (nextChar < 0x80) {
+					// Fast path for ASCII characters
+					final byte escape = nextChar == '/' && escapeSlash ? (byte) '/' : ASCII_ESCAPES[nextChar];
+					if (escape == 0) {
+						output[position++] = (byte) nextChar;
+					} else if (escape == 'u') {
+						output[position++] = '\\';
+						output[position++] = 'u';
+						output[position++] = '0';
+						output[position++] = '0';
+						output[position++] = HEX_DIGITS[nextChar >> 4];
+						output[position++] = HEX_DIGITS[nextChar & 0xF];
+					} else {
+						output[position++] = '\\';
+						output[position++] = escape;
+					}
+				} else if (nextChar < 0x800) {
+					output[position++] = (byte) (0xC0 | (nextChar >> 6));
+					output[position++] = (byte) (0x80 | (nextChar & 0x3F));
+				} else if (Character.isSurrogate(nextChar)) {
+					if (Character.isHighSurrogate(nextChar) && charIndex + 1 < length && Character.isLowSurrogate(value.charAt(charIndex + 1))) {
+						final int codePoint = Character.toCodePoint(nextChar, value.charAt(++charIndex));
+						output[position++] = (byte) (0xF0 | (codePoint >> 18));
+						output[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+						output[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+						output[position++] = (byte) (0x80 | (codePoint & 0x3F));
+					} else {
+						// Unpaired surrogates are replaced like in String.getBytes()
+						output[position++] = '?';
+					}
+				} else {
+					output[position++] = (byte) (0xE0 | (nextChar >> 12));
+					output[position++] = (byte) (0x80 | ((nextChar >> 6) & 0x3F));
+					output[position++] = (byte) (0x80 | (nextChar & 0x3F));
+				}
+			}
+			bufferPosition = position;
+		}
+		writeByte((byte) '"');
+	}
+
+	/**
+	 * Write a value, which contains only ASCII characters without need of escaping, like a formatted number
+	 */
+	private void writeAsciiValue(final String value) throws IOException {
+		final int length = value.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			buffer[bufferPosition++] = (byte) value.charAt(i);
+		}
+	}
+
+	private void writeLongValue(final long value) throws IOException {
+		if (value == Long.MIN_VALUE) {
+			writeAsciiValue(Long.toString(value));
+		} else {
+			ensureCapacity(20);
+			long remainingValue = value;
+			if (remainingValue < 0) {
+				buffer[bufferPosition++] = '-';
+				remainingValue = -remainingValue;
+			}
+			final int digitsStart = bufferPosition;
+			do {
+				buffer[bufferPosition++] = (byte) ('0' + (remainingValue % 10));
+				remainingValue /= 10;
+			} while (remainingValue > 0);
+
+			// Digits were written in reverse order
+			for (int left = digitsStart, right = bufferPosition - 1; left < right; left++, right--) {
+				final byte digit = buffer[left];
+				buffer[left] = buffer[right];
+				buffer[right] = digit;
+			}
+		}
+	}
+
+	private void writeByte(final byte value) throws IOException {
+		ensureCapacity(1);
+		buffer[bufferPosition++] = value;
+	}
+
+	private void writeBytes(final byte[] value) throws IOException {
+		ensureCapacity(value.length);
+		System.arraycopy(value, 0, buffer, bufferPosition, value.length);
+		bufferPosition += value.length;
+	}
+
+	private void ensureCapacity(final int neededBytes) throws IOException {
+		if (bufferPosition + neededBytes > buffer.length) {
+			flushBuffer();
+			if (neededBytes > buffer.length) {
+				buffer = new byte[neededBytes];
+			}
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (bufferPosition > 0) {
+			outputStream.write(buffer, 0, bufferPosition);
+			bufferPosition = 0;
+		}
+	}
+}
@@ -0,0 +1,503 @@
+package de.soderer.dbexport.worker;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPOutputStream;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Writer of a KeePass database file in KDBX 3.1 format (AES-256 encryption, AES key derivation, gzip compression),
+ * which writes each entry directly into the encrypted output instead of collecting all entries in memory.
+ * The values of the "Password" fields are protected by the inner Salsa20 stream like in KeePass.
+ */
+public class KdbxRowEncoder implements Closeable {
+	private static final int KDBX_SIGNATURE_1 = 0x9AA2D903;
+	private static final int KDBX_SIGNATURE_2 = 0xB54BFB67;
+	private static final int KDBX_VERSION_3_1 = 0x00030001;
+
+	private static final byte HEADER_END = 0;
+	private static final byte HEADER_CIPHER_ID = 2;
+	private static final byte HEADER_COMPRESSION_FLAGS = 3;
+	private static final byte HEADER_MASTER_SEED = 4;
+	private static final byte HEADER_TRANSFORM_SEED = 5;
+	private static final byte HEADER_TRANSFORM_ROUNDS = 6;
+	private static final byte HEADER_ENCRYPTION_IV = 7;
+	private static final byte HEADER_PROTECTED_STREAM_KEY = 8;
+	private static final byte HEADER_STREAM_START_BYTES = 9;
+	private static final byte HEADER_INNER_RANDOM_STREAM_ID = 10;
+
+	/** UUID of the AES-256 cipher (31c1f2e6-bf71-4350-be58-05216afc5aff) */
+	private static final byte[] AES_CIPHER_ID = new byte[] { 0x31, (byte) 0xC1, (byte) 0xF2, (byte) 0xE6, (byte) 0xBF, 0x71, 0x43, 0x50, (byte) 0xBE, 0x58, 0x05, 0x21, 0x6A, (byte) 0xFC, 0x5A, (byte) 0xFF };
+	private static final int COMPRESSION_GZIP = 1;
+	private static final int INNER_RANDOM_STREAM_SALSA20 = 2;
+	private static final byte[] SALSA20_NONCE = new byte[] { (byte) 0xE8, 0x30, 0x09, 0x4B, (byte) 0x97, 0x20, 0x5D, 0x2A };
+
+	/** Number of rounds of the AES key derivation */
+	public static final long DEFAULT_TRANSFORM_ROUNDS = 60000;
+
+	private static final int HASHED_BLOCK_SIZE = 1024 * 1024;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** Names of the standard fields of KeePass, which are used for columns with the same name in any case */
+	private static final String[] STANDARD_FIELD_NAMES = new String[] { "Title", "UserName", "Password", "URL", "Notes" };
+	private static final String PASSWORD_FIELD_NAME = "Password";
+
+	private final OutputStream outputStream;
+	private final char[] password;
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	private Writer xmlWriter = null;
+	private Salsa20 protectedValueStream = null;
+
+	/** Rendered start of the field of each column up to the start tag of its value */
+	private String[] fieldStarts = new String[0];
+	private boolean[] protectedFields = new boolean[0];
+	private String entryTimes = null;
+
+	private final StringBuilder entryBuffer = new StringBuilder(1024);
+	private char[] outputBuffer = new char[1024];
+	private int columnIndex = 0;
+
+	public KdbxRowEncoder(final OutputStream outputStream, final char[] password) {
+		this.outputStream = outputStream;
+		this.password = password;
+	}
+
+	/**
+	 * Set the column names of the following entries in the order of their values
+	 */
+	public void setColumnNames(final List<String> columnNames) {
+		fieldStarts = new String[columnNames.size()];
+		protectedFields = new boolean[columnNames.size()];
+		for (int i = 0; i < columnNames.size(); i++) {
+			final String fieldName = getFieldName(columnNames.get(i));
+			protectedFields[i] = PASSWORD_FIELD_NAME.equals(fieldName);
+
+			entryBuffer.setLength(0);
+			entryBuffer.append("\n\t\t\t\t<String><Key>");
+			appendEscaped(fieldName);
+			entryBuffer.append(protectedFields[i] ? "</Key><Value Protected=\"True\">" : "</Key><Value>");
+			fieldStarts[i] = entryBuffer.toString();
+		}
+		entryBuffer.setLength(0);
+	}
+
+	/**
+	 * Name of the entry field of a column, which is the KeePass standard field for a column with the same name in any case
+	 */
+	public static String getFieldName(final String columnName) {
+		for (final String standardFieldName : STANDARD_FIELD_NAMES) {
+			if (standardFieldName.equalsIgnoreCase(columnName)) {
+				return standardFieldName;
+			}
+		}
+		return columnName;
+	}
+
+	/**
+	 * Write the file header, the database metadata and the start of the group, which contains the following entries
+	 */
+	public void startDatabase(final String groupName) throws Exception {
+		final byte[] masterSeed = createRandomBytes(32);
+		final byte[] transformSeed = createRandomBytes(32);
+		final byte[] encryptionIV = createRandomBytes(16);
+		final byte[] protectedStreamKey = createRandomBytes(32);
+		final byte[] streamStartBytes = createRandomBytes(32);
+
+		final ByteArrayOutputStream header = new ByteArrayOutputStream();
+		header.write(littleEndian(4).putInt(KDBX_SIGNATURE_1).array());
+		header.write(littleEndian(4).putInt(KDBX_SIGNATURE_2).array());
+		header.write(littleEndian(4).putInt(KDBX_VERSION_3_1).array());
+		writeHeaderField(header, HEADER_CIPHER_ID, AES_CIPHER_ID);
+		writeHeaderField(header, HEADER_COMPRESSION_FLAGS, littleEndian(4).putInt(COMPRESSION_GZIP).array());
+		writeHeaderField(header, HEADER_MASTER_SEED, masterSeed);
+		writeHeaderField(header, HEADER_TRANSFORM_SEED, transformSeed);
+		writeHeaderField(header, HEADER_TRANSFORM_ROUNDS, littleEndian(8).putLong(DEFAULT_TRANSFORM_ROUNDS).array());
+		writeHeaderField(header, HEADER_ENCRYPTION_IV, encryptionIV);
+		writeHeaderField(header, HEADER_PROTECTED_STREAM_KEY, protectedStreamKey);
+		writeHeaderField(header, HEADER_STREAM_START_BYTES, streamStartBytes);
+		writeHeaderField(header, HEADER_INNER_RANDOM_STREAM_ID, littleEndian(4).putInt(INNER_RANDOM_STREAM_SALSA20).array());
+		writeHeaderField(header, HEADER_END, new byte[] { '\r', '\n', '\r', '\n' });
+		final byte[] headerBytes = header.toByteArray();
+		outputStream.write(headerBytes);
+
+		final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+		sha256.update(masterSeed);
+		sha256.update(transformKey(transformSeed, DEFAULT_TRANSFORM_ROUNDS));
+		final byte[] masterKey = sha256.digest();
+
+		final Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(masterKey, "AES"), new IvParameterSpec(encryptionIV));
+		Arrays.fill(masterKey, (byte) 0);
+		final CipherOutputStream encryptedStream = new CipherOutputStream(new NotClosingOutputStream(outputStream), cipher);
+		encryptedStream.write(streamStartBytes);
+		final GZIPOutputStream compressedStream = new GZIPOutputStream(new HashedBlockOutputStream(encryptedStream), BUFFER_SIZE);
+		xmlWriter = new BufferedWriter(new OutputStreamWriter(compressedStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+		protectedValueStream = new Salsa20(MessageDigest.getInstance("SHA-256").digest(protectedStreamKey), SALSA20_NONCE);
+
+		final String now = DateTimeFormatter.ISO_INSTANT.format(ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS));
+		entryTimes = "\n\t\t\t\t<Times>"
+				+ "<CreationTime>" + now + "</CreationTime>"
+				+ "<LastModificationTime>" + now + "</LastModificationTime>"
+				+ "<LastAccessTime>" + now + "</LastAccessTime>"
+				+ "<ExpiryTime>" + now + "</ExpiryTime>"
+				+ "<Expires>False</Expires>"
+				+ "<UsageCount>0</UsageCount>"
+				+ "<LocationChanged>" + now + "</LocationChanged>"
+				+ "</Times>";
+
+		entryBuffer.setLength(0);
+		entryBuffer.append("<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"yes\"?>\n"
+				+ "<KeePassFile>\n"
+				+ "\t<Meta>\n"
+				+ "\t\t<Generator>DbExport</Generator>\n"
+				+ "\t\t<HeaderHash>" + Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(headerBytes)) + "</HeaderHash>\n"
+				+ "\t\t<DatabaseName>");
+		appendEscaped(groupName);
+		entryBuffer.append("</DatabaseName>\n"
+				+ "\t\t<MemoryProtection><ProtectTitle>False</ProtectTitle><ProtectUserName>False</ProtectUserName><ProtectPassword>True</ProtectPassword><ProtectURL>False</ProtectURL><ProtectNotes>False</ProtectNotes></MemoryProtection>\n"
+				+ "\t</Meta>\n"
+				+ "\t<Root>\n"
+				+ "\t\t<Group>\n"
+				+ "\t\t\t<UUID>" + createUuid() + "</UUID>\n"
+				+ "\t\t\t<Name>");
+		appendEscaped(groupName);
+		entryBuffer.append("</Name>");
+		writeEntryBuffer();
+	}
+
+	public void startEntry() {
+		entryBuffer.setLength(0);
+		entryBuffer.append("\n\t\t\t<Entry>\n\t\t\t\t<UUID>").append(createUuid()).append("</UUID>");
+		entryBuffer.append(entryTimes);
+		columnIndex = 0;
+	}
+
+	/**
+	 * Write the value of the next column as field of the current entry
+	 */
+	public void writeValue(final String value) {
+		entryBuffer.append(fieldStarts[columnIndex]);
+		if (protectedFields[columnIndex]) {
+			final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+			protectedValueStream.xor(valueBytes);
+			entryBuffer.append(Base64.getEncoder().encodeToString(valueBytes));
+		} else {
+			appendEscaped(value);
+		}
+		entryBuffer.append("</Value></String>");
+		columnIndex++;
+	}
+
+	/**
+	 * Skip the next column, so that the current entry has no field for it
+	 */
+	public void skipValue() {
+		columnIndex++;
+	}
+
+	public void endEntry() throws IOException {
+		entryBuffer.append("\n\t\t\t</Entry>");
+		writeEntryBuffer();
+	}
+
+	/**
+	 * Write the end of the group and the database
+	 */
+	public void endDatabase() throws IOException {
+		entryBuffer.setLength(0);
+		entryBuffer.append("\n\t\t</Group>\n"
+				+ "\t\t<DeletedObjects />\n"
+				+ "\t</Root>\n"
+				+ "</KeePassFile>\n");
+		writeEntryBuffer();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (xmlWriter != null) {
+			// Closes the compression, the hashed blocks and the encryption, but not the output stream itself
+			xmlWriter.close();
+			xmlWriter = null;
+		}
+		outputStream.close();
+	}
+
+	private void writeEntryBuffer() throws IOException {
+		final int entryLength = entryBuffer.length();
+		if (outputBuffer.length < entryLength) {
+			outputBuffer = new char[Math.max(entryLength, outputBuffer.length * 2)];
+		}
+		entryBuffer.getChars(0, entryLength, outputBuffer, 0);
+		xmlWriter.write(outputBuffer, 0, entryLength);
+	}
+
+	private void appendEscaped(final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			final char nextChar = value.charAt(i);
+			switch (nextChar) {
+				case '&':
+					entryBuffer.append("&amp;");
+					break;
+				case '<':
+					entryBuffer.append("&lt;");
+					break;
+				case '>':
+					entryBuffer.append("&gt;");
+					break;
+				case '"':
+					entryBuffer.append("&quot;");
+					break;
+				case '\r':
+					entryBuffer.append("&#13;");
+					break;
+				default:
+					if (nextChar < 0x20 && nextChar != '\n' && nextChar != '\t') {
+						// Not allowed in XML 1.0, not even as character reference
+						entryBuffer.append('?');
+					} else {
+						entryBuffer.append(nextChar);
+					}
+			}
+		}
+	}
+
+	/**
+	 * Derive the key of the password by the AES key derivation of KDBX 3.1
+	 */
+	private byte[] transformKey(final byte[] transformSeed, final long rounds) throws Exception {
+		final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+		final ByteBuffer passwordBuffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+		final byte[] passwordBytes = new byte[passwordBuffer.remaining()];
+		passwordBuffer.get(passwordBytes);
+		final byte[] passwordHash = sha256.digest(passwordBytes);
+		Arrays.fill(passwordBytes, (byte) 0);
+		if (passwordBuffer.hasArray()) {
+			Arrays.fill(passwordBuffer.array(), (byte) 0);
+		}
+
+		// The composite key of a password only is the hash of the password hash
+		final byte[] transformedKey = sha256.digest(passwordHash);
+		Arrays.fill(passwordHash, (byte) 0);
+
+		final Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(transformSeed, "AES"));
+		for (long round = 0; round < rounds; round++) {
+			cipher.update(transformedKey, 0, transformedKey.length, transformedKey, 0);
+		}
+		final byte[] transformedKeyHash = sha256.digest(transformedKey);
+		Arrays.fill(transformedKey, (byte) 0);
+		return transformedKeyHash;
+	}
+
+	private byte[] createRandomBytes(final int length) {
+		final byte[] randomBytes = new byte[length];
+		secureRandom.nextBytes(randomBytes);
+		return randomBytes;
+	}
+
+	private static String createUuid() {
+		// Unique identifiers need no secure random
+		final ByteBuffer uuidBytes = ByteBuffer.allocate(16);
+		uuidBytes.putLong(ThreadLocalRandom.current().nextLong());
+		uuidBytes.putLong(ThreadLocalRandom.current().nextLong());
+		return Base64.getEncoder().encodeToString(uuidBytes.array());
+	}
+
+	private static ByteBuffer littleEndian(final int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void writeHeaderField(final ByteArrayOutputStream header, final byte fieldId, final byte[] data) throws IOException {
+		header.write(fieldId);
+		header.write(littleEndian(2).putShort((short) data.length).array());
+		header.write(data);
+	}
+
+	/**
+	 * Stream of the blocks of the KDBX 3.1 payload, each with its index, its SHA-256 hash and its length, ended by an empty block
+	 */
+	private static class HashedBlockOutputStream extends OutputStream {
+		private final OutputStream outputStream;
+		private final MessageDigest sha256;
+		private final byte[] block = new byte[HASHED_BLOCK_SIZE];
+		private int blockPosition = 0;
+		private int blockIndex = 0;
+
+		public HashedBlockOutputStream(final OutputStream outputStream) throws Exception {
+			this.outputStream = outputStream;
+			sha256 = MessageDigest.getInstance("SHA-256");
+		}
+
+		@Override
+		public void write(final int value) throws IOException {
+			if (blockPosition == block.length) {
+				writeBlock();
+			}
+			block[blockPosition++] = (byte) value;
+		}
+
+		@Override
+		public void write(final byte[] data, final int offset, final int length) throws IOException {
+			int dataPosition = offset;
+			final int dataEnd = offset + length;
+			while (dataPosition < dataEnd) {
+				if (blockPosition == block.length) {
+					writeBlock();
+				}
+				final int bytesToCopy = Math.min(block.length - blockPosition, dataEnd - dataPosition);
+				System.arraycopy(data, dataPosition, block, blockPosition, bytesToCopy);
+				blockPosition += bytesToCopy;
+				dataPosition += bytesToCopy;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (blockPosition > 0) {
+				writeBlock();
+			}
+			// The final block is empty and has an empty hash
+			outputStream.write(littleEndian(4).putInt(blockIndex).array());
+			outputStream.write(new byte[32]);
+			outputStream.write(littleEndian(4).putInt(0).array());
+			outputStream.close();
+		}
+
+		private void writeBlock() throws IOException {
+			outputStream.write(littleEndian(4).putInt(blockIndex++).array());
+			sha256.update(block, 0, blockPosition);
+			outputStream.write(sha256.digest());
+			outputStream.write(littleEndian(4).putInt(blockPosition).array());
+			outputStream.write(block, 0, blockPosition);
+			blockPosition = 0;
+		}
+	}
+
+	/**
+	 * Stream, which leaves the underlying stream open on close, so that it is closed only once by its owner
+	 */
+	private static class NotClosingOutputStream extends OutputStream {
+		private final OutputStream outputStream;
+
+		public NotClosingOutputStream(final OutputStream outputStream) {
+			this.outputStream = outputStream;
+		}
+
+		@Override
+		public void write(final int value) throws IOException {
+			outputStream.write(value);
+		}
+
+		@Override
+		public void write(final byte[] data, final int offset, final int length) throws IOException {
+			outputStream.write(data, offset, length);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			outputStream.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			outputStream.flush();
+		}
+	}
+
+	/**
+	 * Salsa20 key stream, which protects the values of the password fields in the XML data
+	 */
+	private static class Salsa20 {
+		private final int[] state = new int[16];
+		private final int[] keyStreamWords = new int[16];
+		private final byte[] keyStreamBlock = new byte[64];
+		private int keyStreamPosition = 64;
+
+		public Salsa20(final byte[] key, final byte[] nonce) {
+			final ByteBuffer keyBuffer = ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN);
+			final ByteBuffer nonceBuffer = ByteBuffer.wrap(nonce).order(ByteOrder.LITTLE_ENDIAN);
+			// "expand 32-byte k"
+			state[0] = 0x61707865;
+			state[5] = 0x3320646E;
+			state[10] = 0x79622D32;
+			state[15] = 0x6B206574;
+			for (int i = 0; i < 4; i++) {
+				state[1 + i] = keyBuffer.getInt(i * 4);
+				state[11 + i] = keyBuffer.getInt(16 + i * 4);
+			}
+			state[6] = nonceBuffer.getInt(0);
+			state[7] = nonceBuffer.getInt(4);
+			// Block counter in state[8] and state[9]
+		}
+
+		public void xor(final byte[] data) {
+			for (int i = 0; i < data.length; i++) {
+				if (keyStreamPosition == 64) {
+					nextKeyStreamBlock();
+				}
+				data[i] ^= keyStreamBlock[keyStreamPosition++];
+			}
+		}
+
+		private void nextKeyStreamBlock() {
+			final int[] x = keyStreamWords;
+			System.arraycopy(state, 0, x, 0, 16);
+			for (int round = 0; round < 10; round++) {
+				// Column round
+				quarterRound(x, 0, 4, 8, 12);
+				quarterRound(x, 5, 9, 13, 1);
+				quarterRound(x, 10, 14, 2, 6);
+				quarterRound(x, 15, 3, 7, 11);
+				// Row round
+				quarterRound(x, 0, 1, 2, 3);
+				quarterRound(x, 5, 6, 7, 4);
+				quarterRound(x, 10, 11, 8, 9);
+				quarterRound(x, 15, 12, 13, 14);
+			}
+			for (int i = 0; i < 16; i++) {
+				final int word = x[i] + state[i];
+				keyStreamBlock[i * 4] = (byte) word;
+				keyStreamBlock[i * 4 + 1] = (byte) (word >>> 8);
+				keyStreamBlock[i * 4 + 2] = (byte) (word >>> 16);
+				keyStreamBlock[i * 4 + 3] = (byte) (word >>> 24);
+			}
+			state[8]++;
+			if (state[8] == 0) {
+				state[9]++;
+			}
+			keyStreamPosition = 0;
+		}
+
+		private static void quarterRound(final int[] x, final int a, final int b, final int c, final int d) {
+			x[b] ^= Integer.rotateLeft(x[a] + x[d], 7);
+			x[c] ^= Integer.rotateLeft(x[b] + x[a], 9);
+			x[d] ^= Integer.rotateLeft(x[c] + x[b], 13);
+			x[a] ^= Integer.rotateLeft(x[d] + x[c], 18);
+		}
+	}
+}
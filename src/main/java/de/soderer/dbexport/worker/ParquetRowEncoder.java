@@ -0,0 +1,719 @@
+package de.soderer.dbexport.worker;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.airlift.compress.Compressor;
+import io.airlift.compress.snappy.SnappyCompressor;
+import io.airlift.compress.zstd.ZstdCompressor;
+
+/**
+ * Writer of Apache Parquet files without the Hadoop based parquet libraries.
+ * The values of a row group are buffered in columnar form, each column already PLAIN encoded in its own byte buffer,
+ * and are written as one data page per column chunk, when the configured number of rows is reached.
+ * The file metadata is written in the thrift compact protocol at the end of the file.
+ * All columns are optional (nullable) and not nested, so there are definition levels but no repetition levels.
+ */
+public class ParquetRowEncoder implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+	public static final int DEFAULT_ROW_GROUP_SIZE = 100000;
+
+	public enum Codec {
+		NONE(0),
+		SNAPPY(1),
+		ZSTD(6);
+
+		/** Id of the codec in the parquet file metadata */
+		private final int id;
+
+		Codec(final int id) {
+			this.id = id;
+		}
+
+		public static Codec getFromString(final String codecString) {
+			for (final Codec codec : Codec.values()) {
+				if (codec.toString().equalsIgnoreCase(codecString)) {
+					return codec;
+				}
+			}
+			if ("uncompressed".equalsIgnoreCase(codecString)) {
+				return NONE;
+			}
+			throw new RuntimeException("Invalid parquet codec: " + codecString);
+		}
+	}
+
+	/**
+	 * Types of the exported columns, which are stored as parquet primitive types with a logical type annotation if needed
+	 */
+	public enum ColumnType {
+		BOOLEAN,
+		INT32,
+		INT64,
+		DOUBLE,
+		/** Unscaled value as INT32, INT64 or FIXED_LEN_BYTE_ARRAY depending on the precision */
+		DECIMAL,
+		/** Days since 1970-01-01 as INT32 */
+		DATE,
+		/** Microseconds since 1970-01-01T00:00:00 as INT64, not adjusted to UTC */
+		TIMESTAMP,
+		/** UTF-8 text as BYTE_ARRAY */
+		STRING,
+		BINARY
+	}
+
+	// Parquet primitive types
+	private static final int TYPE_BOOLEAN = 0;
+	private static final int TYPE_INT32 = 1;
+	private static final int TYPE_INT64 = 2;
+	private static final int TYPE_DOUBLE = 5;
+	private static final int TYPE_BYTE_ARRAY = 6;
+	private static final int TYPE_FIXED_LEN_BYTE_ARRAY = 7;
+
+	// Parquet encodings
+	private static final int ENCODING_PLAIN = 0;
+	private static final int ENCODING_RLE = 3;
+
+	// Parquet converted types of the legacy schema annotation
+	private static final int CONVERTED_TYPE_UTF8 = 0;
+	private static final int CONVERTED_TYPE_DECIMAL = 5;
+	private static final int CONVERTED_TYPE_DATE = 6;
+
+	private static final int REPETITION_OPTIONAL = 1;
+	private static final int PAGE_TYPE_DATA_PAGE = 0;
+
+	private final OutputStream outputStream;
+	private final int rowGroupSize;
+	private final Codec codec;
+	private final Compressor compressor;
+	private final String createdBy;
+
+	private final List<ColumnBuffer> columns = new ArrayList<>();
+	private final List<RowGroupMetaData> rowGroups = new ArrayList<>();
+
+	/** Buffer for the uncompressed content of one data page */
+	private final ByteArrayBuffer pageBuffer = new ByteArrayBuffer(BUFFER_SIZE);
+	private final ThriftCompactWriter headerWriter = new ThriftCompactWriter();
+	private byte[] compressedPage = new byte[0];
+
+	private long filePosition = 0;
+	private long totalRowCount = 0;
+	private int rowCount = 0;
+	private int columnIndex = 0;
+
+	public ParquetRowEncoder(final OutputStream outputStream, final int rowGroupSize, final Codec codec, final String createdBy) {
+		this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+		this.rowGroupSize = rowGroupSize;
+		this.codec = codec;
+		if (codec == Codec.SNAPPY) {
+			compressor = new SnappyCompressor();
+		} else if (codec == Codec.ZSTD) {
+			compressor = new ZstdCompressor();
+		} else {
+			compressor = null;
+		}
+		this.createdBy = createdBy;
+	}
+
+	/**
+	 * Add the next column of the file schema
+	 *
+	 * @param precision
+	 *            Precision of a DECIMAL column, at most 38 digits
+	 * @param scale
+	 *            Scale of a DECIMAL column
+	 */
+	public void addColumn(final String name, final ColumnType columnType, final int precision, final int scale) {
+		columns.add(new ColumnBuffer(name, columnType, precision, scale, rowGroupSize));
+	}
+
+	public void startFile() throws IOException {
+		write(MAGIC, 0, MAGIC.length);
+	}
+
+	public void startRow() {
+		columnIndex = 0;
+	}
+
+	public void writeNull() {
+		columnIndex++;
+	}
+
+	public void writeBoolean(final boolean value) {
+		final ColumnBuffer column = nextValueColumn();
+		if (value) {
+			column.values.bitBuffer |= 1 << column.values.bitCount;
+		}
+		if (++column.values.bitCount == 8) {
+			column.values.flushBits();
+		}
+	}
+
+	public void writeInt(final int value) {
+		nextValueColumn().values.writeIntLittleEndian(value);
+	}
+
+	public void writeLong(final long value) {
+		nextValueColumn().values.writeLongLittleEndian(value);
+	}
+
+	public void writeDouble(final double value) {
+		nextValueColumn().values.writeLongLittleEndian(Double.doubleToLongBits(value));
+	}
+
+	public void writeDecimal(final BigDecimal value) {
+		final ColumnBuffer column = nextValueColumn();
+		final BigInteger unscaledValue = value.setScale(column.scale, RoundingMode.HALF_UP).unscaledValue();
+		if (column.physicalType == TYPE_INT32) {
+			column.values.writeIntLittleEndian(unscaledValue.intValueExact());
+		} else if (column.physicalType == TYPE_INT64) {
+			column.values.writeLongLittleEndian(unscaledValue.longValueExact());
+		} else {
+			// Two's complement in big endian byte order, sign extended to the fixed length
+			final byte[] unscaledBytes = unscaledValue.toByteArray();
+			if (unscaledBytes.length > column.typeLength) {
+				throw new ArithmeticException("Decimal value exceeds precision " + column.precision + ": " + value);
+			}
+			final byte signExtension = (byte) (unscaledValue.signum() < 0 ? 0xFF : 0);
+			for (int i = unscaledBytes.length; i < column.typeLength; i++) {
+				column.values.write(signExtension);
+			}
+			column.values.write(unscaledBytes, 0, unscaledBytes.length);
+		}
+	}
+
+	public void writeDate(final LocalDate value) {
+		nextValueColumn().values.writeIntLittleEndian(Math.toIntExact(value.toEpochDay()));
+	}
+
+	public void writeTimestamp(final LocalDateTime value) {
+		nextValueColumn().values.writeLongLittleEndian(value.toEpochSecond(ZoneOffset.UTC) * 1000000L + value.getNano() / 1000);
+	}
+
+	public void writeString(final String value) {
+		writeBytes(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public void writeBytes(final byte[] value) {
+		final ByteArrayBuffer values = nextValueColumn().values;
+		values.writeIntLittleEndian(value.length);
+		values.write(value, 0, value.length);
+	}
+
+	public void endRow() throws IOException {
+		rowCount++;
+		if (rowCount >= rowGroupSize) {
+			writeRowGroup();
+		}
+	}
+
+	/**
+	 * Write the last row group and the file metadata
+	 */
+	public void endFile() throws IOException {
+		if (rowCount > 0) {
+			writeRowGroup();
+		}
+
+		final ThriftCompactWriter footerWriter = new ThriftCompactWriter();
+		writeFileMetaData(footerWriter);
+		write(footerWriter.buffer.data, 0, footerWriter.buffer.size);
+		final ByteArrayBuffer footerLength = new ByteArrayBuffer(4);
+		footerLength.writeIntLittleEndian(footerWriter.buffer.size);
+		write(footerLength.data, 0, footerLength.size);
+		write(MAGIC, 0, MAGIC.length);
+	}
+
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		outputStream.close();
+	}
+
+	private ColumnBuffer nextValueColumn() {
+		final ColumnBuffer column = columns.get(columnIndex++);
+		column.definitionLevels[rowCount >> 3] |= 1 << (rowCount & 7);
+		column.valueCount++;
+		return column;
+	}
+
+	private void writeRowGroup() throws IOException {
+		final RowGroupMetaData rowGroup = new RowGroupMetaData(rowCount, filePosition);
+		for (final ColumnBuffer column : columns) {
+			column.values.flushBits();
+
+			// Definition levels with bit width 1 in RLE / bit packed hybrid encoding, prefixed by their length
+			pageBuffer.reset();
+			pageBuffer.writeIntLittleEndian(0);
+			if (column.valueCount == rowCount || column.valueCount == 0) {
+				// Single RLE run
+				pageBuffer.writeUnsignedVarInt(rowCount << 1);
+				pageBuffer.write(column.valueCount == 0 ? 0 : 1);
+			} else {
+				// Single bit packed run of groups of 8 values
+				final int groupCount = (rowCount + 7) >> 3;
+				pageBuffer.writeUnsignedVarInt((groupCount << 1) | 1);
+				pageBuffer.write(column.definitionLevels, 0, groupCount);
+			}
+			final int definitionLevelsLength = pageBuffer.size - 4;
+			pageBuffer.data[0] = (byte) definitionLevelsLength;
+			pageBuffer.data[1] = (byte) (definitionLevelsLength >>> 8);
+			pageBuffer.data[2] = (byte) (definitionLevelsLength >>> 16);
+			pageBuffer.data[3] = (byte) (definitionLevelsLength >>> 24);
+
+			pageBuffer.write(column.values.data, 0, column.values.size);
+
+			final byte[] pageData;
+			final int pageDataLength;
+			if (compressor != null) {
+				final int maxCompressedLength = compressor.maxCompressedLength(pageBuffer.size);
+				if (compressedPage.length < maxCompressedLength) {
+					compressedPage = new byte[maxCompressedLength];
+				}
+				pageDataLength = compressor.compress(pageBuffer.data, 0, pageBuffer.size, compressedPage, 0, compressedPage.length);
+				pageData = compressedPage;
+			} else {
+				pageDataLength = pageBuffer.size;
+				pageData = pageBuffer.data;
+			}
+
+			headerWriter.reset();
+			writePageHeader(headerWriter, pageBuffer.size, pageDataLength);
+
+			final ColumnChunkMetaData columnChunk = new ColumnChunkMetaData(column, filePosition, rowCount, rowCount - column.valueCount);
+			columnChunk.totalUncompressedSize = headerWriter.buffer.size + pageBuffer.size;
+			columnChunk.totalCompressedSize = headerWriter.buffer.size + pageDataLength;
+			write(headerWriter.buffer.data, 0, headerWriter.buffer.size);
+			write(pageData, 0, pageDataLength);
+			rowGroup.columnChunks.add(columnChunk);
+			rowGroup.totalByteSize += columnChunk.totalUncompressedSize;
+			rowGroup.totalCompressedSize += columnChunk.totalCompressedSize;
+
+			column.reset((rowCount + 7) >> 3);
+		}
+		rowGroups.add(rowGroup);
+		totalRowCount += rowCount;
+		rowCount = 0;
+	}
+
+	private void write(final byte[] data, final int offset, final int length) throws IOException {
+		outputStream.write(data, offset, length);
+		filePosition += length;
+	}
+
+	private void writePageHeader(final ThriftCompactWriter writer, final int uncompressedPageSize, final int compressedPageSize) {
+		writer.writeI32Field(1, PAGE_TYPE_DATA_PAGE);
+		writer.writeI32Field(2, uncompressedPageSize);
+		writer.writeI32Field(3, compressedPageSize);
+		writer.writeStructFieldBegin(5);
+		// DataPageHeader, the number of values includes the null values
+		writer.writeI32Field(1, rowCount);
+		writer.writeI32Field(2, ENCODING_PLAIN);
+		writer.writeI32Field(3, ENCODING_RLE);
+		writer.writeI32Field(4, ENCODING_RLE);
+		writer.writeStructEnd();
+		writer.writeStructEnd();
+	}
+
+	private void writeFileMetaData(final ThriftCompactWriter writer) {
+		writer.writeI32Field(1, 1);
+
+		writer.writeListFieldBegin(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+		// Root of the schema
+		writer.writeListStructBegin();
+		writer.writeStringField(4, "schema");
+		writer.writeI32Field(5, columns.size());
+		writer.writeStructEnd();
+		for (final ColumnBuffer column : columns) {
+			writer.writeListStructBegin();
+			writer.writeI32Field(1, column.physicalType);
+			if (column.physicalType == TYPE_FIXED_LEN_BYTE_ARRAY) {
+				writer.writeI32Field(2, column.typeLength);
+			}
+			writer.writeI32Field(3, REPETITION_OPTIONAL);
+			writer.writeStringField(4, column.name);
+			switch (column.columnType) {
+				case STRING:
+					writer.writeI32Field(6, CONVERTED_TYPE_UTF8);
+					writer.writeStructFieldBegin(10);
+					writer.writeEmptyStructField(1);
+					writer.writeStructEnd();
+					break;
+				case DECIMAL:
+					writer.writeI32Field(6, CONVERTED_TYPE_DECIMAL);
+					writer.writeI32Field(7, column.scale);
+					writer.writeI32Field(8, column.precision);
+					writer.writeStructFieldBegin(10);
+					writer.writeStructFieldBegin(5);
+					writer.writeI32Field(1, column.scale);
+					writer.writeI32Field(2, column.precision);
+					writer.writeStructEnd();
+					writer.writeStructEnd();
+					break;
+				case DATE:
+					writer.writeI32Field(6, CONVERTED_TYPE_DATE);
+					writer.writeStructFieldBegin(10);
+					writer.writeEmptyStructField(6);
+					writer.writeStructEnd();
+					break;
+				case TIMESTAMP:
+					// Local timestamps have no legacy converted type, because TIMESTAMP_MICROS means adjusted to UTC
+					writer.writeStructFieldBegin(10);
+					writer.writeStructFieldBegin(8);
+					writer.writeBooleanField(1, false);
+					writer.writeStructFieldBegin(2);
+					writer.writeEmptyStructField(2);
+					writer.writeStructEnd();
+					writer.writeStructEnd();
+					writer.writeStructEnd();
+					break;
+				default:
+					break;
+			}
+			writer.writeStructEnd();
+		}
+
+		writer.writeI64Field(3, totalRowCount);
+
+		writer.writeListFieldBegin(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+		for (final RowGroupMetaData rowGroup : rowGroups) {
+			writer.writeListStructBegin();
+			writer.writeListFieldBegin(1, ThriftCompactWriter.TYPE_STRUCT, rowGroup.columnChunks.size());
+			for (final ColumnChunkMetaData columnChunk : rowGroup.columnChunks) {
+				writer.writeListStructBegin();
+				writer.writeI64Field(2, columnChunk.dataPageOffset);
+				writer.writeStructFieldBegin(3);
+				// ColumnMetaData
+				writer.writeI32Field(1, columnChunk.column.physicalType);
+				writer.writeListFieldBegin(2, ThriftCompactWriter.TYPE_I32, 2);
+				writer.writeListI32(ENCODING_PLAIN);
+				writer.writeListI32(ENCODING_RLE);
+				writer.writeListFieldBegin(3, ThriftCompactWriter.TYPE_BINARY, 1);
+				writer.writeListString(columnChunk.column.name);
+				writer.writeI32Field(4, codec.id);
+				writer.writeI64Field(5, columnChunk.numValues);
+				writer.writeI64Field(6, columnChunk.totalUncompressedSize);
+				writer.writeI64Field(7, columnChunk.totalCompressedSize);
+				writer.writeI64Field(9, columnChunk.dataPageOffset);
+				writer.writeStructFieldBegin(12);
+				// Statistics
+				writer.writeI64Field(3, columnChunk.nullCount);
+				writer.writeStructEnd();
+				writer.writeStructEnd();
+				writer.writeStructEnd();
+			}
+			writer.writeI64Field(2, rowGroup.totalByteSize);
+			writer.writeI64Field(3, rowGroup.numRows);
+			writer.writeI64Field(5, rowGroup.fileOffset);
+			writer.writeI64Field(6, rowGroup.totalCompressedSize);
+			writer.writeStructEnd();
+		}
+
+		if (createdBy != null) {
+			writer.writeStringField(6, createdBy);
+		}
+		writer.writeStructEnd();
+	}
+
+	/**
+	 * Buffered values and definition levels of one column of the current row group
+	 */
+	private static class ColumnBuffer {
+		private final String name;
+		private final ColumnType columnType;
+		private final int physicalType;
+		private final int precision;
+		private final int scale;
+
+		/** Number of bytes of FIXED_LEN_BYTE_ARRAY values */
+		private final int typeLength;
+
+		/** PLAIN encoded values, which are not null */
+		private final ByteArrayBuffer values = new ByteArrayBuffer(1024);
+
+		/** One bit for each row of the row group, which is set for values that are not null */
+		private final byte[] definitionLevels;
+
+		private int valueCount = 0;
+
+		private ColumnBuffer(final String name, final ColumnType columnType, final int precision, final int scale, final int rowGroupSize) {
+			this.name = name;
+			this.columnType = columnType;
+			this.precision = precision;
+			this.scale = scale;
+			switch (columnType) {
+				case BOOLEAN:
+					physicalType = TYPE_BOOLEAN;
+					break;
+				case INT32:
+				case DATE:
+					physicalType = TYPE_INT32;
+					break;
+				case INT64:
+				case TIMESTAMP:
+					physicalType = TYPE_INT64;
+					break;
+				case DECIMAL:
+					if (precision <= 9) {
+						physicalType = TYPE_INT32;
+					} else if (precision <= 18) {
+						physicalType = TYPE_INT64;
+					} else {
+						physicalType = TYPE_FIXED_LEN_BYTE_ARRAY;
+					}
+					break;
+				case DOUBLE:
+					physicalType = TYPE_DOUBLE;
+					break;
+				default:
+					physicalType = TYPE_BYTE_ARRAY;
+			}
+			if (physicalType == TYPE_FIXED_LEN_BYTE_ARRAY) {
+				typeLength = getDecimalByteLength(precision);
+			} else {
+				typeLength = 0;
+			}
+			definitionLevels = new byte[(rowGroupSize + 7) >> 3];
+		}
+
+		/**
+		 * Minimum number of bytes for the signed unscaled values of a decimal precision
+		 */
+		private static int getDecimalByteLength(final int precision) {
+			final BigInteger maximumUnscaledValue = BigInteger.TEN.pow(precision).subtract(BigInteger.ONE);
+			int byteLength = 1;
+			while (maximumUnscaledValue.bitLength() > byteLength * 8 - 1) {
+				byteLength++;
+			}
+			return byteLength;
+		}
+
+		private void reset(final int usedDefinitionLevelBytes) {
+			values.reset();
+			Arrays.fill(definitionLevels, 0, usedDefinitionLevelBytes, (byte) 0);
+			valueCount = 0;
+		}
+	}
+
+	private static class ColumnChunkMetaData {
+		private final ColumnBuffer column;
+		private final long dataPageOffset;
+		private final long numValues;
+		private final long nullCount;
+		private long totalUncompressedSize;
+		private long totalCompressedSize;
+
+		private ColumnChunkMetaData(final ColumnBuffer column, final long dataPageOffset, final long numValues, final long nullCount) {
+			this.column = column;
+			this.dataPageOffset = dataPageOffset;
+			this.numValues = numValues;
+			this.nullCount = nullCount;
+		}
+	}
+
+	private static class RowGroupMetaData {
+		private final List<ColumnChunkMetaData> columnChunks = new ArrayList<>();
+		private final long numRows;
+		private final long fileOffset;
+		private long totalByteSize = 0;
+		private long totalCompressedSize = 0;
+
+		private RowGroupMetaData(final long numRows, final long fileOffset) {
+			this.numRows = numRows;
+			this.fileOffset = fileOffset;
+		}
+	}
+
+	/**
+	 * Growing byte array with little endian number encoding and a bit buffer for PLAIN encoded boolean values
+	 */
+	private static class ByteArrayBuffer {
+		private byte[] data;
+		private int size = 0;
+		private int bitBuffer = 0;
+		private int bitCount = 0;
+
+		private ByteArrayBuffer(final int initialCapacity) {
+			data = new byte[initialCapacity];
+		}
+
+		private void ensureCapacity(final int additionalBytes) {
+			if (size + additionalBytes > data.length) {
+				data = Arrays.copyOf(data, Math.max(size + additionalBytes, data.length * 2));
+			}
+		}
+
+		private void write(final int value) {
+			ensureCapacity(1);
+			data[size++] = (byte) value;
+		}
+
+		private void write(final byte[] bytes, final int offset, final int length) {
+			ensureCapacity(length);
+			System.arraycopy(bytes, offset, data, size, length);
+			size += length;
+		}
+
+		private void writeIntLittleEndian(final int value) {
+			ensureCapacity(4);
+			data[size++] = (byte) value;
+			data[size++] = (byte) (value >>> 8);
+			data[size++] = (byte) (value >>> 16);
+			data[size++] = (byte) (value >>> 24);
+		}
+
+		private void writeLongLittleEndian(final long value) {
+			ensureCapacity(8);
+			for (int shift = 0; shift < 64; shift += 8) {
+				data[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void writeUnsignedVarInt(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		/**
+		 * Write the pending bits of boolean values, the last byte is filled up with zero bits
+		 */
+		private void flushBits() {
+			if (bitCount > 0) {
+				write(bitBuffer);
+				bitBuffer = 0;
+				bitCount = 0;
+			}
+		}
+
+		private void reset() {
+			size = 0;
+			bitBuffer = 0;
+			bitCount = 0;
+		}
+	}
+
+	/**
+	 * Writer of the thrift compact protocol for the parquet page headers and file metadata.
+	 * Struct fields must be written in ascending order of their field ids.
+	 */
+	private static class ThriftCompactWriter {
+		private static final int TYPE_BOOLEAN_TRUE = 1;
+		private static final int TYPE_BOOLEAN_FALSE = 2;
+		private static final int TYPE_I32 = 5;
+		private static final int TYPE_I64 = 6;
+		private static final int TYPE_BINARY = 8;
+		private static final int TYPE_LIST = 9;
+		private static final int TYPE_STRUCT = 12;
+
+		private final ByteArrayBuffer buffer = new ByteArrayBuffer(256);
+
+		/** Last field ids of the enclosing structs */
+		private final int[] lastFieldIds = new int[16];
+		private int structDepth = 0;
+
+		private void reset() {
+			buffer.reset();
+			structDepth = 0;
+			lastFieldIds[0] = 0;
+		}
+
+		private void writeFieldHeader(final int fieldId, final int type) {
+			final int delta = fieldId - lastFieldIds[structDepth];
+			if (delta > 0 && delta <= 15) {
+				buffer.write((delta << 4) | type);
+			} else {
+				buffer.write(type);
+				buffer.writeUnsignedVarInt(zigZag(fieldId));
+			}
+			lastFieldIds[structDepth] = fieldId;
+		}
+
+		private void writeI32Field(final int fieldId, final int value) {
+			writeFieldHeader(fieldId, TYPE_I32);
+			buffer.writeUnsignedVarInt(zigZag(value));
+		}
+
+		private void writeI64Field(final int fieldId, final long value) {
+			writeFieldHeader(fieldId, TYPE_I64);
+			buffer.writeUnsignedVarInt(zigZag(value));
+		}
+
+		private void writeBooleanField(final int fieldId, final boolean value) {
+			writeFieldHeader(fieldId, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+		}
+
+		private void writeStringField(final int fieldId, final String value) {
+			writeFieldHeader(fieldId, TYPE_BINARY);
+			writeListString(value);
+		}
+
+		private void writeStructFieldBegin(final int fieldId) {
+			writeFieldHeader(fieldId, TYPE_STRUCT);
+			lastFieldIds[++structDepth] = 0;
+		}
+
+		private void writeEmptyStructField(final int fieldId) {
+			writeStructFieldBegin(fieldId);
+			writeStructEnd();
+		}
+
+		private void writeListStructBegin() {
+			lastFieldIds[++structDepth] = 0;
+		}
+
+		/**
+		 * End of a struct field, of a struct element of a list or of the top level struct
+		 */
+		private void writeStructEnd() {
+			buffer.write(0);
+			if (structDepth > 0) {
+				structDepth--;
+			}
+		}
+
+		private void writeListFieldBegin(final int fieldId, final int elementType, final int size) {
+			writeFieldHeader(fieldId, TYPE_LIST);
+			if (size < 15) {
+				buffer.write((size << 4) | elementType);
+			} else {
+				buffer.write(0xF0 | elementType);
+				buffer.writeUnsignedVarInt(size);
+			}
+		}
+
+		private void writeListI32(final int value) {
+			buffer.writeUnsignedVarInt(zigZag(value));
+		}
+
+		private void writeListString(final String value) {
+			final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			buffer.writeUnsignedVarInt(bytes.length);
+			buffer.write(bytes, 0, bytes.length);
+		}
+
+		private static long zigZag(final long value) {
+			return (value << 1) ^ (value >> 63);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package de.soderer.dbexport.worker;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ring buffer of reusable row slots between exactly one producer thread (fetching rows from the database)
+ * and exactly one consumer thread (formatting the rows).
+ * The slots are allocated only once, so the transfer of a row causes no garbage.
+ */
+public class RowRingBuffer {
+	private static final int SPINS_BEFORE_PARKING = 100;
+	private static final long PARK_NANOS = 50_000;
+
+	private final Object[][] slots;
+	private final int mask;
+
+	/** Number of rows published by the producer */
+	private volatile long writeSequence = 0;
+
+	/** Number of rows released by the consumer */
+	private volatile long readSequence = 0;
+
+	private volatile boolean finished = false;
+	private volatile boolean closed = false;
+	private volatile Exception producerError = null;
+
+	/**
+	 * @param capacity
+	 *            number of row slots, rounded up to the next power of two
+	 * @param columnCount
+	 *            number of values of each row
+	 */
+	public RowRingBuffer(final int capacity, final int columnCount) {
+		final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		slots = new Object[size][columnCount];
+		mask = size - 1;
+	}
+
+	/**
+	 * Producer: Get the next free slot to fill with row values. Waits while the buffer is full.
+	 *
+	 * @return free slot or null, if the consumer closed the buffer
+	 */
+	public Object[] claim() {
+		final long sequence = writeSequence;
+		int spins = 0;
+		while (sequence - readSequence >= slots.length) {
+			if (closed) {
+				return null;
+			}
+			spins = idle(spins);
+		}
+		return closed ? null : slots[(int) (sequence & mask)];
+	}
+
+	/**
+	 * Producer: Hand over the slot filled after the last call of claim()
+	 */
+	public void publish() {
+		writeSequence = writeSequence + 1;
+	}
+
+	/**
+	 * Producer: Signal the end of the data
+	 *
+	 * @param error
+	 *            error, which stopped the producer, or null
+	 */
+	public void finish(final Exception error) {
+		producerError = error;
+		finished = true;
+	}
+
+	/**
+	 * Consumer: Get the next filled slot. Waits while the buffer is empty.
+	 *
+	 * @return filled slot or null at the end of the data
+	 */
+	public Object[] take() throws Exception {
+		final long sequence = readSequence;
+		int spins = 0;
+		while (sequence >= writeSequence) {
+			if (finished) {
+				// Check again, because the producer may have published rows before it finished
+				if (sequence >= writeSequence) {
+					if (producerError != null) {
+						throw producerError;
+					} else {
+						return null;
+					}
+				}
+			} else {
+				spins = idle(spins);
+			}
+		}
+		return slots[(int) (sequence & mask)];
+	}
+
+	/**
+	 * Consumer: Give the slot got by the last call of take() back for reuse
+	 */
+	public void release() {
+		final Object[] slot = slots[(int) (readSequence & mask)];
+		for (int i = 0; i < slot.length; i++) {
+			slot[i] = null;
+		}
+		readSequence = readSequence + 1;
+	}
+
+	/**
+	 * Consumer: Stop the producer, because no further rows will be taken
+	 */
+	public void close() {
+		closed = true;
+	}
+
+	private static int idle(final int spins) {
+		if (spins < SPINS_BEFORE_PARKING) {
+			Thread.onSpinWait();
+			return spins + 1;
+		} else {
+			LockSupport.parkNanos(PARK_NANOS);
+			return spins;
+		}
+	}
+}
@@ -0,0 +1,335 @@
+package de.soderer.dbexport.worker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.output.WriterOutputStream;
+
+/**
+ * Writer of the XML document of an export with one "line" element per row.
+ * The column values are written either as child elements or as attributes of the line element.
+ * The tags of the columns are encoded only once, and all values are escaped and encoded directly into one reusable byte buffer.
+ */
+public class XmlRowEncoder implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** Number of characters of a text value encoded with a single check of the free buffer space */
+	private static final int STRING_CHUNK_SIZE = 1024;
+
+	/** Maximum number of bytes of one encoded character ("&#x10ffff;") */
+	private static final int MAXIMUM_BYTES_PER_CHAR = 10;
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] LINE_START_TAG = "<line".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] LINE_END_TAG = "</line>".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] EMPTY_ELEMENT_END = "/>".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] TABLE_END_TAG = "</table>".getBytes(StandardCharsets.US_ASCII);
+
+	/** Entity or character reference for each ASCII character in text content, null for no escape */
+	private static final byte[][] TEXT_ESCAPES = new byte[128][];
+
+	/** Entity or character reference for each ASCII character in attribute values, null for no escape */
+	private static final byte[][] ATTRIBUTE_ESCAPES = new byte[128][];
+
+	static {
+		TEXT_ESCAPES['&'] = "&amp;".getBytes(StandardCharsets.US_ASCII);
+		TEXT_ESCAPES['<'] = "&lt;".getBytes(StandardCharsets.US_ASCII);
+		TEXT_ESCAPES['>'] = "&gt;".getBytes(StandardCharsets.US_ASCII);
+
+		System.arraycopy(TEXT_ESCAPES, 0, ATTRIBUTE_ESCAPES, 0, TEXT_ESCAPES.length);
+		ATTRIBUTE_ESCAPES['"'] = "&quot;".getBytes(StandardCharsets.US_ASCII);
+		// Whitespace characters in attribute values would be normalized to blanks by XML parsers
+		ATTRIBUTE_ESCAPES['\t'] = "&#9;".getBytes(StandardCharsets.US_ASCII);
+		ATTRIBUTE_ESCAPES['\n'] = "&#10;".getBytes(StandardCharsets.US_ASCII);
+		ATTRIBUTE_ESCAPES['\r'] = "&#13;".getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private final OutputStream outputStream;
+	private final Charset encoding;
+	private final boolean columnAttributes;
+
+	/** Encoder to check for characters, which are not available in the output encoding and must be written as character references */
+	private final CharsetEncoder characterReferenceCheckEncoder;
+
+	/** Line breaks and indentations of beautified output */
+	private final byte[] lineIndentation;
+	private final byte[] columnIndentation;
+
+	/** Encoded tags of the columns, or their attribute names including the equals sign and the quotes */
+	private byte[][] columnStartTags = new byte[0][];
+	private byte[][] columnEndTags = new byte[0][];
+
+	private byte[] buffer = new byte[BUFFER_SIZE];
+	private int bufferPosition = 0;
+	private int columnIndex = 0;
+
+	/**
+	 * @param outputStream
+	 * @param encoding
+	 *            Output encoding. Other encodings than UTF-8 are converted after encoding.
+	 * @param indentation
+	 *            Indentation of beautified output, or null for compact output
+	 * @param columnAttributes
+	 *            Write the column values as attributes of the line elements instead of child elements
+	 */
+	public XmlRowEncoder(final OutputStream outputStream, final Charset encoding, final String indentation, final boolean columnAttributes) throws IOException {
+		if (StandardCharsets.UTF_8.equals(encoding)) {
+			this.outputStream = outputStream;
+		} else {
+			this.outputStream = WriterOutputStream.builder().setWriter(new OutputStreamWriter(outputStream, encoding)).setCharset(StandardCharsets.UTF_8).get();
+		}
+		this.encoding = encoding;
+		if (encoding.name().startsWith("UTF-")) {
+			characterReferenceCheckEncoder = null;
+		} else {
+			characterReferenceCheckEncoder = encoding.newEncoder();
+		}
+		this.columnAttributes = columnAttributes;
+		if (indentation != null) {
+			lineIndentation = ("\n" + indentation).getBytes(StandardCharsets.UTF_8);
+			columnIndentation = ("\n" + indentation + indentation).getBytes(StandardCharsets.UTF_8);
+		} else {
+			lineIndentation = null;
+			columnIndentation = null;
+		}
+	}
+
+	/**
+	 * Set the column names of the following lines in the order of their values
+	 */
+	public void setColumnNames(final List<String> columnNames) throws IOException {
+		// The names are encoded by the same methods as the values, but into a buffer of their own
+		final byte[] outputBuffer = buffer;
+		final int outputBufferPosition = bufferPosition;
+		try {
+			columnStartTags = new byte[columnNames.size()][];
+			columnEndTags = new byte[columnNames.size()][];
+			for (int i = 0; i < columnNames.size(); i++) {
+				buffer = new byte[(columnNames.get(i).length() + 3) * MAXIMUM_BYTES_PER_CHAR];
+				bufferPosition = 0;
+				writeEscapedValue(columnNames.get(i), TEXT_ESCAPES);
+				final byte[] encodedName = Arrays.copyOf(buffer, bufferPosition);
+
+				bufferPosition = 0;
+				if (columnAttributes) {
+					writeByte((byte) ' ');
+					writeBytes(encodedName);
+					writeByte((byte) '=');
+					writeByte((byte) '"');
+					columnStartTags[i] = Arrays.copyOf(buffer, bufferPosition);
+					columnEndTags[i] = new byte[] { '"' };
+				} else {
+					writeByte((byte) '<');
+					writeBytes(encodedName);
+					writeByte((byte) '>');
+					columnStartTags[i] = Arrays.copyOf(buffer, bufferPosition);
+
+					bufferPosition = 0;
+					writeByte((byte) '<');
+					writeByte((byte) '/');
+					writeBytes(encodedName);
+					writeByte((byte) '>');
+					columnEndTags[i] = Arrays.copyOf(buffer, bufferPosition);
+				}
+			}
+		} finally {
+			buffer = outputBuffer;
+			bufferPosition = outputBufferPosition;
+		}
+	}
+
+	/**
+	 * Write the XML declaration and the start tag of the root element "table"
+	 */
+	public void startDocument(final String statement) throws IOException {
+		writeAsciiValue("<?xml version=\"1.0\" encoding=\"" + encoding.name() + "\"?>");
+		if (lineIndentation != null) {
+			writeByte((byte) '\n');
+		}
+		writeAsciiValue("<table statement=\"");
+		writeEscapedValue(statement, ATTRIBUTE_ESCAPES);
+		writeAsciiValue("\">");
+	}
+
+	public void startLine() throws IOException {
+		if (lineIndentation != null) {
+			writeBytes(lineIndentation);
+		}
+		writeBytes(LINE_START_TAG);
+		if (!columnAttributes) {
+			writeByte((byte) '>');
+		}
+		columnIndex = 0;
+	}
+
+	/**
+	 * Write the value of the next column
+	 */
+	public void writeValue(final CharSequence value) throws IOException {
+		if (!columnAttributes && columnIndentation != null) {
+			writeBytes(columnIndentation);
+		}
+		writeBytes(columnStartTags[columnIndex]);
+		writeEscapedValue(value, columnAttributes ? ATTRIBUTE_ESCAPES : TEXT_ESCAPES);
+		writeBytes(columnEndTags[columnIndex++]);
+	}
+
+	/**
+	 * Skip the next column, so that its element or attribute is left out
+	 */
+	public void skipValue() {
+		columnIndex++;
+	}
+
+	public void endLine() throws IOException {
+		if (columnAttributes) {
+			writeBytes(EMPTY_ELEMENT_END);
+		} else {
+			if (lineIndentation != null) {
+				writeBytes(lineIndentation);
+			}
+			writeBytes(LINE_END_TAG);
+		}
+	}
+
+	/**
+	 * Write the end tag of the root element
+	 */
+	public void endDocument() throws IOException {
+		if (lineIndentation != null) {
+			writeByte((byte) '\n');
+		}
+		writeBytes(TABLE_END_TAG);
+		if (lineIndentation != null) {
+			writeByte((byte) '\n');
+		}
+	}
+
+	public void flush() throws IOException {
+		flushBuffer();
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		flushBuffer();
+		outputStream.close();
+	}
+
+	private void writeEscapedValue(final CharSequence value, final byte[][] asciiEscapes) throws IOException {
+		final int length = value.length();
+		int charIndex = 0;
+		while (charIndex < length) {
+			final int chunkEnd = Math.min(length, charIndex + STRING_CHUNK_SIZE);
+			// One more char for a surrogate pair at the end of the chunk
+			ensureCapacity((chunkEnd - charIndex + 1) * MAXIMUM_BYTES_PER_CHAR);
+			final byte[] output = buffer;
+			int position = bufferPosition;
+			for (; charIndex < chunkEnd; charIndex++) {
+				final char nextChar = value.charAt(charIndex);
+				if (nextChar < 0x80) {
+					// Fast path for ASCII characters
+					final byte[] escape = asciiEscapes[nextChar];
+					if (escape == null) {
+						output[position++] = (byte) nextChar;
+					} else {
+						System.arraycopy(escape, 0, output, position, escape.length);
+						position += escape.length;
+					}
+				} else if (Character.isSurrogate(nextChar)) {
+					if (Character.isHighSurrogate(nextChar) && charIndex + 1 < length && Character.isLowSurrogate(value.charAt(charIndex + 1))) {
+						final int codePoint = Character.toCodePoint(nextChar, value.charAt(charIndex + 1));
+						if (characterReferenceCheckEncoder != null && !characterReferenceCheckEncoder.canEncode(value.subSequence(charIndex, charIndex + 2))) {
+							position = writeCharacterReference(codePoint, output, position);
+						} else {
+							output[position++] = (byte) (0xF0 | (codePoint >> 18));
+							output[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+							output[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+							output[position++] = (byte) (0x80 | (codePoint & 0x3F));
+						}
+						charIndex++;
+					} else {
+						// Unpaired surrogates are replaced like in String.getBytes()
+						output[position++] = '?';
+					}
+				} else if (characterReferenceCheckEncoder != null && !characterReferenceCheckEncoder.canEncode(nextChar)) {
+					position = writeCharacterReference(nextChar, output, position);
+				} else if (nextChar < 0x800) {
+					output[position++] = (byte) (0xC0 | (nextChar >> 6));
+					output[position++] = (byte) (0x80 | (nextChar & 0x3F));
+				} else {
+					output[position++] = (byte) (0xE0 | (nextChar >> 12));
+					output[position++] = (byte) (0x80 | ((nextChar >> 6) & 0x3F));
+					output[position++] = (byte) (0x80 | (nextChar & 0x3F));
+				}
+			}
+			bufferPosition = position;
+		}
+	}
+
+	/**
+	 * Write a hexadecimal character reference like "&#xe4;" for a character, which is not available in the output encoding
+	 *
+	 * @return the new position in the output
+	 */
+	private static int writeCharacterReference(final int codePoint, final byte[] output, final int position) {
+		int newPosition = position;
+		output[newPosition++] = '&';
+		output[newPosition++] = '#';
+		output[newPosition++] = 'x';
+		int shift = 20;
+		while (shift > 0 && (codePoint >> shift) == 0) {
+			shift -= 4;
+		}
+		for (; shift >= 0; shift -= 4) {
+			output[newPosition++] = HEX_DIGITS[(codePoint >> shift) & 0xF];
+		}
+		output[newPosition++] = ';';
+		return newPosition;
+	}
+
+	/**
+	 * Write a value, which contains only ASCII characters without need of escaping
+	 */
+	private void writeAsciiValue(final String value) throws IOException {
+		final int length = value.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			buffer[bufferPosition++] = (byte) value.charAt(i);
+		}
+	}
+
+	private void writeByte(final byte value) throws IOException {
+		ensureCapacity(1);
+		buffer[bufferPosition++] = value;
+	}
+
+	private void writeBytes(final byte[] value) throws IOException {
+		ensureCapacity(value.length);
+		System.arraycopy(value, 0, buffer, bufferPosition, value.length);
+		bufferPosition += value.length;
+	}
+
+	private void ensureCapacity(final int neededBytes) throws IOException {
+		if (bufferPosition + neededBytes > buffer.length) {
+			flushBuffer();
+			if (neededBytes > buffer.length) {
+				buffer = new byte[neededBytes];
+			}
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (bufferPosition > 0) {
+			outputStream.write(buffer, 0, bufferPosition);
+			bufferPosition = 0;
+		}
+	}
+}
@@ -0,0 +1,284 @@
+package de.soderer.dbexport.worker;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Writer of the rows of an export as a YAML sequence of mappings ("- key: value" blocks).
+ * The keys are rendered only once, and each item is appended into one reusable buffer,
+ * so writing a row creates no intermediate objects.
+ */
+public class YamlRowEncoder implements Closeable {
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	/** Plain scalar values with these texts would be read as null or boolean values */
+	private static final String[] RESERVED_WORDS = new String[] { "~", "null", "true", "false", "yes", "no", "on", "off", "y", "n" };
+
+	/** Plain scalar values matching this YAML 1.1 timestamp format would be read as dates or timestamps */
+	private static final Pattern TIMESTAMP_PATTERN = Pattern.compile("[0-9]{4}-[0-9]{2}-[0-9]{2}|[0-9]{4}-[0-9]{1,2}-[0-9]{1,2}([Tt]|[ \\t]+)[0-9]{1,2}:[0-9]{2}:[0-9]{2}(\\.[0-9]*)?([ \\t]*(Z|[-+][0-9]{1,2}(:[0-9]{2})?))?");
+
+	/** ASCII characters, which need quoting of the scalar value anywhere in it */
+	private static final boolean[] QUOTING_CHARACTERS = new boolean[128];
+
+	/** ASCII characters, which need quoting of the scalar value at its start */
+	private static final boolean[] QUOTING_START_CHARACTERS = new boolean[128];
+
+	static {
+		for (int i = 0; i < 0x20; i++) {
+			QUOTING_CHARACTERS[i] = true;
+		}
+		QUOTING_CHARACTERS[0x7F] = true;
+		for (final char character : "\"'\\#{}[]".toCharArray()) {
+			QUOTING_CHARACTERS[character] = true;
+		}
+
+		System.arraycopy(QUOTING_CHARACTERS, 0, QUOTING_START_CHARACTERS, 0, QUOTING_CHARACTERS.length);
+		for (final char character : " -?:,&*!|>%@`".toCharArray()) {
+			QUOTING_START_CHARACTERS[character] = true;
+		}
+	}
+
+	private final Writer writer;
+
+	/** Rendered keys of the mapping items including their indentation and the following colon */
+	private String[] keyPrefixes = new String[0];
+
+	private final StringBuilder itemBuffer = new StringBuilder(1024);
+	private char[] outputBuffer = new char[1024];
+	private int keyIndex = 0;
+
+	public YamlRowEncoder(final OutputStream outputStream, final Charset encoding) {
+		writer = new BufferedWriter(new OutputStreamWriter(outputStream, encoding), BUFFER_SIZE);
+	}
+
+	/**
+	 * Set the keys of the following mapping items in the order of their values
+	 */
+	public void setKeys(final List<String> keys) {
+		keyPrefixes = new String[keys.size()];
+		for (int i = 0; i < keys.size(); i++) {
+			itemBuffer.setLength(0);
+			itemBuffer.append(i == 0 ? "- " : "  ");
+			appendScalar(keys.get(i), false);
+			itemBuffer.append(": ");
+			keyPrefixes[i] = itemBuffer.toString();
+		}
+		itemBuffer.setLength(0);
+	}
+
+	public void startItem() {
+		itemBuffer.setLength(0);
+		keyIndex = 0;
+	}
+
+	public void writeNull() {
+		startValue().append("null");
+	}
+
+	public void writeBoolean(final boolean value) {
+		startValue().append(value);
+	}
+
+	public void writeNumber(final Number value) {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			startValue().append(value.longValue());
+		} else if (value instanceof Double && !Double.isFinite(value.doubleValue()) || value instanceof Float && !Float.isFinite(value.floatValue())) {
+			startValue().append(Double.isNaN(value.doubleValue()) ? ".nan" : value.doubleValue() > 0 ? ".inf" : "-.inf");
+		} else {
+			startValue().append(value.toString());
+		}
+	}
+
+	public void writeString(final CharSequence value) {
+		startValue();
+		appendScalar(value, false);
+	}
+
+	/**
+	 * Write a formatted date or timestamp value, which stays a plain scalar, if it matches the YAML timestamp format
+	 */
+	public void writeDateTime(final CharSequence formattedValue) {
+		startValue();
+		appendScalar(formattedValue, true);
+	}
+
+	public void endItem() throws IOException {
+		if (keyIndex > 0) {
+			itemBuffer.append('\n');
+			final int itemLength = itemBuffer.length();
+			if (outputBuffer.length < itemLength) {
+				outputBuffer = new char[Math.max(itemLength, outputBuffer.length * 2)];
+			}
+			itemBuffer.getChars(0, itemLength, outputBuffer, 0);
+			writer.write(outputBuffer, 0, itemLength);
+		}
+	}
+
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	private StringBuilder startValue() {
+		if (keyIndex > 0) {
+			itemBuffer.append('\n');
+		}
+		return itemBuffer.append(keyPrefixes[keyIndex++]);
+	}
+
+	private void appendScalar(final CharSequence value, final boolean isDateTime) {
+		if (isQuotingNeeded(value, isDateTime)) {
+			itemBuffer.append('"');
+			for (int i = 0; i < value.length(); i++) {
+				final char nextChar = value.charAt(i);
+				switch (nextChar) {
+					case '"':
+						itemBuffer.append("\\\"");
+						break;
+					case '\\':
+						itemBuffer.append("\\\\");
+						break;
+					case '\n':
+						itemBuffer.append("\\n");
+						break;
+					case '\r':
+						itemBuffer.append("\\r");
+						break;
+					case '\t':
+						itemBuffer.append("\\t");
+						break;
+					default:
+						if (nextChar < 0x20 || (nextChar >= 0x7F && nextChar < 0xA0)) {
+							itemBuffer.append("\\x").append(HEX_DIGITS[nextChar >> 4]).append(HEX_DIGITS[nextChar & 0xF]);
+						} else if (nextChar == '\u2028' || nextChar == '\u2029' || nextChar == '\uFEFF') {
+							itemBuffer.append("\\u").append(HEX_DIGITS[nextChar >> 12]).append(HEX_DIGITS[(nextChar >> 8) & 0xF]).append(HEX_DIGITS[(nextChar >> 4) & 0xF]).append(HEX_DIGITS[nextChar & 0xF]);
+						} else {
+							itemBuffer.append(nextChar);
+						}
+				}
+			}
+			itemBuffer.append('"');
+		} else {
+			itemBuffer.append(value);
+		}
+	}
+
+	/**
+	 * Check whether a value must be written as double quoted scalar to be read back as the same string
+	 *
+	 * @param isDateTime
+	 *            Value is a formatted date or timestamp, which may be read as YAML timestamp
+	 */
+	private static boolean isQuotingNeeded(final CharSequence value, final boolean isDateTime) {
+		final int length = value.length();
+		if (length == 0) {
+			return true;
+		}
+
+		final char firstChar = value.charAt(0);
+		final char lastChar = value.charAt(length - 1);
+		if ((firstChar < 0x80 && QUOTING_START_CHARACTERS[firstChar]) || lastChar == ' ' || lastChar == ':') {
+			return true;
+		}
+
+		for (int i = 0; i < length; i++) {
+			final char nextChar = value.charAt(i);
+			if (nextChar < 0x80) {
+				if (QUOTING_CHARACTERS[nextChar] || (nextChar == ':' && value.charAt(i + 1) == ' ')) {
+					// A colon is never the last character here
+					return true;
+				}
+			} else if (nextChar < 0xA0 || nextChar == '\u2028' || nextChar == '\u2029' || nextChar == '\uFEFF') {
+				// Control characters, line breaks and byte order mark, which are not allowed in plain scalars
+				return true;
+			}
+		}
+
+		return isReservedWord(value) || isNumberLike(value) || (!isDateTime && isTimestampLike(value));
+	}
+
+	private static boolean isReservedWord(final CharSequence value) {
+		if (value.length() <= 5) {
+			for (final String reservedWord : RESERVED_WORDS) {
+				if (reservedWord.length() == value.length() && reservedWord.equalsIgnoreCase(value.toString())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether a plain scalar value would be read as integer or floating point number
+	 */
+	private static boolean isNumberLike(final CharSequence value) {
+		final int length = value.length();
+		int index = 0;
+		if (value.charAt(index) == '+' || value.charAt(index) == '-') {
+			index++;
+		}
+		if (index < length && value.charAt(index) == '.' && length - index == 4) {
+			// ".inf" and ".nan"
+			final String specialValue = value.subSequence(index, length).toString();
+			if (".inf".equalsIgnoreCase(specialValue) || ".nan".equalsIgnoreCase(specialValue)) {
+				return true;
+			}
+		}
+		if (index + 1 < length && value.charAt(index) == '0' && Character.isLetter(value.charAt(index + 1))) {
+			// Hexadecimal, octal or binary integer like "0x1F"
+			return true;
+		}
+
+		boolean digitFound = false;
+		// Colons for sexagesimal numbers like "12:30" of YAML 1.1
+		while (index < length && (isDigit(value.charAt(index)) || value.charAt(index) == '_' || (digitFound && value.charAt(index) == ':'))) {
+			digitFound = true;
+			index++;
+		}
+		if (index < length && value.charAt(index) == '.') {
+			index++;
+			while (index < length && (isDigit(value.charAt(index)) || value.charAt(index) == '_')) {
+				digitFound = true;
+				index++;
+			}
+		}
+		if (digitFound && index < length && (value.charAt(index) == 'e' || value.charAt(index) == 'E')) {
+			index++;
+			if (index < length && (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+				index++;
+			}
+			if (index == length) {
+				return false;
+			}
+			while (index < length && isDigit(value.charAt(index))) {
+				index++;
+			}
+		}
+		return digitFound && index == length;
+	}
+
+	/**
+	 * Check whether a plain scalar value would be read as date or timestamp
+	 */
+	private static boolean isTimestampLike(final CharSequence value) {
+		// Cheap check of the leading year before the regular expression
+		return value.length() >= 8 && isDigit(value.charAt(0)) && isDigit(value.charAt(3)) && value.charAt(4) == '-' && TIMESTAMP_PATTERN.matcher(value).matches();
+	}
+
+	private static boolean isDigit(final char character) {
+		return character >= '0' && character <= '9';
+	}
+}
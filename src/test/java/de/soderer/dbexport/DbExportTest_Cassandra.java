@@ -616,9 +616,9 @@ public class DbExportTest_Cassandra {
 			Assert.assertTrue(OUTPUTFILE_SQL.exists());
 			Assert.assertEquals(
 					"--SELECT id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar FROM test_tbl ORDER BY id\n"
-							+ "INSERT INTO export_tbl (id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar) VALUES (1, '<test_text_base64>', '2003-02-01 00:00:00', 1.123, 1, '<test_text>', '2003-02-01 04:05:06', '<test_text>');\n"
-							+ "INSERT INTO export_tbl (id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar) VALUES (2, '<test_text_base64>', '2003-02-01 00:00:00', 2.123, 2, '<test_text>', '2003-02-01 04:05:06', '<test_text>');\n"
-							+ "INSERT INTO export_tbl (id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL, NULL);\n",
+							+ "INSERT INTO test_tbl (id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar) VALUES (1, '<test_text_base64>', '2003-02-01 00:00:00', 1.123, 1, '<test_text>', '2003-02-01 04:05:06', '<test_text>');\n"
+							+ "INSERT INTO test_tbl (id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar) VALUES (2, '<test_text_base64>', '2003-02-01 00:00:00', 2.123, 2, '<test_text>', '2003-02-01 04:05:06', '<test_text>');\n"
+							+ "INSERT INTO test_tbl (id, column_blob, column_date, column_double, column_int, column_text, column_timestamp, column_varchar) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL, NULL);\n",
 							FileUtilities.readFileToString(OUTPUTFILE_SQL, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("'", "''"), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
 
 			final String logData = getLogFileData();
@@ -1,27 +1,40 @@
 package de.soderer.dbexport;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import de.soderer.dbexport.utilities.CompressionUtilities;
 import de.soderer.utilities.DateUtilities;
 import de.soderer.utilities.FileUtilities;
 import de.soderer.utilities.InputStreamWithOtherItemsToClose;
@@ -31,8 +44,16 @@ import de.soderer.utilities.Utilities;
 import de.soderer.utilities.db.DbUtilities;
 import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.db.data.DbVendor;
+import de.soderer.utilities.kdbx.KdbxDatabase;
+import de.soderer.utilities.kdbx.KdbxReader;
+import de.soderer.utilities.kdbx.data.KdbxEntry;
+import de.soderer.utilities.kdbx.data.KdbxGroup;
+import de.soderer.utilities.vcf.VcfCard;
+import de.soderer.utilities.vcf.VcfWriter;
 import de.soderer.utilities.zip.TarGzUtilities;
 import de.soderer.utilities.zip.ZipUtilities;
+import io.airlift.compress.zstd.ZstdDecompressor;
+import io.airlift.compress.zstd.ZstdInputStream;
 import net.lingala.zip4j.ZipFile;
 
 public class DbExportTest_HSQL {
@@ -48,10 +69,17 @@ public class DbExportTest_HSQL {
 	public static File OUTPUTFILE_CSV_TARGZ = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.csv.tar.gz"));
 	public static File OUTPUTFILE_CSV_TGZ = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.csv.tgz"));
 	public static File OUTPUTFILE_CSV_GZ = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.csv.gz"));
+	public static File OUTPUTFILE_CSV_ZST = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.csv.zst"));
+	public static File OUTPUTFILE_CSV_LZ4 = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.csv.lz4"));
 	public static File OUTPUTFILE_XML = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.xml"));
 	public static File OUTPUTFILE_JSON = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.json"));
+	public static File OUTPUTFILE_JSONL = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.jsonl"));
 	public static File OUTPUTFILE_YAML = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.yaml"));
 	public static File OUTPUTFILE_SQL = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.sql"));
+	public static File OUTPUTFILE_PARQUET = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.parquet"));
+	public static File OUTPUTFILE_ARROW = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.arrow"));
+	public static File OUTPUTFILE_KDBX = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.kdbx"));
+	public static File OUTPUTFILE_VCF = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl.vcf"));
 
 	@BeforeClass
 	public static void setupTestClass() throws Exception {
@@ -151,10 +179,17 @@ public class DbExportTest_HSQL {
 		OUTPUTFILE_CSV_TARGZ.delete();
 		OUTPUTFILE_CSV_TGZ.delete();
 		OUTPUTFILE_CSV_GZ.delete();
+		OUTPUTFILE_CSV_ZST.delete();
+		OUTPUTFILE_CSV_LZ4.delete();
 		OUTPUTFILE_XML.delete();
 		OUTPUTFILE_JSON.delete();
+		OUTPUTFILE_JSONL.delete();
 		OUTPUTFILE_YAML.delete();
 		OUTPUTFILE_SQL.delete();
+		OUTPUTFILE_PARQUET.delete();
+		OUTPUTFILE_ARROW.delete();
+		OUTPUTFILE_KDBX.delete();
+		OUTPUTFILE_VCF.delete();
 	}
 
 	@After
@@ -164,10 +199,17 @@ public class DbExportTest_HSQL {
 		OUTPUTFILE_CSV_TARGZ.delete();
 		OUTPUTFILE_CSV_TGZ.delete();
 		OUTPUTFILE_CSV_GZ.delete();
+		OUTPUTFILE_CSV_ZST.delete();
+		OUTPUTFILE_CSV_LZ4.delete();
 		OUTPUTFILE_XML.delete();
 		OUTPUTFILE_JSON.delete();
+		OUTPUTFILE_JSONL.delete();
 		OUTPUTFILE_YAML.delete();
 		OUTPUTFILE_SQL.delete();
+		OUTPUTFILE_PARQUET.delete();
+		OUTPUTFILE_ARROW.delete();
+		OUTPUTFILE_KDBX.delete();
+		OUTPUTFILE_VCF.delete();
 
 		try {
 			final File folder = new File(Utilities.replaceUsersHome("~" + File.separator + "temp"));
@@ -238,6 +280,126 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testCsvChunks() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-chunks", "2", null });
+
+			Assert.assertTrue(OUTPUTFILE_CSV.exists());
+			Assert.assertEquals(
+					"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+							+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "3;;;;;;;\n",
+							FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCsvChunksByStringKey() {
+		final File STRING_KEY_OUTPUTFILE_CSV = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_string_key_tbl.csv"));
+
+		try {
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.HSQL, "", HSQL_DB_FILE, null, null, false, null, null), false);
+					Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE test_string_key_tbl (id VARCHAR(16) PRIMARY KEY, column_integer INTEGER)");
+				for (int i = 0; i < 10; i++) {
+					statement.execute("INSERT INTO test_string_key_tbl VALUES ('key_" + i + "', " + i + ")");
+				}
+			}
+
+			// The boundaries of the key ranges of small tables are taken from all of their ordered keys
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_string_key_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-chunks", "3", null });
+
+			Assert.assertTrue(STRING_KEY_OUTPUTFILE_CSV.exists());
+			final StringBuilder expected = new StringBuilder("ID;COLUMN_INTEGER\n");
+			for (int i = 0; i < 10; i++) {
+				expected.append("key_").append(i).append(";").append(i).append("\n");
+			}
+			Assert.assertEquals(expected.toString(), FileUtilities.readFileToString(STRING_KEY_OUTPUTFILE_CSV, StandardCharsets.UTF_8));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		} finally {
+			if (STRING_KEY_OUTPUTFILE_CSV.exists()) {
+				STRING_KEY_OUTPUTFILE_CSV.delete();
+			}
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.HSQL, "", HSQL_DB_FILE, null, null, false, null, null), false);
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE test_string_key_tbl");
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Do nothing
+			}
+		}
+	}
+
+	@Test
+	public void testCsvPipeline() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-pipeline", null });
+
+			Assert.assertTrue(OUTPUTFILE_CSV.exists());
+			Assert.assertEquals(
+					"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+							+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "3;;;;;;;\n",
+							FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCsvProgressModes() {
+		for (final String progressMode : new String[] { "none", "estimate", "concurrent" }) {
+			try {
+				OUTPUTFILE_CSV.delete();
+				DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-progress", progressMode, null });
+
+				Assert.assertTrue(OUTPUTFILE_CSV.exists());
+				Assert.assertEquals(
+						"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+								+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "3;;;;;;;\n",
+								FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+			} catch (final Exception e) {
+				Assert.fail(progressMode + ": " + e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testCsvProgressEstimateEmptyTable() {
+		final File EMPTY_OUTPUTFILE_CSV = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_empty_tbl.csv"));
+
+		try {
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.HSQL, "", HSQL_DB_FILE, null, null, false, null, null), false);
+					Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE test_empty_tbl (id INTEGER PRIMARY KEY, column_varchar VARCHAR(64))");
+			}
+
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_empty_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-progress", "estimate", null });
+
+			Assert.assertTrue(EMPTY_OUTPUTFILE_CSV.exists());
+			Assert.assertEquals("ID;COLUMN_VARCHAR\n", FileUtilities.readFileToString(EMPTY_OUTPUTFILE_CSV, StandardCharsets.UTF_8));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		} finally {
+			if (EMPTY_OUTPUTFILE_CSV.exists()) {
+				EMPTY_OUTPUTFILE_CSV.delete();
+			}
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.HSQL, "", HSQL_DB_FILE, null, null, false, null, null), false);
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE test_empty_tbl");
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Do nothing
+			}
+		}
+	}
+
 	@Test
 	public void testCsvWithNullString() {
 		try {
@@ -255,6 +417,41 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testCsvAlwaysQuote() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-a", null });
+
+			Assert.assertTrue(OUTPUTFILE_CSV.exists());
+			Assert.assertEquals(
+					"\"ID\";\"COLUMN_BLOB\";\"COLUMN_CLOB\";\"COLUMN_DATE\";\"COLUMN_DOUBLE\";\"COLUMN_INTEGER\";\"COLUMN_TIMESTAMP\";\"COLUMN_VARCHAR\"\n"
+							+ "\"1\";\"<test_text_base64>\";\"<test_text>\";\"2003-02-01\";\"1,123\";\"1\";\"2003-02-01T04:05:06\";\"<test_text>\"\n"
+							+ "\"2\";\"<test_text_base64>\";\"<test_text>\";\"2003-02-01\";\"2,123\";\"2\";\"2003-02-01T04:05:06\";\"<test_text>\"\n"
+							+ "\"3\";\"\";\"\";\"\";\"\";\"\";\"\";\"\"\n",
+							FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCsvWithEscapeCharacter() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-qe", "\\", null });
+
+			Assert.assertTrue(OUTPUTFILE_CSV.exists());
+			// Quotes and the escape character itself are escaped by the escape character
+			Assert.assertEquals(
+					"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+							+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "3;;;;;;;\n",
+							FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\\", "\\\\").replace("\"", "\\\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testCsvBeautified() {
 		try {
@@ -272,6 +469,24 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testCsvBeautifiedByMetadata() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "SELECT id, column_integer, column_date, column_varchar FROM test_tbl ORDER BY id", "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.csv", "-beautify", "-beautifyStrategy", "metadata", null });
+
+			Assert.assertTrue(OUTPUTFILE_CSV.exists());
+			final String[] lines = FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).split("\n");
+			Assert.assertEquals(4, lines.length);
+			Assert.assertEquals("ID", lines[0].split(";")[0].trim());
+			Assert.assertEquals("1", lines[1].split(";")[0].trim());
+			Assert.assertEquals("2003-02-01", lines[1].split(";")[2].trim());
+			Assert.assertEquals(lines[0].indexOf(";COLUMN_DATE"), lines[1].indexOf(";2003-02-01"));
+			Assert.assertEquals(lines[0].indexOf(";COLUMN_VARCHAR"), lines[3].lastIndexOf(";"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testJsonBeautified() {
 		try {
@@ -335,6 +550,71 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testJsonEncoding() {
+		try {
+			final String sqlStatement = "SELECT 'a\"b\\c/d' AS text_escapes, 'line\ntab\tbell\u0007' AS text_control, 'ä€😀' AS text_unicode, CAST(1.50 AS DECIMAL(5,2)) AS decimal_value, TRUE AS boolean_value, column_integer FROM test_tbl WHERE id = 1";
+
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", sqlStatement, "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.json", "-x", "json", null });
+
+			Assert.assertTrue(OUTPUTFILE_JSON.exists());
+			Assert.assertEquals(
+					"[{\"TEXT_ESCAPES\":\"a\\\"b\\\\c\\/d\",\"TEXT_CONTROL\":\"line\\ntab\\tbell\\u0007\",\"TEXT_UNICODE\":\"ä€😀\",\"DECIMAL_VALUE\":1.50,\"BOOLEAN_VALUE\":true,\"COLUMN_INTEGER\":1}]",
+					FileUtilities.readFileToString(OUTPUTFILE_JSON, StandardCharsets.UTF_8));
+
+			// Other encodings than UTF-8 are converted after the encoding of the json text
+			OUTPUTFILE_JSON.delete();
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "SELECT 'äöü' AS text_latin1 FROM test_tbl WHERE id = 1", "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.json", "-x", "json", "-e", "ISO-8859-1", null });
+
+			Assert.assertEquals("[{\"TEXT_LATIN1\":\"äöü\"}]", FileUtilities.readFileToString(OUTPUTFILE_JSON, StandardCharsets.ISO_8859_1));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testJsonLines() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-x", "jsonl", null });
+
+			Assert.assertTrue(OUTPUTFILE_JSONL.exists());
+			Assert.assertEquals(
+					"{\"ID\":1,\"COLUMN_BLOB\":\"<test_text_base64>\",\"COLUMN_CLOB\":\"<test_text>\",\"COLUMN_DATE\":\"2003-02-01\",\"COLUMN_DOUBLE\":1.123,\"COLUMN_INTEGER\":1,\"COLUMN_TIMESTAMP\":\"2003-02-01T04:05:06\",\"COLUMN_VARCHAR\":\"<test_text>\"}\n"
+							+ "{\"ID\":2,\"COLUMN_BLOB\":\"<test_text_base64>\",\"COLUMN_CLOB\":\"<test_text>\",\"COLUMN_DATE\":\"2003-02-01\",\"COLUMN_DOUBLE\":2.123,\"COLUMN_INTEGER\":2,\"COLUMN_TIMESTAMP\":\"2003-02-01T04:05:06\",\"COLUMN_VARCHAR\":\"<test_text>\"}\n"
+							+ "{\"ID\":3,\"COLUMN_BLOB\":null,\"COLUMN_CLOB\":null,\"COLUMN_DATE\":null,\"COLUMN_DOUBLE\":null,\"COLUMN_INTEGER\":null,\"COLUMN_TIMESTAMP\":null,\"COLUMN_VARCHAR\":null}\n",
+							FileUtilities.readFileToString(OUTPUTFILE_JSONL, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\\", "\\\\").replace("\"", "\\\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testJsonCompact() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-x", "jsoncompact", null });
+
+			Assert.assertTrue(OUTPUTFILE_JSON.exists());
+			Assert.assertEquals(
+					"{\"columns\":["
+							+ "{\"name\":\"ID\",\"type\":\"INTEGER\"},"
+							+ "{\"name\":\"COLUMN_BLOB\",\"type\":\"BLOB\"},"
+							+ "{\"name\":\"COLUMN_CLOB\",\"type\":\"CLOB\"},"
+							+ "{\"name\":\"COLUMN_DATE\",\"type\":\"DATE\"},"
+							+ "{\"name\":\"COLUMN_DOUBLE\",\"type\":\"DOUBLE\"},"
+							+ "{\"name\":\"COLUMN_INTEGER\",\"type\":\"INTEGER\"},"
+							+ "{\"name\":\"COLUMN_TIMESTAMP\",\"type\":\"TIMESTAMP\"},"
+							+ "{\"name\":\"COLUMN_VARCHAR\",\"type\":\"VARCHAR\"}"
+							+ "],\"rows\":["
+							+ "[1,\"<test_text_base64>\",\"<test_text>\",\"2003-02-01\",1.123,1,\"2003-02-01T04:05:06\",\"<test_text>\"],"
+							+ "[2,\"<test_text_base64>\",\"<test_text>\",\"2003-02-01\",2.123,2,\"2003-02-01T04:05:06\",\"<test_text>\"],"
+							+ "[3,null,null,null,null,null,null,null]"
+							+ "]}",
+							FileUtilities.readFileToString(OUTPUTFILE_JSON, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\\", "\\\\").replace("\"", "\\\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testYaml() {
 		try {
@@ -372,6 +652,25 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testYamlTimestampLikeStrings() {
+		try {
+			final String sqlStatement = "SELECT CAST('2003-02-01' AS VARCHAR(20)) AS text_date, CAST('2003-02-01 04:05:06' AS VARCHAR(20)) AS text_timestamp, column_date, column_timestamp FROM test_tbl WHERE id = 1";
+
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", sqlStatement, "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.yaml", "-x", "yaml", null });
+
+			Assert.assertTrue(OUTPUTFILE_YAML.exists());
+			Assert.assertEquals(""
+					+ "- TEXT_DATE: \"2003-02-01\"\n"
+					+ "  TEXT_TIMESTAMP: \"2003-02-01 04:05:06\"\n"
+					+ "  COLUMN_DATE: 2003-02-01\n"
+					+ "  COLUMN_TIMESTAMP: 2003-02-01T04:05:06\n",
+					FileUtilities.readFileToString(OUTPUTFILE_YAML, StandardCharsets.UTF_8));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testXmlBeautified() {
 		try {
@@ -456,6 +755,392 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testXmlColumnAttributes() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-x", "xml", "-xmlAttributes", null });
+
+			Assert.assertTrue(OUTPUTFILE_XML.exists());
+			Assert.assertEquals(
+					"<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+							+ "<table statement=\"SELECT id, column_blob, column_clob, column_date, column_double, column_integer, column_timestamp, column_varchar FROM test_tbl ORDER BY id\">"
+							+ "<line ID=\"1\" COLUMN_BLOB=\"<test_text_base64>\" COLUMN_CLOB=\"<test_text>\" COLUMN_DATE=\"2003-02-01\" COLUMN_DOUBLE=\"1,123\" COLUMN_INTEGER=\"1\" COLUMN_TIMESTAMP=\"2003-02-01T04:05:06\" COLUMN_VARCHAR=\"<test_text>\"/>"
+							+ "<line ID=\"2\" COLUMN_BLOB=\"<test_text_base64>\" COLUMN_CLOB=\"<test_text>\" COLUMN_DATE=\"2003-02-01\" COLUMN_DOUBLE=\"2,123\" COLUMN_INTEGER=\"2\" COLUMN_TIMESTAMP=\"2003-02-01T04:05:06\" COLUMN_VARCHAR=\"<test_text>\"/>"
+							+ "<line ID=\"3\"/>"
+							+ "</table>",
+							FileUtilities.readFileToString(OUTPUTFILE_XML, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;"), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParquet() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-x", "parquet", "-parquetRowGroupSize", "2", "-parquetCodec", "zstd", null });
+
+			Assert.assertTrue(OUTPUTFILE_PARQUET.exists());
+			final byte[] data = Files.readAllBytes(OUTPUTFILE_PARQUET.toPath());
+			Assert.assertEquals("PAR1", new String(data, 0, 4, StandardCharsets.US_ASCII));
+			Assert.assertEquals("PAR1", new String(data, data.length - 4, 4, StandardCharsets.US_ASCII));
+			final int footerLength = ByteBuffer.wrap(data, data.length - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+			Assert.assertTrue(footerLength > 0 && footerLength < data.length - 12);
+
+			final Map<Integer, Object> fileMetaData = new ThriftCompactReader(data, data.length - 8 - footerLength).readStruct();
+			Assert.assertEquals(3L, fileMetaData.get(3));
+
+			final List<String> columnNames = new ArrayList<>();
+			final List<Object> schema = (List<Object>) fileMetaData.get(2);
+			for (final Object schemaElement : schema.subList(1, schema.size())) {
+				columnNames.add(new String((byte[]) ((Map<Integer, Object>) schemaElement).get(4), StandardCharsets.UTF_8));
+			}
+			Assert.assertEquals("[ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR]", columnNames.toString());
+
+			final List<Object> rowGroups = (List<Object>) fileMetaData.get(4);
+			Assert.assertEquals(2, rowGroups.size());
+			final Map<Integer, Object> firstRowGroup = (Map<Integer, Object>) rowGroups.get(0);
+			final Map<Integer, Object> secondRowGroup = (Map<Integer, Object>) rowGroups.get(1);
+			Assert.assertEquals(2L, firstRowGroup.get(3));
+			Assert.assertEquals(1L, secondRowGroup.get(3));
+
+			final ByteBuffer ids = readParquetPageValues(data, firstRowGroup, columnNames.indexOf("ID"));
+			Assert.assertEquals(1, ids.getInt());
+			Assert.assertEquals(2, ids.getInt());
+			Assert.assertFalse(ids.hasRemaining());
+
+			final ByteBuffer doubles = readParquetPageValues(data, firstRowGroup, columnNames.indexOf("COLUMN_DOUBLE"));
+			Assert.assertEquals(1.123, doubles.getDouble(), 0);
+			Assert.assertEquals(2.123, doubles.getDouble(), 0);
+
+			final ByteBuffer dates = readParquetPageValues(data, firstRowGroup, columnNames.indexOf("COLUMN_DATE"));
+			Assert.assertEquals(TEST_DATE.toEpochDay(), dates.getInt());
+
+			final ByteBuffer timestamps = readParquetPageValues(data, firstRowGroup, columnNames.indexOf("COLUMN_TIMESTAMP"));
+			Assert.assertEquals(TEST_DATETIME.toEpochSecond(ZoneOffset.UTC) * 1000000L, timestamps.getLong());
+
+			final ByteBuffer texts = readParquetPageValues(data, firstRowGroup, columnNames.indexOf("COLUMN_VARCHAR"));
+			final byte[] text = new byte[texts.getInt()];
+			texts.get(text);
+			Assert.assertEquals(TextUtilities.GERMAN_TEST_STRING, new String(text, StandardCharsets.UTF_8));
+
+			// The third row has an id, but only null values in all other columns
+			final ByteBuffer lastId = readParquetPageValues(data, secondRowGroup, columnNames.indexOf("ID"));
+			Assert.assertEquals(3, lastId.getInt());
+			Assert.assertFalse(lastId.hasRemaining());
+			Assert.assertFalse(readParquetPageValues(data, secondRowGroup, columnNames.indexOf("COLUMN_VARCHAR")).hasRemaining());
+			final Map<Integer, Object> lastTextsMetaData = (Map<Integer, Object>) ((Map<Integer, Object>) ((List<Object>) secondRowGroup.get(1)).get(columnNames.indexOf("COLUMN_VARCHAR"))).get(3);
+			Assert.assertEquals(1L, ((Map<Integer, Object>) lastTextsMetaData.get(12)).get(3));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Read the single zstd compressed data page of a column chunk and return its PLAIN encoded values after the definition levels
+	 */
+	@SuppressWarnings("unchecked")
+	private static ByteBuffer readParquetPageValues(final byte[] data, final Map<Integer, Object> rowGroup, final int columnIndex) {
+		final Map<Integer, Object> columnMetaData = (Map<Integer, Object>) ((Map<Integer, Object>) ((List<Object>) rowGroup.get(1)).get(columnIndex)).get(3);
+		final ThriftCompactReader pageHeaderReader = new ThriftCompactReader(data, (int) (long) (Long) columnMetaData.get(9));
+		final Map<Integer, Object> pageHeader = pageHeaderReader.readStruct();
+		final int uncompressedPageSize = (int) (long) (Long) pageHeader.get(2);
+		final int compressedPageSize = (int) (long) (Long) pageHeader.get(3);
+		final byte[] page = new byte[uncompressedPageSize];
+		Assert.assertEquals(uncompressedPageSize, new ZstdDecompressor().decompress(data, pageHeaderReader.getPosition(), compressedPageSize, page, 0, page.length));
+
+		final ByteBuffer pageBuffer = ByteBuffer.wrap(page).order(ByteOrder.LITTLE_ENDIAN);
+		final int definitionLevelsLength = pageBuffer.getInt();
+		pageBuffer.position(4 + definitionLevelsLength);
+		return pageBuffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Reader of the thrift compact protocol of the parquet metadata. Structs are read as maps by their field ids, integers as Long values.
+	 */
+	private static class ThriftCompactReader {
+		private final byte[] data;
+		private int position;
+
+		public ThriftCompactReader(final byte[] data, final int position) {
+			this.data = data;
+			this.position = position;
+		}
+
+		public int getPosition() {
+			return position;
+		}
+
+		public Map<Integer, Object> readStruct() {
+			final Map<Integer, Object> struct = new HashMap<>();
+			int lastFieldId = 0;
+			while (true) {
+				final int fieldHeader = data[position++] & 0xFF;
+				if (fieldHeader == 0) {
+					return struct;
+				}
+				final int fieldIdDelta = fieldHeader >> 4;
+				final int fieldId = fieldIdDelta != 0 ? lastFieldId + fieldIdDelta : (int) readZigZag();
+				lastFieldId = fieldId;
+				struct.put(fieldId, readValue(fieldHeader & 0x0F));
+			}
+		}
+
+		private Object readValue(final int type) {
+			switch (type) {
+				case 1:
+					return true;
+				case 2:
+					return false;
+				case 5:
+				case 6:
+					return readZigZag();
+				case 8:
+					final int length = (int) readVarInt();
+					final byte[] value = Arrays.copyOfRange(data, position, position + length);
+					position += length;
+					return value;
+				case 9:
+					final int listHeader = data[position++] & 0xFF;
+					final int size = (listHeader >> 4) == 15 ? (int) readVarInt() : listHeader >> 4;
+					final List<Object> list = new ArrayList<>();
+					for (int i = 0; i < size; i++) {
+						list.add(readValue(listHeader & 0x0F));
+					}
+					return list;
+				case 12:
+					return readStruct();
+				default:
+					throw new IllegalStateException("Unexpected thrift type " + type);
+			}
+		}
+
+		private long readVarInt() {
+			long value = 0;
+			int shift = 0;
+			int nextByte;
+			do {
+				nextByte = data[position++] & 0xFF;
+				value |= (long) (nextByte & 0x7F) << shift;
+				shift += 7;
+			} while ((nextByte & 0x80) != 0);
+			return value;
+		}
+
+		private long readZigZag() {
+			final long value = readVarInt();
+			return (value >>> 1) ^ -(value & 1);
+		}
+	}
+
+	@Test
+	public void testArrow() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-x", "arrow", "-arrowBatchSize", "2", null });
+
+			Assert.assertTrue(OUTPUTFILE_ARROW.exists());
+			final byte[] data = Files.readAllBytes(OUTPUTFILE_ARROW.toPath());
+			Assert.assertEquals("ARROW1", new String(data, 0, 6, StandardCharsets.US_ASCII));
+			Assert.assertEquals("ARROW1", new String(data, data.length - 6, 6, StandardCharsets.US_ASCII));
+			final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+			final int footerLength = buffer.getInt(data.length - 10);
+			Assert.assertTrue(footerLength > 0 && footerLength < data.length - 16);
+			final int footer = getFlatBufferRoot(buffer, data.length - 10 - footerLength);
+
+			final List<String> columnNames = new ArrayList<>();
+			final int fields = getFlatBufferReference(buffer, getFlatBufferReference(buffer, footer, 1), 1);
+			for (int i = 0; i < buffer.getInt(fields); i++) {
+				final int field = fields + 4 + i * 4 + buffer.getInt(fields + 4 + i * 4);
+				columnNames.add(getFlatBufferString(buffer, getFlatBufferReference(buffer, field, 0)));
+			}
+			Assert.assertEquals("[ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR]", columnNames.toString());
+
+			// Blocks of the record batches with file offset, metadata length and body length
+			final int blocks = getFlatBufferReference(buffer, footer, 3);
+			Assert.assertEquals(2, buffer.getInt(blocks));
+			final int firstBlock = blocks + 4;
+			final int secondBlock = blocks + 4 + 24;
+
+			// Body buffers of the columns: ID 0-1, COLUMN_BLOB 2-4, COLUMN_CLOB 5-7, COLUMN_DATE 8-9, COLUMN_DOUBLE 10-11, COLUMN_INTEGER 12-13, COLUMN_TIMESTAMP 14-15, COLUMN_VARCHAR 16-18
+			final int firstRecordBatch = getArrowRecordBatch(buffer, firstBlock);
+			Assert.assertEquals(2L, buffer.getLong(getFlatBufferField(buffer, firstRecordBatch, 0)));
+			Assert.assertEquals(0L, getArrowNullCount(buffer, firstRecordBatch, columnNames.indexOf("COLUMN_VARCHAR")));
+
+			final ByteBuffer ids = getArrowBodyBuffer(buffer, firstBlock, firstRecordBatch, 1);
+			Assert.assertEquals(1, ids.getInt());
+			Assert.assertEquals(2, ids.getInt());
+			final ByteBuffer dates = getArrowBodyBuffer(buffer, firstBlock, firstRecordBatch, 9);
+			Assert.assertEquals(TEST_DATE.toEpochDay(), dates.getInt());
+			final ByteBuffer doubles = getArrowBodyBuffer(buffer, firstBlock, firstRecordBatch, 11);
+			Assert.assertEquals(1.123, doubles.getDouble(), 0);
+			Assert.assertEquals(2.123, doubles.getDouble(), 0);
+			final ByteBuffer timestamps = getArrowBodyBuffer(buffer, firstBlock, firstRecordBatch, 15);
+			Assert.assertEquals(TEST_DATETIME.toEpochSecond(ZoneOffset.UTC) * 1000000L, timestamps.getLong());
+
+			final byte[] textBytes = TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8);
+			final ByteBuffer textOffsets = getArrowBodyBuffer(buffer, firstBlock, firstRecordBatch, 17);
+			Assert.assertEquals(0, textOffsets.getInt());
+			Assert.assertEquals(textBytes.length, textOffsets.getInt());
+			Assert.assertEquals(2 * textBytes.length, textOffsets.getInt());
+			final byte[] texts = new byte[2 * textBytes.length];
+			getArrowBodyBuffer(buffer, firstBlock, firstRecordBatch, 18).get(texts);
+			Assert.assertEquals(TextUtilities.GERMAN_TEST_STRING + TextUtilities.GERMAN_TEST_STRING, new String(texts, StandardCharsets.UTF_8));
+
+			// The third row has an id, but only null values in all other columns
+			final int secondRecordBatch = getArrowRecordBatch(buffer, secondBlock);
+			Assert.assertEquals(1L, buffer.getLong(getFlatBufferField(buffer, secondRecordBatch, 0)));
+			Assert.assertEquals(3, getArrowBodyBuffer(buffer, secondBlock, secondRecordBatch, 1).getInt());
+			Assert.assertEquals(0L, getArrowNullCount(buffer, secondRecordBatch, columnNames.indexOf("ID")));
+			Assert.assertEquals(1L, getArrowNullCount(buffer, secondRecordBatch, columnNames.indexOf("COLUMN_VARCHAR")));
+			Assert.assertEquals(0, getArrowBodyBuffer(buffer, secondBlock, secondRecordBatch, 16).get());
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	/**
+	 * Position of the RecordBatch table in the message of a record batch block of the arrow file footer
+	 */
+	static int getArrowRecordBatch(final ByteBuffer buffer, final int block) {
+		final int messagePosition = (int) buffer.getLong(block);
+		Assert.assertEquals(0xFFFFFFFF, buffer.getInt(messagePosition));
+		final int message = getFlatBufferRoot(buffer, messagePosition + 8);
+		// Type of the message header must be RecordBatch
+		Assert.assertEquals(3, buffer.get(getFlatBufferField(buffer, message, 1)));
+		return getFlatBufferReference(buffer, message, 2);
+	}
+
+	static long getArrowNullCount(final ByteBuffer buffer, final int recordBatch, final int columnIndex) {
+		final int nodes = getFlatBufferReference(buffer, recordBatch, 1);
+		return buffer.getLong(nodes + 4 + columnIndex * 16 + 8);
+	}
+
+	static ByteBuffer getArrowBodyBuffer(final ByteBuffer buffer, final int block, final int recordBatch, final int bufferIndex) {
+		final int bodyPosition = (int) buffer.getLong(block) + buffer.getInt(block + 8);
+		final int buffers = getFlatBufferReference(buffer, recordBatch, 2);
+		final int offset = (int) buffer.getLong(buffers + 4 + bufferIndex * 16);
+		final int length = (int) buffer.getLong(buffers + 4 + bufferIndex * 16 + 8);
+		return ByteBuffer.wrap(buffer.array(), bodyPosition + offset, length).slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	static int getFlatBufferRoot(final ByteBuffer buffer, final int flatBufferPosition) {
+		return flatBufferPosition + buffer.getInt(flatBufferPosition);
+	}
+
+	/**
+	 * Position of a field of a flatbuffer table, or 0 for fields, which are not set
+	 */
+	static int getFlatBufferField(final ByteBuffer buffer, final int table, final int fieldIndex) {
+		final int vtable = table - buffer.getInt(table);
+		if (4 + fieldIndex * 2 >= buffer.getShort(vtable)) {
+			return 0;
+		}
+		final int fieldOffset = buffer.getShort(vtable + 4 + fieldIndex * 2);
+		return fieldOffset == 0 ? 0 : table + fieldOffset;
+	}
+
+	/**
+	 * Position of the string, vector or table referenced by an offset field of a flatbuffer table
+	 */
+	static int getFlatBufferReference(final ByteBuffer buffer, final int table, final int fieldIndex) {
+		final int field = getFlatBufferField(buffer, table, fieldIndex);
+		Assert.assertTrue(field > 0);
+		return field + buffer.getInt(field);
+	}
+
+	static String getFlatBufferString(final ByteBuffer buffer, final int string) {
+		return new String(buffer.array(), string + 4, buffer.getInt(string), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testVcf() {
+		try {
+			final String sqlStatement = "SELECT 'Max' AS first_name, 'Mustermann' AS last_name, 'Main St. 1' AS street, '12345' AS zip, 'Berlin' AS city, 'max' || CAST(id AS VARCHAR(10)) || '@example.com' AS email, column_date AS birthday, column_integer, column_varchar AS note FROM test_tbl ORDER BY id";
+
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", sqlStatement, "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.vcf", "-x", "vcf", null });
+
+			Assert.assertTrue(OUTPUTFILE_VCF.exists());
+
+			// The export must create the same cards as the vcf library creates by its own column matching
+			final ByteArrayOutputStream expectedVcfOutputStream = new ByteArrayOutputStream();
+			final VcfWriter vcfWriter = new VcfWriter(expectedVcfOutputStream, StandardCharsets.UTF_8);
+			for (int id = 1; id <= 3; id++) {
+				final Map<String, Object> vcfCardMap = new HashMap<>();
+				vcfCardMap.put("FIRST_NAME", "Max");
+				vcfCardMap.put("LAST_NAME", "Mustermann");
+				vcfCardMap.put("STREET", "Main St. 1");
+				vcfCardMap.put("ZIP", "12345");
+				vcfCardMap.put("CITY", "Berlin");
+				vcfCardMap.put("EMAIL", "max" + id + "@example.com");
+				vcfCardMap.put("BIRTHDAY", id < 3 ? TEST_DATE : null);
+				vcfCardMap.put("COLUMN_INTEGER", id < 3 ? Integer.valueOf(id) : null);
+				vcfCardMap.put("NOTE", id < 3 ? TextUtilities.GERMAN_TEST_STRING : null);
+				vcfWriter.writeCard(VcfCard.fromMap(vcfCardMap));
+			}
+			vcfWriter.close();
+
+			Assert.assertEquals(new String(expectedVcfOutputStream.toByteArray(), StandardCharsets.UTF_8), FileUtilities.readFileToString(OUTPUTFILE_VCF, StandardCharsets.UTF_8));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testKdbxStreaming() {
+		try {
+			final String sqlStatement = "SELECT 'Entry ' || id AS title, 'user' || id AS username, 'pw' || id AS password, column_date, column_varchar FROM test_tbl ORDER BY id";
+
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", sqlStatement, "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.kdbx", "-x", "kdbx", "-kdbxPassword", "abc123", "-kdbxStreaming", null });
+
+			Assert.assertTrue(OUTPUTFILE_KDBX.exists());
+			final List<KdbxEntry> streamedEntries = readKdbxEntries(OUTPUTFILE_KDBX, "abc123".toCharArray());
+			Assert.assertEquals(3, streamedEntries.size());
+			for (int i = 0; i < 3; i++) {
+				Assert.assertEquals("Entry " + (i + 1), streamedEntries.get(i).getTitle());
+				Assert.assertEquals("user" + (i + 1), streamedEntries.get(i).getUsername());
+				Assert.assertEquals("pw" + (i + 1), streamedEntries.get(i).getPassword());
+			}
+			Assert.assertEquals("2003-02-01", streamedEntries.get(0).getItems().get("COLUMN_DATE"));
+			Assert.assertEquals(TextUtilities.GERMAN_TEST_STRING, streamedEntries.get(0).getItems().get("COLUMN_VARCHAR"));
+			Assert.assertNull(streamedEntries.get(2).getItems().get("COLUMN_DATE"));
+			Assert.assertNull(streamedEntries.get(2).getItems().get("COLUMN_VARCHAR"));
+
+			// The entries of the streaming mode must be the same as those of the default mode
+			OUTPUTFILE_KDBX.delete();
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", sqlStatement, "-output", "~" + File.separator + "temp" + File.separator + "test_tbl.kdbx", "-x", "kdbx", "-kdbxPassword", "abc123", null });
+
+			Assert.assertTrue(OUTPUTFILE_KDBX.exists());
+			final List<KdbxEntry> entries = readKdbxEntries(OUTPUTFILE_KDBX, "abc123".toCharArray());
+			Assert.assertEquals(streamedEntries.size(), entries.size());
+			for (int i = 0; i < entries.size(); i++) {
+				Assert.assertEquals(entries.get(i).getTitle(), streamedEntries.get(i).getTitle());
+				Assert.assertEquals(entries.get(i).getUsername(), streamedEntries.get(i).getUsername());
+				Assert.assertEquals(entries.get(i).getPassword(), streamedEntries.get(i).getPassword());
+				Assert.assertEquals(entries.get(i).getItems(), streamedEntries.get(i).getItems());
+			}
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	private static List<KdbxEntry> readKdbxEntries(final File kdbxFile, final char[] password) throws Exception {
+		try (KdbxReader kdbxReader = new KdbxReader(new FileInputStream(kdbxFile))) {
+			final KdbxDatabase kdbxDatabase = kdbxReader.readKdbxDatabase(password);
+			final List<KdbxEntry> entries = new ArrayList<>(kdbxDatabase.getEntries());
+			for (final KdbxGroup kdbxGroup : kdbxDatabase.getGroups()) {
+				addKdbxEntries(kdbxGroup, entries);
+			}
+			return entries;
+		}
+	}
+
+	private static void addKdbxEntries(final KdbxGroup kdbxGroup, final List<KdbxEntry> entries) {
+		entries.addAll(kdbxGroup.getEntries());
+		for (final KdbxGroup subGroup : kdbxGroup.getGroups()) {
+			addKdbxEntries(subGroup, entries);
+		}
+	}
+
 	@Test
 	public void testSql() {
 		try {
@@ -464,9 +1149,26 @@ public class DbExportTest_HSQL {
 			Assert.assertTrue(OUTPUTFILE_SQL.exists());
 			Assert.assertEquals(
 					"--SELECT id, column_blob, column_clob, column_date, column_double, column_integer, column_timestamp, column_varchar FROM test_tbl ORDER BY id\n"
-							+ "INSERT INTO export_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (1, '<test_text_base64>', '<test_text>', '2003-02-01', 1.123, 1, '2003-02-01 04:05:06', '<test_text>');\n"
-							+ "INSERT INTO export_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (2, '<test_text_base64>', '<test_text>', '2003-02-01', 2.123, 2, '2003-02-01 04:05:06', '<test_text>');\n"
-							+ "INSERT INTO export_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL, NULL);\n",
+							+ "INSERT INTO test_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (1, '<test_text_base64>', '<test_text>', '2003-02-01', 1.123, 1, '2003-02-01 04:05:06', '<test_text>');\n"
+							+ "INSERT INTO test_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (2, '<test_text_base64>', '<test_text>', '2003-02-01', 2.123, 2, '2003-02-01 04:05:06', '<test_text>');\n"
+							+ "INSERT INTO test_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL, NULL);\n",
+							FileUtilities.readFileToString(OUTPUTFILE_SQL, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("'", "''"), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testSqlMultipleRowsPerInsert() {
+		try {
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl", "-output", "~" + File.separator + "temp" + File.separator, "-x", "sql", "-insertRows", "2", null });
+
+			Assert.assertTrue(OUTPUTFILE_SQL.exists());
+			Assert.assertEquals(
+					"--SELECT id, column_blob, column_clob, column_date, column_double, column_integer, column_timestamp, column_varchar FROM test_tbl ORDER BY id\n"
+							+ "INSERT INTO test_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (1, '<test_text_base64>', '<test_text>', '2003-02-01', 1.123, 1, '2003-02-01 04:05:06', '<test_text>'),\n"
+							+ "\t(2, '<test_text_base64>', '<test_text>', '2003-02-01', 2.123, 2, '2003-02-01 04:05:06', '<test_text>');\n"
+							+ "INSERT INTO test_tbl (ID, COLUMN_BLOB, COLUMN_CLOB, COLUMN_DATE, COLUMN_DOUBLE, COLUMN_INTEGER, COLUMN_TIMESTAMP, COLUMN_VARCHAR) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL, NULL);\n",
 							FileUtilities.readFileToString(OUTPUTFILE_SQL, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("'", "''"), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
 		} catch (final Exception e) {
 			Assert.fail(e.getMessage());
@@ -572,6 +1274,36 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testCsvCompressTarGzParallel() {
+		try {
+			DbExport._main(new String[] {
+					"hsql",
+					"",
+					HSQL_DB_FILE,
+					"",
+					"-export", "test_tbl",
+					"-output", "~" + File.separator + "temp" + File.separator,
+					"-compress", "TARGZ",
+					"-compressionThreads", "2",
+					null
+			});
+
+			Assert.assertTrue(OUTPUTFILE_CSV_TARGZ.exists());
+			try (InputStream inputStream = TarGzUtilities.openCompressedFile(OUTPUTFILE_CSV_TARGZ, "test_tbl.csv")) {
+				final byte[] testOutoputData = IoUtilities.toByteArray(inputStream);
+				Assert.assertEquals(
+						"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+								+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "3;;;;;;;\n",
+								new String(testOutoputData, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+			}
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testCsvCompressTgz() {
 		try {
@@ -630,6 +1362,117 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testCsvCompressGzParallel() {
+		try {
+			DbExport._main(new String[] {
+					"hsql",
+					"",
+					HSQL_DB_FILE,
+					"",
+					"-export", "test_tbl",
+					"-output", "~" + File.separator + "temp" + File.separator,
+					"-compress", "GZ",
+					"-compressionThreads", "2",
+					null
+			});
+
+			Assert.assertTrue(OUTPUTFILE_CSV_GZ.exists());
+			try (InputStream inputStream = new GZIPInputStream(new FileInputStream(OUTPUTFILE_CSV_GZ))) {
+				final byte[] testOutoputData = IoUtilities.toByteArray(inputStream);
+				Assert.assertEquals(
+						"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+								+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "3;;;;;;;\n",
+								new String(testOutoputData, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+			}
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCsvCompressZstdUnavailableLevel() {
+		Assume.assumeFalse(CompressionUtilities.isZstdLevelAvailable(19));
+		try {
+			final int exitCode = DbExport._main(new String[] {
+					"hsql",
+					"",
+					HSQL_DB_FILE,
+					"",
+					"-export", "test_tbl",
+					"-output", "~" + File.separator + "temp" + File.separator,
+					"-compress", "ZSTD",
+					"-zstdLevel", "19",
+					null
+			});
+
+			Assert.assertEquals(1, exitCode);
+			Assert.assertFalse(OUTPUTFILE_CSV_ZST.exists());
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCsvCompressZstd() {
+		try {
+			DbExport._main(new String[] {
+					"hsql",
+					"",
+					HSQL_DB_FILE,
+					"",
+					"-export", "test_tbl",
+					"-output", "~" + File.separator + "temp" + File.separator,
+					"-compress", "ZSTD",
+					null
+			});
+
+			Assert.assertTrue(OUTPUTFILE_CSV_ZST.exists());
+			try (InputStream inputStream = new ZstdInputStream(new FileInputStream(OUTPUTFILE_CSV_ZST))) {
+				final byte[] testOutoputData = IoUtilities.toByteArray(inputStream);
+				Assert.assertEquals(
+						"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+								+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "3;;;;;;;\n",
+								new String(testOutoputData, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+			}
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCsvCompressLz4() {
+		try {
+			DbExport._main(new String[] {
+					"hsql",
+					"",
+					HSQL_DB_FILE,
+					"",
+					"-export", "test_tbl",
+					"-output", "~" + File.separator + "temp" + File.separator,
+					"-compress", "LZ4",
+					null
+			});
+
+			Assert.assertTrue(OUTPUTFILE_CSV_LZ4.exists());
+			try (InputStream inputStream = new FramedLZ4CompressorInputStream(new FileInputStream(OUTPUTFILE_CSV_LZ4))) {
+				final byte[] testOutoputData = IoUtilities.toByteArray(inputStream);
+				Assert.assertEquals(
+						"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+								+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+								+ "3;;;;;;;\n",
+								new String(testOutoputData, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+			}
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testCsvZippedWithPasswordWithAES256() {
 		try {
@@ -766,6 +1609,44 @@ public class DbExportTest_HSQL {
 		}
 	}
 
+	@Test
+	public void testCsvMultipleTablesWithThreads() {
+		final File OUTPUTFILE_CSV_2 = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_tbl2.csv"));
+
+		try {
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.HSQL, "", HSQL_DB_FILE, null, null, false, null, null), false)) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("CREATE TABLE test_tbl2 AS (SELECT * FROM test_tbl) WITH DATA");
+				}
+			}
+
+			DbExport._main(new String[] { "hsql", "", HSQL_DB_FILE, "", "-export", "test_tbl, test_tbl2", "-output", "~" + File.separator + "temp" + File.separator, "-threads", "2", null });
+
+			Assert.assertTrue(OUTPUTFILE_CSV.exists());
+			Assert.assertEquals(
+					"ID;COLUMN_BLOB;COLUMN_CLOB;COLUMN_DATE;COLUMN_DOUBLE;COLUMN_INTEGER;COLUMN_TIMESTAMP;COLUMN_VARCHAR\n"
+							+ "1;<test_text_base64>;\"<test_text>\";2003-02-01;1,123;1;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "2;<test_text_base64>;\"<test_text>\";2003-02-01;2,123;2;2003-02-01T04:05:06;\"<test_text>\"\n"
+							+ "3;;;;;;;\n",
+							FileUtilities.readFileToString(OUTPUTFILE_CSV, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("\"", "\"\""), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
+			Assert.assertTrue(OUTPUTFILE_CSV_2.exists());
+			Assert.assertEquals(4, FileUtilities.getLineCount(OUTPUTFILE_CSV_2));
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		} finally {
+			if (OUTPUTFILE_CSV_2.exists()) {
+				OUTPUTFILE_CSV_2.delete();
+			}
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.HSQL, "", HSQL_DB_FILE, null, null, false, null, null), false)) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("DROP TABLE test_tbl2");
+				}
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Do nothing
+			}
+		}
+	}
+
 	@Test
 	public void testStructureExport() {
 		try {
@@ -1,12 +1,16 @@
 package de.soderer.dbexport;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -20,6 +24,7 @@ import de.soderer.utilities.FileUtilities;
 import de.soderer.utilities.TextUtilities;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.db.DbUtilities;
+import de.soderer.utilities.db.data.DbConnectionDefinition;
 import de.soderer.utilities.db.data.DbVendor;
 import de.soderer.utilities.zip.ZipUtilities;
 
@@ -298,6 +303,72 @@ public class DbExportTest_SQLite {
 		}
 	}
 
+	@Test
+	public void testArrowVendorSpecificValues() {
+		final File OUTPUTFILE_ARROW = new File(Utilities.replaceUsersHome("~" + File.separator + "temp" + File.separator + "test_arrow_tbl.arrow"));
+
+		try {
+			// SQLite INTEGER holds 64 bit values and dates are stored as text, so both must be read by the SQLiteDBValueConverter
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.SQLite, null, SQLITE_DB_FILE, null, null, false, null, null), false);
+					Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE test_arrow_tbl (id INTEGER, column_integer INTEGER, column_date DATE, column_timestamp TIMESTAMP, column_blob BLOB)");
+				try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO test_arrow_tbl (id, column_integer, column_date, column_timestamp, column_blob) VALUES (?, ?, ?, ?, ?)")) {
+					preparedStatement.setObject(1, 1);
+					preparedStatement.setObject(2, 5000000000L);
+					preparedStatement.setObject(3, TEST_DATE);
+					preparedStatement.setObject(4, TEST_DATETIME);
+					preparedStatement.setObject(5, TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8));
+					preparedStatement.executeUpdate();
+					preparedStatement.clearParameters();
+					preparedStatement.setObject(1, 2);
+					preparedStatement.setObject(2, null);
+					preparedStatement.setObject(3, null);
+					preparedStatement.setObject(4, null);
+					preparedStatement.setObject(5, null);
+					preparedStatement.executeUpdate();
+				}
+			}
+
+			DbExport._main(new String[] { "sqlite", SQLITE_DB_FILE, "-export", "SELECT id, column_integer, column_date, column_timestamp, column_blob FROM test_arrow_tbl ORDER BY id", "-output", "~" + File.separator + "temp" + File.separator + "test_arrow_tbl.arrow", "-x", "arrow" });
+
+			Assert.assertTrue(OUTPUTFILE_ARROW.exists());
+			final byte[] data = Files.readAllBytes(OUTPUTFILE_ARROW.toPath());
+			final ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+			final int footer = DbExportTest_HSQL.getFlatBufferRoot(buffer, data.length - 10 - buffer.getInt(data.length - 10));
+			final int blocks = DbExportTest_HSQL.getFlatBufferReference(buffer, footer, 3);
+			Assert.assertEquals(1, buffer.getInt(blocks));
+			final int block = blocks + 4;
+			final int recordBatch = DbExportTest_HSQL.getArrowRecordBatch(buffer, block);
+			Assert.assertEquals(2L, buffer.getLong(DbExportTest_HSQL.getFlatBufferField(buffer, recordBatch, 0)));
+
+			// Body buffers of the columns: id 0-1, column_integer 2-3, column_date 4-5, column_timestamp 6-7, column_blob 8-10
+			final ByteBuffer ids = DbExportTest_HSQL.getArrowBodyBuffer(buffer, block, recordBatch, 1);
+			Assert.assertEquals(1L, ids.getLong());
+			Assert.assertEquals(2L, ids.getLong());
+			Assert.assertEquals(5000000000L, DbExportTest_HSQL.getArrowBodyBuffer(buffer, block, recordBatch, 3).getLong());
+			Assert.assertEquals(TEST_DATE.toEpochDay(), DbExportTest_HSQL.getArrowBodyBuffer(buffer, block, recordBatch, 5).getInt());
+			Assert.assertEquals(TEST_DATETIME.toEpochSecond(ZoneOffset.UTC) * 1000000L, DbExportTest_HSQL.getArrowBodyBuffer(buffer, block, recordBatch, 7).getLong());
+			final byte[] blobBytes = new byte[DbExportTest_HSQL.getArrowBodyBuffer(buffer, block, recordBatch, 9).getInt(4)];
+			DbExportTest_HSQL.getArrowBodyBuffer(buffer, block, recordBatch, 10).get(blobBytes);
+			Assert.assertEquals(TextUtilities.GERMAN_TEST_STRING, new String(blobBytes, StandardCharsets.UTF_8));
+			for (int columnIndex = 1; columnIndex < 5; columnIndex++) {
+				Assert.assertEquals(1L, DbExportTest_HSQL.getArrowNullCount(buffer, recordBatch, columnIndex));
+			}
+		} catch (final Exception e) {
+			Assert.fail(e.getMessage());
+		} finally {
+			if (OUTPUTFILE_ARROW.exists()) {
+				OUTPUTFILE_ARROW.delete();
+			}
+			try (Connection connection = DbUtilities.createConnection(new DbConnectionDefinition(DbVendor.SQLite, null, SQLITE_DB_FILE, null, null, false, null, null), false);
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE test_arrow_tbl");
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Do nothing
+			}
+		}
+	}
+
 	@Test
 	public void testXmlBeautified() {
 		try {
@@ -393,9 +464,9 @@ public class DbExportTest_SQLite {
 			Assert.assertTrue(OUTPUTFILE_SQL.exists());
 			Assert.assertEquals(
 					"--SELECT id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp FROM test_tbl ORDER BY id\n"
-							+ "INSERT INTO export_tbl (id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp) VALUES (1, '<test_text_base64>', '2003-02-01', 1, 1.1237, '<test_text>', '2003-02-01 04:05:06');\n"
-							+ "INSERT INTO export_tbl (id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp) VALUES (2, '<test_text_base64>', '2003-02-01', 2, 2.1237, '<test_text>', '2003-02-01 04:05:06');\n"
-							+ "INSERT INTO export_tbl (id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL);\n",
+							+ "INSERT INTO test_tbl (id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp) VALUES (1, '<test_text_base64>', '2003-02-01', 1, 1.1237, '<test_text>', '2003-02-01 04:05:06');\n"
+							+ "INSERT INTO test_tbl (id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp) VALUES (2, '<test_text_base64>', '2003-02-01', 2, 2.1237, '<test_text>', '2003-02-01 04:05:06');\n"
+							+ "INSERT INTO test_tbl (id, column_blob, column_date, column_integer, column_real, column_text, column_timestamp) VALUES (3, NULL, NULL, NULL, NULL, NULL, NULL);\n",
 							FileUtilities.readFileToString(OUTPUTFILE_SQL, StandardCharsets.UTF_8).replace(TextUtilities.GERMAN_TEST_STRING.replace("'", "''"), "<test_text>").replace(Utilities.encodeBase64(TextUtilities.GERMAN_TEST_STRING.getBytes(StandardCharsets.UTF_8)), "<test_text_base64>"));
 		} catch (final Exception e) {
 			Assert.fail(e.getMessage());
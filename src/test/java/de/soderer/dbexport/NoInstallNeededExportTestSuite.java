@@ -3,12 +3,17 @@ package de.soderer.dbexport;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import de.soderer.dbexport.converter.DefaultDBValueConverterTest;
+import de.soderer.dbexport.utilities.NumberFormatterTest;
+
 @RunWith(Suite.class)
 
 @Suite.SuiteClasses({
 	DbExportTest_Derby.class,
 	DbExportTest_HSQL.class,
-	DbExportTest_SQLite.class
+	DbExportTest_SQLite.class,
+	DefaultDBValueConverterTest.class,
+	NumberFormatterTest.class
 })
 
 public class NoInstallNeededExportTestSuite {
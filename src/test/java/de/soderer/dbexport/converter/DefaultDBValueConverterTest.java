@@ -0,0 +1,211 @@
+package de.soderer.dbexport.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.soderer.dbexport.converter.DefaultDBValueConverter.ColumnValueReader;
+import de.soderer.dbexport.utilities.CompressionType;
+import de.soderer.utilities.IoUtilities;
+import de.soderer.utilities.TextUtilities;
+import de.soderer.utilities.Utilities;
+import net.lingala.zip4j.ZipFile;
+import net.lingala.zip4j.model.FileHeader;
+import net.lingala.zip4j.model.enums.EncryptionMethod;
+
+public class DefaultDBValueConverterTest {
+	private static final LocalDateTime TEST_DATETIME = LocalDateTime.of(2003, 2, 1, 4, 5, 6, 789000000);
+
+	@Test
+	public void testTimestampReadAsLocalDateTime() throws Exception {
+		final List<String> calls = new ArrayList<>();
+		final ResultSet resultSet = createTimestampResultSet(0, calls);
+		final ColumnValueReader reader = new DefaultDBValueConverter(null, null, false, false, false, "csv").createColumnValueReader(createMetaData(Types.TIMESTAMP, "TIMESTAMP"), 1, null);
+
+		Assert.assertEquals(TEST_DATETIME, reader.read(resultSet));
+		Assert.assertEquals(TEST_DATETIME, reader.read(resultSet));
+		Assert.assertEquals("[getObject(1, LocalDateTime), getObject(1, LocalDateTime)]", calls.toString());
+	}
+
+	@Test
+	public void testTimestampFallbackIsPerColumn() throws Exception {
+		final List<String> calls = new ArrayList<>();
+		final ResultSet resultSet = createTimestampResultSet(1, calls);
+		final DefaultDBValueConverter converter = new DefaultDBValueConverter(null, null, false, false, false, "csv");
+		final ResultSetMetaData metaData = createMetaData(Types.TIMESTAMP, "TIMESTAMP");
+		final ColumnValueReader firstReader = converter.createColumnValueReader(metaData, 1, null);
+		final ColumnValueReader secondReader = converter.createColumnValueReader(metaData, 2, null);
+
+		Assert.assertEquals(Timestamp.valueOf(TEST_DATETIME), firstReader.read(resultSet));
+		Assert.assertEquals(TEST_DATETIME, secondReader.read(resultSet));
+		Assert.assertEquals(Timestamp.valueOf(TEST_DATETIME), firstReader.read(resultSet));
+		Assert.assertEquals(TEST_DATETIME, secondReader.read(resultSet));
+		// The unsupported read as LocalDateTime is only tried once for the failing column, also by the convert method, but not for other columns
+		Assert.assertEquals(Timestamp.valueOf(TEST_DATETIME), converter.convert(metaData, resultSet, 1, null));
+		Assert.assertEquals(TEST_DATETIME, converter.convert(metaData, resultSet, 2, null));
+		Assert.assertEquals("[getObject(1, LocalDateTime), getObject(1), getObject(2, LocalDateTime), getObject(1), getObject(2, LocalDateTime), getObject(1), getObject(2, LocalDateTime)]", calls.toString());
+	}
+
+	@Test
+	public void testTimestampWithTimeZoneReadAsDefaultObject() throws Exception {
+		final List<String> calls = new ArrayList<>();
+		final ResultSet resultSet = createTimestampResultSet(0, calls);
+		final DefaultDBValueConverter converter = new DefaultDBValueConverter(null, null, false, false, false, "csv");
+		final ResultSetMetaData metaData = createMetaData(Types.TIMESTAMP, "timestamptz");
+
+		Assert.assertEquals(Timestamp.valueOf(TEST_DATETIME), converter.createColumnValueReader(metaData, 1, null).read(resultSet));
+		Assert.assertEquals(Timestamp.valueOf(TEST_DATETIME), converter.convert(metaData, resultSet, 1, null));
+		Assert.assertEquals("[getObject(1), getObject(1)]", calls.toString());
+	}
+
+	@Test
+	public void testConvertTimestamp() throws Exception {
+		final List<String> calls = new ArrayList<>();
+		final ResultSet resultSet = createTimestampResultSet(0, calls);
+
+		Assert.assertEquals(TEST_DATETIME, new DefaultDBValueConverter(null, null, false, false, false, "csv").convert(createMetaData(Types.TIMESTAMP, "TIMESTAMP"), resultSet, 1, null));
+		Assert.assertEquals("[getObject(1, LocalDateTime)]", calls.toString());
+	}
+
+	@Test
+	public void testLobFileSizes() throws Exception {
+		final File exportDirectory = Files.createTempDirectory("lobtest").toFile();
+		try {
+			final byte[] data = createLobData();
+
+			final ExportedLobFile uncompressedLobFile = new DefaultDBValueConverter(null, null, false, true, false, "csv")
+					.writeLobFile(new File(exportDirectory, "test_tbl.csv").getAbsolutePath(), "blob", new ByteArrayInputStream(data));
+			Assert.assertTrue(uncompressedLobFile.getName().endsWith(".blob"));
+			Assert.assertEquals(data.length, uncompressedLobFile.getUncompressedSize());
+			Assert.assertEquals(data.length, uncompressedLobFile.getCompressedSize());
+			Assert.assertEquals(data.length, uncompressedLobFile.length());
+
+			for (final CompressionType compressionType : CompressionType.values()) {
+				final ExportedLobFile lobFile = new DefaultDBValueConverter(compressionType, null, false, true, false, "csv")
+						.writeLobFile(new File(exportDirectory, "test_tbl.csv." + compressionType.getDefaultFileExtension()).getAbsolutePath(), "blob", new ByteArrayInputStream(data));
+				Assert.assertTrue(lobFile.getName().endsWith(".blob." + compressionType.getDefaultFileExtension()));
+				Assert.assertEquals(compressionType.name(), data.length, lobFile.getUncompressedSize());
+				Assert.assertEquals(compressionType.name(), lobFile.length(), lobFile.getCompressedSize());
+				Assert.assertTrue(compressionType.name(), lobFile.getCompressedSize() < lobFile.getUncompressedSize());
+			}
+
+			final ExportedLobFile encryptedLobFile = new DefaultDBValueConverter(CompressionType.ZIP, "abc123".toCharArray(), false, true, false, "csv")
+					.writeLobFile(new File(exportDirectory, "test_tbl.csv.zip").getAbsolutePath(), "blob", new ByteArrayInputStream(data));
+			Assert.assertEquals(data.length, encryptedLobFile.getUncompressedSize());
+			Assert.assertEquals(encryptedLobFile.length(), encryptedLobFile.getCompressedSize());
+
+			final ExportedLobFile gzLobFile = new DefaultDBValueConverter(CompressionType.GZ, null, false, true, false, "csv")
+					.writeLobFile(new File(exportDirectory, "test_tbl.csv.gz").getAbsolutePath(), "blob", new ByteArrayInputStream(data));
+			try (InputStream inputStream = new GZIPInputStream(new FileInputStream(gzLobFile))) {
+				Assert.assertArrayEquals(data, IoUtilities.toByteArray(inputStream));
+			}
+		} finally {
+			deleteDirectory(exportDirectory);
+		}
+	}
+
+	@Test
+	public void testEncryptedZipLobFile() throws Exception {
+		for (final boolean useZipCrypto : new boolean[] { false, true }) {
+			final File exportDirectory = Files.createTempDirectory("lobtest").toFile();
+			try {
+				final byte[] data = createLobData();
+				final File lobFile = new DefaultDBValueConverter(CompressionType.ZIP, "abc123".toCharArray(), useZipCrypto, true, false, "csv")
+						.writeLobFile(new File(exportDirectory, "test_tbl.csv.zip").getAbsolutePath(), "blob", new ByteArrayInputStream(data));
+
+				Assert.assertTrue(lobFile.getName().startsWith("test_tbl_"));
+				Assert.assertTrue(lobFile.getName().endsWith(".blob.zip"));
+				try (ZipFile zipFile = new ZipFile(lobFile, "abc123".toCharArray())) {
+					Assert.assertTrue(zipFile.isEncrypted());
+					Assert.assertEquals(1, zipFile.getFileHeaders().size());
+					final FileHeader fileHeader = zipFile.getFileHeaders().get(0);
+					Assert.assertEquals(lobFile.getName(), fileHeader.getFileName());
+					Assert.assertEquals(useZipCrypto ? EncryptionMethod.ZIP_STANDARD : EncryptionMethod.AES, fileHeader.getEncryptionMethod());
+					try (InputStream inputStream = zipFile.getInputStream(fileHeader)) {
+						Assert.assertArrayEquals(data, IoUtilities.toByteArray(inputStream));
+					}
+				}
+
+				try (ZipFile zipFile = new ZipFile(lobFile, "wrong".toCharArray());
+						InputStream inputStream = zipFile.getInputStream(zipFile.getFileHeaders().get(0))) {
+					IoUtilities.toByteArray(inputStream);
+					Assert.fail("Wrong password was accepted");
+				} catch (@SuppressWarnings("unused") final IOException e) {
+					// Expected
+				}
+			} finally {
+				deleteDirectory(exportDirectory);
+			}
+		}
+	}
+
+	private static void deleteDirectory(final File directory) {
+		for (final File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Compressible lob data
+	 */
+	private static byte[] createLobData() {
+		return Utilities.repeat(TextUtilities.GERMAN_TEST_STRING, 100, "\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * ResultSet with timestamp columns, which records the calls of its getters
+	 *
+	 * @param localDateTimeUnsupportedColumnIndex index of the column, which cannot be read as LocalDateTime, or 0
+	 */
+	private static ResultSet createTimestampResultSet(final int localDateTimeUnsupportedColumnIndex, final List<String> calls) {
+		return (ResultSet) Proxy.newProxyInstance(DefaultDBValueConverterTest.class.getClassLoader(), new Class<?>[] { ResultSet.class }, (proxy, method, arguments) -> {
+			if ("getObject".equals(method.getName()) && arguments.length == 2) {
+				calls.add("getObject(" + arguments[0] + ", " + ((Class<?>) arguments[1]).getSimpleName() + ")");
+				if ((Integer) arguments[0] != localDateTimeUnsupportedColumnIndex) {
+					return TEST_DATETIME;
+				} else {
+					throw new SQLFeatureNotSupportedException("getObject(int, Class) is not supported");
+				}
+			} else if ("getObject".equals(method.getName())) {
+				calls.add("getObject(" + arguments[0] + ")");
+				return Timestamp.valueOf(TEST_DATETIME);
+			} else if ("wasNull".equals(method.getName())) {
+				return false;
+			} else {
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+
+	private static ResultSetMetaData createMetaData(final int columnType, final String columnTypeName) {
+		return (ResultSetMetaData) Proxy.newProxyInstance(DefaultDBValueConverterTest.class.getClassLoader(), new Class<?>[] { ResultSetMetaData.class }, (proxy, method, arguments) -> {
+			if ("getColumnType".equals(method.getName())) {
+				return columnType;
+			} else if ("getColumnTypeName".equals(method.getName())) {
+				return columnTypeName;
+			} else if ("isSigned".equals(method.getName())) {
+				return true;
+			} else {
+				throw new UnsupportedOperationException(method.getName());
+			}
+		});
+	}
+}
@@ -0,0 +1,86 @@
+package de.soderer.dbexport.utilities;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NumberFormatterTest {
+	private static final Locale[] LOCALES = new Locale[] { Locale.GERMANY, Locale.US, Locale.FRANCE, new Locale("de", "CH"), new Locale("ar", "EG") };
+
+	private static final Object[] VALUES = new Object[] {
+			0, -1, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, (short) -12, (byte) 7,
+			0.0, -0.0, 1.0, -1.0, 0.5, -0.5, 1.123, -2.123, 1234.5, -1234.5, 999999999.5, 1e9, -1e9, 1e20, -1.5e15, 1.23456789e-5, 4.9e-324, Double.MAX_VALUE,
+			0.0005, 0.0015, 0.0025, -0.0025, 1.0005, 2.675, -0.0004, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+			1.1f, -3.75f, 0.1f, 16777217f, Float.MIN_VALUE, Float.NaN,
+			new BigDecimal("0"), new BigDecimal("-0.000"), new BigDecimal("1.2300"), new BigDecimal("-1.2305"), new BigDecimal("-1.2315"), new BigDecimal("1E+5"), new BigDecimal("-1.5E+3"), new BigDecimal("1E-7"), new BigDecimal("-0.0004"),
+			new BigDecimal("123456789012345678901234567890.123456"), new BigDecimal("1000000"), new BigDecimal("1234567.891"),
+			BigInteger.ZERO, new BigInteger("-123456789012345678901234567890")
+	};
+
+	@Test
+	public void testSameOutputAsNumberFormat() {
+		for (final Locale locale : LOCALES) {
+			final NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+			numberFormat.setGroupingUsed(false);
+			final NumberFormatter numberFormatter = new NumberFormatter(locale);
+			for (final Object value : VALUES) {
+				Assert.assertEquals(locale + " " + value.getClass().getSimpleName() + " " + value, numberFormat.format(value), numberFormatter.format(value));
+			}
+		}
+	}
+
+	@Test
+	public void testNegativeValues() {
+		final NumberFormatter numberFormatter = new NumberFormatter(Locale.GERMANY);
+		Assert.assertEquals("-1", numberFormatter.format(-1));
+		Assert.assertEquals("-1234,5", numberFormatter.format(-1234.5));
+		Assert.assertEquals("-0", numberFormatter.format(-0.0));
+		Assert.assertEquals("-0", numberFormatter.format(-0.0004));
+		Assert.assertEquals("-0", numberFormatter.format(new BigDecimal("-0.0004")));
+		Assert.assertEquals("-1,232", numberFormatter.format(new BigDecimal("-1.2315")));
+	}
+
+	@Test
+	public void testBigDecimalScaleAndExponent() {
+		final NumberFormatter numberFormatter = new NumberFormatter(Locale.US);
+		Assert.assertEquals("1.23", numberFormatter.format(new BigDecimal("1.2300")));
+		Assert.assertEquals("100000", numberFormatter.format(new BigDecimal("1E+5")));
+		Assert.assertEquals("-1500", numberFormatter.format(new BigDecimal("-1.5E+3")));
+		Assert.assertEquals("0", numberFormatter.format(new BigDecimal("1E-7")));
+		Assert.assertEquals("123456789012345678901234567890.123", numberFormatter.format(new BigDecimal("123456789012345678901234567890.123456")));
+	}
+
+	@Test
+	public void testNoGrouping() {
+		final NumberFormatter numberFormatter = new NumberFormatter(Locale.GERMANY);
+		Assert.assertEquals("1000", numberFormatter.format(1000));
+		Assert.assertEquals("1000000", numberFormatter.format(new BigDecimal("1000000")));
+		Assert.assertEquals("1234567,891", numberFormatter.format(new BigDecimal("1234567.891")));
+		Assert.assertEquals("999999999,5", numberFormatter.format(999999999.5));
+		Assert.assertEquals("100000000000000000000", numberFormatter.format(1e20));
+		Assert.assertEquals("9223372036854775807", numberFormatter.format(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testFloatAndDouble() {
+		final NumberFormatter numberFormatter = new NumberFormatter(Locale.GERMANY);
+		Assert.assertEquals("1,123", numberFormatter.format(1.123));
+		Assert.assertEquals("1,1", numberFormatter.format(1.1f));
+		Assert.assertEquals("-3,75", numberFormatter.format(-3.75f));
+		Assert.assertEquals("16777216", numberFormatter.format(16777217f));
+		Assert.assertEquals("0", numberFormatter.format(1.23456789e-5));
+		Assert.assertEquals(NumberFormat.getNumberInstance(Locale.GERMANY).format(Double.NaN), numberFormatter.format(Double.NaN));
+	}
+
+	@Test
+	public void testFormatTo() {
+		final NumberFormatter numberFormatter = new NumberFormatter(Locale.GERMANY);
+		final StringBuilder output = new StringBuilder("Value: ");
+		numberFormatter.formatTo(2.5, output);
+		Assert.assertEquals("Value: 2,5", output.toString());
+	}
+}